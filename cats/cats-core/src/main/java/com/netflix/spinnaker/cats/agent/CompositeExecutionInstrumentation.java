@@ -45,4 +45,12 @@ public class CompositeExecutionInstrumentation implements ExecutionInstrumentati
       exec.executionFailed(agent, cause, elapsedMs);
     }
   }
+
+  @Override
+  public void executionScheduled(
+      Agent agent, long latenessMs, long estimatedDurationMs, long estimatedResultSize) {
+    for (ExecutionInstrumentation exec : instrumentations) {
+      exec.executionScheduled(agent, latenessMs, estimatedDurationMs, estimatedResultSize);
+    }
+  }
 }
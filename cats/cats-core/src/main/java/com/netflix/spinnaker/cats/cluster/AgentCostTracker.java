@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import com.netflix.spinnaker.cats.cache.AgentIntrospection;
+import com.netflix.spinnaker.cats.cache.CacheIntrospectionStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Tracks how long each agent takes to run and how much it caches, and uses that history to pick
+ * which candidate agents a cluster scheduler should run next.
+ *
+ * <p>Candidates are ordered by how overdue they are relative to their interval. Each agent then
+ * occupies {@code ceil(estimatedDuration / slotCostMs)} of the scheduler's concurrency budget, so a
+ * handful of slow agents cannot take every slot away from many fast ones. Once an agent is more
+ * than a full interval overdue, capacity is held back for it rather than handed to cheaper agents
+ * further down the list, so expensive agents are not starved in turn. An agent never occupies more
+ * than the whole budget, so it can always run once the agents that are running finish.
+ */
+public class AgentCostTracker {
+
+  private static final double SMOOTHING_FACTOR = 0.3;
+  private static final double STARVATION_THRESHOLD = 2.0;
+
+  private final Map<String, AgentCost> costs = new ConcurrentHashMap<>();
+
+  /** Records that an agent started running, here or on another node holding its lock. */
+  public void recordStarted(String agentType, long startTimeMs) {
+    costs.compute(
+        agentType,
+        (key, cost) -> {
+          if (cost == null) {
+            return new AgentCost(startTimeMs, 0, 0, false);
+          }
+          return new AgentCost(
+              Math.max(cost.lastStartMs, startTimeMs),
+              cost.estimatedDurationMs,
+              cost.estimatedResultSize,
+              cost.measured);
+        });
+  }
+
+  /**
+   * Records a completed execution of an agent on this node. The result size is taken from the
+   * agent's latest {@link AgentIntrospection}, if it is a caching agent.
+   */
+  public void recordCompleted(String agentType, long elapsedMs) {
+    AgentIntrospection introspection =
+        CacheIntrospectionStore.getStore().getAgentIntrospection(agentType);
+    long resultSize =
+        introspection == null
+            ? 0
+            : (long) introspection.getTotalAdditions() + introspection.getTotalEvictions();
+
+    costs.compute(
+        agentType,
+        (key, cost) -> {
+          long startTimeMs = System.currentTimeMillis() - elapsedMs;
+          if (cost == null || !cost.measured) {
+            return new AgentCost(
+                cost == null ? startTimeMs : Math.max(cost.lastStartMs, startTimeMs),
+                elapsedMs,
+                resultSize,
+                true);
+          }
+          return new AgentCost(
+              Math.max(cost.lastStartMs, startTimeMs),
+              smooth(cost.estimatedDurationMs, elapsedMs),
+              smooth(cost.estimatedResultSize, resultSize),
+              true);
+        });
+  }
+
+  /** @return the recorded cost of an agent, or null if it has not been seen */
+  public AgentCost getCost(String agentType) {
+    return costs.get(agentType);
+  }
+
+  /** Forgets an agent that is no longer scheduled. */
+  public void remove(String agentType) {
+    costs.remove(agentType);
+  }
+
+  /** @return how long past its interval an agent is, 0 if it is not yet due or has not run */
+  public long getLatenessMs(String agentType, long intervalMs, long now) {
+    AgentCost cost = costs.get(agentType);
+    if (cost == null) {
+      return 0;
+    }
+    return Math.max(0, now - cost.lastStartMs - intervalMs);
+  }
+
+  /**
+   * Picks the candidates to run next.
+   *
+   * @param candidates agents that are eligible to run
+   * @param agentType maps a candidate to its agent type
+   * @param intervalMs maps a candidate to its scheduling interval
+   * @param running agent types that are already running and occupy part of the budget
+   * @param maxConcurrentAgents the concurrency budget, in slots
+   * @param slotCostMs the estimated execution time that one slot accounts for
+   * @param now the current time
+   * @return the selected candidates, most overdue first
+   */
+  public <T> List<T> select(
+      Collection<T> candidates,
+      Function<T, String> agentType,
+      Function<T, Long> intervalMs,
+      Collection<String> running,
+      int maxConcurrentAgents,
+      long slotCostMs,
+      long now) {
+    int usedSlots = 0;
+    for (String type : running) {
+      usedSlots += getSlots(type, slotCostMs, maxConcurrentAgents);
+    }
+
+    List<T> ordered = new ArrayList<>(candidates);
+    // Shuffle first so that equally overdue agents are not always picked in the same order
+    Collections.shuffle(ordered);
+    ordered.sort(
+        Comparator.comparingDouble(
+                (T candidate) ->
+                    getOverdueRatio(agentType.apply(candidate), intervalMs.apply(candidate), now))
+            .reversed());
+
+    List<T> selected = new ArrayList<>();
+    for (T candidate : ordered) {
+      String type = agentType.apply(candidate);
+      int slots = getSlots(type, slotCostMs, maxConcurrentAgents);
+      if (usedSlots + slots <= maxConcurrentAgents) {
+        selected.add(candidate);
+        usedSlots += slots;
+      } else if (getOverdueRatio(type, intervalMs.apply(candidate), now) >= STARVATION_THRESHOLD) {
+        break;
+      }
+    }
+    return selected;
+  }
+
+  private int getSlots(String agentType, long slotCostMs, int maxConcurrentAgents) {
+    AgentCost cost = costs.get(agentType);
+    if (cost == null || !cost.measured || slotCostMs <= 0) {
+      return 1;
+    }
+    long slots = ceilDiv(cost.estimatedDurationMs, slotCostMs);
+    return (int) Math.max(1, Math.min(Math.max(1, maxConcurrentAgents), slots));
+  }
+
+  /**
+   * Time since the agent last started, in multiples of its interval; agents that have never run are
+   * the most overdue.
+   */
+  private double getOverdueRatio(String agentType, long intervalMs, long now) {
+    AgentCost cost = costs.get(agentType);
+    if (cost == null) {
+      return Double.MAX_VALUE;
+    }
+    return (double) (now - cost.lastStartMs) / Math.max(1, intervalMs);
+  }
+
+  private static long ceilDiv(long dividend, long divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+
+  private static long smooth(long previous, long sample) {
+    return Math.round(SMOOTHING_FACTOR * sample + (1 - SMOOTHING_FACTOR) * previous);
+  }
+
+  public static class AgentCost {
+    private final long lastStartMs;
+    private final long estimatedDurationMs;
+    private final long estimatedResultSize;
+    private final boolean measured;
+
+    AgentCost(
+        long lastStartMs, long estimatedDurationMs, long estimatedResultSize, boolean measured) {
+      this.lastStartMs = lastStartMs;
+      this.estimatedDurationMs = estimatedDurationMs;
+      this.estimatedResultSize = estimatedResultSize;
+      this.measured = measured;
+    }
+
+    public long getLastStartMs() {
+      return lastStartMs;
+    }
+
+    public long getEstimatedDurationMs() {
+      return estimatedDurationMs;
+    }
+
+    public long getEstimatedResultSize() {
+      return estimatedResultSize;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import java.util.List;
+
+/**
+ * Assigns a shard key to the replica at index {@code hash(key) % replicaCount}.
+ *
+ * <p>This is the original account sharding scheme; any change in the number of replicas moves
+ * almost every key to a different replica.
+ */
+public class ModuloShardingStrategy implements ShardingStrategy {
+
+  public static final ModuloShardingStrategy INSTANCE = new ModuloShardingStrategy();
+
+  @Override
+  public boolean isOwner(String shardKey, List<String> replicas, String replica) {
+    if (replicas.size() == 1) {
+      return true;
+    }
+    int index = replicas.indexOf(replica);
+    return index != -1 && Math.abs(shardKey.hashCode() % replicas.size()) == index;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Assigns a shard key to the replica with the highest {@code hash(replica, key)} score (highest
+ * random weight hashing).
+ *
+ * <p>Adding or removing a replica only moves the keys that the replica gains or loses, roughly
+ * {@code 1/replicaCount} of all keys, instead of reshuffling every account.
+ */
+public class RendezvousShardingStrategy implements ShardingStrategy {
+
+  public static final RendezvousShardingStrategy INSTANCE = new RendezvousShardingStrategy();
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  @Override
+  public boolean isOwner(String shardKey, List<String> replicas, String replica) {
+    if (!replicas.contains(replica)) {
+      return false;
+    }
+    return replica.equals(getOwner(shardKey, replicas));
+  }
+
+  String getOwner(String shardKey, List<String> replicas) {
+    String owner = null;
+    long highestScore = Long.MIN_VALUE;
+    for (String candidate : replicas) {
+      long score = score(candidate, shardKey);
+      if (owner == null || score > highestScore) {
+        owner = candidate;
+        highestScore = score;
+      }
+    }
+    return owner;
+  }
+
+  private static long score(String replica, String shardKey) {
+    return HASH_FUNCTION
+        .newHasher()
+        .putString(replica, StandardCharsets.UTF_8)
+        .putByte((byte) 0)
+        .putString(shardKey, StandardCharsets.UTF_8)
+        .hash()
+        .asLong();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster;
+
+import java.util.List;
+
+/**
+ * Decides which of the live caching replicas owns a shard key.
+ *
+ * <p>Shard keys are derived from an agent's account via {@link #shardKey(String, int)}, so every
+ * replica computes the same owner for an agent given the same set of live replicas.
+ */
+public interface ShardingStrategy {
+
+  /**
+   * @param shardKey the key to place, see {@link #shardKey(String, int)}
+   * @param replicas the identities of all live replicas, sorted
+   * @param replica the identity of this replica
+   * @return true if {@code replica} owns {@code shardKey}
+   */
+  boolean isOwner(String shardKey, List<String> replicas, String replica);
+
+  static ShardingStrategy forName(String name) {
+    if ("rendezvous".equalsIgnoreCase(name)) {
+      return RendezvousShardingStrategy.INSTANCE;
+    }
+    return ModuloShardingStrategy.INSTANCE;
+  }
+
+  static String getAccountName(String agentType) {
+    if (agentType.contains("/")) {
+      return agentType.substring(0, agentType.indexOf('/'));
+    }
+    return agentType;
+  }
+
+  /**
+   * Returns the shard key of an agent.
+   *
+   * <p>All agents of an account share a shard key unless the account has a weight greater than
+   * one, in which case its agents are split by agent type across {@code accountWeight} keys so an
+   * expensive account can be spread over several replicas.
+   */
+  static String shardKey(String agentType, int accountWeight) {
+    String accountName = getAccountName(agentType);
+    if (accountWeight <= 1) {
+      return accountName;
+    }
+    return accountName + "#" + Math.floorMod(agentType.hashCode(), accountWeight);
+  }
+}
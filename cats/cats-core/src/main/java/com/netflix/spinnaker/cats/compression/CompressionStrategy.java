@@ -15,8 +15,29 @@
  */
 package com.netflix.spinnaker.cats.compression;
 
+import java.nio.charset.StandardCharsets;
+
 public interface CompressionStrategy {
   String compress(final String str);
 
   String decompress(final String compressed);
+
+  /**
+   * Compresses UTF-8 encoded bytes, for stores that can hold binary values. Strategies that only
+   * work on strings go through {@link #compress(String)}.
+   */
+  default byte[] compressBytes(final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    return compress(new String(bytes, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Reverses {@link #compressBytes(byte[])}, returning UTF-8 encoded bytes. */
+  default byte[] decompressBytes(final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    return decompress(new String(bytes, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+  }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.compression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deflate compression for stores that hold binary values.
+ *
+ * <p>Compressed values start with a {@link #MAGIC} header followed by the uncompressed length, so
+ * reads can tell compressed values from plain UTF-8 JSON by looking at the first byte (which is
+ * never 0xFF in UTF-8) rather than by trying to decode them, and inflate straight into an array of
+ * the right size. Values that are below the threshold, or that do not get smaller, are stored as
+ * they are. {@link Deflater} and {@link Inflater} instances hold native memory and are expensive to
+ * create, so they are pooled.
+ *
+ * <p>Values remain readable when compression is disabled, so it can be turned off without
+ * rewriting the store.
+ */
+public class DeflateCompression implements CompressionStrategy {
+
+  private static final Logger log = LoggerFactory.getLogger(DeflateCompression.class);
+
+  static final byte[] MAGIC = {(byte) 0xFF, 'Z', 1};
+  private static final int HEADER_SIZE = MAGIC.length + Integer.BYTES;
+
+  /** Prefix of compressed values returned by {@link #compress(String)}. */
+  static final String STRING_PREFIX = "zd1:";
+
+  private final long thresholdBytesSize;
+  private final boolean enabled;
+  private final int level;
+  private final BlockingQueue<Deflater> deflaters;
+  private final BlockingQueue<Inflater> inflaters;
+
+  public DeflateCompression(long thresholdBytesSize, boolean enabled, int level) {
+    this(thresholdBytesSize, enabled, level, Runtime.getRuntime().availableProcessors());
+  }
+
+  public DeflateCompression(long thresholdBytesSize, boolean enabled, int level, int poolSize) {
+    log.info(
+        "Cats using deflate compression: {} bytes threshold, level {}, compress enabled: {}",
+        thresholdBytesSize,
+        level,
+        enabled);
+    this.thresholdBytesSize = thresholdBytesSize;
+    this.enabled = enabled;
+    this.level = level;
+    this.deflaters = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    this.inflaters = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+  }
+
+  @Override
+  public String compress(final String str) {
+    if (str == null) {
+      return null;
+    }
+
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    byte[] compressed = compressBytes(bytes);
+    if (compressed == bytes) {
+      return str;
+    }
+    return STRING_PREFIX + Base64.getEncoder().encodeToString(compressed);
+  }
+
+  @Override
+  public String decompress(final String compressed) {
+    if (compressed == null || !compressed.startsWith(STRING_PREFIX)) {
+      return compressed;
+    }
+
+    byte[] bytes = Base64.getDecoder().decode(compressed.substring(STRING_PREFIX.length()));
+    return new String(decompressBytes(bytes), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public byte[] compressBytes(final byte[] bytes) {
+    if (bytes == null
+        || !enabled
+        || bytes.length < thresholdBytesSize
+        || bytes.length <= HEADER_SIZE) {
+      return bytes;
+    }
+
+    Deflater deflater = deflaters.poll();
+    if (deflater == null) {
+      deflater = new Deflater(level);
+    }
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      // stop once the output is no smaller than the input, there is no point in storing it
+      byte[] out = new byte[bytes.length];
+      System.arraycopy(MAGIC, 0, out, 0, MAGIC.length);
+      writeInt(out, MAGIC.length, bytes.length);
+      int length = HEADER_SIZE;
+      while (!deflater.finished() && length < out.length) {
+        length += deflater.deflate(out, length, out.length - length);
+      }
+      if (!deflater.finished()) {
+        return bytes;
+      }
+      return Arrays.copyOf(out, length);
+    } finally {
+      deflater.reset();
+      if (!deflaters.offer(deflater)) {
+        deflater.end();
+      }
+    }
+  }
+
+  @Override
+  public byte[] decompressBytes(final byte[] bytes) {
+    if (!isCompressed(bytes)) {
+      return bytes;
+    }
+
+    byte[] out = new byte[readInt(bytes, MAGIC.length)];
+    Inflater inflater = inflaters.poll();
+    if (inflater == null) {
+      inflater = new Inflater();
+    }
+    try {
+      inflater.setInput(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+      int length = 0;
+      while (length < out.length) {
+        int inflated = inflater.inflate(out, length, out.length - length);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != out.length) {
+        throw new IllegalStateException(
+            "Failed to decompress value: expected " + out.length + " bytes but got " + length);
+      }
+      return out;
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Failed to decompress value", e);
+    } finally {
+      inflater.reset();
+      if (!inflaters.offer(inflater)) {
+        inflater.end();
+      }
+    }
+  }
+
+  static boolean isCompressed(final byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_SIZE) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xFF) << 24)
+        | ((bytes[offset + 1] & 0xFF) << 16)
+        | ((bytes[offset + 2] & 0xFF) << 8)
+        | (bytes[offset + 3] & 0xFF);
+  }
+}
@@ -26,4 +26,14 @@ public class NoopCompression implements CompressionStrategy {
   public String decompress(String compressed) {
     return compressed;
   }
+
+  @Override
+  public byte[] compressBytes(byte[] bytes) {
+    return bytes;
+  }
+
+  @Override
+  public byte[] decompressBytes(byte[] bytes) {
+    return bytes;
+  }
 }
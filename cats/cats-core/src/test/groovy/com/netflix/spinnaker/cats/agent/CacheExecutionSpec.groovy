@@ -81,4 +81,34 @@ class CacheExecutionSpec extends Specification {
 
     result.evictions.isEmpty()
   }
+
+  void "should only evict explicitly evicted keys for partial results"() {
+    given:
+    def cacheExecution = new CachingAgent.CacheExecution(providerRegistry)
+    def result = new DefaultCacheResult([
+      "securityGroups": [new DefaultCacheData("securityGroups:foo:test:us-west-1", [:], [:])]
+    ], [
+      "securityGroups": ["securityGroups:baz:test:us-west-1"]
+    ], [:], true)
+
+    when:
+    cacheExecution.storeAgentResult(cachingAgent, result)
+
+    then:
+    1 * cachingAgent.getProvidedDataTypes() >> {
+      return [
+        AUTHORITATIVE.forType("securityGroups")
+      ]
+    }
+    1 * cachingAgent.getCacheKeyPatterns() >> {
+      return Optional.of([
+        "securityGroups": "securityGroups:*:test:us-west-1"
+      ])
+    }
+    0 * providerCache.filterIdentifiers(_, _)
+    1 * providerRegistry.getProviderCache(_) >> { return providerCache }
+    1 * providerCache.addCacheResult(_, ["securityGroups"] as Set, result)
+    1 * providerCache.evictDeletedItems("securityGroups", ["securityGroups:baz:test:us-west-1"])
+    0 * providerCache.putCacheResult(_, _, _)
+  }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+class AgentCostTrackerSpec extends Specification {
+
+  static final long INTERVAL = 30_000
+  static final long SLOT_COST = 60_000
+
+  @Subject
+  def tracker = new AgentCostTracker()
+
+  long now = System.currentTimeMillis()
+
+  def 'agents that never ran come first, then the most overdue'() {
+    given:
+    tracker.recordStarted('onTime', now - INTERVAL)
+    tracker.recordStarted('late', now - 3 * INTERVAL)
+
+    when:
+    def selected = select(['onTime', 'late', 'new'], [], 10)
+
+    then:
+    selected == ['new', 'late', 'onTime']
+  }
+
+  def 'slow agents use more of the concurrency budget'() {
+    given:
+    tracker.recordCompleted('slow', 5 * SLOT_COST)
+    tracker.recordStarted('slow', now - 5 * INTERVAL)
+    (1..5).each {
+      tracker.recordCompleted("fast$it", 1000)
+      tracker.recordStarted("fast$it", now - INTERVAL)
+    }
+
+    when:
+    def selected = select(['slow', 'fast1', 'fast2', 'fast3', 'fast4', 'fast5'], [], 6)
+
+    then:
+    selected.size() == 2
+    selected[0] == 'slow'
+    selected[1].startsWith('fast')
+  }
+
+  def 'running agents count against the budget'() {
+    given:
+    tracker.recordCompleted('slow', 3 * SLOT_COST)
+
+    expect:
+    select(['a', 'b', 'c'], ['slow'], 4).size() == 1
+  }
+
+  def 'capacity is held back for a starving agent until running agents finish'() {
+    given:
+    tracker.recordCompleted('slow', 2 * SLOT_COST)
+    tracker.recordStarted('slow', now - 4 * INTERVAL)
+    tracker.recordCompleted('fast', 1000)
+    tracker.recordStarted('fast', now - INTERVAL)
+
+    expect:
+    select(['slow', 'fast'], ['running'], 2) == []
+    select(['slow', 'fast'], [], 2) == ['slow']
+  }
+
+  def 'a starving agent that needs more than the whole budget still runs'() {
+    given:
+    tracker.recordCompleted('slow', 5 * SLOT_COST)
+    tracker.recordStarted('slow', now - 4 * INTERVAL)
+    tracker.recordCompleted('fast', 1000)
+    tracker.recordStarted('fast', now - INTERVAL)
+
+    expect:
+    select(['slow', 'fast'], [], 2) == ['slow']
+  }
+
+  def 'lateness is measured from the last start'() {
+    given:
+    tracker.recordStarted('agent', now - 3 * INTERVAL)
+
+    expect:
+    tracker.getLatenessMs('agent', INTERVAL, now) == 2 * INTERVAL
+    tracker.getLatenessMs('unknown', INTERVAL, now) == 0
+  }
+
+  private List<String> select(List<String> candidates, List<String> running, int maxConcurrentAgents) {
+    return tracker.select(
+      candidates,
+      { it },
+      { INTERVAL },
+      running,
+      maxConcurrentAgents,
+      SLOT_COST,
+      now
+    )
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cluster
+
+import spock.lang.Specification
+
+class RendezvousShardingStrategySpec extends Specification {
+
+  def strategy = new RendezvousShardingStrategy()
+  def accounts = (1..1000).collect { "account-${it}".toString() }
+
+  def 'every shard key is owned by exactly one replica'() {
+    given:
+    def replicas = ['pod-a', 'pod-b', 'pod-c']
+
+    expect:
+    accounts.every { account -> replicas.count { strategy.isOwner(account, replicas, it) } == 1 }
+  }
+
+  def 'adding a replica only moves the keys it takes over'() {
+    given:
+    def before = (1..4).collect { "pod-${it}".toString() }
+    def after = before + 'pod-5'
+
+    when:
+    def moved = accounts.findAll { strategy.getOwner(it, before) != strategy.getOwner(it, after) }
+
+    then:
+    moved.every { strategy.getOwner(it, after) == 'pod-5' }
+    moved.size() > 100
+    moved.size() < 300
+  }
+
+  def 'removing a replica only moves the keys it owned'() {
+    given:
+    def before = (1..5).collect { "pod-${it}".toString() }
+    def after = before - 'pod-3'
+
+    expect:
+    accounts.every {
+      strategy.getOwner(it, before) == 'pod-3' || strategy.getOwner(it, before) == strategy.getOwner(it, after)
+    }
+  }
+
+  def 'replicas that are not live own nothing'() {
+    expect:
+    !strategy.isOwner('account-1', ['pod-a', 'pod-b'], 'pod-c')
+  }
+
+  def 'weighted accounts are split across shard keys by agent type'() {
+    given:
+    def agentTypes = (1..50).collect { "huge/us-east-1/Agent${it}".toString() }
+
+    expect:
+    agentTypes.collect { ShardingStrategy.shardKey(it, 1) }.toSet() == ['huge'] as Set
+    agentTypes.collect { ShardingStrategy.shardKey(it, 4) }.toSet() == ['huge#0', 'huge#1', 'huge#2', 'huge#3'] as Set
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.compression
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class DeflateCompressionSpec extends Specification {
+
+  def 'should compress and decompress bytes'() {
+    given:
+    def subject = new DeflateCompression(16, true, 1)
+    def bytes = data.getBytes(StandardCharsets.UTF_8)
+
+    when:
+    def result = subject.compressBytes(bytes)
+
+    then:
+    DeflateCompression.isCompressed(result) == shouldCompress
+    if (!shouldCompress) {
+      assert result.is(bytes)
+    }
+    subject.decompressBytes(result) == bytes
+
+    where:
+    data                             || shouldCompress
+    '{"value":"' + 'a' * 100 + 'é"}' || true
+    'a'                              || false
+    'not repetitive'                 || false
+    '0123456789abcdefghijklmnop'     || false
+  }
+
+  def 'should compress and decompress strings'() {
+    given:
+    def subject = new DeflateCompression(16, true, 1)
+    def data = 'hello world ' * 20
+
+    when:
+    def result = subject.compress(data)
+
+    then:
+    result.startsWith(DeflateCompression.STRING_PREFIX)
+    subject.decompress(result) == data
+  }
+
+  def 'should read compressed values when compression is disabled'() {
+    given:
+    def bytes = ('{"value":"' + 'a' * 100 + '"}').getBytes(StandardCharsets.UTF_8)
+    def compressed = new DeflateCompression(16, true, 9).compressBytes(bytes)
+    def subject = new DeflateCompression(16, false, 1)
+
+    expect:
+    subject.compressBytes(bytes).is(bytes)
+    subject.decompressBytes(compressed) == bytes
+  }
+
+  def 'should reuse pooled deflaters and inflaters'() {
+    given:
+    def subject = new DeflateCompression(16, true, 1, 1)
+
+    expect:
+    (1..10).every {
+      def bytes = ('{"value":"' + "$it" * 100 + '"}').getBytes(StandardCharsets.UTF_8)
+      subject.decompressBytes(subject.compressBytes(bytes)) == bytes
+    }
+  }
+}
@@ -23,6 +23,11 @@ import com.netflix.spinnaker.cats.cache.CacheFilter;
 import com.netflix.spinnaker.cats.cache.WriteableCache;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,15 +52,32 @@ public abstract class AbstractRedisCache implements WriteableCache {
   protected final ObjectMapper objectMapper;
   protected final RedisCacheOptions options;
 
+  /**
+   * Runs the get batches of reads that fan out, or null if reads do not fan out. Each read bounds
+   * how many of its batches run at once (see {@link RedisCacheOptions#getMaxGetParallelism()}),
+   * and every batch holds a connection from the pool while it runs.
+   */
+  private final ExecutorService getExecutor;
+
   protected AbstractRedisCache(
       String prefix,
       RedisClientDelegate redisClientDelegate,
       ObjectMapper objectMapper,
       RedisCacheOptions options) {
+    this(prefix, redisClientDelegate, objectMapper, options, null);
+  }
+
+  protected AbstractRedisCache(
+      String prefix,
+      RedisClientDelegate redisClientDelegate,
+      ObjectMapper objectMapper,
+      RedisCacheOptions options,
+      ExecutorService getExecutor) {
     this.prefix = prefix;
     this.redisClientDelegate = redisClientDelegate;
     this.objectMapper = objectMapper;
     this.options = options;
+    this.getExecutor = getExecutor;
   }
 
   protected abstract void mergeItems(String type, Collection<CacheData> items);
@@ -131,10 +153,61 @@ public abstract class AbstractRedisCache implements WriteableCache {
     return getAll(type, (CacheFilter) null);
   }
 
+  /**
+   * Reads every item of a type. When reads fan out, the members of the type are scanned a page at a
+   * time and each full batch of identifiers is fetched while the scan continues, rather than after
+   * the whole set was scanned.
+   */
   @Override
   public Collection<CacheData> getAll(String type, CacheFilter cacheFilter) {
-    final Set<String> allIds = scanMembers(allOfTypeId(type));
-    return getAll(type, allIds, cacheFilter);
+    if (!readsFanOut()) {
+      final Set<String> allIds = scanMembers(allOfTypeId(type));
+      return getAll(type, allIds, cacheFilter);
+    }
+
+    final String setKey = allOfTypeId(type);
+    final ScanParams scanParams = new ScanParams().count(options.getScanSize());
+    final Set<String> seen = new HashSet<>();
+    ParallelGet get = null;
+    List<String> batch = new ArrayList<>(options.getMaxGetBatchSize());
+    String cursor = "0";
+    try {
+      do {
+        // each page is scanned with its own connection, none is held while batches are waited on
+        final String pageCursor = cursor;
+        final ScanResult<String> page =
+            redisClientDelegate.withCommandsClient(
+                client -> {
+                  return client.sscan(setKey, pageCursor, scanParams);
+                });
+        for (String id : page.getResult()) {
+          if (seen.add(id)) {
+            batch.add(id);
+            if (batch.size() == options.getMaxGetBatchSize()) {
+              if (get == null) {
+                get = new ParallelGet(type, knownRelationships(type, cacheFilter));
+              }
+              get.submit(batch);
+              batch = new ArrayList<>(options.getMaxGetBatchSize());
+            }
+          }
+        }
+        cursor = page.getCursor();
+      } while (!"0".equals(cursor));
+    } catch (RuntimeException e) {
+      if (get != null) {
+        get.cancel();
+      }
+      throw e;
+    }
+
+    if (get == null) {
+      return getAll(type, batch, cacheFilter);
+    }
+    if (!batch.isEmpty()) {
+      get.submit(batch);
+    }
+    return get.results(seen.size());
   }
 
   @Override
@@ -154,13 +227,14 @@ public abstract class AbstractRedisCache implements WriteableCache {
       return new ArrayList<>();
     }
     Collection<String> ids = new LinkedHashSet<>(identifiers);
-    final List<String> knownRels;
-    Set<String> allRelationships = scanMembers(allRelationshipsId(type));
-    if (cacheFilter == null) {
-      knownRels = new ArrayList<>(allRelationships);
-    } else {
-      knownRels =
-          new ArrayList<>(cacheFilter.filter(CacheFilter.Type.RELATIONSHIP, allRelationships));
+    final List<String> knownRels = knownRelationships(type, cacheFilter);
+
+    if (readsFanOut() && ids.size() > options.getMaxGetBatchSize()) {
+      ParallelGet get = new ParallelGet(type, knownRels);
+      for (List<String> idPart : Iterables.partition(ids, options.getMaxGetBatchSize())) {
+        get.submit(idPart);
+      }
+      return get.results(ids.size());
     }
 
     Collection<CacheData> result = new ArrayList<>(ids.size());
@@ -172,6 +246,18 @@ public abstract class AbstractRedisCache implements WriteableCache {
     return result;
   }
 
+  private boolean readsFanOut() {
+    return getExecutor != null && options.getMaxGetParallelism() > 1;
+  }
+
+  private List<String> knownRelationships(String type, CacheFilter cacheFilter) {
+    Set<String> allRelationships = scanMembers(allRelationshipsId(type));
+    if (cacheFilter == null) {
+      return new ArrayList<>(allRelationships);
+    }
+    return new ArrayList<>(cacheFilter.filter(CacheFilter.Type.RELATIONSHIP, allRelationships));
+  }
+
   @Override
   public Collection<String> getIdentifiers(String type) {
     return scanMembers(allOfTypeId(type));
@@ -237,4 +323,74 @@ public abstract class AbstractRedisCache implements WriteableCache {
   protected TypeReference<? extends Collection<String>> getRelationshipsTypeReference() {
     return options.isTreatRelationshipsAsSet() ? RELATIONSHIPS_SET : RELATIONSHIPS_LIST;
   }
+
+  /**
+   * Fetches the get batches of a single read in parallel, at most {@link
+   * RedisCacheOptions#getMaxGetParallelism()} at a time. Submitting a batch blocks while that many
+   * are in flight, so a read that is still scanning identifiers does not run ahead of its fetches.
+   */
+  private class ParallelGet {
+    private final String type;
+    private final List<String> knownRels;
+    private final Semaphore permits = new Semaphore(options.getMaxGetParallelism());
+    private final List<Future<Collection<CacheData>>> batches = new ArrayList<>();
+
+    ParallelGet(String type, List<String> knownRels) {
+      this.type = type;
+      this.knownRels = knownRels;
+    }
+
+    void submit(List<String> ids) {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cancel();
+        throw new IllegalStateException("Interrupted while reading " + type, e);
+      }
+
+      try {
+        batches.add(
+            getExecutor.submit(
+                () -> {
+                  try {
+                    return getItems(type, ids, knownRels);
+                  } finally {
+                    permits.release();
+                  }
+                }));
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        cancel();
+        throw e;
+      }
+    }
+
+    Collection<CacheData> results(int expectedSize) {
+      Collection<CacheData> result = new ArrayList<>(expectedSize);
+      try {
+        for (Future<Collection<CacheData>> batch : batches) {
+          result.addAll(batch.get());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cancel();
+        throw new IllegalStateException("Interrupted while reading " + type, e);
+      } catch (ExecutionException e) {
+        cancel();
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw new IllegalStateException("Failed to read " + type, e.getCause());
+      }
+      return result;
+    }
+
+    private void cancel() {
+      batches.forEach(batch -> batch.cancel(true));
+    }
+  }
 }
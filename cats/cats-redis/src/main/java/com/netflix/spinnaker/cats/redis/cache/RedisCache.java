@@ -22,8 +22,11 @@ import com.google.common.collect.Lists;
 import com.google.common.hash.Hashing;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.cache.DefaultCacheData;
+import com.netflix.spinnaker.cats.compression.CompressionStrategy;
+import com.netflix.spinnaker.cats.compression.NoopCompression;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -38,7 +41,9 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
+import redis.clients.jedis.Response;
 
 public class RedisCache extends AbstractRedisCache {
 
@@ -86,6 +91,7 @@ public class RedisCache extends AbstractRedisCache {
   }
 
   private final CacheMetrics cacheMetrics;
+  private final CompressionStrategy compression;
 
   public RedisCache(
       String prefix,
@@ -93,8 +99,37 @@ public class RedisCache extends AbstractRedisCache {
       ObjectMapper objectMapper,
       RedisCacheOptions options,
       CacheMetrics cacheMetrics) {
-    super(prefix, redisClientDelegate, objectMapper, options);
+    this(prefix, redisClientDelegate, objectMapper, options, cacheMetrics, null);
+  }
+
+  /**
+   * @param compression compresses attribute and relationship values, which are stored as binary
+   *     values so that compressed values do not need to be encoded as text
+   */
+  public RedisCache(
+      String prefix,
+      RedisClientDelegate redisClientDelegate,
+      ObjectMapper objectMapper,
+      RedisCacheOptions options,
+      CacheMetrics cacheMetrics,
+      CompressionStrategy compression) {
+    this(prefix, redisClientDelegate, objectMapper, options, cacheMetrics, compression, null);
+  }
+
+  /**
+   * @param getExecutor fetches the get batches of reads that fan out, reads are sequential if null
+   */
+  public RedisCache(
+      String prefix,
+      RedisClientDelegate redisClientDelegate,
+      ObjectMapper objectMapper,
+      RedisCacheOptions options,
+      CacheMetrics cacheMetrics,
+      CompressionStrategy compression,
+      ExecutorService getExecutor) {
+    super(prefix, redisClientDelegate, objectMapper, options, getExecutor);
     this.cacheMetrics = cacheMetrics == null ? new CacheMetrics.NOOP() : cacheMetrics;
+    this.compression = compression == null ? new NoopCompression() : compression;
   }
 
   @Override
@@ -143,7 +178,7 @@ public class RedisCache extends AbstractRedisCache {
             }
 
             for (List<String> keys : Lists.partition(keysToSet, options.getMaxMsetSize())) {
-              pipeline.mset(keys.toArray(new String[keys.size()]));
+              pipeline.mset(encodeKeysAndValues(keys));
               msetOperations.incrementAndGet();
             }
 
@@ -255,18 +290,21 @@ public class RedisCache extends AbstractRedisCache {
       }
     }
 
-    final List<String> keyResult = new ArrayList<>(keysToGet.size());
+    final List<byte[]> keyResult = new ArrayList<>(keysToGet.size());
 
-    int mgetOperations =
-        redisClientDelegate.withMultiClient(
-            c -> {
-              int ops = 0;
-              for (List<String> part : Lists.partition(keysToGet, options.getMaxMgetSize())) {
-                ops++;
-                keyResult.addAll(c.mget(part.toArray(new String[part.size()])));
-              }
-              return ops;
-            });
+    AtomicInteger mgetOperations = new AtomicInteger();
+    redisClientDelegate.withMultiKeyPipeline(
+        pipeline -> {
+          List<Response<List<byte[]>>> responses = new ArrayList<>();
+          for (List<String> part : Lists.partition(keysToGet, options.getMaxMgetSize())) {
+            responses.add(pipeline.mget(encodeKeys(part)));
+            mgetOperations.incrementAndGet();
+          }
+          pipeline.sync();
+          for (Response<List<byte[]>> response : responses) {
+            keyResult.addAll(response.get());
+          }
+        });
 
     if (keyResult.size() != keysToGet.size()) {
       throw new RuntimeException("Expected same size result as request");
@@ -289,24 +327,26 @@ public class RedisCache extends AbstractRedisCache {
         ids.size(),
         keysToGet.size(),
         knownRels.size(),
-        mgetOperations);
+        mgetOperations.get());
     return results;
   }
 
-  private CacheData extractItem(String id, List<String> keyResult, List<String> knownRels) {
+  private CacheData extractItem(String id, List<byte[]> keyResult, List<String> knownRels) {
     if (keyResult.get(0) == null) {
       return null;
     }
 
     try {
-      final Map<String, Object> attributes = objectMapper.readValue(keyResult.get(0), ATTRIBUTES);
+      final Map<String, Object> attributes =
+          objectMapper.readValue(compression.decompressBytes(keyResult.get(0)), ATTRIBUTES);
       final Map<String, Collection<String>> relationships = new HashMap<>(keyResult.size() - 1);
       for (int relIdx = 1; relIdx < keyResult.size(); relIdx++) {
-        String rel = keyResult.get(relIdx);
+        byte[] rel = keyResult.get(relIdx);
         if (rel != null) {
           String relType = knownRels.get(relIdx - 1);
           Collection<String> deserializedRel =
-              objectMapper.readValue(rel, getRelationshipsTypeReference());
+              objectMapper.readValue(
+                  compression.decompressBytes(rel), getRelationshipsTypeReference());
           relationships.put(relType, deserializedRel);
         }
       }
@@ -318,6 +358,25 @@ public class RedisCache extends AbstractRedisCache {
     }
   }
 
+  private static byte[][] encodeKeys(List<String> keys) {
+    byte[][] encoded = new byte[keys.size()][];
+    for (int i = 0; i < encoded.length; i++) {
+      encoded[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+    }
+    return encoded;
+  }
+
+  /** Encodes alternating keys and values for a binary mset, compressing the values. */
+  private byte[][] encodeKeysAndValues(List<String> keysAndValues) {
+    byte[][] encoded = new byte[keysAndValues.size()][];
+    for (int i = 0; i < encoded.length; i += 2) {
+      encoded[i] = keysAndValues.get(i).getBytes(StandardCharsets.UTF_8);
+      encoded[i + 1] =
+          compression.compressBytes(keysAndValues.get(i + 1).getBytes(StandardCharsets.UTF_8));
+    }
+    return encoded;
+  }
+
   private static class MergeOp {
     public final Set<String> relNames;
     public final List<String> keysToSet;
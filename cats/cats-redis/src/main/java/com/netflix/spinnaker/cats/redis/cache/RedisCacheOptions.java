@@ -34,6 +34,7 @@ public class RedisCacheOptions {
   private final int maxMergeBatchSize;
   private final int maxEvictBatchSize;
   private final int maxGetBatchSize;
+  private final int maxGetParallelism;
   private final boolean hashingEnabled;
   private final boolean treatRelationshipsAsSet;
 
@@ -62,6 +63,38 @@ public class RedisCacheOptions {
       int maxGetBatchSize,
       boolean hashingEnabled,
       boolean treatRelationshipsAsSet) {
+    this(
+        maxMsetSize,
+        maxMgetSize,
+        maxHmgetSize,
+        maxHmsetSize,
+        maxSaddSize,
+        maxDelSize,
+        maxPipelineSize,
+        scanSize,
+        maxMergeBatchSize,
+        maxEvictBatchSize,
+        maxGetBatchSize,
+        Builder.DEFAULT_MAX_GET_PARALLELISM,
+        hashingEnabled,
+        treatRelationshipsAsSet);
+  }
+
+  public RedisCacheOptions(
+      int maxMsetSize,
+      int maxMgetSize,
+      int maxHmgetSize,
+      int maxHmsetSize,
+      int maxSaddSize,
+      int maxDelSize,
+      int maxPipelineSize,
+      int scanSize,
+      int maxMergeBatchSize,
+      int maxEvictBatchSize,
+      int maxGetBatchSize,
+      int maxGetParallelism,
+      boolean hashingEnabled,
+      boolean treatRelationshipsAsSet) {
     this.maxMsetSize = posEven("maxMsetSize", maxMsetSize);
     this.maxMgetSize = posInt("maxMgetSize", maxMgetSize);
     this.maxHmgetSize = posInt("maxHmgetSize", maxHmgetSize);
@@ -73,6 +106,7 @@ public class RedisCacheOptions {
     this.maxMergeBatchSize = posInt("maxMergeBatchSize", maxMergeBatchSize);
     this.maxEvictBatchSize = posInt("maxEvictBatchSize", maxEvictBatchSize);
     this.maxGetBatchSize = posInt("maxGetBatchSize", maxGetBatchSize);
+    this.maxGetParallelism = posInt("maxGetParallelism", maxGetParallelism);
     this.hashingEnabled = hashingEnabled;
     this.treatRelationshipsAsSet = treatRelationshipsAsSet;
   }
@@ -121,6 +155,14 @@ public class RedisCacheOptions {
     return maxGetBatchSize;
   }
 
+  /**
+   * The number of get batches a single read may fetch from the pool at the same time. Reads only
+   * fan out when this is above 1 and the cache was given an executor to fetch batches with.
+   */
+  public int getMaxGetParallelism() {
+    return maxGetParallelism;
+  }
+
   public boolean isHashingEnabled() {
     return hashingEnabled;
   }
@@ -134,6 +176,7 @@ public class RedisCacheOptions {
     public static final int DEFAULT_BATCH_SIZE = 200;
     public static final int DEFAULT_SCAN_SIZE = 200;
     public static final int DEFAULT_MAX_PIPELINE_SIZE = 200;
+    public static final int DEFAULT_MAX_GET_PARALLELISM = 1;
     public static final boolean DEFAULT_HASHING_ENABLED = true;
     public static final boolean DEFAULT_TREAT_RELATIONSHIPS_AS_SET_DISABLED = false;
 
@@ -148,6 +191,7 @@ public class RedisCacheOptions {
     int maxMergeBatchSize;
     int maxEvictBatchSize;
     int maxGetBatchSize;
+    int maxGetParallelism;
     boolean hashingEnabled;
     boolean treatRelationshipsAsSet;
 
@@ -156,6 +200,7 @@ public class RedisCacheOptions {
       scan(DEFAULT_SCAN_SIZE);
       multiOp(DEFAULT_MULTI_OP_SIZE);
       maxPipeline(DEFAULT_MAX_PIPELINE_SIZE);
+      maxGetParallelism(DEFAULT_MAX_GET_PARALLELISM);
       hashing(DEFAULT_HASHING_ENABLED);
       treatRelationshipsAsSet(DEFAULT_TREAT_RELATIONSHIPS_AS_SET_DISABLED);
     }
@@ -175,6 +220,11 @@ public class RedisCacheOptions {
       return this;
     }
 
+    public Builder maxGetParallelism(int maxGetParallelism) {
+      this.maxGetParallelism = maxGetParallelism;
+      return this;
+    }
+
     public Builder batchSize(int batchSize) {
       return maxMergeBatch(batchSize).maxEvictBatch(batchSize).maxGetBatch(batchSize);
     }
@@ -254,6 +304,7 @@ public class RedisCacheOptions {
           maxMergeBatchSize,
           maxEvictBatchSize,
           maxGetBatchSize,
+          maxGetParallelism,
           hashingEnabled,
           treatRelationshipsAsSet);
     }
@@ -354,6 +405,14 @@ public class RedisCacheOptions {
       this.maxGetBatchSize = maxGetBatchSize;
     }
 
+    public int getMaxGetParallelism() {
+      return maxGetParallelism;
+    }
+
+    public void setMaxGetParallelism(int maxGetParallelism) {
+      this.maxGetParallelism = maxGetParallelism;
+    }
+
     public boolean isHashingEnabled() {
       return hashingEnabled;
     }
@@ -17,10 +17,16 @@
 package com.netflix.spinnaker.cats.redis.cache;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.cats.cache.NamedCacheFactory;
 import com.netflix.spinnaker.cats.cache.WriteableCache;
+import com.netflix.spinnaker.cats.compression.CompressionStrategy;
 import com.netflix.spinnaker.cats.redis.cache.RedisCache.CacheMetrics;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class RedisNamedCacheFactory implements NamedCacheFactory {
 
@@ -28,20 +34,76 @@ public class RedisNamedCacheFactory implements NamedCacheFactory {
   private final ObjectMapper objectMapper;
   private final RedisCacheOptions options;
   private final CacheMetrics cacheMetrics;
+  private final CompressionStrategy compression;
+  private final ExecutorService getExecutor;
 
   public RedisNamedCacheFactory(
       RedisClientDelegate redisClientDelegate,
       ObjectMapper objectMapper,
       RedisCacheOptions options,
       CacheMetrics cacheMetrics) {
+    this(redisClientDelegate, objectMapper, options, cacheMetrics, null);
+  }
+
+  public RedisNamedCacheFactory(
+      RedisClientDelegate redisClientDelegate,
+      ObjectMapper objectMapper,
+      RedisCacheOptions options,
+      CacheMetrics cacheMetrics,
+      CompressionStrategy compression) {
+    this(
+        redisClientDelegate,
+        objectMapper,
+        options,
+        cacheMetrics,
+        compression,
+        options.getMaxGetParallelism());
+  }
+
+  /**
+   * @param maxGetThreads the number of threads, and so pooled connections, that the caches of this
+   *     factory may use to fetch get batches in parallel across all of their reads. Once they are
+   *     all busy, a read fetches its next batch on the calling thread.
+   */
+  public RedisNamedCacheFactory(
+      RedisClientDelegate redisClientDelegate,
+      ObjectMapper objectMapper,
+      RedisCacheOptions options,
+      CacheMetrics cacheMetrics,
+      CompressionStrategy compression,
+      int maxGetThreads) {
     this.redisClientDelegate = redisClientDelegate;
     this.objectMapper = objectMapper;
     this.options = options;
     this.cacheMetrics = cacheMetrics;
+    this.compression = compression;
+    this.getExecutor =
+        options.getMaxGetParallelism() > 1 ? newGetExecutor(Math.max(1, maxGetThreads)) : null;
   }
 
   @Override
   public WriteableCache getCache(String name) {
-    return new RedisCache(name, redisClientDelegate, objectMapper, options, cacheMetrics);
+    return new RedisCache(
+        name, redisClientDelegate, objectMapper, options, cacheMetrics, compression, getExecutor);
+  }
+
+  public void close() {
+    if (getExecutor != null) {
+      getExecutor.shutdown();
+    }
+  }
+
+  private static ExecutorService newGetExecutor(int threads) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("RedisCacheGet-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 }
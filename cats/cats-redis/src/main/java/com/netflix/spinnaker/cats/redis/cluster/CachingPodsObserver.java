@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netflix.spinnaker.cats.agent.Agent;
 import com.netflix.spinnaker.cats.cluster.NodeIdentity;
 import com.netflix.spinnaker.cats.cluster.ShardingFilter;
+import com.netflix.spinnaker.cats.cluster.ShardingStrategy;
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
 import java.util.Arrays;
@@ -40,9 +41,9 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
       "com.netflix.spinnaker.clouddriver.core.provider.CoreProvider";
   private final RedisClientDelegate redisClientDelegate;
   private final NodeIdentity nodeIdentity;
+  private final DynamicConfigService dynamicConfigService;
   private final long replicaKeyTtl;
-  private int podCount = 0;
-  private int podIndex = -1;
+  private volatile List<String> replicas = Collections.emptyList();
   // this script adds or updates a unique id as a member of a sorted set with score equal to current
   // time plus sharding.replica-key-ttl-seconds, deletes the members having scores less than current
   // time(ms) and finally fetches list of all members of the sorted set which represent the live
@@ -58,6 +59,7 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
       DynamicConfigService dynamicConfigService) {
     this.redisClientDelegate = redisClientDelegate;
     this.nodeIdentity = nodeIdentity;
+    this.dynamicConfigService = dynamicConfigService;
     long observerIntervalSeconds =
         dynamicConfigService.getConfig(
             Integer.class, "cache-sharding.heartbeat-interval-seconds", 30);
@@ -97,18 +99,16 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
             });
     if (evalResponse instanceof List) {
       List<String> replicaList = (List) evalResponse;
-      podCount = replicaList.size();
-      podIndex =
-          replicaList.stream()
-              .sorted()
-              .collect(Collectors.toList())
-              .indexOf(nodeIdentity.getNodeIdentity());
-      logger.debug("caching pods = {} and this pod's index = {}", podCount, podIndex);
+      replicas = replicaList.stream().sorted().collect(Collectors.toList());
+      logger.debug(
+          "caching pods = {} and this pod's index = {}",
+          replicas.size(),
+          replicas.indexOf(nodeIdentity.getNodeIdentity()));
     } else {
       logger.error("Something is wrong, please check if the eval script and params are valid");
     }
 
-    if (podCount == 0 || podIndex == -1) {
+    if (replicas.isEmpty() || !replicas.contains(nodeIdentity.getNodeIdentity())) {
       logger.error(
           "No caching pod heartbeat records detected. Sharding logic can't be applied!!!!");
     }
@@ -119,14 +119,17 @@ public class CachingPodsObserver implements ShardingFilter, Runnable {
     if (agent.getProviderName().equals(CORE_PROVIDER)) {
       return true;
     }
-    return podCount == 1
-        || Math.abs(getAccountName(agent.getAgentType()).hashCode() % podCount) == podIndex;
+    String accountWeightKey =
+        "cache-sharding.account-weights." + ShardingStrategy.getAccountName(agent.getAgentType());
+    String shardKey =
+        ShardingStrategy.shardKey(
+            agent.getAgentType(),
+            dynamicConfigService.getConfig(Integer.class, accountWeightKey, 1));
+    return getShardingStrategy().isOwner(shardKey, replicas, nodeIdentity.getNodeIdentity());
   }
 
-  private String getAccountName(String agentType) {
-    if (agentType.contains("/")) {
-      return agentType.substring(0, agentType.indexOf('/'));
-    }
-    return agentType;
+  private ShardingStrategy getShardingStrategy() {
+    return ShardingStrategy.forName(
+        dynamicConfigService.getConfig(String.class, "cache-sharding.strategy", "modulo"));
   }
 }
@@ -18,13 +18,17 @@ package com.netflix.spinnaker.cats.redis.cluster;
 
 import static com.netflix.spinnaker.cats.agent.ExecutionInstrumentation.elapsedTimeMs;
 
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.Agent;
 import com.netflix.spinnaker.cats.agent.AgentExecution;
 import com.netflix.spinnaker.cats.agent.AgentLock;
 import com.netflix.spinnaker.cats.agent.AgentScheduler;
 import com.netflix.spinnaker.cats.agent.AgentSchedulerAware;
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation;
+import com.netflix.spinnaker.cats.cluster.AgentCostTracker;
 import com.netflix.spinnaker.cats.cluster.AgentIntervalProvider;
 import com.netflix.spinnaker.cats.cluster.NodeIdentity;
 import com.netflix.spinnaker.cats.cluster.NodeStatusProvider;
@@ -34,6 +38,7 @@ import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -43,6 +48,7 @@ import java.util.stream.Collectors;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.params.SetParams;
 
 public class ClusteredAgentScheduler extends CatsModuleAware
@@ -70,9 +76,21 @@ public class ClusteredAgentScheduler extends CatsModuleAware
   @Getter // visible for tests
   private final Map<String, NextAttempt> activeAgents = new ConcurrentHashMap<>();
 
+  /**
+   * Lock releases of completed agents awaiting a batched flush, only used when batched locking is
+   * enabled
+   */
+  private final Queue<PendingRelease> pendingReleases = new ConcurrentLinkedQueue<>();
+
+  /** Execution history of every agent, used to pick agents when cost-aware scheduling is enabled */
+  private final AgentCostTracker costTracker = new AgentCostTracker();
+
   private final NodeStatusProvider nodeStatusProvider;
   private final DynamicConfigService dynamicConfigService;
   private final ShardingFilter shardingFilter;
+  private final Registry registry;
+  private final Id lockLoopId;
+  private final Id locksPerRoundTripId;
 
   private static final long MIN_TTL_THRESHOLD = 500L;
   private static final String SET_IF_NOT_EXIST = "NX";
@@ -96,7 +114,8 @@ public class ClusteredAgentScheduler extends CatsModuleAware
       String enabledAgentPattern,
       Integer agentLockAcquisitionIntervalSeconds,
       DynamicConfigService dynamicConfigService,
-      ShardingFilter shardingFilter) {
+      ShardingFilter shardingFilter,
+      Registry registry) {
     this(
         redisClientDelegate,
         nodeIdentity,
@@ -113,7 +132,8 @@ public class ClusteredAgentScheduler extends CatsModuleAware
         enabledAgentPattern,
         agentLockAcquisitionIntervalSeconds,
         dynamicConfigService,
-        shardingFilter);
+        shardingFilter,
+        registry);
   }
 
   public ClusteredAgentScheduler(
@@ -126,7 +146,8 @@ public class ClusteredAgentScheduler extends CatsModuleAware
       String enabledAgentPattern,
       Integer agentLockAcquisitionIntervalSeconds,
       DynamicConfigService dynamicConfigService,
-      ShardingFilter shardingFilter) {
+      ShardingFilter shardingFilter,
+      Registry registry) {
     this.redisClientDelegate = redisClientDelegate;
     this.nodeIdentity = nodeIdentity;
     this.intervalProvider = intervalProvider;
@@ -135,6 +156,9 @@ public class ClusteredAgentScheduler extends CatsModuleAware
     this.enabledAgentPattern = Pattern.compile(enabledAgentPattern);
     this.dynamicConfigService = dynamicConfigService;
     this.shardingFilter = shardingFilter;
+    this.registry = registry;
+    this.lockLoopId = registry.createId("cats.clusteredAgentScheduler.lockLoop");
+    this.locksPerRoundTripId = registry.createId("cats.clusteredAgentScheduler.locksPerRoundTrip");
     Integer lockInterval =
         agentLockAcquisitionIntervalSeconds == null ? 1 : agentLockAcquisitionIntervalSeconds;
 
@@ -154,25 +178,27 @@ public class ClusteredAgentScheduler extends CatsModuleAware
           skip.stream().sorted().collect(Collectors.joining(",")));
       return Collections.emptyMap();
     }
+    List<AgentExecutionAction> candidates = getCandidates(skip, maxConcurrentAgents);
+    if (isBatchedLocking()) {
+      return acquireBatched(candidates, availableAgents);
+    }
+
     Map<String, NextAttempt> acquired = new HashMap<>(agents.size());
-    // Shuffle the list before grabbing so that we don't favor some agents accidentally
-    List<Map.Entry<String, AgentExecutionAction>> agentsEntrySet =
-        new ArrayList<>(agents.entrySet());
-    Collections.shuffle(agentsEntrySet);
-    for (Map.Entry<String, AgentExecutionAction> agent : agentsEntrySet) {
-      if (shardingFilter.filter(agent.getValue().getAgent()) && !skip.contains(agent.getKey())) {
-        final String agentType = agent.getKey();
-        AgentIntervalProvider.Interval interval =
-            intervalProvider.getInterval(agent.getValue().getAgent());
-        if (acquireRunKey(agentType, interval.getTimeout())) {
-          acquired.put(
-              agentType,
-              new NextAttempt(
-                  System.currentTimeMillis(),
-                  interval.getInterval(),
-                  interval.getErrorInterval(),
-                  interval.getTimeout()));
-        }
+    for (AgentExecutionAction candidate : candidates) {
+      final String agentType = candidate.getAgent().getAgentType();
+      AgentIntervalProvider.Interval interval = intervalProvider.getInterval(candidate.getAgent());
+      boolean locked = acquireRunKey(agentType, interval.getTimeout());
+      registry.distributionSummary(locksPerRoundTripId.withTag("operation", "acquire")).record(1);
+      if (locked) {
+        acquired.put(
+            agentType,
+            new NextAttempt(
+                System.currentTimeMillis(),
+                interval.getInterval(),
+                interval.getErrorInterval(),
+                interval.getTimeout()));
+      } else {
+        lockedElsewhere(agentType, interval);
       }
       if (acquired.size() >= availableAgents) {
         return acquired;
@@ -181,16 +207,123 @@ public class ClusteredAgentScheduler extends CatsModuleAware
     return acquired;
   }
 
+  /**
+   * Returns the agents that may run on this node and are not already running, in the order in
+   * which their locks should be tried.
+   *
+   * <p>Agents are shuffled so that none are favored accidentally, unless cost-aware scheduling is
+   * enabled, in which case the most overdue agents that fit the concurrency budget are returned.
+   */
+  private List<AgentExecutionAction> getCandidates(Set<String> skip, int maxConcurrentAgents) {
+    List<AgentExecutionAction> candidates = new ArrayList<>(agents.size());
+    for (Map.Entry<String, AgentExecutionAction> agent : agents.entrySet()) {
+      if (shardingFilter.filter(agent.getValue().getAgent()) && !skip.contains(agent.getKey())) {
+        candidates.add(agent.getValue());
+      }
+    }
+
+    if (isCostAwareScheduling()) {
+      long slotCostMs =
+          dynamicConfigService.getConfig(
+              Long.class, "redis.agent.cost-aware-scheduling.slot-cost-ms", 60000L);
+      return costTracker.select(
+          candidates,
+          action -> action.getAgent().getAgentType(),
+          action -> intervalProvider.getInterval(action.getAgent()).getInterval(),
+          skip,
+          maxConcurrentAgents,
+          slotCostMs,
+          System.currentTimeMillis());
+    }
+
+    Collections.shuffle(candidates);
+    return candidates;
+  }
+
+  /**
+   * An agent whose lock is held by another node is not due until that lock expires, so it is
+   * treated as having last started one interval ago.
+   */
+  private void lockedElsewhere(String agentType, AgentIntervalProvider.Interval interval) {
+    if (isCostAwareScheduling()) {
+      costTracker.recordStarted(agentType, System.currentTimeMillis() - interval.getInterval());
+    }
+  }
+
+  /**
+   * Batched variant of {@link #acquire()}: candidate agents are locked with pipelined {@code SET NX
+   * PX} commands, {@code redis.agent.lock-batch-size} agents per round trip, rather than one round
+   * trip per agent.
+   */
+  private Map<String, NextAttempt> acquireBatched(
+      List<AgentExecutionAction> candidates, int availableAgents) {
+    int batchSize =
+        dynamicConfigService.getConfig(Integer.class, "redis.agent.lock-batch-size", 100);
+
+    Map<String, NextAttempt> acquired = new HashMap<>();
+    int offset = 0;
+    while (offset < candidates.size() && acquired.size() < availableAgents) {
+      int size = Math.min(batchSize, availableAgents - acquired.size());
+      List<AgentExecutionAction> batch =
+          candidates.subList(offset, Math.min(offset + size, candidates.size()));
+      offset += batch.size();
+
+      Map<String, AgentIntervalProvider.Interval> intervals = new LinkedHashMap<>(batch.size());
+      for (AgentExecutionAction action : batch) {
+        intervals.put(
+            action.getAgent().getAgentType(), intervalProvider.getInterval(action.getAgent()));
+      }
+
+      long now = System.currentTimeMillis();
+      List<String> locked = acquireRunKeys(intervals);
+      for (String agentType : locked) {
+        AgentIntervalProvider.Interval interval = intervals.get(agentType);
+        acquired.put(
+            agentType,
+            new NextAttempt(
+                now, interval.getInterval(), interval.getErrorInterval(), interval.getTimeout()));
+      }
+      intervals.forEach(
+          (agentType, interval) -> {
+            if (!acquired.containsKey(agentType)) {
+              lockedElsewhere(agentType, interval);
+            }
+          });
+    }
+    return acquired;
+  }
+
+  private boolean isCostAwareScheduling() {
+    return dynamicConfigService.isEnabled("redis.agent.cost-aware-scheduling", false);
+  }
+
+  private boolean isBatchedLocking() {
+    return redisClientDelegate.supportsMultiKeyPipelines()
+        && dynamicConfigService.isEnabled("redis.agent.batched-locks", false);
+  }
+
   @Override
   public void run() {
     if (!nodeStatusProvider.isNodeEnabled()) {
+      // agents that completed before the node was disabled must still give up their locks
+      try {
+        releasePendingRunKeys();
+      } catch (Throwable t) {
+        logger.error("Unable to release agent locks", t);
+      }
       return;
     }
+    long startTimeMs = System.currentTimeMillis();
     try {
+      releasePendingRunKeys();
       pruneActiveAgents();
       runAgents();
     } catch (Throwable t) {
       logger.error("Unable to run agents", t);
+    } finally {
+      registry
+          .timer(lockLoopId.withTag("batched", isBatchedLocking()))
+          .record(elapsedTimeMs(startTimeMs), TimeUnit.MILLISECONDS);
     }
   }
 
@@ -205,9 +338,9 @@ public class ClusteredAgentScheduler extends CatsModuleAware
    *
    * <p>The motivation for actively cleaning such entries from the map is to ensure that no agent is
    * in such a bad state that it can't be rescheduled again. In a normal workflow, the agent is
-   * removed from the map when {@link #agentCompleted(String, long)} is called from {@link #run()}
-   * method after its execution. But, if for some reason, that thread is killed, and the {@link
-   * #agentCompleted(String, long)} is not called, then this agent stays in the {@link
+   * removed from the map when {@link #agentCompleted(String, long, long)} is called from {@link
+   * #run()} method after its execution. But, if for some reason, that thread is killed, and the
+   * {@link #agentCompleted(String, long, long)} is not called, then this agent stays in the {@link
    * #activeAgents} map, which means it won't be rescheduled again. So by actively doing something
    * like this, we enable it to be rescheduled.
    */
@@ -244,12 +377,29 @@ public class ClusteredAgentScheduler extends CatsModuleAware
         "scheduling {} new agents, total number of active agents: {}",
         thisRun.size(),
         activeAgents.size());
+    boolean costAware = isCostAwareScheduling();
     for (final Map.Entry<String, NextAttempt> toRun : thisRun.entrySet()) {
       final AgentExecutionAction exec = agents.get(toRun.getKey());
+      if (costAware) {
+        agentScheduled(exec, toRun.getValue());
+      }
       agentExecutionPool.submit(new AgentJob(toRun.getValue(), exec, this));
     }
   }
 
+  private void agentScheduled(AgentExecutionAction exec, NextAttempt attempt) {
+    String agentType = exec.getAgent().getAgentType();
+    long latenessMs =
+        costTracker.getLatenessMs(agentType, attempt.successInterval, attempt.currentTime);
+    AgentCostTracker.AgentCost cost = costTracker.getCost(agentType);
+    exec.executionInstrumentation.executionScheduled(
+        exec.getAgent(),
+        latenessMs,
+        cost == null ? 0 : cost.getEstimatedDurationMs(),
+        cost == null ? 0 : cost.getEstimatedResultSize());
+    costTracker.recordStarted(agentType, attempt.currentTime);
+  }
+
   private boolean acquireRunKey(String agentType, long timeout) {
     return redisClientDelegate.withCommandsClient(
         client -> {
@@ -262,6 +412,87 @@ public class ClusteredAgentScheduler extends CatsModuleAware
         });
   }
 
+  /**
+   * Locks every agent in {@code intervals} (agent type to interval) in a single pipelined round
+   * trip, using each interval's timeout as the lock TTL.
+   *
+   * @return the agent types that were locked
+   */
+  private List<String> acquireRunKeys(Map<String, AgentIntervalProvider.Interval> intervals) {
+    Map<String, Response<String>> responses = new LinkedHashMap<>(intervals.size());
+    redisClientDelegate.withMultiKeyPipeline(
+        pipeline -> {
+          intervals.forEach(
+              (agentType, interval) ->
+                  responses.put(
+                      agentType,
+                      pipeline.set(
+                          agentType,
+                          nodeIdentity.getNodeIdentity(),
+                          SetParams.setParams().nx().px(interval.getTimeout()))));
+          pipeline.sync();
+        });
+    registry
+        .distributionSummary(locksPerRoundTripId.withTag("operation", "acquire"))
+        .record(intervals.size());
+
+    List<String> acquired = new ArrayList<>(responses.size());
+    responses.forEach(
+        (agentType, response) -> {
+          if (SUCCESS_RESPONSE.equals(response.get())) {
+            acquired.add(agentType);
+          }
+        });
+    return acquired;
+  }
+
+  /**
+   * Releases or re-TTLs the locks of all agents that completed since the last scheduler run, using
+   * one pipelined round trip per {@code redis.agent.lock-batch-size} agents.
+   */
+  private void releasePendingRunKeys() {
+    if (pendingReleases.isEmpty()) {
+      return;
+    }
+
+    List<PendingRelease> releases = new ArrayList<>();
+    PendingRelease release;
+    while ((release = pendingReleases.poll()) != null) {
+      releases.add(release);
+    }
+
+    int batchSize =
+        dynamicConfigService.getConfig(Integer.class, "redis.agent.lock-batch-size", 100);
+    try {
+      for (List<PendingRelease> batch : Lists.partition(releases, batchSize)) {
+        long now = System.currentTimeMillis();
+        redisClientDelegate.withMultiKeyPipeline(
+            pipeline -> {
+              for (PendingRelease pending : batch) {
+                long newTtl = pending.when - now;
+                if (newTtl < MIN_TTL_THRESHOLD) {
+                  pipeline.eval(
+                      DELETE_LOCK_KEY,
+                      Collections.singletonList(pending.agentType),
+                      Collections.singletonList(nodeIdentity.getNodeIdentity()));
+                } else {
+                  pipeline.eval(
+                      TTL_LOCK_KEY,
+                      Collections.singletonList(pending.agentType),
+                      Arrays.asList(nodeIdentity.getNodeIdentity(), Long.toString(newTtl)));
+                }
+              }
+              pipeline.sync();
+            });
+        registry
+            .distributionSummary(locksPerRoundTripId.withTag("operation", "release"))
+            .record(batch.size());
+      }
+    } finally {
+      releases.forEach(r -> activeAgents.remove(r.agentType));
+    }
+  }
+
   private boolean deleteLock(String agentType) {
     return redisClientDelegate.withScriptingClient(
         client -> {
@@ -303,7 +534,15 @@ public class ClusteredAgentScheduler extends CatsModuleAware
     }
   }
 
-  private void agentCompleted(String agentType, long nextExecutionTime) {
+  private void agentCompleted(String agentType, long nextExecutionTime, long elapsedMs) {
+    costTracker.recordCompleted(agentType, elapsedMs);
+
+    if (isBatchedLocking()) {
+      // the lock is released (and the agent removed from activeAgents) on the next scheduler run
+      pendingReleases.add(new PendingRelease(agentType, nextExecutionTime));
+      return;
+    }
+
     try {
       releaseRunKey(agentType, nextExecutionTime);
     } finally {
@@ -341,9 +580,9 @@ public class ClusteredAgentScheduler extends CatsModuleAware
    * Removes an agent from redis, {@link #agents} and {@link #activeAgents} maps.
    *
    * NOTE: we are explicitly removing the agent from the {@link #activeAgents} map. Normally, the agent is
-   * removed from it when {@link #agentCompleted(String, long)} is called after it executes via
+   * removed from it when {@link #agentCompleted(String, long, long)} is called after it executes via
    * {@link AgentJob#run()}. But if for some reason that thread is killed before
-   * {@link #agentCompleted(String, long)} is executed, then this agent is not removed from the
+   * {@link #agentCompleted(String, long, long)} is executed, then this agent is not removed from the
    * {@link #activeAgents} map, and that means it won't be executed again if this agent is scheduled
    * again in future.
    *
@@ -359,11 +598,22 @@ public class ClusteredAgentScheduler extends CatsModuleAware
       releaseRunKey(agent.getAgentType(), 0); // Delete lock key now.
     } finally {
       agents.remove(agent.getAgentType());
+      costTracker.remove(agent.getAgentType());
       // explicitly remove it from the active agents map
       activeAgents.remove(agent.getAgentType());
     }
   }
 
+  private static class PendingRelease {
+    private final String agentType;
+    private final long when;
+
+    public PendingRelease(String agentType, long when) {
+      this.agentType = agentType;
+      this.when = when;
+    }
+  }
+
   private static class NextAttempt {
     private final long currentTime;
     private final long successInterval;
@@ -401,11 +651,14 @@ public class ClusteredAgentScheduler extends CatsModuleAware
     @Override
     public void run() {
       Status status = Status.FAILURE;
+      long startTimeMs = System.currentTimeMillis();
       try {
         status = action.execute();
       } finally {
         scheduler.agentCompleted(
-            action.getAgent().getAgentType(), lockReleaseTime.getNextTime(status));
+            action.getAgent().getAgentType(),
+            lockReleaseTime.getNextTime(status),
+            elapsedTimeMs(startTimeMs));
       }
     }
   }
@@ -23,6 +23,7 @@ import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.cache.WriteableCacheSpec
+import com.netflix.spinnaker.cats.compression.DeflateCompression
 import com.netflix.spinnaker.cats.redis.cache.RedisCache.CacheMetrics
 import com.netflix.spinnaker.kork.jedis.EmbeddedRedis
 import com.netflix.spinnaker.kork.jedis.JedisClientDelegate
@@ -32,6 +33,8 @@ import spock.lang.AutoCleanup
 import spock.lang.Shared
 import spock.lang.Unroll
 
+import java.util.concurrent.Executors
+
 class RedisCacheSpec extends WriteableCacheSpec {
   static int MAX_MSET_SIZE = 2
   static int MAX_MERGE_COUNT = 1
@@ -233,6 +236,79 @@ class RedisCacheSpec extends WriteableCacheSpec {
       itemTwoAttributes.equals(cache.get(type, id).attributes)
   }
 
+  def 'compressed values are stored as binary and read back alongside uncompressed values'() {
+    setup:
+    def mapper = new ObjectMapper()
+    def options = RedisCacheOptions.builder().build()
+    def plainCache = new RedisCache('test', new JedisClientDelegate(pool), mapper, options, cacheMetrics)
+    def compressedCache = new RedisCache(
+      'test',
+      new JedisClientDelegate(pool),
+      mapper,
+      options,
+      cacheMetrics,
+      new DeflateCompression(16, true, 1))
+    def largeAttributes = [description: 'x' * 2048]
+
+    when:
+    plainCache.merge('foo', new DefaultCacheData('plain', largeAttributes, [bar: ['bar:1']]))
+    compressedCache.merge('foo', new DefaultCacheData('compressed', largeAttributes, [bar: ['bar:1', 'bar:2']]))
+
+    then:
+    rawValue('test:foo:attributes:compressed').length < 2048
+    rawValue('test:foo:attributes:plain').length > 2048
+
+    when:
+    Map<String, CacheData> items = compressedCache.getAll('foo', ['plain', 'compressed']).collectEntries { [(it.id): it] }
+
+    then:
+    items.plain.attributes == largeAttributes
+    items.plain.relationships.bar as Set == ['bar:1'] as Set
+    items.compressed.attributes == largeAttributes
+    items.compressed.relationships.bar as Set == ['bar:1', 'bar:2'] as Set
+  }
+
+  def 'getAll fetches batches in parallel with parallelism #parallelism'() {
+    setup:
+    def mapper = new ObjectMapper()
+    def getExecutor = Executors.newFixedThreadPool(2)
+    def cache = new RedisCache(
+      'test',
+      new JedisClientDelegate(pool),
+      mapper,
+      RedisCacheOptions.builder().maxGetBatch(7).scan(5).maxGetParallelism(parallelism).build(),
+      cacheMetrics,
+      null,
+      getExecutor)
+    def items = (0..100).collect { createData("blerp-$it", [index: it], [bar: ["bar:$it".toString()]]) }
+    cache.mergeAll('foo', items)
+
+    when:
+    def all = cache.getAll('foo')
+    def some = cache.getAll('foo', items.id.findAll { it.endsWith('1') } + ['missing'])
+
+    then:
+    all.size() == items.size()
+    all.collectEntries { [(it.id): it.attributes.index] } == items.collectEntries { [(it.id): it.attributes.index] }
+    all.find { it.id == 'blerp-42' }.relationships.bar == ['bar:42']
+    some.id == items.id.findAll { it.endsWith('1') }
+
+    cleanup:
+    getExecutor.shutdown()
+
+    where:
+    parallelism << [1, 4]
+  }
+
+  private byte[] rawValue(String key) {
+    Jedis jedis = pool.resource
+    try {
+      return jedis.get(key.getBytes('UTF-8'))
+    } finally {
+      jedis.close()
+    }
+  }
+
   private static class Bean {
     String key
     Integer key2
@@ -18,6 +18,7 @@ package com.netflix.spinnaker.cats.redis.cache
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.kork.jedis.EmbeddedRedis
 import com.netflix.spinnaker.kork.jedis.JedisClientDelegate
 import redis.clients.jedis.Jedis
@@ -26,6 +27,8 @@ import spock.lang.AutoCleanup
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.util.concurrent.ThreadPoolExecutor
+
 class RedisNamedCacheFactorySpec extends Specification {
 
     @Subject
@@ -49,6 +52,10 @@ class RedisNamedCacheFactorySpec extends Specification {
         factory = new RedisNamedCacheFactory(new JedisClientDelegate(pool), mapper, RedisCacheOptions.builder().build(), null)
     }
 
+    def cleanup() {
+        factory.close()
+    }
+
     def 'caches with the same name share content'() {
         def c1 = factory.getCache('foo')
         def c2 = factory.getCache('foo')
@@ -78,4 +85,37 @@ class RedisNamedCacheFactorySpec extends Specification {
         barC1.attributes.bar == 'baz'
         barC2 == null
     }
+
+    def 'caches share the bounded get executor when reads fan out'() {
+        setup:
+        def pool = embeddedRedis.pool as JedisPool
+        def options = RedisCacheOptions.builder().maxGetBatch(2).maxGetParallelism(4).build()
+        def parallelFactory = new RedisNamedCacheFactory(new JedisClientDelegate(pool), new ObjectMapper(), options, null, null, 2)
+        def c1 = parallelFactory.getCache('foo')
+        def c2 = parallelFactory.getCache('foo')
+        def ids = (1..9).collect { "bar$it".toString() }
+
+        when:
+        ids.each { c1.merge('foo', new DefaultCacheData(it, [bar: it], [:])) }
+        def all = c2.getAll('foo', ids)
+
+        then:
+        all*.id as Set == ids as Set
+        getExecutor(c1).is(getExecutor(c2))
+        getExecutor(c1).maximumPoolSize == 2
+
+        cleanup:
+        parallelFactory.close()
+    }
+
+    def 'caches do not get an executor when reads are sequential'() {
+        expect:
+        getExecutor(factory.getCache('foo')) == null
+    }
+
+    private static ThreadPoolExecutor getExecutor(WriteableCache cache) {
+        def field = AbstractRedisCache.getDeclaredField('getExecutor')
+        field.accessible = true
+        return field.get(cache) as ThreadPoolExecutor
+    }
 }
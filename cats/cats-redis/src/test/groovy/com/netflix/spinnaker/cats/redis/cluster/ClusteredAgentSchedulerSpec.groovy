@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.cats.redis.cluster
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spectator.api.NoopRegistry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.agent.AgentExecution
 import com.netflix.spinnaker.cats.agent.CachingAgent
@@ -24,6 +25,7 @@ import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
 import com.netflix.spinnaker.cats.cluster.DefaultAgentIntervalProvider
 import com.netflix.spinnaker.cats.cluster.DefaultNodeIdentity
 import com.netflix.spinnaker.cats.cluster.DefaultNodeStatusProvider
+import com.netflix.spinnaker.cats.cluster.NodeStatusProvider
 import com.netflix.spinnaker.cats.cluster.NoopShardingFilter
 import com.netflix.spinnaker.cats.test.ManualRunnableScheduler
 import com.netflix.spinnaker.cats.test.TestAgent
@@ -31,6 +33,8 @@ import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.jedis.JedisClientDelegate
 import redis.clients.jedis.Jedis
 import redis.clients.jedis.JedisPool
+import redis.clients.jedis.Pipeline
+import redis.clients.jedis.Response
 import redis.clients.jedis.params.SetParams
 import spock.lang.Specification
 import spock.lang.Subject
@@ -71,7 +75,8 @@ class ClusteredAgentSchedulerSpec extends Specification {
           ".*",
           null,
           dcs,
-          new NoopShardingFilter()
+          new NoopShardingFilter(),
+      new NoopRegistry()
         )
     }
 
@@ -123,6 +128,105 @@ class ClusteredAgentSchedulerSpec extends Specification {
         0 * _
     }
 
+    def 'batched locking acquires and releases locks through pipelines'() {
+      given:
+      def pipeline = Mock(Pipeline)
+      def acquired = Stub(Response) { get() >> 'OK' }
+      def notAcquired = Stub(Response) { get() >> null }
+      def batchedDcs = Stub(DynamicConfigService) {
+        getConfig(Integer, _ as String, _) >> { type, name, defaultValue -> defaultValue }
+        isEnabled('redis.agent.batched-locks', false) >> true
+      }
+      def batchedScheduler = new ClusteredAgentScheduler(
+        new JedisClientDelegate(jedisPool),
+        new DefaultNodeIdentity(),
+        new DefaultAgentIntervalProvider(6000000),
+        new DefaultNodeStatusProvider(),
+        lockPollingScheduler,
+        agentExecutionScheduler,
+        ".*",
+        null,
+        batchedDcs,
+        new NoopShardingFilter(),
+        new NoopRegistry()
+      )
+
+      when:
+      batchedScheduler.schedule(agent, exec, inst)
+      lockPollingScheduler.runAll()
+      agentExecutionScheduler.runAll()
+
+      then:
+      1 * jedis.pipelined() >> pipeline
+      1 * pipeline.set(agent.agentType, _ as String, _ as SetParams) >> acquired
+      1 * pipeline.sync()
+      1 * exec.executeAgent(agent)
+      0 * jedis.set(_ as String, _ as String, _ as SetParams)
+      0 * jedis.eval(_ as String, _ as List, _ as List)
+
+      // the lock is released on the next scheduler run
+      batchedScheduler.activeAgents.containsKey(agent.agentType)
+
+      when:
+      lockPollingScheduler.runAll()
+
+      then:
+      2 * jedis.pipelined() >> pipeline
+      1 * pipeline.eval(batchedScheduler.TTL_LOCK_KEY, List.of(agent.agentType), _ as List)
+      1 * pipeline.set(agent.agentType, _ as String, _ as SetParams) >> notAcquired
+      2 * pipeline.sync()
+      !batchedScheduler.activeAgents.containsKey(agent.agentType)
+    }
+
+    def 'batched locks are released when the node is disabled'() {
+      given:
+      def pipeline = Mock(Pipeline)
+      def acquired = Stub(Response) { get() >> 'OK' }
+      def nodeEnabled = true
+      def nodeStatusProvider = Stub(NodeStatusProvider) {
+        isNodeEnabled() >> { nodeEnabled }
+      }
+      def batchedDcs = Stub(DynamicConfigService) {
+        getConfig(Integer, _ as String, _) >> { type, name, defaultValue -> defaultValue }
+        isEnabled('redis.agent.batched-locks', false) >> true
+      }
+      def batchedScheduler = new ClusteredAgentScheduler(
+        new JedisClientDelegate(jedisPool),
+        new DefaultNodeIdentity(),
+        new DefaultAgentIntervalProvider(6000000),
+        nodeStatusProvider,
+        lockPollingScheduler,
+        agentExecutionScheduler,
+        ".*",
+        null,
+        batchedDcs,
+        new NoopShardingFilter(),
+        new NoopRegistry()
+      )
+
+      when:
+      batchedScheduler.schedule(agent, exec, inst)
+      lockPollingScheduler.runAll()
+      agentExecutionScheduler.runAll()
+
+      then:
+      1 * jedis.pipelined() >> pipeline
+      1 * pipeline.set(agent.agentType, _ as String, _ as SetParams) >> acquired
+      1 * pipeline.sync()
+      1 * exec.executeAgent(agent)
+
+      when:
+      nodeEnabled = false
+      lockPollingScheduler.runAll()
+
+      then:
+      1 * jedis.pipelined() >> pipeline
+      1 * pipeline.eval(batchedScheduler.TTL_LOCK_KEY, List.of(agent.agentType), _ as List)
+      1 * pipeline.sync()
+      0 * pipeline.set(_, _, _)
+      !batchedScheduler.activeAgents.containsKey(agent.agentType)
+    }
+
     def 'test agent addition and removal from the agents and activeAgents maps in the schedule() -> run -> unschedule() flow'() {
       when:
       scheduler.schedule(agent, exec, inst)
@@ -192,7 +296,8 @@ class ClusteredAgentSchedulerSpec extends Specification {
       ".*",
       null,
       dcs,
-      new NoopShardingFilter()
+      new NoopShardingFilter(),
+      new NoopRegistry()
     )
 
     // sleep for 5s
@@ -266,7 +371,8 @@ class ClusteredAgentSchedulerSpec extends Specification {
         ".*",
         null,
         dcs,
-        new NoopShardingFilter()
+        new NoopShardingFilter(),
+      new NoopRegistry()
       )
 
       // sleep for 5s
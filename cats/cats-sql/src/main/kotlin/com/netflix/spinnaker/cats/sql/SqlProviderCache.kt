@@ -7,6 +7,7 @@ import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.cats.sql.cache.SqlCache
+import com.netflix.spinnaker.cats.sql.cache.SqlNearCache
 import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.*
 import org.slf4j.LoggerFactory
 import org.slf4j.MDC
@@ -22,8 +23,8 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
   }
 
   init {
-    if (backingStore !is SqlCache) {
-      throw IllegalStateException("SqlProviderCache must be wired with a SqlCache backingStore")
+    if (backingStore !is SqlCache && backingStore !is SqlNearCache) {
+      throw IllegalStateException("SqlProviderCache must be wired with a SqlCache or SqlNearCache backingStore")
     }
   }
 
@@ -277,7 +278,10 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
   }
 
   fun cleanOnDemand(maxAgeMs: Long): Int {
-    return (backingStore as SqlCache).cleanOnDemand(maxAgeMs)
+    return when (backingStore) {
+      is SqlNearCache -> backingStore.cleanOnDemand(maxAgeMs)
+      else -> (backingStore as SqlCache).cleanOnDemand(maxAgeMs)
+    }
   }
 
   private fun validateTypes(type: String) {
@@ -319,7 +323,10 @@ class SqlProviderCache(private val backingStore: WriteableCache) : ProviderCache
         cleanup
       }
 
-    (backingStore as SqlCache).mergeAll(type, agent, toStore, authoritative, cleanupOverride)
+    when (backingStore) {
+      is SqlNearCache -> backingStore.mergeAll(type, agent, toStore, authoritative, cleanupOverride)
+      else -> (backingStore as SqlCache).mergeAll(type, agent, toStore, authoritative, cleanupOverride)
+    }
   }
 
   private fun uniqueifyRelationships(source: CacheData, sourceAgentType: String): CacheData {
@@ -76,6 +76,27 @@ class SpectatorSqlCacheMetrics(
     registry.counter(id("cats.sqlCache.get", "selectOperations", tags)).increment(selectOperations.toLong())
   }
 
+  override fun nearCacheGet(
+    prefix: String,
+    type: String,
+    hits: Int,
+    misses: Int
+  ) {
+    val tags = tags(prefix, type)
+    registry.counter(id("cats.sqlCache.nearCache", "hits", tags)).increment(hits.toLong())
+    registry.counter(id("cats.sqlCache.nearCache", "misses", tags)).increment(misses.toLong())
+  }
+
+  override fun nearCacheEvict(
+    prefix: String,
+    type: String,
+    cause: String,
+    itemCount: Int
+  ) {
+    val tags = tags(prefix, type) + BasicTag("cause", cause)
+    registry.counter(id("cats.sqlCache.nearCache", "evictions", tags)).increment(itemCount.toLong())
+  }
+
   private fun id(metricGroup: String, metric: String, tags: Iterable<Tag>) =
     registry.createId("$metricGroup.$metric", tags)
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.DefaultJsonCacheData
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.util.Base64
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Encodes and decodes the `body` column of the cats resource tables.
+ *
+ * Bodies of types listed in [compressedTypes] (or every type, if it contains `*`) that are at least
+ * [minCompressedSize] characters long are written as gzip-compressed, base64-encoded JSON behind a
+ * [COMPRESSED_V1] format header. All other bodies are written as plain JSON, as before.
+ *
+ * Plain JSON bodies always start with `{`, so reads detect the format per row and tables holding a mix of
+ * plain and compressed rows (e.g. while a type is being migrated in either direction) decode transparently.
+ */
+class SqlBodyCodec(
+  private val compressedTypes: Set<String> = emptySet(),
+  private val minCompressedSize: Int = 0
+) {
+
+  companion object {
+    const val COMPRESSED_V1 = "gz1:"
+  }
+
+  fun isCompressed(type: String): Boolean {
+    return compressedTypes.contains(type) || compressedTypes.contains("*")
+  }
+
+  /**
+   * @param type the cache type the body is being written to
+   * @param json the serialized [CacheData]
+   * @return the value to store in the `body` column
+   */
+  fun encode(type: String, json: String): String {
+    if (!isCompressed(type) || json.length < minCompressedSize) {
+      return json
+    }
+
+    val bytes = ByteArrayOutputStream(json.length / 4)
+    GZIPOutputStream(bytes).use { it.write(json.toByteArray(Charsets.UTF_8)) }
+
+    return COMPRESSED_V1 + Base64.getEncoder().encodeToString(bytes.toByteArray())
+  }
+
+  /**
+   * Deserializes a `body` column value written in any supported format.
+   */
+  fun decode(mapper: ObjectMapper, body: String): CacheData {
+    if (!body.startsWith(COMPRESSED_V1)) {
+      return mapper.readValue(body, DefaultJsonCacheData::class.java)
+    }
+
+    val compressed = Base64.getDecoder().decode(body.substring(COMPRESSED_V1.length))
+    return GZIPInputStream(ByteArrayInputStream(compressed)).use {
+      mapper.readValue(it, DefaultJsonCacheData::class.java)
+    }
+  }
+}
@@ -3,13 +3,13 @@ package com.netflix.spinnaker.cats.sql.cache
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.CacheFilter
-import com.netflix.spinnaker.cats.cache.DefaultJsonCacheData
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.provider.ProviderCacheConfiguration
 import com.netflix.spinnaker.cats.sql.SqlUtil
 import com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.ON_DEMAND
 import com.netflix.spinnaker.config.SqlConstraints
+import com.netflix.spinnaker.config.SqlNearCacheProperties
 import com.netflix.spinnaker.config.coroutineThreadPrefix
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
@@ -24,6 +24,7 @@ import java.sql.SQLSyntaxErrorException
 import java.time.Clock
 import java.time.Duration
 import java.util.Arrays
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentSkipListSet
 import java.util.concurrent.atomic.AtomicInteger
 import javax.annotation.PreDestroy
@@ -49,7 +50,7 @@ import org.slf4j.LoggerFactory
 import org.springframework.jdbc.BadSqlGrammarException
 
 @ExperimentalContracts
-class SqlCache(
+class SqlCache @JvmOverloads constructor(
   private val name: String,
   private val jooq: DSLContext,
   private val mapper: ObjectMapper,
@@ -60,13 +61,16 @@ class SqlCache(
   private val cacheMetrics: SqlCacheMetrics,
   private val dynamicConfigService: DynamicConfigService,
   private val sqlConstraints: SqlConstraints,
-  private val providerCacheConfiguration: ProviderCacheConfiguration
+  private val providerCacheConfiguration: ProviderCacheConfiguration,
+  private val bodyCodec: SqlBodyCodec,
+  private val nearCacheProperties: SqlNearCacheProperties = SqlNearCacheProperties()
 ) : WriteableCache {
 
   companion object {
     private const val onDemandType = "onDemand"
 
     private val schemaVersion = SqlSchemaVersion.current()
+    private val typeVersionsTable = "cats_v${schemaVersion}_type_versions"
     private val useRegexp =
       """.*[\?\[].*""".toRegex()
     private val cleanRegexp =
@@ -79,6 +83,9 @@ class SqlCache(
 
   private var createdTables = ConcurrentSkipListSet<String>()
 
+  private val typeVersionBumps = ConcurrentHashMap<String, Long>()
+  private val pendingTypeVersionBumps = ConcurrentSkipListSet<String>()
+
   private val hexStrings: List<String>
 
   init {
@@ -118,6 +125,10 @@ class SqlCache(
       }
     } catch (e: Exception) {
       log.error("error evicting records", e)
+    } finally {
+      if (opCount > 0) {
+        bumpTypeVersions(setOf(type))
+      }
     }
 
     cacheMetrics.evict(
@@ -174,6 +185,10 @@ class SqlCache(
       storeInformative(type, items ?: mutableListOf(), cleanup)
     }
 
+    if (storeResult.writeQueries.get() > 0 || storeResult.deleteQueries.get() > 0) {
+      bumpTypeVersions(storeResult.typesWritten + type)
+    }
+
     cacheMetrics.merge(
       prefix = name,
       type = type,
@@ -522,6 +537,75 @@ class SqlCache(
     return toClean.size
   }
 
+  /**
+   * Returns the stored version of [type], a counter that is advanced after every write that changes rows in
+   * the type's resource or relationship tables. Reading it is a single primary key lookup.
+   *
+   * @param type the type for which to read a version
+   * @return the version, or an empty string if it could not be read
+   */
+  fun getTypeVersion(type: String): String {
+    return try {
+      withRetry(RetryCategory.READ) {
+        jooq.select(field("version", Long::class.java))
+          .from(table(typeVersionsTable))
+          .where(field("table_name").eq(sqlNames.resourceTableName(type)))
+          .fetchOne(field("version", Long::class.java))
+          ?.toString() ?: "0"
+      }
+    } catch (e: BadSqlGrammarException) {
+      suppressedLog("Failed getting version for type $type", e)
+      ""
+    }
+  }
+
+  /**
+   * Advances the stored version of each of [types] so that near caches reading [getTypeVersion] observe a write.
+   *
+   * Versions are only maintained while the near cache is enabled, and each type is advanced at most once per
+   * `versionCheckIntervalMs`, as readers do not check more often than that. Writes inside that interval are
+   * published with the next write once it has passed; until then, staleness is bounded by the near cache's ttl.
+   *
+   * Versions are keyed by resource table name, which keeps caches with different table namespaces apart.
+   */
+  private fun bumpTypeVersions(types: Set<String>) {
+    if (!nearCacheProperties.enabled) {
+      return
+    }
+
+    val now = clock.millis()
+    pendingTypeVersionBumps.addAll(types)
+    pendingTypeVersionBumps.forEach { type ->
+      val lastBump = typeVersionBumps[type]
+      if (lastBump != null && now - lastBump < nearCacheProperties.versionCheckIntervalMs) {
+        return@forEach
+      }
+      if (!pendingTypeVersionBumps.remove(type)) {
+        // published by a concurrent write
+        return@forEach
+      }
+      typeVersionBumps[type] = now
+
+      val version = field("$typeVersionsTable.version", Long::class.java)
+      try {
+        val insert = jooq.insertInto(table(typeVersionsTable), field("table_name"), field("version"))
+          .values(sqlNames.resourceTableName(type), 1L)
+
+        withRetry(RetryCategory.WRITE) {
+          when (jooq.dialect()) {
+            SQLDialect.POSTGRES ->
+              insert.onConflict(field("table_name")).doUpdate().set(version, version.plus(1)).execute()
+            else ->
+              insert.onDuplicateKeyUpdate().set(version, version.plus(1)).execute()
+          }
+        }
+      } catch (e: Exception) {
+        log.warn("Failed updating version for type $type", e)
+        pendingTypeVersionBumps.add(type)
+      }
+    }
+  }
+
   private fun storeAuthoritative(
     type: String,
     agentHint: String?,
@@ -539,6 +623,10 @@ class SqlCache(
       agentHint ?: "unknown"
     }
 
+    if (dynamicConfigService.isEnabled("sql.cache.streaming-writes", false)) {
+      return storeAuthoritativeStreaming(type, agent, items, cleanup, result)
+    }
+
     val existingHashIds = getHashIds(type, agent)
     result.selectQueries.incrementAndGet()
 
@@ -551,10 +639,7 @@ class SqlCache(
       .map { it.id }
       .toSet()
     val currentIds = mutableSetOf<String>() // current ids from the caching agent
-    val toStore = mutableListOf<String>() // ids that are new or changed
-    val bodies = mutableMapOf<String, String>() // id to body
-    val hashes = mutableMapOf<String, String>() // id to sha256(body)
-    val apps = mutableMapOf<String, String>()
+    val toStore = mutableListOf<ResourceRow>() // rows that are new or changed
 
     items.filter { it.id.length > sqlConstraints.maxIdLength }
       .forEach {
@@ -570,128 +655,88 @@ class SqlCache(
             // Skip the rest of this iteration
             return@forEach
         }
-        val nullKeys = it.attributes
-          .filter { e -> e.value == null }
-          .keys
-        nullKeys.forEach { na -> it.attributes.remove(na) }
 
-        if (it.attributes.containsKey("application")) {
-          apps[it.id] = it.attributes["application"] as String
+        val row = toResourceRow(type, it)
+        if (row != null && !existingHashes.contains(row.bodyHash)) {
+          toStore.add(row)
         }
+      }
 
-        val keysToNormalize = it.relationships.keys.filter { k -> k.contains(':') }
-        if (keysToNormalize.isNotEmpty()) {
-          val normalized = normalizeRelationships(it.relationships, emptyList())
-          keysToNormalize.forEach { k -> it.relationships.remove(k) }
-          it.relationships.putAll(normalized)
-        }
+    toStore.chunked(dynamicConfigService.getConfig(Int::class.java, "sql.cache.write-batch-size", 100)) { chunk ->
+      upsertResources(type, agent, chunk, result)
+    }
 
-        val body: String? = mapper.writeValueAsString(it)
-        val bodyHash = getHash(body)
+    if (!cleanup) {
+      return result
+    }
 
-        if (body != null && bodyHash != null && !existingHashes.contains(bodyHash)) {
-          toStore.add(it.id)
-          bodies[it.id] = body
-          hashes[it.id] = bodyHash
-        }
-      }
+    val toDelete = existingIds
+      .asSequence()
+      .filter { !currentIds.contains(it) }
+      .toSet()
 
-    val now = clock.millis()
+    evictAll(type, toDelete)
 
-    toStore.chunked(dynamicConfigService.getConfig(Int::class.java, "sql.cache.write-batch-size", 100)) { chunk ->
-      try {
-        val insert = jooq.insertInto(
-          table(sqlNames.resourceTableName(type)),
-          field("id"),
-          field("agent"),
-          field("application"),
-          field("body_hash"),
-          field("body"),
-          field("last_updated")
-        )
+    return result
+  }
 
-        insert.apply {
-          chunk.forEach {
-            values(it, sqlNames.checkAgentName(agent), apps[it], hashes[it], bodies[it], now)
-            when (jooq.dialect()) {
-              SQLDialect.POSTGRES ->
-                onConflict(field("id"), field("agent"))
-                  .doUpdate()
-                  .set(field("application"), SqlUtil.excluded(field("application")) as Any)
-                  .set(field("body_hash"), SqlUtil.excluded(field("body_hash")) as Any)
-                  .set(field("body"), SqlUtil.excluded(field("body")) as Any)
-                  .set(field("last_updated"), SqlUtil.excluded(field("last_updated")) as Any)
-              else ->
-                onDuplicateKeyUpdate()
-                  .set(field("application"), MySQLDSL.values(field("application")) as Any)
-                  .set(field("body_hash"), MySQLDSL.values(field("body_hash")) as Any)
-                  .set(field("body"), MySQLDSL.values(field("body")) as Any)
-                  .set(field("last_updated"), MySQLDSL.values(field("last_updated")) as Any)
-            }
-          }
-        }
+  /**
+   * Bounded-memory variant of [storeAuthoritative], enabled via `sql.cache.streaming-writes.enabled`.
+   *
+   * Rather than serializing every item before writing anything, items are serialized, hashed and upserted in
+   * `sql.cache.write-batch-size` windows as they are visited. The only per-item state retained for the whole
+   * write is the id to body hash index of rows previously stored by the agent (for change detection and
+   * eviction) and the set of ids seen in this write.
+   */
+  private fun storeAuthoritativeStreaming(
+    type: String,
+    agent: String,
+    items: MutableCollection<CacheData>,
+    cleanup: Boolean,
+    result: StoreResult
+  ): StoreResult {
+    val existingHashes = getHashesById(type, agent) // id to body hash previously stored by the calling agent
+    result.selectQueries.incrementAndGet()
 
-        withRetry(RetryCategory.WRITE) {
-          insert.execute()
-        }
-        result.itemsStored.addAndGet(chunk.size)
-        result.writeQueries.incrementAndGet()
-      } catch (e: DataAccessException) {
-        log.error("Error inserting ids: $chunk", e)
-      } catch (e: SQLDialectNotSupportedException) {
-        chunk.forEach {
-          val exists = withRetry(RetryCategory.READ) {
-            jooq.fetchExists(
-              jooq.select()
-                .from(sqlNames.resourceTableName(type))
-                .where(field("id").eq(it), field("agent").eq(sqlNames.checkAgentName(agent)))
-                .forUpdate()
-            )
-          }
-          result.selectQueries.incrementAndGet()
-          if (exists) {
-            withRetry(RetryCategory.WRITE) {
-              jooq.update(table(sqlNames.resourceTableName(type)))
-                .set(field("application"), apps[it])
-                .set(field("body_hash"), hashes[it])
-                .set(field("body"), bodies[it])
-                .set(field("last_updated"), clock.millis())
-                .where(field("id").eq(it), field("agent").eq(sqlNames.checkAgentName(agent)))
-                .execute()
-            }
-            result.writeQueries.incrementAndGet()
-            result.itemsStored.incrementAndGet()
-          } else {
-            withRetry(RetryCategory.WRITE) {
-              jooq.insertInto(
-                table(sqlNames.resourceTableName(type)),
-                field("id"),
-                field("agent"),
-                field("application"),
-                field("body_hash"),
-                field("body"),
-                field("last_updated")
-              ).values(
-                it,
-                sqlNames.checkAgentName(agent),
-                apps[it],
-                hashes[it],
-                bodies[it],
-                clock.millis()
-              ).execute()
-            }
-            result.writeQueries.incrementAndGet()
-            result.itemsStored.incrementAndGet()
-          }
+    val batchSize = dynamicConfigService.getConfig(Int::class.java, "sql.cache.write-batch-size", 100)
+    val currentIds = HashSet<String>(items.size) // current ids from the caching agent
+    val window = ArrayList<ResourceRow>(batchSize) // new or changed rows awaiting a write
+
+    items.forEach {
+      if (it.id == "_ALL_") {
+        return@forEach
+      }
+
+      if (it.id.length > sqlConstraints.maxIdLength) {
+        log.error("Dropping ${it.id} - character length exceeds MAX_ID_LENGTH (${sqlConstraints.maxIdLength})")
+        return@forEach
+      }
+
+      if (!currentIds.add(it.id)) {
+        log.warn("agent: '${agent}': type: '$type': only one item with id '${it.id}' allowed")
+        result.duplicates.incrementAndGet()
+        return@forEach
+      }
+
+      val row = toResourceRow(type, it)
+      if (row != null && existingHashes[row.id] != row.bodyHash) {
+        window.add(row)
+        if (window.size >= batchSize) {
+          upsertResources(type, agent, window, result)
+          window.clear()
         }
       }
     }
 
+    if (window.isNotEmpty()) {
+      upsertResources(type, agent, window, result)
+    }
+
     if (!cleanup) {
       return result
     }
 
-    val toDelete = existingIds
+    val toDelete = existingHashes.keys
       .asSequence()
       .filter { !currentIds.contains(it) }
       .toSet()
@@ -701,6 +746,127 @@ class SqlCache(
     return result
   }
 
+  /**
+   * Normalizes [item] for storage (dropping null attributes and collapsing relationship keys to their type)
+   * and serializes it, returning null if the item could not be serialized or hashed.
+   *
+   * The body hash is always taken over the plain JSON, so changing a type's [SqlBodyCodec] format does not by
+   * itself cause unchanged items to be rewritten.
+   */
+  private fun toResourceRow(type: String, item: CacheData): ResourceRow? {
+    val nullKeys = item.attributes
+      .filter { e -> e.value == null }
+      .keys
+    nullKeys.forEach { na -> item.attributes.remove(na) }
+
+    val keysToNormalize = item.relationships.keys.filter { k -> k.contains(':') }
+    if (keysToNormalize.isNotEmpty()) {
+      val normalized = normalizeRelationships(item.relationships, emptyList())
+      keysToNormalize.forEach { k -> item.relationships.remove(k) }
+      item.relationships.putAll(normalized)
+    }
+
+    val body: String? = mapper.writeValueAsString(item)
+    val bodyHash = getHash(body)
+
+    if (body == null || bodyHash == null) {
+      return null
+    }
+
+    return ResourceRow(item.id, item.attributes["application"] as String?, bodyHash, bodyCodec.encode(type, body))
+  }
+
+  private fun upsertResources(type: String, agent: String, chunk: List<ResourceRow>, result: StoreResult) {
+    val now = clock.millis()
+
+    try {
+      val insert = jooq.insertInto(
+        table(sqlNames.resourceTableName(type)),
+        field("id"),
+        field("agent"),
+        field("application"),
+        field("body_hash"),
+        field("body"),
+        field("last_updated")
+      )
+
+      insert.apply {
+        chunk.forEach {
+          values(it.id, sqlNames.checkAgentName(agent), it.application, it.bodyHash, it.body, now)
+          when (jooq.dialect()) {
+            SQLDialect.POSTGRES ->
+              onConflict(field("id"), field("agent"))
+                .doUpdate()
+                .set(field("application"), SqlUtil.excluded(field("application")) as Any)
+                .set(field("body_hash"), SqlUtil.excluded(field("body_hash")) as Any)
+                .set(field("body"), SqlUtil.excluded(field("body")) as Any)
+                .set(field("last_updated"), SqlUtil.excluded(field("last_updated")) as Any)
+            else ->
+              onDuplicateKeyUpdate()
+                .set(field("application"), MySQLDSL.values(field("application")) as Any)
+                .set(field("body_hash"), MySQLDSL.values(field("body_hash")) as Any)
+                .set(field("body"), MySQLDSL.values(field("body")) as Any)
+                .set(field("last_updated"), MySQLDSL.values(field("last_updated")) as Any)
+          }
+        }
+      }
+
+      withRetry(RetryCategory.WRITE) {
+        insert.execute()
+      }
+      result.itemsStored.addAndGet(chunk.size)
+      result.writeQueries.incrementAndGet()
+    } catch (e: DataAccessException) {
+      log.error("Error inserting ids: ${chunk.map { it.id }}", e)
+    } catch (e: SQLDialectNotSupportedException) {
+      chunk.forEach {
+        val exists = withRetry(RetryCategory.READ) {
+          jooq.fetchExists(
+            jooq.select()
+              .from(sqlNames.resourceTableName(type))
+              .where(field("id").eq(it.id), field("agent").eq(sqlNames.checkAgentName(agent)))
+              .forUpdate()
+          )
+        }
+        result.selectQueries.incrementAndGet()
+        if (exists) {
+          withRetry(RetryCategory.WRITE) {
+            jooq.update(table(sqlNames.resourceTableName(type)))
+              .set(field("application"), it.application)
+              .set(field("body_hash"), it.bodyHash)
+              .set(field("body"), it.body)
+              .set(field("last_updated"), clock.millis())
+              .where(field("id").eq(it.id), field("agent").eq(sqlNames.checkAgentName(agent)))
+              .execute()
+          }
+          result.writeQueries.incrementAndGet()
+          result.itemsStored.incrementAndGet()
+        } else {
+          withRetry(RetryCategory.WRITE) {
+            jooq.insertInto(
+              table(sqlNames.resourceTableName(type)),
+              field("id"),
+              field("agent"),
+              field("application"),
+              field("body_hash"),
+              field("body"),
+              field("last_updated")
+            ).values(
+              it.id,
+              sqlNames.checkAgentName(agent),
+              it.application,
+              it.bodyHash,
+              it.body,
+              clock.millis()
+            ).execute()
+          }
+          result.writeQueries.incrementAndGet()
+          result.itemsStored.incrementAndGet()
+        }
+      }
+    }
+  }
+
   private fun storeInformative(type: String, items: MutableCollection<CacheData>, cleanup: Boolean): StoreResult {
     val result = StoreResult()
 
@@ -847,6 +1013,7 @@ class SqlCache(
             }
             result.writeQueries.incrementAndGet()
             result.relationshipsStored.addAndGet(chunk.size)
+            result.typesWritten.add(relType)
           } catch (e: Exception) {
             log.error("Error inserting reverse relationships for $relType -> $type", e)
           }
@@ -878,6 +1045,7 @@ class SqlCache(
                 .execute()
             }
             result.deleteQueries.incrementAndGet()
+            result.typesWritten.add(oldRevIdsToType[it.key]!!)
           } else {
             log.warn("Couldn't delete ${it.key}, no mapping to type")
           }
@@ -965,6 +1133,28 @@ class SqlCache(
     }
   }
 
+  /**
+   * Reads the id to body hash index of rows stored by [agent] through a lazy cursor, avoiding the intermediate
+   * [HashId] records materialized by [getHashIds].
+   */
+  private fun getHashesById(type: String, agent: String?): Map<String, String> {
+    return withRetry(RetryCategory.READ) {
+      val hashes = HashMap<String, String>()
+      jooq
+        .select(field("id", String::class.java), field("body_hash", String::class.java))
+        .from(table(sqlNames.resourceTableName(type)))
+        .where(
+          field("agent").eq(sqlNames.checkAgentName(agent))
+        )
+        .fetchSize(dynamicConfigService.getConfig(Int::class.java, "sql.cache.read-batch-size", 500))
+        .fetchLazy()
+        .use { cursor ->
+          cursor.forEach { hashes[it.value1()] = it.value2() }
+        }
+      hashes
+    }
+  }
+
   private fun getRelationshipKeys(type: String, sourceAgent: String): MutableList<RelId> {
     return withRetry(RetryCategory.READ) {
       jooq
@@ -1013,7 +1203,7 @@ class SqlCache(
               .fetch()
               .getValues(0)
               .asSequence()
-              .map { mapper.readValue(it as String, DefaultJsonCacheData::class.java) }
+              .map { bodyCodec.decode(mapper, it as String) }
               .toList()
           )
         }
@@ -1076,7 +1266,7 @@ class SqlCache(
             .fetch()
             .getValues(0)
             .asSequence()
-            .map { mapper.readValue(it as String, DefaultJsonCacheData::class.java) }
+            .map { bodyCodec.decode(mapper, it as String) }
             .toList()
         )
       }
@@ -1290,7 +1480,7 @@ class SqlCache(
         .where(field("ID").`in`(*ids.toTypedArray()))
         .fetch()
         .getValues(0)
-        .map { mapper.readValue(it as String, DefaultJsonCacheData::class.java) }
+        .map { bodyCodec.decode(mapper, it as String) }
         .toList()
     }
   }
@@ -1348,7 +1538,7 @@ class SqlCache(
     while (resultSet.next()) {
       if (!resultSet.getString(1).isNullOrBlank()) {
         try {
-          cacheData.add(mapper.readValue(resultSet.getString(1), DefaultJsonCacheData::class.java))
+          cacheData.add(bodyCodec.decode(mapper, resultSet.getString(1)))
         } catch (e: Exception) {
           log.error("Failed to deserialize cached value: type $type, body ${resultSet.getString(1)}", e)
         }
@@ -1566,6 +1756,13 @@ class SqlCache(
     val id: String
   )
 
+  private data class ResourceRow(
+    val id: String,
+    val application: String?,
+    val bodyHash: String,
+    val body: String
+  )
+
   data class RelId(
     val uuid: String,
     val id: String,
@@ -1599,6 +1796,7 @@ class SqlCache(
     val writeQueries = AtomicInteger(0)
     val deleteQueries = AtomicInteger(0)
     val duplicates = AtomicInteger(0)
+    val typesWritten: MutableSet<String> = ConcurrentSkipListSet()
   }
 }
 
@@ -46,6 +46,20 @@ interface SqlCacheMetrics {
     selectOperations: Int,
     async: Boolean = false
   ) {}
+
+  fun nearCacheGet(
+    prefix: String,
+    type: String,
+    hits: Int,
+    misses: Int
+  ) {}
+
+  fun nearCacheEvict(
+    prefix: String,
+    type: String,
+    cause: String,
+    itemCount: Int
+  ) {}
 }
 
 class NoopCacheMetrics : SqlCacheMetrics
@@ -5,6 +5,7 @@ import com.netflix.spinnaker.cats.cache.NamedCacheFactory
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.provider.ProviderCacheConfiguration
 import com.netflix.spinnaker.config.SqlConstraints
+import com.netflix.spinnaker.config.SqlNearCacheProperties
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
 import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
 import java.time.Clock
@@ -21,7 +22,9 @@ class SqlNamedCacheFactory(
   private val prefix: String?,
   private val cacheMetrics: SqlCacheMetrics,
   private val dynamicConfigService: DynamicConfigService,
-  private val sqlConstraints: SqlConstraints
+  private val sqlConstraints: SqlConstraints,
+  private val bodyCodec: SqlBodyCodec,
+  private val nearCacheProperties: SqlNearCacheProperties = SqlNearCacheProperties()
 ) : NamedCacheFactory {
 
   @ExperimentalContracts
@@ -31,7 +34,7 @@ class SqlNamedCacheFactory(
 
   @ExperimentalContracts
   override fun getCache(name: String, providerCacheConfiguration: ProviderCacheConfiguration): WriteableCache {
-    return SqlCache(
+    val cache = SqlCache(
       name,
       jooq,
       mapper,
@@ -42,8 +45,16 @@ class SqlNamedCacheFactory(
       cacheMetrics,
       dynamicConfigService,
       sqlConstraints,
-      providerCacheConfiguration
+      providerCacheConfiguration,
+      bodyCodec,
+      nearCacheProperties
     )
+
+    if (nearCacheProperties.enabled) {
+      return SqlNearCache(name, cache, clock, cacheMetrics, nearCacheProperties)
+    }
+
+    return cache
   }
 
   class DefaultProviderCacheConfiguration : ProviderCacheConfiguration
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.cats.sql.cache
+
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.RemovalCause
+import com.google.common.cache.RemovalNotification
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.CacheFilter
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
+import com.netflix.spinnaker.cats.cache.WriteableCache
+import com.netflix.spinnaker.config.SqlNearCacheProperties
+import java.time.Clock
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import kotlin.contracts.ExperimentalContracts
+import org.slf4j.LoggerFactory
+
+/**
+ * A size-bounded, local decorator for [SqlCache] that serves repeat reads by id and by application from heap.
+ *
+ * Entries of a type are dropped whenever the type's [SqlCache.getTypeVersion] changes, which is checked at most
+ * once per `versionCheckIntervalMs` per type. Entries also expire `ttlSeconds` after being loaded, bounding
+ * staleness should a read race with a version change. Writes made through this cache invalidate the written
+ * type immediately.
+ *
+ * Full type scans and identifier lookups are passed through to the backing [SqlCache] uncached.
+ */
+@ExperimentalContracts
+class SqlNearCache(
+  private val name: String,
+  val backingStore: SqlCache,
+  private val clock: Clock,
+  private val cacheMetrics: SqlCacheMetrics,
+  private val properties: SqlNearCacheProperties
+) : WriteableCache {
+
+  companion object {
+    private val log = LoggerFactory.getLogger(SqlNearCache::class.java)
+  }
+
+  private val entries = CacheBuilder.newBuilder()
+    .maximumWeight(properties.maxItems)
+    .weigher<NearCacheKey, Collection<CacheData>> { _, value -> maxOf(value.size, 1) }
+    .expireAfterWrite(properties.ttlSeconds, TimeUnit.SECONDS)
+    .removalListener<NearCacheKey, Collection<CacheData>> { onRemoval(it) }
+    .build<NearCacheKey, Collection<CacheData>>()
+
+  private val typeVersions = ConcurrentHashMap<String, TypeVersion>()
+
+  init {
+    log.info("Configured near cache for $name (maxItems: ${properties.maxItems}, ttlSeconds: ${properties.ttlSeconds})")
+  }
+
+  override fun get(type: String, id: String?): CacheData? {
+    return get(type, id, null)
+  }
+
+  override fun get(type: String, id: String?, cacheFilter: CacheFilter?): CacheData? {
+    if (id == null) {
+      return null
+    }
+    return getAll(type, mutableListOf(id), cacheFilter).firstOrNull()
+  }
+
+  override fun getAll(type: String, ids: MutableCollection<String>?): MutableCollection<CacheData> {
+    return getAll(type, ids, null as CacheFilter?)
+  }
+
+  override fun getAll(type: String, vararg identifiers: String?): MutableCollection<CacheData> {
+    return getAll(type, identifiers.filterNotNull().toMutableList())
+  }
+
+  override fun getAll(
+    type: String,
+    ids: MutableCollection<String>?,
+    cacheFilter: CacheFilter?
+  ): MutableCollection<CacheData> {
+    val filterKey = filterKey(cacheFilter)
+    if (ids.isNullOrEmpty() || filterKey == null) {
+      return backingStore.getAll(type, ids, cacheFilter)
+    }
+
+    checkVersion(type)
+
+    val result = ArrayList<CacheData>(ids.size)
+    val misses = mutableListOf<String>()
+    ids.forEach { id ->
+      val cached = entries.getIfPresent(NearCacheKey(type, id, filterKey))
+      if (cached == null) {
+        misses.add(id)
+      } else {
+        cached.mapTo(result) { copy(it) }
+      }
+    }
+
+    if (misses.isNotEmpty()) {
+      backingStore.getAll(type, misses, cacheFilter).forEach {
+        entries.put(NearCacheKey(type, it.id, filterKey), listOf(it))
+        result.add(copy(it))
+      }
+    }
+
+    cacheMetrics.nearCacheGet(name, type, ids.size - misses.size, misses.size)
+
+    return result
+  }
+
+  override fun getAll(type: String): MutableCollection<CacheData> {
+    return backingStore.getAll(type)
+  }
+
+  override fun getAll(type: String, cacheFilter: CacheFilter?): MutableCollection<CacheData> {
+    return backingStore.getAll(type, cacheFilter)
+  }
+
+  override fun supportsGetAllByApplication(): Boolean {
+    return backingStore.supportsGetAllByApplication()
+  }
+
+  override fun getAllByApplication(
+    type: String,
+    application: String,
+    cacheFilter: CacheFilter?
+  ): Map<String, MutableCollection<CacheData>> {
+    return getAllByApplication(listOf(type), application, mapOf(type to cacheFilter))
+  }
+
+  override fun getAllByApplication(
+    types: Collection<String>,
+    application: String,
+    cacheFilters: Map<String, CacheFilter?>
+  ): Map<String, MutableCollection<CacheData>> {
+    val result = mutableMapOf<String, MutableCollection<CacheData>>()
+    val misses = mutableListOf<String>()
+
+    types.forEach { type ->
+      val filterKey = filterKey(cacheFilters[type])
+      if (filterKey == null) {
+        misses.add(type)
+        return@forEach
+      }
+
+      checkVersion(type)
+
+      val cached = entries.getIfPresent(NearCacheKey(type, application, filterKey, byApplication = true))
+      if (cached == null) {
+        misses.add(type)
+      } else {
+        result[type] = cached.mapTo(ArrayList(cached.size)) { copy(it) }
+      }
+      cacheMetrics.nearCacheGet(name, type, if (cached == null) 0 else 1, if (cached == null) 1 else 0)
+    }
+
+    if (misses.isNotEmpty()) {
+      backingStore.getAllByApplication(misses, application, cacheFilters).forEach { (type, items) ->
+        val filterKey = filterKey(cacheFilters[type])
+        if (filterKey != null) {
+          entries.put(NearCacheKey(type, application, filterKey, byApplication = true), ArrayList(items))
+        }
+        result[type] = items.mapTo(ArrayList(items.size)) { copy(it) }
+      }
+    }
+
+    return result
+  }
+
+  override fun getIdentifiers(type: String): MutableCollection<String> {
+    return backingStore.getIdentifiers(type)
+  }
+
+  override fun existingIdentifiers(type: String, identifiers: MutableCollection<String>): MutableCollection<String> {
+    return backingStore.existingIdentifiers(type, identifiers)
+  }
+
+  override fun filterIdentifiers(type: String, glob: String?): MutableCollection<String> {
+    return backingStore.filterIdentifiers(type, glob)
+  }
+
+  fun mergeAll(
+    type: String,
+    agentHint: String?,
+    items: MutableCollection<CacheData>?,
+    authoritative: Boolean,
+    cleanup: Boolean
+  ) {
+    try {
+      backingStore.mergeAll(type, agentHint, items, authoritative, cleanup)
+    } finally {
+      invalidate(type)
+    }
+  }
+
+  override fun merge(type: String, cacheData: CacheData) {
+    try {
+      backingStore.merge(type, cacheData)
+    } finally {
+      invalidate(type)
+    }
+  }
+
+  override fun mergeAll(type: String, items: MutableCollection<CacheData>?) {
+    try {
+      backingStore.mergeAll(type, items)
+    } finally {
+      invalidate(type)
+    }
+  }
+
+  override fun evict(type: String, id: String) {
+    try {
+      backingStore.evict(type, id)
+    } finally {
+      invalidate(type)
+    }
+  }
+
+  override fun evictAll(type: String, ids: Collection<String>) {
+    try {
+      backingStore.evictAll(type, ids)
+    } finally {
+      invalidate(type)
+    }
+  }
+
+  fun cleanOnDemand(maxAgeMs: Long): Int {
+    return backingStore.cleanOnDemand(maxAgeMs)
+  }
+
+  /**
+   * Drops all entries of [type] if its stored version has changed since it was last checked.
+   */
+  private fun checkVersion(type: String) {
+    val now = clock.millis()
+    val current = typeVersions[type]
+    if (current != null && now - current.checkedAt < properties.versionCheckIntervalMs) {
+      return
+    }
+
+    val version = backingStore.getTypeVersion(type)
+    val previous = typeVersions.put(type, TypeVersion(version, now))
+    if (previous != null && previous.version != version) {
+      invalidate(type)
+    }
+  }
+
+  private fun invalidate(type: String) {
+    entries.asMap().keys.removeIf { it.type == type }
+  }
+
+  private fun onRemoval(notification: RemovalNotification<NearCacheKey, Collection<CacheData>>) {
+    val key = notification.key ?: return
+    val value = notification.value ?: return
+    if (notification.cause != RemovalCause.REPLACED) {
+      cacheMetrics.nearCacheEvict(name, key.type, notification.cause.name.toLowerCase(), value.size)
+    }
+  }
+
+  /**
+   * Returns a key identifying the relationships loaded under [cacheFilter], or null if the filter cannot be
+   * cached against.
+   */
+  private fun filterKey(cacheFilter: CacheFilter?): String? {
+    return when (cacheFilter) {
+      null -> "*"
+      is RelationshipCacheFilter -> cacheFilter.allowableRelationshipPrefixes.sorted().joinToString(",")
+      else -> null
+    }
+  }
+
+  /**
+   * Entries are shared between readers, so each reader is handed its own copy of the attributes and relationships
+   * to mutate. Attribute values themselves are not copied.
+   */
+  private fun copy(cacheData: CacheData): CacheData {
+    val relationships = cacheData.relationships.mapValuesTo(HashMap<String, Collection<String>>()) { (_, ids) ->
+      if (ids is Set) LinkedHashSet(ids) else ArrayList(ids)
+    }
+    return DefaultCacheData(cacheData.id, cacheData.attributes, relationships)
+  }
+
+  private data class NearCacheKey(
+    val type: String,
+    val id: String,
+    val filterKey: String,
+    val byApplication: Boolean = false
+  )
+
+  private data class TypeVersion(
+    val version: String,
+    val checkedAt: Long
+  )
+}
@@ -21,6 +21,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.cluster.NodeIdentity
 import com.netflix.spinnaker.cats.cluster.ShardingFilter
+import com.netflix.spinnaker.cats.cluster.ShardingStrategy
 import com.netflix.spinnaker.cats.sql.SqlUtil
 import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider
 import com.netflix.spinnaker.config.ConnectionPools
@@ -35,7 +36,6 @@ import java.sql.SQLException
 import java.util.concurrent.Executors
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
-import kotlin.math.abs
 
 class SqlCachingPodsObserver (
   private val jooq: DSLContext,
@@ -47,8 +47,8 @@ class SqlCachingPodsObserver (
   )
 ) : ShardingFilter, Runnable{
   private val log = LoggerFactory.getLogger(javaClass)
-  private var podCount: Int = 0
-  private var podIndex: Int = -1
+  @Volatile
+  private var replicas: List<String> = emptyList()
   private var ttlSeconds = dynamicConfigService.getConfig(Long::class.java, "cache-sharding.replica-ttl-seconds", 60)
 
   companion object {
@@ -162,13 +162,8 @@ class SqlCachingPodsObserver (
     }
   }
 
-  private fun getAccountName(agentType: String): String{
-    return if(agentType.contains("/")) agentType.substring(0,agentType.indexOf('/')) else agentType
-  }
-
   private fun preFilter(){
-    var counter = 0
-    var index = -1
+    val liveReplicas = mutableListOf<String>()
     try {
       withPool(POOL_NAME) {
         val cachingPods = jooq.select()
@@ -178,32 +173,37 @@ class SqlCachingPodsObserver (
           .intoResultSet()
 
         while (cachingPods.next()) {
-          if (cachingPods.getString(POD_ID).equals(nodeIdentity.nodeIdentity)) {
-            index = counter;
-          }
-          counter++
+          liveReplicas.add(cachingPods.getString(POD_ID))
         }
       }
     }catch (e: SQLException){
       log.error( "Failed to fetch live pods count ${e.message}")
     }
-    if(counter == 0 || index == -1){
+    if(liveReplicas.isEmpty() || !liveReplicas.contains(nodeIdentity.nodeIdentity)){
       throw RuntimeException("No caching pod heartbeat records detected. Sharding logic can't be applied!!!!")
     }
-    podCount = counter
-    podIndex = index
-    log.debug("Pod count : {} and current pod's index : {}", podCount, podIndex)
+    replicas = liveReplicas
+    log.debug("Pod count : {} and current pod's index : {}", replicas.size, replicas.indexOf(nodeIdentity.nodeIdentity))
   }
 
   override fun filter(agent: Agent) : Boolean{
     if(agent.providerName.equals(CoreProvider.PROVIDER_NAME)){
       return true
     }
-    if (podCount == 1 || abs(getAccountName(agent.agentType).hashCode() % podCount) == podIndex) {
-      return true
-    }
-    return false
+    val accountWeight = dynamicConfigService.getConfig(
+      Int::class.java,
+      "cache-sharding.account-weights.${ShardingStrategy.getAccountName(agent.agentType)}",
+      1
+    )
+    return shardingStrategy().isOwner(
+      ShardingStrategy.shardKey(agent.agentType, accountWeight),
+      replicas,
+      nodeIdentity.nodeIdentity
+    )
   }
 
+  private fun shardingStrategy(): ShardingStrategy =
+    ShardingStrategy.forName(dynamicConfigService.getConfig(String::class.java, "cache-sharding.strategy", "modulo"))
+
 
 }
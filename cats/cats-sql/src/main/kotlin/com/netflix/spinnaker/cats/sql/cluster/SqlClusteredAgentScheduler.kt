@@ -23,6 +23,7 @@ import com.netflix.spinnaker.cats.agent.AgentScheduler
 import com.netflix.spinnaker.cats.agent.AgentSchedulerAware
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation.elapsedTimeMs
+import com.netflix.spinnaker.cats.cluster.AgentCostTracker
 import com.netflix.spinnaker.cats.cluster.AgentIntervalProvider
 import com.netflix.spinnaker.cats.cluster.NodeIdentity
 import com.netflix.spinnaker.cats.cluster.NodeStatusProvider
@@ -74,6 +75,7 @@ class SqlClusteredAgentScheduler(
   private val activeAgents: MutableMap<String, NextAttempt> = ConcurrentHashMap()
   private val activeAgentsFutures: MutableMap<String, Future<*>> = ConcurrentHashMap()
   private val enabledAgents: Pattern
+  private val costTracker = AgentCostTracker()
 
   private val referenceTable = "cats_agent_locks"
   private val lockTable = if (tableNamespace.isNullOrBlank()) {
@@ -108,6 +110,7 @@ class SqlClusteredAgentScheduler(
   override fun unschedule(agent: Agent) {
     releaseLock(agent.agentType, 0) // Release the lock immediately
     agents.remove(agent.agentType)
+    costTracker.remove(agent.agentType)
   }
 
   override fun run() {
@@ -123,15 +126,23 @@ class SqlClusteredAgentScheduler(
   private fun runAgents() {
     val acquiredAgents = tryAcquire()
     activeAgents.putAll(acquiredAgents)
+    val costAware = isCostAwareScheduling()
     acquiredAgents.forEach { agentType, nextAttempt ->
       val exec = agents[agentType]
       if (exec != null) {
+        if (costAware) {
+          agentScheduled(exec, nextAttempt)
+        }
         activeAgentsFutures[agentType] = agentExecutionPool.submit(AgentJob(nextAttempt, exec, this::agentCompleted))
       }
     }
   }
 
   private fun tryAcquire(): Map<String, NextAttempt> {
+    if (isSetBasedLocking()) {
+      return tryAcquireAll()
+    }
+
     return findCandidateAgentLocks()
       .map {
         val agentType = it.key
@@ -149,6 +160,71 @@ class SqlClusteredAgentScheduler(
       .toMap()
   }
 
+  /**
+   * Set-based variant of [tryAcquire], enabled via `sql.agent.set-based-locking.enabled`.
+   *
+   * Every candidate is claimed with a single multi-row insert that skips agents already locked by another node,
+   * and the claims that were won are read back with a single select, so the number of statements per tick does
+   * not grow with the number of agents.
+   */
+  private fun tryAcquireAll(): Map<String, NextAttempt> {
+    val candidates = findCandidateAgentLocks()
+    if (candidates.isEmpty()) {
+      return emptyMap()
+    }
+
+    val now = System.currentTimeMillis()
+    val intervals = candidates.mapValues { intervalProvider.getInterval(it.value.agent) }
+
+    val acquired = withPool(POOL_NAME) {
+      val insert = jooq.insertInto(table(lockTable))
+        .columns(
+          field("agent_name"),
+          field("owner_id"),
+          field("lock_acquired"),
+          field("lock_expiry")
+        )
+      intervals.forEach { (agentType, interval) ->
+        insert.values(agentType, nodeIdentity.nodeIdentity, now, now + interval.timeout)
+      }
+      insert.onDuplicateKeyIgnore().execute()
+
+      // Locks are only won if they were inserted by this node at this instant
+      jooq.select(field("agent_name"))
+        .from(table(lockTable))
+        .where(
+          field("owner_id").eq(nodeIdentity.nodeIdentity),
+          field("lock_acquired").eq(now),
+          field("agent_name").`in`(intervals.keys)
+        )
+        .fetch(field("agent_name"), String::class.java)
+    }
+
+    return acquired
+      .mapNotNull { agentType ->
+        intervals[agentType]?.let { Pair(agentType, NextAttempt(now, it.interval, it.errorInterval)) }
+      }
+      .toMap()
+  }
+
+  private fun agentScheduled(exec: AgentExecutionAction, nextAttempt: NextAttempt) {
+    val agentType = exec.agent.agentType
+    val cost = costTracker.getCost(agentType)
+    exec.executionInstrumentation.executionScheduled(
+      exec.agent,
+      costTracker.getLatenessMs(agentType, nextAttempt.successInterval, nextAttempt.currentTime),
+      cost?.estimatedDurationMs ?: 0,
+      cost?.estimatedResultSize ?: 0
+    )
+    costTracker.recordStarted(agentType, nextAttempt.currentTime)
+  }
+
+  private fun isCostAwareScheduling(): Boolean =
+    dynamicConfigService.isEnabled("sql.agent.cost-aware-scheduling", false)
+
+  private fun isSetBasedLocking(): Boolean =
+    dynamicConfigService.isEnabled("sql.agent.set-based-locking", false)
+
   private fun findCandidateAgentLocks(): Map<String, AgentExecutionAction> {
     cleanupZombieAgents()
     val skip = HashMap(activeAgents).entries
@@ -180,6 +256,88 @@ class SqlClusteredAgentScheduler(
     log.debug("Agents running: {}, agents disabled: {}. Picking next agents to run from: {}",
       activeAgents.keys, disabledAgents, candidateAgentLocks.keys)
 
+    val unlockedCandidates = HashMap(candidateAgentLocks)
+    if (isSetBasedLocking()) {
+      removeLockedAgents(candidateAgentLocks)
+    } else {
+      removeLockedAgentsIndividually(candidateAgentLocks)
+    }
+
+    log.debug("Next agents to run: {}, max: {}", candidateAgentLocks.keys, availableAgents)
+
+    if (isCostAwareScheduling()) {
+      return selectByCost(unlockedCandidates, candidateAgentLocks, maxConcurrentAgents)
+    }
+
+    val trimmedCandidates = mutableMapOf<String, AgentExecutionAction>()
+    candidateAgentLocks.entries
+      .shuffled()
+      .forEach {
+        if (trimmedCandidates.size >= availableAgents) {
+          log.warn(
+            "Dropping caching agent: {}. Wanted to run {} agents, but a max of {} was configured and there are " +
+              "already {} currently running. Consider increasing sql.agent.max-concurrent-agents",
+          it.key, candidateAgentLocks.size, maxConcurrentAgents, skip)
+          return@forEach
+        }
+        trimmedCandidates[it.key] = it.value
+      }
+
+    return trimmedCandidates
+  }
+
+  /**
+   * Picks the most overdue [candidateAgentLocks] that fit the concurrency budget, see [AgentCostTracker].
+   *
+   * Agents that dropped out of [allCandidates] because another node holds their lock are not due until that lock
+   * expires, so they are recorded as having last started one interval ago.
+   */
+  private fun selectByCost(
+    allCandidates: Map<String, AgentExecutionAction>,
+    candidateAgentLocks: Map<String, AgentExecutionAction>,
+    maxConcurrentAgents: Int
+  ): Map<String, AgentExecutionAction> {
+    val now = System.currentTimeMillis()
+    allCandidates
+      .filterKeys { !candidateAgentLocks.containsKey(it) }
+      .forEach { (agentType, action) ->
+        costTracker.recordStarted(agentType, now - intervalProvider.getInterval(action.agent).interval)
+      }
+
+    val slotCostMs = dynamicConfigService.getConfig(
+      Long::class.java,
+      "sql.agent.cost-aware-scheduling.slot-cost-ms",
+      60000L
+    )
+    return costTracker.select(
+      candidateAgentLocks.values,
+      { it.agent.agentType },
+      { intervalProvider.getInterval(it.agent).interval },
+      activeAgents.keys,
+      maxConcurrentAgents,
+      slotCostMs,
+      now
+    ).associateBy { it.agent.agentType }
+  }
+
+  /**
+   * Removes all expired locks with a single delete, then drops every agent that is still locked from
+   * [candidateAgentLocks].
+   */
+  private fun removeLockedAgents(candidateAgentLocks: MutableMap<String, AgentExecutionAction>) {
+    withPool(POOL_NAME) {
+      jooq.deleteFrom(table(lockTable))
+        .where(field("lock_expiry").lt(System.currentTimeMillis()))
+        .execute()
+
+      jooq.select(field("agent_name"))
+        .from(table(lockTable))
+        .fetch(field("agent_name"), String::class.java)
+        .forEach { candidateAgentLocks.remove(it) }
+    }
+  }
+
+  private fun removeLockedAgentsIndividually(candidateAgentLocks: MutableMap<String, AgentExecutionAction>) {
     withPool(POOL_NAME) {
       val existingLocks = jooq.select(field("agent_name"), field("lock_expiry"))
         .from(table(lockTable))
@@ -211,24 +369,6 @@ class SqlClusteredAgentScheduler(
         }
       }
     }
-
-    log.debug("Next agents to run: {}, max: {}", candidateAgentLocks.keys, availableAgents)
-
-    val trimmedCandidates = mutableMapOf<String, AgentExecutionAction>()
-    candidateAgentLocks.entries
-      .shuffled()
-      .forEach {
-        if (trimmedCandidates.size >= availableAgents) {
-          log.warn(
-            "Dropping caching agent: {}. Wanted to run {} agents, but a max of {} was configured and there are " +
-              "already {} currently running. Consider increasing sql.agent.max-concurrent-agents",
-          it.key, candidateAgentLocks.size, maxConcurrentAgents, skip)
-          return@forEach
-        }
-        trimmedCandidates[it.key] = it.value
-      }
-
-    return trimmedCandidates
   }
 
   private fun cleanupZombieAgents() {
@@ -301,7 +441,8 @@ class SqlClusteredAgentScheduler(
     }
   }
 
-  private fun agentCompleted(agentType: String, nextExecutionTime: Long) {
+  private fun agentCompleted(agentType: String, nextExecutionTime: Long, elapsedMs: Long) {
+    costTracker.recordCompleted(agentType, elapsedMs)
     try {
       releaseLock(agentType, nextExecutionTime)
     } finally {
@@ -342,15 +483,16 @@ private class AgentExecutionAction(
 private class AgentJob(
   private val lockReleaseTime: NextAttempt,
   private val action: AgentExecutionAction,
-  private val schedulerCallback: (agentType: String, nextExecutionTime: Long) -> Unit
+  private val schedulerCallback: (agentType: String, nextExecutionTime: Long, elapsedMs: Long) -> Unit
 ) : Runnable {
 
   override fun run() {
     var status = Status.FAILURE
+    val startTimeMs = System.currentTimeMillis()
     try {
       status = action.execute()
     } finally {
-      schedulerCallback(action.agent.agentType, lockReleaseTime.getNextTime(status))
+      schedulerCallback(action.agent.agentType, lockReleaseTime.getNextTime(status), elapsedTimeMs(startTimeMs))
     }
   }
 }
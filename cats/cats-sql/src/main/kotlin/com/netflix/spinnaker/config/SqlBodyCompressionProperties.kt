@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.config
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+@ConfigurationProperties("sql.cache.body-compression")
+class SqlBodyCompressionProperties {
+  /**
+   * Cache types (e.g. `instances`, `serverGroups`, `pods`) whose bodies are written compressed, or `*` for all
+   */
+  var types: Set<String> = emptySet()
+
+  /**
+   * Bodies shorter than this are always written as plain JSON
+   */
+  var minSizeBytes: Int = 512
+}
@@ -11,10 +11,12 @@ import com.netflix.spinnaker.cats.module.CatsModule
 import com.netflix.spinnaker.cats.provider.Provider
 import com.netflix.spinnaker.cats.provider.ProviderRegistry
 import com.netflix.spinnaker.cats.sql.SqlProviderRegistry
+import com.netflix.spinnaker.cats.sql.cache.SqlBodyCodec
 import com.netflix.spinnaker.cats.sql.cache.SpectatorSqlCacheMetrics
 import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
 import com.netflix.spinnaker.cats.sql.cache.SqlCleanupStaleOnDemandCachesAgent
 import com.netflix.spinnaker.cats.sql.cache.SqlNamedCacheFactory
+import com.netflix.spinnaker.cats.sql.cache.SqlNearCache
 import com.netflix.spinnaker.cats.sql.cache.SqlNames
 import com.netflix.spinnaker.cats.sql.cache.SqlTableMetricsAgent
 import com.netflix.spinnaker.cats.sql.cache.SqlUnknownAgentCleanupAgent
@@ -54,7 +56,12 @@ const val coroutineThreadPrefix = "catsSql"
 @Configuration
 @ConditionalOnProperty("sql.cache.enabled")
 @Import(DefaultSqlConfiguration::class)
-@EnableConfigurationProperties(SqlAgentProperties::class, SqlConstraintsProperties::class)
+@EnableConfigurationProperties(
+  SqlAgentProperties::class,
+  SqlConstraintsProperties::class,
+  SqlBodyCompressionProperties::class,
+  SqlNearCacheProperties::class
+)
 @ComponentScan("com.netflix.spinnaker.cats.sql.controllers")
 class SqlCacheConfiguration {
 
@@ -95,6 +102,13 @@ class SqlCacheConfiguration {
    * sql.tableNamespace: Name spaces data tables, as well as the agent lock table if using the SqlAgentScheduler.
    * Table namespacing allows flipping to new/empty data tables within the same master if necessary to rebuild
    * the cache from scratch, such as after disabling caching agents for an account/region.
+   *
+   * sql.cache.bodyCompression.types: Cache types whose bodies are written gzip-compressed. Rows written in
+   * either format are read transparently, so types can be added or removed without rebuilding their tables.
+   *
+   * sql.cache.nearCache.enabled: Wraps each cache in a [SqlNearCache], serving repeat reads by id and by
+   * application from heap. Intended for read-only pods, but type versions are only advanced while it is enabled,
+   * so caching pods need it too; see [SqlNearCacheProperties].
    */
   @ObsoleteCoroutinesApi
   @Bean
@@ -105,6 +119,8 @@ class SqlCacheConfiguration {
     cacheMetrics: SqlCacheMetrics,
     dynamicConfigService: DynamicConfigService,
     sqlConstraints: SqlConstraints,
+    bodyCompressionProperties: SqlBodyCompressionProperties,
+    nearCacheProperties: SqlNearCacheProperties,
     mapper: ObjectMapper,
     @Value("\${sql.cache.async-pool-size:0}") poolSize: Int,
     @Value("\${sql.table-namespace:#{null}}") tableNamespace: String?
@@ -139,7 +155,9 @@ class SqlCacheConfiguration {
       tableNamespace,
       cacheMetrics,
       dynamicConfigService,
-      sqlConstraints
+      sqlConstraints,
+      SqlBodyCodec(bodyCompressionProperties.types, bodyCompressionProperties.minSizeBytes),
+      nearCacheProperties
     )
   }
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.config
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+@ConfigurationProperties("sql.cache.near-cache")
+class SqlNearCacheProperties {
+  /**
+   * Intended for read-only (API) pods, where cache reads vastly outnumber writes. Type versions are only
+   * advanced by pods with this enabled, so it must also be enabled on the pods running caching agents.
+   */
+  var enabled: Boolean = false
+
+  /**
+   * Upper bound on the number of cached items held in heap across all types
+   */
+  var maxItems: Long = 100_000
+
+  /**
+   * Upper bound on how long an item is served from heap after being loaded
+   */
+  var ttlSeconds: Long = 60
+
+  /**
+   * How often a type's stored version is compared against the version its cached items were loaded at, and
+   * the most often a type's stored version is advanced
+   */
+  var versionCheckIntervalMs: Long = 2_000
+}
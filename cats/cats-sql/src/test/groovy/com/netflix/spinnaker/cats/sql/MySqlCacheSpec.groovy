@@ -19,6 +19,7 @@ package com.netflix.spinnaker.cats.sql
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.Cache
 import com.netflix.spinnaker.cats.cache.WriteableCache
+import com.netflix.spinnaker.cats.sql.cache.SqlBodyCodec
 import com.netflix.spinnaker.cats.sql.cache.SqlCache
 import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
 import com.netflix.spinnaker.cats.sql.cache.SqlNamedCacheFactory
@@ -64,7 +65,8 @@ class MySqlCacheSpec extends SqlCacheSpec {
       Mock(SqlCacheMetrics),
       dynamicConfigService,
       new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.MYSQL),
-      providerCacheConfiguration
+      providerCacheConfiguration,
+      new SqlBodyCodec(['compressed'] as Set, 0)
     )
   }
 
@@ -18,6 +18,7 @@ package com.netflix.spinnaker.cats.sql
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.Cache
+import com.netflix.spinnaker.cats.sql.cache.SqlBodyCodec
 import com.netflix.spinnaker.cats.sql.cache.SqlCache
 import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
 import com.netflix.spinnaker.config.SqlConstraintsInitializer
@@ -61,7 +62,8 @@ class PostgreSqlCacheSpec extends SqlCacheSpec {
       Mock(SqlCacheMetrics),
       dynamicConfigService,
       new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.POSTGRES),
-      new StaticProviderCacheConfiguration(supportsFullEviction: false)
+      new StaticProviderCacheConfiguration(supportsFullEviction: false),
+      new SqlBodyCodec(['compressed'] as Set, 0)
     )
   }
 
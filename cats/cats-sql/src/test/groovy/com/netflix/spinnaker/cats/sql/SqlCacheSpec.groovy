@@ -3,6 +3,7 @@ package com.netflix.spinnaker.cats.sql
 import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.cats.cache.WriteableCacheSpec
+import com.netflix.spinnaker.cats.sql.cache.SqlBodyCodec
 import com.netflix.spinnaker.cats.sql.cache.SqlCache
 import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
 import com.zaxxer.hikari.HikariDataSource
@@ -102,6 +103,41 @@ abstract class SqlCacheSpec extends WriteableCacheSpec {
     retrieved.findAll { it.id == "fnord-5" }.size() == 1
   }
 
+  def 'streaming writes only store changed items and evict missing items'() {
+    given:
+    def sqlCache = (SqlCache) cache
+    sqlCache.dynamicConfigService.isEnabled('sql.cache.streaming-writes', false) >> true
+
+    when:
+    sqlCache.mergeAll('foo', (1..5).collect { createData("fnord-$it", [a: 'b']) })
+
+    then:
+    1 * sqlCache.cacheMetrics.merge('test', 'foo', 5, 5, 0, 0, 1, 3, 0, 0)
+
+    when:
+    sqlCache.mergeAll('foo', [createData('fnord-1', [a: 'c'])] + (2..4).collect { createData("fnord-$it", [a: 'b']) })
+
+    then:
+    1 * sqlCache.cacheMetrics.merge('test', 'foo', 4, 1, 0, 0, 1, 1, 0, 0)
+    sqlCache.getAll('foo')*.id.sort() == ['fnord-1', 'fnord-2', 'fnord-3', 'fnord-4']
+    sqlCache.get('foo', 'fnord-1').attributes == [a: 'c']
+  }
+
+  def 'bodies of compressed types are stored compressed and read back transparently'() {
+    given:
+    def sqlCache = (SqlCache) cache
+    def table = DSL.table(sqlCache.sqlNames.resourceTableName('compressed'))
+
+    when:
+    sqlCache.mergeAll('compressed', [createData('blerp', [a: 'b'])])
+    sqlCache.mergeAll('foo', [createData('blerp', [a: 'b'])])
+
+    then:
+    context.select(DSL.field('body')).from(table).fetchOne(0, String).startsWith(SqlBodyCodec.COMPRESSED_V1)
+    sqlCache.get('compressed', 'blerp').attributes == [a: 'b']
+    sqlCache.get('foo', 'blerp').attributes == [a: 'b']
+  }
+
   @Unroll
   def 'generates where clause based on cacheFilters'() {
     when:
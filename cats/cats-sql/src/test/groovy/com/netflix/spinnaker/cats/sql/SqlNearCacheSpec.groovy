@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.sql
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.sql.cache.SqlBodyCodec
+import com.netflix.spinnaker.cats.sql.cache.SqlCache
+import com.netflix.spinnaker.cats.sql.cache.SqlCacheMetrics
+import com.netflix.spinnaker.cats.sql.cache.SqlNamedCacheFactory
+import com.netflix.spinnaker.cats.sql.cache.SqlNearCache
+import com.netflix.spinnaker.config.SqlConstraintsInitializer
+import com.netflix.spinnaker.config.SqlNearCacheProperties
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.spinnaker.kork.sql.config.RetryProperties
+import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil
+import com.zaxxer.hikari.HikariDataSource
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.testcontainers.DockerClientFactory
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Clock
+
+@Requires({ DockerClientFactory.instance().isDockerAvailable() })
+class SqlNearCacheSpec extends Specification {
+
+  @Shared
+  DSLContext context
+
+  @AutoCleanup("close")
+  HikariDataSource dataSource
+
+  SqlCacheMetrics cacheMetrics = Mock(SqlCacheMetrics)
+
+  SqlCache sqlCache
+
+  SqlNearCache nearCache
+
+  DynamicConfigService dynamicConfigService
+
+  def setup() {
+    def dynamicConfigService = Mock(DynamicConfigService) {
+      getConfig(_ as Class, _ as String, _) >> 10
+    }
+
+    SqlTestUtil.TestDatabase testDatabase = SqlTestUtil.initTcMysqlDatabase()
+    context = testDatabase.context
+    dataSource = testDatabase.dataSource
+
+    this.dynamicConfigService = dynamicConfigService
+
+    def nearCacheProperties = new SqlNearCacheProperties(enabled: true, versionCheckIntervalMs: 0)
+    sqlCache = createSqlCache(nearCacheProperties)
+    nearCache = new SqlNearCache("test", sqlCache, Clock.systemUTC(), cacheMetrics, nearCacheProperties)
+  }
+
+  SqlCache createSqlCache(SqlNearCacheProperties nearCacheProperties) {
+    return new SqlCache(
+      "test",
+      context,
+      new ObjectMapper(),
+      null,
+      Clock.systemUTC(),
+      new SqlRetryProperties(new RetryProperties(1, 10), new RetryProperties(1, 10)),
+      "test",
+      cacheMetrics,
+      dynamicConfigService,
+      new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.MYSQL),
+      new SqlNamedCacheFactory.DefaultProviderCacheConfiguration(),
+      new SqlBodyCodec(),
+      nearCacheProperties
+    )
+  }
+
+  def cleanup() {
+    SqlTestUtil.cleanupDb(context)
+  }
+
+  def 'repeat reads are served from heap until the stored type changes'() {
+    given:
+    sqlCache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [:])])
+
+    when:
+    nearCache.get('foo', 'bar')
+    def cached = nearCache.get('foo', 'bar')
+
+    then:
+    1 * cacheMetrics.nearCacheGet('test', 'foo', 0, 1)
+    1 * cacheMetrics.nearCacheGet('test', 'foo', 1, 0)
+    cached.attributes == [a: 'b']
+
+    when: 'the type is written by another pod'
+    sqlCache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'c'], [:])])
+    def reloaded = nearCache.get('foo', 'bar')
+
+    then:
+    1 * cacheMetrics.nearCacheEvict('test', 'foo', 'explicit', 1)
+    1 * cacheMetrics.nearCacheGet('test', 'foo', 0, 1)
+    reloaded.attributes == [a: 'c']
+  }
+
+  def 'type versions only advance when stored rows change'() {
+    given:
+    sqlCache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [:])])
+    def written = sqlCache.getTypeVersion('foo')
+
+    when:
+    sqlCache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [:])])
+
+    then:
+    sqlCache.getTypeVersion('foo') == written
+
+    when:
+    sqlCache.evictAll('foo', ['bar'])
+
+    then:
+    sqlCache.getTypeVersion('foo') != written
+    sqlCache.getTypeVersion('unwritten') == '0'
+  }
+
+  def 'type versions are not advanced without the near cache'() {
+    given:
+    def cache = createSqlCache(new SqlNearCacheProperties(enabled: false))
+
+    when:
+    cache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [:])])
+    cache.evictAll('foo', ['bar'])
+
+    then:
+    cache.getTypeVersion('foo') == '0'
+  }
+
+  def 'type versions are advanced at most once per version check interval'() {
+    given:
+    def cache = createSqlCache(new SqlNearCacheProperties(enabled: true, versionCheckIntervalMs: 60_000))
+    cache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [:])])
+    def written = cache.getTypeVersion('foo')
+
+    when:
+    cache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'c'], [:])])
+    cache.evictAll('foo', ['bar'])
+
+    then:
+    written != '0'
+    cache.getTypeVersion('foo') == written
+  }
+
+  def 'readers cannot mutate cached items'() {
+    given:
+    sqlCache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [:])])
+
+    when:
+    nearCache.get('foo', 'bar').attributes.put('a', 'mutated')
+
+    then:
+    nearCache.get('foo', 'bar').attributes == [a: 'b']
+  }
+
+  def 'readers cannot mutate cached relationships'() {
+    given:
+    sqlCache.mergeAll('foo', [new DefaultCacheData('bar', [a: 'b'], [baz: ['baz:1']])])
+
+    when:
+    nearCache.get('foo', 'bar').relationships.baz.add('baz:2')
+
+    then:
+    nearCache.get('foo', 'bar').relationships.baz as List == ['baz:1']
+  }
+}
@@ -9,6 +9,7 @@ import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.cats.cache.WriteableCache
 import com.netflix.spinnaker.cats.provider.ProviderCacheSpec
 import com.netflix.spinnaker.cats.sql.cache.SpectatorSqlCacheMetrics
+import com.netflix.spinnaker.cats.sql.cache.SqlBodyCodec
 import com.netflix.spinnaker.cats.sql.cache.SqlCache
 import com.netflix.spinnaker.cats.sql.cache.SqlNamedCacheFactory
 import com.netflix.spinnaker.config.SqlConstraintsInitializer
@@ -75,7 +76,8 @@ class SqlProviderCacheSpec extends ProviderCacheSpec {
       sqlMetrics,
       dynamicConfigService,
       new SqlConstraintsInitializer().getDefaultSqlConstraints(SQLDialect.MYSQL),
-      new SqlNamedCacheFactory.DefaultProviderCacheConfiguration()
+      new SqlNamedCacheFactory.DefaultProviderCacheConfiguration(),
+      new SqlBodyCodec()
     )
 
     return new SqlProviderCache(backingStore)
@@ -32,12 +32,18 @@ import com.nhaarman.mockito_kotlin.whenever
 import dev.minutest.junit.JUnit5Minutests
 import dev.minutest.rootContext
 import org.jooq.*
+import org.jooq.impl.DSL
+import org.jooq.tools.jdbc.MockConnection
+import org.jooq.tools.jdbc.MockResult
 import org.junit.jupiter.api.Assertions.assertFalse
 import org.mockito.stubbing.Answer
 import java.sql.ResultSet
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.FutureTask
 import java.util.concurrent.ScheduledExecutorService
+import strikt.api.expectThat
+import strikt.assertions.doesNotContain
+import strikt.assertions.hasSize
 
 class SqlClusteredAgentSchedulerTest : JUnit5Minutests {
 
@@ -81,6 +87,109 @@ class SqlClusteredAgentSchedulerTest : JUnit5Minutests {
     }
   }
 
+  fun setBasedLockingTests() = rootContext<SetBasedFixture> {
+    fixture {
+      SetBasedFixture()
+    }
+
+    test("acquires locks with a constant number of statements") {
+      val invocations = mutableListOf<String>()
+      val agentExec = AgentExecution {
+        invocations.add(it.agentType)
+      }
+      (1..20).forEach { scheduleAgent("account$it/KubernetesCoreCachingAgent[1/1]", agentExec) }
+
+      lockedElsewhere.add("account1/KubernetesCoreCachingAgent[1/1]")
+      this.sqlClusteredAgentScheduler.run()
+
+      expectThat(invocations).hasSize(19)
+      expectThat(invocations).doesNotContain("account1/KubernetesCoreCachingAgent[1/1]")
+      // completed agents release their own locks, so only count the bulk delete of expired locks
+      expectThat(statements.filter { it.startsWith("delete") && it.contains("lock_expiry") }).hasSize(1)
+      expectThat(statements.filter { it.startsWith("insert") }).hasSize(1)
+      expectThat(statements.filter { it.startsWith("select") }).hasSize(2)
+    }
+  }
+
+  private inner class SetBasedFixture {
+    val statements = mutableListOf<String>()
+    val lockedElsewhere = mutableListOf<String>()
+    val claimed = mutableListOf<String>()
+
+    val jooq: DSLContext = DSL.using(
+      MockConnection { ctx ->
+        val sql = ctx.sql().toLowerCase()
+        statements.add(sql)
+        when {
+          sql.startsWith("insert") -> {
+            // agent_name, owner_id, lock_acquired, lock_expiry per row
+            ctx.bindings().toList().chunked(4).forEach { claimed.add(it[0] as String) }
+            arrayOf(MockResult(claimed.size, null))
+          }
+          sql.startsWith("select") && sql.contains("owner_id") ->
+            arrayOf(MockResult(claimed.size, agentNames(claimed)))
+          sql.startsWith("select") ->
+            arrayOf(MockResult(lockedElsewhere.size, agentNames(lockedElsewhere)))
+          else ->
+            arrayOf(MockResult(0, null))
+        }
+      },
+      SQLDialect.MYSQL
+    )
+    val nodeIdentity: NodeIdentity = mock()
+    val intervalProvider: AgentIntervalProvider = mock()
+    val nodeStatusProvider: NodeStatusProvider = mock()
+    val dynamicConfigService: DynamicConfigService = mock()
+    val agentExecutionPool: ExecutorService = mock()
+    val sqlClusteredAgentScheduler = SqlClusteredAgentScheduler(
+      jooq,
+      nodeIdentity,
+      intervalProvider,
+      nodeStatusProvider,
+      dynamicConfigService,
+      ".*",
+      emptyList(),
+      1L,
+      "",
+      agentExecutionPool,
+      mock(),
+      NoopShardingFilter()
+    )
+
+    init {
+      whenever(nodeStatusProvider.isNodeEnabled).thenReturn(true)
+      whenever(nodeIdentity.nodeIdentity).thenReturn("node1")
+      whenever(dynamicConfigService.isEnabled(eq("sql.agent.set-based-locking"), any())).thenReturn(true)
+      whenever(dynamicConfigService.getConfig(eq(Int::class.java), eq("sql.agent.max-concurrent-agents"),
+        any())).thenReturn(100)
+      whenever(dynamicConfigService.getConfig(eq(Long::class.java), eq("sql.agent.zombie-threshold-ms"),
+        any())).thenReturn(3600000L)
+      whenever(dynamicConfigService.getConfig(eq(String::class.java), eq("sql.agent.disabled-agents"),
+        any())).thenReturn("")
+      whenever(dynamicConfigService.getConfig(eq(Long::class.java), eq("sql.agent.release-threshold-ms"),
+        any())).thenReturn(50000L)
+      whenever(intervalProvider.getInterval(any())).thenReturn(AgentIntervalProvider.Interval(30L, 30L))
+      whenever(agentExecutionPool.submit(any())).thenAnswer(Answer {
+        val r: Runnable = it.getArgument(0)
+        r.run()
+        object: FutureTask<Runnable>({ r }) { }
+      })
+    }
+
+    fun scheduleAgent(name: String, agentExec: AgentExecution) {
+      val agent: Agent = mock()
+      whenever(agent.agentType).thenReturn(name)
+      sqlClusteredAgentScheduler.schedule(agent, agentExec, mock())
+    }
+
+    private fun agentNames(names: List<String>): Result<Record1<String>> {
+      val agentName = DSL.field("agent_name", String::class.java)
+      val result = DSL.using(SQLDialect.MYSQL).newResult(agentName)
+      names.forEach { result.add(DSL.using(SQLDialect.MYSQL).newRecord(agentName).values(it)) }
+      return result
+    }
+  }
+
   private inner class Fixture {
     val jooq: DSLContext = mock()
     val nodeIdentity: NodeIdentity = mock()
@@ -19,6 +19,7 @@ package com.netflix.spinnaker.cats.agent;
 import com.netflix.spinnaker.cats.cache.AgentIntrospection;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.cache.CacheIntrospectionStore;
+import com.netflix.spinnaker.cats.cache.CacheResultListeners;
 import com.netflix.spinnaker.cats.cache.DefaultAgentIntrospection;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
 import com.netflix.spinnaker.cats.provider.ProviderRegistry;
@@ -98,8 +99,9 @@ public interface CachingAgent extends Agent {
         }
       }
 
+      // a partial result does not hold every item, so nothing is evicted for being left out of it
       Optional<Map<String, String>> cacheKeyPatterns = cachingAgent.getCacheKeyPatterns();
-      if (cacheKeyPatterns.isPresent()) {
+      if (cacheKeyPatterns.isPresent() && !result.isPartialResult()) {
         for (String type : authoritative) {
           String cacheKeyPatternForType = cacheKeyPatterns.get().get(type);
           if (cacheKeyPatternForType != null) {
@@ -137,9 +139,11 @@ public interface CachingAgent extends Agent {
 
       if (result.isPartialResult()) {
         cache.addCacheResult(agent.getAgentType(), authoritative, result);
+        result.getEvictions().forEach(cache::evictDeletedItems);
       } else {
         cache.putCacheResult(agent.getAgentType(), authoritative, result);
       }
+      CacheResultListeners.getListeners().cacheResultStored(agent, authoritative, result);
     }
   }
 }
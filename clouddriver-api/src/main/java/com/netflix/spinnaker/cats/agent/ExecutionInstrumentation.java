@@ -26,6 +26,17 @@ public interface ExecutionInstrumentation {
 
   void executionFailed(Agent agent, Throwable cause, long elapsedMs);
 
+  /**
+   * Invoked by cost-aware schedulers when an agent is picked to run.
+   *
+   * @param latenessMs how long past its interval the agent is being run, 0 if it is on time or has
+   *     not run before
+   * @param estimatedDurationMs the agent's smoothed historical execution time
+   * @param estimatedResultSize the agent's smoothed historical number of cached items
+   */
+  default void executionScheduled(
+      Agent agent, long latenessMs, long estimatedDurationMs, long estimatedResultSize) {}
+
   static long elapsedTimeMs(long startTimeMs) {
     return System.currentTimeMillis() - startTimeMs;
   }
@@ -35,6 +35,10 @@ public class CacheIntrospectionStore {
     return agents.values();
   }
 
+  public AgentIntrospection getAgentIntrospection(String agentType) {
+    return agents.get(agentType);
+  }
+
   public void recordAgent(AgentIntrospection agentIntrospection) {
     agents.put(agentIntrospection.getId(), agentIntrospection);
   }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache;
+
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.Collection;
+
+/**
+ * Notified after a caching agent's result has been stored in this process.
+ *
+ * <p>Register instances with {@link CacheResultListeners#getListeners()}.
+ */
+@Beta
+public interface CacheResultListener {
+  /**
+   * @param agent the agent that produced the result
+   * @param authoritativeTypes the types the agent is authoritative for
+   * @param result the stored result, including any evictions
+   */
+  void cacheResultStored(Agent agent, Collection<String> authoritativeTypes, CacheResult result);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.cache;
+
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.kork.annotations.Beta;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Beta
+public class CacheResultListeners {
+  private static final Logger log = LoggerFactory.getLogger(CacheResultListeners.class);
+  private static final CacheResultListeners listeners = new CacheResultListeners();
+
+  private final List<CacheResultListener> registered = new CopyOnWriteArrayList<>();
+
+  public static CacheResultListeners getListeners() {
+    return listeners;
+  }
+
+  public void register(CacheResultListener listener) {
+    registered.add(listener);
+  }
+
+  public void unregister(CacheResultListener listener) {
+    registered.remove(listener);
+  }
+
+  public void cacheResultStored(
+      Agent agent, Collection<String> authoritativeTypes, CacheResult result) {
+    for (CacheResultListener listener : registered) {
+      try {
+        listener.cacheResultStored(agent, authoritativeTypes, result);
+      } catch (Exception e) {
+        log.warn(
+            "Failed to notify {} of result stored by {}",
+            listener.getClass().getSimpleName(),
+            agent.getAgentType(),
+            e);
+      }
+    }
+  }
+}
@@ -62,6 +62,18 @@ class AwsConfigurationProperties {
     boolean verifyAccountHealth = true
   }
 
+  /**
+   * cluster provider related config settings
+   */
+  @Canonical
+  static class ClusterProviderConfig {
+    /**
+     * threads that read the independent parts of a cluster or server group from the cache concurrently.
+     * reads run on the requesting thread once they are all busy, or always if this is 0.
+     */
+    int cacheReadThreads = 16
+  }
+
   @NestedConfigurationProperty
   final ClientConfig client = new ClientConfig()
   @NestedConfigurationProperty
@@ -70,4 +82,6 @@ class AwsConfigurationProperties {
   final CloudFormationConfig cloudformation = new CloudFormationConfig()
   @NestedConfigurationProperty
   final HealthConfig health = new HealthConfig()
+  @NestedConfigurationProperty
+  final ClusterProviderConfig clusterProvider = new ClusterProviderConfig()
 }
@@ -25,12 +25,14 @@ import com.fasterxml.jackson.databind.SerializationFeature
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.AccountAware
 import com.netflix.spinnaker.cats.agent.AgentDataType
+import com.netflix.spinnaker.cats.agent.AgentExecution
 import com.netflix.spinnaker.cats.agent.CacheResult
 import com.netflix.spinnaker.cats.agent.CachingAgent
 import com.netflix.spinnaker.cats.agent.DefaultCacheResult
 import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
@@ -68,6 +70,12 @@ class ImageCachingAgent implements CachingAgent, AccountAware, DriftMetric, Cust
   final long pollIntervalMillis
   final DynamicConfigService dynamicConfigService
 
+  private final ResourceFingerprints<Image> imageFingerprints = new ResourceFingerprints<>()
+  private final ResourceFingerprints<CacheData> namedImageFingerprints = new ResourceFingerprints<>(
+    ResourceFingerprints.DEFAULT_FULL_RESULT_INTERVAL,
+    { CacheData namedImage -> "${namedImage.attributes}${namedImage.relationships[IMAGES.ns].sort(false)}".toString() }
+  )
+
   ImageCachingAgent(AmazonClientProvider amazonClientProvider, NetflixAmazonCredentials account, String region, ObjectMapper objectMapper, Registry registry, boolean includePublicImages, DynamicConfigService dynamicConfigService) {
     this.amazonClientProvider = amazonClientProvider
     this.account = account
@@ -117,10 +125,17 @@ class ImageCachingAgent implements CachingAgent, AccountAware, DriftMetric, Cust
     return types
   }
 
+  @Override
+  AgentExecution getAgentExecution(ProviderRegistry providerRegistry) {
+    return new FingerprintedCacheExecution(providerRegistry, [imageFingerprints, namedImageFingerprints])
+  }
+
   @Override
   CacheResult loadData(ProviderCache providerCache) {
     if (includePublicImages && !dynamicConfigService.isEnabled("aws.defaults.public-images", true)) {
       log.info("short-circuiting with empty result set for public images in ${agentType}")
+      imageFingerprints.reset()
+      namedImageFingerprints.reset()
       return new DefaultCacheResult((IMAGES.ns): [], (NAMED_IMAGES.ns): [])
     }
     log.info("Describing items in ${agentType}")
@@ -151,14 +166,13 @@ class ImageCachingAgent implements CachingAgent, AccountAware, DriftMetric, Cust
       }
     }
 
-    Collection<CacheData> imageCacheData = new ArrayList<>(images.size())
+    Map<String, Image> imagesById = new HashMap<>(images.size())
     Map<String, CacheData> namedImageCacheDataMap = new HashMap<>(images.size())
 
     for (Image image : images) {
-      Map<String, Object> attributes = objectMapper.convertValue(image, ATTRIBUTES)
       def imageId = Keys.getImageKey(image.imageId, account.name, region)
       def namedImageId = Keys.getNamedImageKey(account.name, image.name)
-      imageCacheData.add(new DefaultCacheData(imageId, attributes, [(NAMED_IMAGES.ns): [namedImageId]]))
+      imagesById.put(imageId, image)
 
       CacheData namedImageCacheData = namedImageCacheDataMap.get(namedImageId);
       if (namedImageCacheData == null) {
@@ -179,8 +193,37 @@ class ImageCachingAgent implements CachingAgent, AccountAware, DriftMetric, Cust
       }
     }
 
+    // converting every image is the expensive part, so only the ones that changed since the last
+    // cycle are converted and cached, along with the named images whose images changed
+    ResourceFingerprints.Changes<Image> imageChanges = imageFingerprints.diff(imagesById)
+    ResourceFingerprints.Changes<CacheData> namedImageChanges = namedImageFingerprints.diff(namedImageCacheDataMap)
+    boolean full = imageChanges.full || namedImageChanges.full
+
+    Map<String, Image> changedImages = full ? imagesById : imageChanges.changed
+    Collection<CacheData> imageCacheData = new ArrayList<>(changedImages.size())
+    changedImages.each { String imageId, Image image ->
+      Map<String, Object> attributes = objectMapper.convertValue(image, ATTRIBUTES)
+      def namedImageId = Keys.getNamedImageKey(account.name, image.name)
+      imageCacheData.add(new DefaultCacheData(imageId, attributes, [(NAMED_IMAGES.ns): [namedImageId]]))
+    }
+
     recordDrift(start)
     log.info("Caching ${imageCacheData.size()} items in ${agentType}")
-    new DefaultCacheResult((IMAGES.ns): imageCacheData, (NAMED_IMAGES.ns): namedImageCacheDataMap.values())
+    if (full) {
+      return new DefaultCacheResult((IMAGES.ns): imageCacheData, (NAMED_IMAGES.ns): namedImageCacheDataMap.values())
+    }
+
+    log.info("Skipping ${imagesById.size() - imageCacheData.size()} unchanged and evicting ${imageChanges.removed.size()} removed items in ${agentType}")
+    new DefaultCacheResult(
+      [
+        (IMAGES.ns): imageCacheData,
+        (NAMED_IMAGES.ns): namedImageChanges.changed.values()
+      ] as Map<String, Collection<CacheData>>,
+      [
+        (IMAGES.ns): new ArrayList<String>(imageChanges.removed),
+        (NAMED_IMAGES.ns): new ArrayList<String>(namedImageChanges.removed)
+      ] as Map<String, Collection<String>>,
+      [:],
+      true)
   }
 }
@@ -28,11 +28,13 @@ import com.google.common.collect.Lists
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.AccountAware
 import com.netflix.spinnaker.cats.agent.AgentDataType
+import com.netflix.spinnaker.cats.agent.AgentExecution
 import com.netflix.spinnaker.cats.agent.CacheResult
 import com.netflix.spinnaker.cats.agent.CachingAgent
 import com.netflix.spinnaker.cats.agent.DefaultCacheResult
 import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
 import com.netflix.spinnaker.clouddriver.model.HealthState
@@ -64,6 +66,8 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
   final ObjectMapper objectMapper
   final Registry registry
 
+  private final ResourceFingerprints<Instance> fingerprints = new ResourceFingerprints<>()
+
   InstanceCachingAgent(AmazonClientProvider amazonClientProvider, NetflixAmazonCredentials account, String region, ObjectMapper objectMapper, Registry registry) {
     this.amazonClientProvider = amazonClientProvider
     this.account = account
@@ -92,6 +96,11 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
     types
   }
 
+  @Override
+  AgentExecution getAgentExecution(ProviderRegistry providerRegistry) {
+    new FingerprintedCacheExecution(providerRegistry, [fingerprints])
+  }
+
   static class MutableCacheData implements CacheData {
     final String id
     int ttlSeconds = -1
@@ -133,27 +142,42 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
     Map<String, CacheData> images = cache()
 
     List<String> skipIds =  []
+    List<InstanceData> cacheable = []
+    Map<String, Instance> instancesById = [:]
+
+    awsInstances.each { Instance instance ->
+      def data = new InstanceData(instance, account.name, region)
+      if (data.cache) {
+        if (instancesById.containsKey(data.instanceId)) {
+          log.warn("Duplicate instance for ${data.instanceId}")
+        }
+        instancesById.put(data.instanceId, instance)
+        cacheable.add(data)
+      } else {
+        skipIds.add(data.instance.instanceId)
+      }
+    }
+
+    // server groups and images only carry relationships, so they are cheap to build for every
+    // instance; the instances themselves are only converted if they changed since the last cycle
+    ResourceFingerprints.Changes<Instance> changes = fingerprints.diff(instancesById)
+    List<InstanceData> changed = changes.full ? cacheable : cacheable.findAll { changes.isChanged(it.instanceId) }
 
-    Lists.partition(awsInstances, 1000).each { List<Instance> partition ->
+    cacheable.each { InstanceData data ->
+      cacheImage(data, images)
+      cacheServerGroup(data, serverGroups)
+    }
+
+    Lists.partition(changed, 1000).each { List<InstanceData> partition ->
       Map<String, Map<String, Object>> convertedInstancesById = ((List<Map>) objectMapper.convertValue(
-        partition,
+        partition*.instance,
         new TypeReference<List<Map<String, Object>>>() {}
       )).collectEntries {
         [it.instanceId, it]
       }
 
-      partition.each { Instance instance ->
-        def data = new InstanceData(instance, account.name, region)
-        if (instances.containsKey(data.instanceId)) {
-          log.warn("Duplicate instance for ${data.instanceId}")
-        }
-        if (data.cache) {
-          cacheImage(data, images)
-          cacheServerGroup(data, serverGroups)
-          cacheInstance(data, convertedInstancesById.get(data.instance.instanceId), instances)
-        } else {
-          skipIds.add(data.instance.instanceId)
-        }
+      partition.each { InstanceData data ->
+        cacheInstance(data, convertedInstancesById.get(data.instance.instanceId), instances)
       }
     }
 
@@ -165,10 +189,23 @@ class InstanceCachingAgent implements CachingAgent, AccountAware, DriftMetric {
     log.info("Skipping ${skipIds.size()} non-running instances in ${agentType}")
     log.debug("Skipped instanceIds in ${agentType}: ${skipIds}")
 
+    if (changes.full) {
+      return new DefaultCacheResult(
+        (SERVER_GROUPS.ns): serverGroups.values(),
+        (INSTANCES.ns): instances.values(),
+        (IMAGES.ns): images.values())
+    }
+
+    log.info("Skipping ${cacheable.size() - changed.size()} unchanged and evicting ${changes.removed.size()} removed instances in ${agentType}")
     new DefaultCacheResult(
-      (SERVER_GROUPS.ns): serverGroups.values(),
-      (INSTANCES.ns): instances.values(),
-      (IMAGES.ns): images.values())
+      [
+        (SERVER_GROUPS.ns): serverGroups.values(),
+        (INSTANCES.ns): instances.values(),
+        (IMAGES.ns): images.values()
+      ] as Map<String, Collection<CacheData>>,
+      [(INSTANCES.ns): new ArrayList<String>(changes.removed)] as Map<String, Collection<String>>,
+      [:],
+      true)
   }
 
   private void cacheImage(InstanceData data, Map<String, CacheData> images) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.view
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spinnaker.security.AuthenticatedRequest
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.RejectedExecutionHandler
+import java.util.concurrent.SynchronousQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+/**
+ * Runs the cache reads of {@link AmazonClusterProvider} that do not depend on each other.
+ *
+ * At most {@code threads} reads run on the pool at once. Once they are all busy, or if there are
+ * no threads, a read runs on the calling thread instead. Reads carry the caller's
+ * AuthenticatedRequest/MDC context.
+ */
+class AmazonClusterCacheReadExecutor {
+
+  private final ThreadPoolExecutor executor
+
+  AmazonClusterCacheReadExecutor(int threads) {
+    this.executor = threads > 0 ? newExecutor(threads) : null
+  }
+
+  public <T> CompletableFuture<T> readAsync(Closure<T> read) {
+    if (executor == null) {
+      return readNow(read)
+    }
+
+    Callable<T> propagated = AuthenticatedRequest.propagate(read as Callable<T>, true)
+    CompletableFuture<T> future = new CompletableFuture<>()
+    executor.execute {
+      try {
+        future.complete(propagated.call())
+      } catch (Throwable t) {
+        future.completeExceptionally(t)
+      }
+    }
+    return future
+  }
+
+  void close() {
+    executor?.shutdown()
+  }
+
+  private static <T> CompletableFuture<T> readNow(Closure<T> read) {
+    try {
+      return CompletableFuture.completedFuture(read.call())
+    } catch (Throwable t) {
+      CompletableFuture<T> future = new CompletableFuture<>()
+      future.completeExceptionally(t)
+      return future
+    }
+  }
+
+  private static ThreadPoolExecutor newExecutor(int threads) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+      threads,
+      threads,
+      60,
+      TimeUnit.SECONDS,
+      new SynchronousQueue<Runnable>(),
+      new ThreadFactoryBuilder()
+        .setNameFormat(AmazonClusterProvider.simpleName + "-%d")
+        .setDaemon(true)
+        .build(),
+      // unlike CallerRunsPolicy, this also runs reads submitted while the pool shuts down
+      { Runnable read, ThreadPoolExecutor pool -> read.run() } as RejectedExecutionHandler
+    )
+    executor.allowCoreThreadTimeOut(true)
+    return executor
+  }
+}
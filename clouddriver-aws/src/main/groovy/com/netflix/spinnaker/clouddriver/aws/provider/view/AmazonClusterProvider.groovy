@@ -34,6 +34,9 @@ import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.stereotype.Component
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.*
 
 @Slf4j
@@ -44,6 +47,9 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   private final Cache cacheView
   private final AwsProvider awsProvider
 
+  // cache reads that do not depend on each other are issued concurrently on these (I/O bound) threads
+  private final AmazonClusterCacheReadExecutor cacheReadExecutor
+
   @Autowired(required = false)
   List<ExternalHealthProvider> externalHealthProviders
 
@@ -53,11 +59,19 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   @Value('${sql.cache.enabled:false}')
   Boolean sqlEnabled
 
-  @Autowired
   AmazonClusterProvider(AmazonCloudProvider amazonCloudProvider, Cache cacheView, AwsProvider awsProvider) {
+    this(amazonCloudProvider, cacheView, awsProvider, new AmazonClusterCacheReadExecutor(0))
+  }
+
+  @Autowired
+  AmazonClusterProvider(AmazonCloudProvider amazonCloudProvider,
+                        Cache cacheView,
+                        AwsProvider awsProvider,
+                        AmazonClusterCacheReadExecutor cacheReadExecutor) {
     this.amazonCloudProvider = amazonCloudProvider
     this.cacheView = cacheView
     this.awsProvider = awsProvider
+    this.cacheReadExecutor = cacheReadExecutor
   }
 
   @Override
@@ -89,6 +103,18 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     def serverGroupById = [(serverGroupData.id): new AmazonServerGroup(serverGroupData.attributes)]
     def serverGroup = serverGroupById.values().first()
 
+    // the instances and their health do not depend on the launch settings, so they are read meanwhile
+    CompletableFuture<Map<String, AmazonInstance>> instancesFuture = null
+    if (includeDetails) {
+      Set<String> asgInstances = getAsgInstanceKeys(asg, account, region)
+      Closure<Boolean> instanceFilter = { rel ->
+        return (asgInstances == null || asgInstances.contains(rel))
+      }
+      instancesFuture = readAsync {
+        translateInstances(resolveRelationshipData(serverGroupData, INSTANCES.ns, instanceFilter, RelationshipCacheFilter.none()))
+      }
+    }
+
     String imageId
     Map<String, Object> ltSpec = serverGroup.getLaunchTemplateSpecification()
     if (ltSpec) {
@@ -112,11 +138,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     serverGroup.accountName = account
 
     if (includeDetails) {
-      Set<String> asgInstances = getAsgInstanceKeys(asg, account, region)
-      Closure<Boolean> instanceFilter = { rel ->
-        return (asgInstances == null || asgInstances.contains(rel))
-      }
-      serverGroup.instances = translateInstances(resolveRelationshipData(serverGroupData, INSTANCES.ns, instanceFilter, RelationshipCacheFilter.none())).values()
+      serverGroup.instances = await(instancesFuture).values()
     } else {
       serverGroup.instances = []
     }
@@ -177,31 +199,30 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     def cacheResults = cacheView.getAllByApplication(toFetch, application, filters)
 
     // lbs and images can span applications and can't currently be indexed by app
-    Collection<CacheData> allLoadBalancers = resolveRelationshipDataForCollection(
-      cacheResults[CLUSTERS.ns],
-      LOAD_BALANCERS.ns,
-      RelationshipCacheFilter.none()
-    )
-    Collection<CacheData> allTargetGroups = resolveRelationshipDataForCollection(
-      cacheResults[CLUSTERS.ns],
-      TARGET_GROUPS.ns,
-      RelationshipCacheFilter.none()
-    )
-
-    Collection<CacheData> allImages = []
-    allImages.addAll(
+    CompletableFuture<Collection<CacheData>> allLoadBalancers = readAsync {
+      resolveRelationshipDataForCollection(cacheResults[CLUSTERS.ns], LOAD_BALANCERS.ns, RelationshipCacheFilter.none())
+    }
+    CompletableFuture<Collection<CacheData>> allTargetGroups = readAsync {
+      resolveRelationshipDataForCollection(cacheResults[CLUSTERS.ns], TARGET_GROUPS.ns, RelationshipCacheFilter.none())
+    }
+    CompletableFuture<Collection<CacheData>> launchConfigImages = readAsync {
       resolveRelationshipDataForCollection(cacheResults[LAUNCH_CONFIGS.ns], IMAGES.ns, RelationshipCacheFilter.none())
-    )
-
-    allImages.addAll(
+    }
+    CompletableFuture<Collection<CacheData>> launchTemplateImages = readAsync {
       resolveRelationshipDataForCollection(cacheResults[LAUNCH_TEMPLATES.ns], IMAGES.ns, RelationshipCacheFilter.none())
-    )
+    }
+    Map<String, List<Map<String, Object>>> healths = readHealths(cacheResults[INSTANCES.ns]*.id)
 
-    Map<String, AmazonLoadBalancer> loadBalancers = translateLoadBalancers(allLoadBalancers)
-    Map<String, AmazonTargetGroup> targetGroups = translateTargetGroups(allTargetGroups)
+    Collection<CacheData> allImages = []
+    allImages.addAll(await(launchConfigImages))
+    allImages.addAll(await(launchTemplateImages))
+
+    Map<String, AmazonLoadBalancer> loadBalancers = translateLoadBalancers(await(allLoadBalancers))
+    Map<String, AmazonTargetGroup> targetGroups = translateTargetGroups(await(allTargetGroups))
     Map<String, AmazonServerGroup> serverGroups = translateServerGroups(
       cacheResults[SERVER_GROUPS.ns],
       cacheResults[INSTANCES.ns],
+      healths,
       cacheResults[LAUNCH_CONFIGS.ns],
       cacheResults[LAUNCH_TEMPLATES.ns],
       allImages
@@ -231,14 +252,18 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     Map<String, AmazonServerGroup> serverGroups
 
     if (includeDetails) {
-      Collection<CacheData> allLoadBalancers = resolveRelationshipDataForCollection(clusterData, LOAD_BALANCERS.ns)
-      Collection<CacheData> allTargetGroups = resolveRelationshipDataForCollection(clusterData, TARGET_GROUPS.ns)
+      CompletableFuture<Collection<CacheData>> allLoadBalancers = readAsync {
+        resolveRelationshipDataForCollection(clusterData, LOAD_BALANCERS.ns)
+      }
+      CompletableFuture<Collection<CacheData>> allTargetGroups = readAsync {
+        resolveRelationshipDataForCollection(clusterData, TARGET_GROUPS.ns)
+      }
       Collection<CacheData> allServerGroups = resolveRelationshipDataForCollection(
         clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.include(INSTANCES.ns, LAUNCH_CONFIGS.ns, LAUNCH_TEMPLATES.ns))
 
-      loadBalancers = translateLoadBalancers(allLoadBalancers)
-      targetGroups = translateTargetGroups(allTargetGroups)
       serverGroups = translateServerGroups(allServerGroups, false)
+      loadBalancers = translateLoadBalancers(await(allLoadBalancers))
+      targetGroups = translateTargetGroups(await(allTargetGroups))
       // instance relationships were expanded so no need to consider partial instances
     } else {
       Collection<CacheData> allServerGroups = resolveRelationshipDataForCollection(clusterData, SERVER_GROUPS.ns, RelationshipCacheFilter.none())
@@ -292,11 +317,12 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   private Map<String, AmazonServerGroup> translateServerGroups(
     Collection<CacheData> serverGroupData,
     Collection<CacheData> instanceData,
+    Map<String, List<Map<String, Object>>> healths,
     Collection<CacheData> launchConfigData,
     Collection<CacheData> launchTemplateData,
     Collection<CacheData> imageData
   ) {
-    Map<String, AmazonInstance> instances = translateInstances(instanceData)
+    Map<String, AmazonInstance> instances = translateInstances(instanceData, healths)
 
     Map<String, AmazonServerGroup> serverGroups = serverGroupData?.collectEntries { sg ->
       Map<String, String> parsed = Keys.parse(sg.id)
@@ -327,9 +353,31 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
 
   private Map<String, AmazonServerGroup> translateServerGroups(Collection<CacheData> serverGroupData,
                                                                boolean includePartialInstances) {
+    Map<String, String> launchConfigurations = serverGroupData.findAll {
+      it.relationships[LAUNCH_CONFIGS.ns]
+    }.collectEntries {
+      [(it.relationships[LAUNCH_CONFIGS.ns].first()): it.id]
+    }
+
+    Map<String, String> templates = serverGroupData.findAll {
+      it.relationships[LAUNCH_TEMPLATES.ns]
+    }.collectEntries {
+      [(it.relationships[LAUNCH_TEMPLATES.ns].first()): it.id]
+    }
+
+    // the instances, their health and the launch settings only depend on the server groups
+    CompletableFuture<Collection<CacheData>> launchConfigsFuture = readAsync {
+      cacheView.getAll(LAUNCH_CONFIGS.ns, launchConfigurations.keySet())
+    }
+    CompletableFuture<Collection<CacheData>> launchTemplatesFuture = readAsync {
+      cacheView.getAll(LAUNCH_TEMPLATES.ns, templates.keySet())
+    }
+    CompletableFuture<Map<String, List<Map<String, Object>>>> healthsFuture = readAsync {
+      readHealths(serverGroupData.findResults { it.relationships[INSTANCES.ns] ?: [] }.flatten() as Collection<String>)
+    }
     Collection<CacheData> allInstances = resolveRelationshipDataForCollection(serverGroupData, INSTANCES.ns, RelationshipCacheFilter.none())
 
-    Map<String, AmazonInstance> instances = translateInstances(allInstances)
+    Map<String, AmazonInstance> instances = translateInstances(allInstances, await(healthsFuture))
 
     Map<String, AmazonServerGroup> serverGroups = serverGroupData.collectEntries { serverGroupEntry ->
       Map<String, String> serverGroupKey = Keys.parse(serverGroupEntry.id)
@@ -363,19 +411,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       [(serverGroupEntry.id): serverGroup]
     }
 
-    Map<String, String> launchConfigurations = serverGroupData.findAll {
-      it.relationships[LAUNCH_CONFIGS.ns]
-    }.collectEntries {
-      [(it.relationships[LAUNCH_CONFIGS.ns].first()): it.id]
-    }
-
-    Map<String, String> templates = serverGroupData.findAll {
-      it.relationships[LAUNCH_TEMPLATES.ns]
-    }.collectEntries {
-      [(it.relationships[LAUNCH_TEMPLATES.ns].first()): it.id]
-    }
-
-    Collection<CacheData> launchConfigs = cacheView.getAll(LAUNCH_CONFIGS.ns, launchConfigurations.keySet())
+    Collection<CacheData> launchConfigs = await(launchConfigsFuture)
     Map<String, Collection<String>> allImages = [:]
     launchConfigs.each { launchConfig ->
       def serverGroupId = launchConfigurations[launchConfig.id]
@@ -389,7 +425,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
       }
     }
 
-    Collection<CacheData> launchTemplates = cacheView.getAll(LAUNCH_TEMPLATES.ns, templates.keySet())
+    Collection<CacheData> launchTemplates = await(launchTemplatesFuture)
     launchTemplates.each { launchTemplate ->
       def serverGroupId = templates[launchTemplate.id]
       populateServerGroupWithLtOrMip(serverGroups[serverGroupId], launchTemplate)
@@ -417,36 +453,56 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
   }
 
   private Map<String, AmazonInstance> translateInstances(Collection<CacheData> instanceData) {
+    translateInstances(instanceData, readHealths(instanceData*.id))
+  }
+
+  private Map<String, AmazonInstance> translateInstances(Collection<CacheData> instanceData,
+                                                         Map<String, List<Map<String, Object>>> healths) {
     Map<String, AmazonInstance> instances = instanceData?.collectEntries { instanceEntry ->
       AmazonInstance instance = new AmazonInstance(instanceEntry.attributes)
       instance.name = instanceEntry.attributes.instanceId.toString()
       [(instanceEntry.id): instance]
     } ?: [:]
-    addHealthToInstances(instanceData, instances)
+    addHealthToInstances(instances, healths)
 
     instances
   }
 
-  private void addHealthToInstances(Collection<CacheData> instanceData, Map<String, AmazonInstance> instances) {
+  /**
+   * Health keys are derived from instance keys, so the health of instances can be read without (or
+   * while) reading the instances themselves.
+   *
+   * @return the health of each of the given instances, by instance key
+   */
+  private Map<String, List<Map<String, Object>>> readHealths(Collection<String> instanceKeys) {
     Map<String, String> healthKeysToInstance = [:]
-    instanceData.each { instanceEntry ->
-      Map<String, String> instanceKey = Keys.parse(instanceEntry.id)
+    instanceKeys?.each { instanceId ->
+      Map<String, String> instanceKey = Keys.parse(instanceId)
       awsProvider.healthAgents.each {
         def key = Keys.getInstanceHealthKey(instanceKey.instanceId, instanceKey.account, instanceKey.region, it.healthId)
-        healthKeysToInstance.put(key, instanceEntry.id)
+        healthKeysToInstance.put(key, instanceId)
       }
       externalHealthProviders.each { externalHealthProvider ->
         externalHealthProvider.agents.each { externalHealthAgent ->
           def key = Keys.getInstanceHealthKey(instanceKey.instanceId, instanceKey.account, instanceKey.region, externalHealthAgent.healthId)
-          healthKeysToInstance.put(key, instanceEntry.id)
+          healthKeysToInstance.put(key, instanceId)
         }
       }
     }
 
+    Map<String, List<Map<String, Object>>> healthsByInstance = [:]
     Collection<CacheData> healths = cacheView.getAll(HEALTH.ns, healthKeysToInstance.keySet(), RelationshipCacheFilter.none())
     healths.each { healthEntry ->
       def instanceId = healthKeysToInstance.get(healthEntry.id)
-      instances[instanceId].health << healthEntry.attributes
+      healthsByInstance.computeIfAbsent(instanceId, { [] }) << healthEntry.attributes
+    }
+    healthsByInstance
+  }
+
+  private static void addHealthToInstances(Map<String, AmazonInstance> instances,
+                                           Map<String, List<Map<String, Object>>> healths) {
+    healths.each { String instanceId, List<Map<String, Object>> instanceHealths ->
+      instances[instanceId]?.health?.addAll(instanceHealths)
     }
 
     instances.values().each { instance ->
@@ -456,6 +512,18 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster>, ServerGro
     }
   }
 
+  private <T> CompletableFuture<T> readAsync(Closure<T> read) {
+    cacheReadExecutor.readAsync(read)
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join()
+    } catch (CompletionException e) {
+      throw e.cause ?: e
+    }
+  }
+
   private Collection<CacheData> resolveRelationshipDataForCollection(Collection<CacheData> sources, String relationship, CacheFilter cacheFilter = null) {
     Collection<String> relationships = sources?.findResults { it.relationships[relationship] ?: [] }?.flatten() ?: []
     relationships ? cacheView.getAll(relationship, relationships, cacheFilter) : []
@@ -39,6 +39,7 @@ import com.netflix.spinnaker.clouddriver.aws.health.AmazonHealthIndicator
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonBlockDevice
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonServerGroup
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsCleanupProvider
+import com.netflix.spinnaker.clouddriver.aws.provider.view.AmazonClusterCacheReadExecutor
 import com.netflix.spinnaker.clouddriver.aws.provider.view.AmazonClusterProvider
 import com.netflix.spinnaker.clouddriver.aws.security.*
 import com.netflix.spinnaker.clouddriver.aws.security.EddaTimeoutConfig.Builder
@@ -261,6 +262,11 @@ class AwsConfiguration {
     new SecurityGroupLookupFactory(amazonClientProvider, credentialsRepository)
   }
 
+  @Bean
+  AmazonClusterCacheReadExecutor amazonClusterCacheReadExecutor(AwsConfigurationProperties awsConfigurationProperties) {
+    return new AmazonClusterCacheReadExecutor(awsConfigurationProperties.clusterProvider.cacheReadThreads)
+  }
+
   @Bean
   AmazonServerGroupProvider amazonServerGroupProvider(ApplicationContext applicationContext) {
     return new AmazonServerGroupProvider(applicationContext)
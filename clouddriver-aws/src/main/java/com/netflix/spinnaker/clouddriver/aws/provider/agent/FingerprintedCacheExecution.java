@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.agent;
+
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.cats.agent.CachingAgent.CacheExecution;
+import com.netflix.spinnaker.cats.provider.ProviderRegistry;
+import java.util.Collection;
+
+/**
+ * Commits the staged changes of an agent's {@link ResourceFingerprints} once its result has been
+ * stored, or resets them if storing it failed, so that the next cycle reports a full set of
+ * changes.
+ */
+public class FingerprintedCacheExecution extends CacheExecution {
+  private final Collection<ResourceFingerprints<?>> fingerprints;
+
+  public FingerprintedCacheExecution(
+      ProviderRegistry providerRegistry, Collection<ResourceFingerprints<?>> fingerprints) {
+    super(providerRegistry);
+    this.fingerprints = fingerprints;
+  }
+
+  @Override
+  public void storeAgentResult(Agent agent, CacheResult result) {
+    try {
+      super.storeAgentResult(agent, result);
+    } catch (RuntimeException e) {
+      fingerprints.forEach(ResourceFingerprints::reset);
+      throw e;
+    }
+    fingerprints.forEach(ResourceFingerprints::commit);
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.agent;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Remembers a fingerprint of each resource a caching agent described in its previous cycle, so that
+ * the agent only has to build cache data for the resources that were added or changed, and can
+ * explicitly evict the ones that were removed.
+ *
+ * <p>Resources are fingerprinted by hashing their {@code toString()} by default, which for AWS SDK
+ * model objects includes every field. The changes of the latest {@link #diff} are staged, and only
+ * become the baseline of the next cycle once {@link #commit} is called after the result built from
+ * them has been stored; {@link FingerprintedCacheExecution} does so. A failed store calls {@link
+ * #reset} instead.
+ *
+ * <p>A full set of changes (every resource, as if none had been seen) is reported on the first
+ * cycle, every {@code fullResultInterval} cycles, and whenever the agent appears to have missed a
+ * run, i.e. more than {@code MISSED_RUN_FACTOR} times the shortest gap seen between two cycles has
+ * passed since the last commit. A missed run means the agent may have been run by another
+ * clouddriver instance, whose writes the fingerprints know nothing about. The periodic full result
+ * covers what this cannot detect, such as an agent whose runs alternated between instances from the
+ * start.
+ */
+public class ResourceFingerprints<T> {
+  public static final int DEFAULT_FULL_RESULT_INTERVAL = 10;
+  public static final double MISSED_RUN_FACTOR = 1.5;
+
+  // gaps are at least this long when judging missed runs, so that jitter is not mistaken for one
+  private static final long MIN_GAP_MILLIS = 1000;
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final int fullResultInterval;
+  private final Function<T, String> fingerprintSource;
+  private final Clock clock;
+
+  // guarded by this
+  private Map<String, HashCode> fingerprints = null;
+  private int partialCycles = 0;
+  private long lastCommitMillis = -1;
+  private long shortestGapMillis = -1;
+  private Changes<T> staged = null;
+
+  public ResourceFingerprints() {
+    this(DEFAULT_FULL_RESULT_INTERVAL);
+  }
+
+  public ResourceFingerprints(int fullResultInterval) {
+    this(fullResultInterval, String::valueOf);
+  }
+
+  public ResourceFingerprints(int fullResultInterval, Function<T, String> fingerprintSource) {
+    this(fullResultInterval, fingerprintSource, Clock.systemDefaultZone());
+  }
+
+  ResourceFingerprints(int fullResultInterval, Function<T, String> fingerprintSource, Clock clock) {
+    this.fullResultInterval = fullResultInterval;
+    this.fingerprintSource = fingerprintSource;
+    this.clock = clock;
+  }
+
+  /**
+   * Stages the returned changes, replacing any changes staged by a previous call.
+   *
+   * @param resourcesById every resource described in this cycle
+   * @return how the resources differ from the ones of the last committed cycle
+   */
+  public synchronized Changes<T> diff(Map<String, T> resourcesById) {
+    Map<String, HashCode> current = new HashMap<>(resourcesById.size());
+    resourcesById.forEach(
+        (id, resource) ->
+            current.put(
+                id,
+                HASH_FUNCTION.hashString(
+                    fingerprintSource.apply(resource), StandardCharsets.UTF_8)));
+
+    long gapMillis = lastCommitMillis < 0 ? -1 : clock.millis() - lastCommitMillis;
+    if (fingerprints == null || partialCycles + 1 >= fullResultInterval || missedRun(gapMillis)) {
+      staged = new Changes<>(true, resourcesById, Collections.emptySet(), current, gapMillis);
+      return staged;
+    }
+
+    Map<String, T> changed = new HashMap<>();
+    current.forEach(
+        (id, fingerprint) -> {
+          if (!fingerprint.equals(fingerprints.get(id))) {
+            changed.put(id, resourcesById.get(id));
+          }
+        });
+    Set<String> removed = new HashSet<>();
+    for (String id : fingerprints.keySet()) {
+      if (!current.containsKey(id)) {
+        removed.add(id);
+      }
+    }
+    staged = new Changes<>(false, changed, removed, current, gapMillis);
+    return staged;
+  }
+
+  private boolean missedRun(long gapMillis) {
+    return shortestGapMillis < 0
+        || gapMillis > MISSED_RUN_FACTOR * Math.max(shortestGapMillis, MIN_GAP_MILLIS);
+  }
+
+  /** Records the fingerprints of the staged changes once the result built from them is stored. */
+  public synchronized void commit() {
+    if (staged == null) {
+      return;
+    }
+    fingerprints = staged.fingerprints;
+    partialCycles = staged.full ? 0 : partialCycles + 1;
+    if (staged.gapMillis >= 0 && (shortestGapMillis < 0 || staged.gapMillis < shortestGapMillis)) {
+      shortestGapMillis = staged.gapMillis;
+    }
+    lastCommitMillis = clock.millis();
+    staged = null;
+  }
+
+  /**
+   * Forgets every fingerprint and the staged changes, so that the next cycle reports a full set of
+   * changes.
+   */
+  public synchronized void reset() {
+    fingerprints = null;
+    partialCycles = 0;
+    lastCommitMillis = -1;
+    staged = null;
+  }
+
+  public static class Changes<T> {
+    private final boolean full;
+    private final Map<String, T> changed;
+    private final Set<String> removed;
+    private final Map<String, HashCode> fingerprints;
+    private final long gapMillis;
+
+    Changes(
+        boolean full,
+        Map<String, T> changed,
+        Set<String> removed,
+        Map<String, HashCode> fingerprints,
+        long gapMillis) {
+      this.full = full;
+      this.changed = Collections.unmodifiableMap(changed);
+      this.removed = Collections.unmodifiableSet(removed);
+      this.fingerprints = fingerprints;
+      this.gapMillis = gapMillis;
+    }
+
+    /** @return whether every resource is reported as changed, and a complete result is needed */
+    public boolean isFull() {
+      return full;
+    }
+
+    /** @return the resources that were added or changed, by id */
+    public Map<String, T> getChanged() {
+      return changed;
+    }
+
+    /** @return the ids of the resources that were removed */
+    public Set<String> getRemoved() {
+      return removed;
+    }
+
+    /** @return the ids of every resource described in this cycle */
+    public Set<String> getIds() {
+      return Collections.unmodifiableSet(fingerprints.keySet());
+    }
+
+    public boolean isChanged(String id) {
+      return changed.containsKey(id);
+    }
+  }
+}
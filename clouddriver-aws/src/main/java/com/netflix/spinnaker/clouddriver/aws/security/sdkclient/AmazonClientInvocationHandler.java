@@ -33,12 +33,16 @@ import com.amazonaws.services.elasticloadbalancingv2.model.*;
 import com.amazonaws.services.elasticloadbalancingv2.model.TargetGroup;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.aws.security.EddaTimeoutConfig;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
@@ -47,7 +51,9 @@ import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
@@ -72,6 +78,7 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
   private final EddaTimeoutConfig eddaTimeoutConfig;
   private final Registry registry;
   private final Map<String, String> metricTags;
+  private final EddaResponseCache responseCache;
 
   public AmazonClientInvocationHandler(
       Object delegate,
@@ -82,6 +89,32 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
       EddaTimeoutConfig eddaTimeoutConfig,
       Registry registry,
       Map<String, String> metricTags) {
+    this(
+        delegate,
+        serviceName,
+        edda,
+        httpClient,
+        objectMapper,
+        eddaTimeoutConfig,
+        registry,
+        metricTags,
+        null);
+  }
+
+  /**
+   * @param responseCache keeps the last response of full collections so that they are requested
+   *     conditionally, or null to always request and parse them in full
+   */
+  public AmazonClientInvocationHandler(
+      Object delegate,
+      String serviceName,
+      String edda,
+      HttpClient httpClient,
+      ObjectMapper objectMapper,
+      EddaTimeoutConfig eddaTimeoutConfig,
+      Registry registry,
+      Map<String, String> metricTags,
+      EddaResponseCache responseCache) {
     this.edda = edda;
     this.httpClient = httpClient;
     this.objectMapper = objectMapper;
@@ -91,6 +124,7 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
         eddaTimeoutConfig == null ? EddaTimeoutConfig.DEFAULT : eddaTimeoutConfig;
     this.registry = registry;
     this.metricTags = ImmutableMap.copyOf(metricTags);
+    this.responseCache = responseCache;
   }
 
   @Override
@@ -409,19 +443,32 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
       final Id deserializeJsonTimer = registry.createId("edda.deserializeJson", metricTags);
       final Id resultSizeCounter = registry.createId("edda.resultSize", metricTags);
       if (ids.isEmpty()) {
-        HttpEntity entity = getHttpEntity(metricTags, object, null);
+        final String url = getUrl(object, null);
+        final EddaResponseCache.Entry cached =
+            responseCache == null ? null : responseCache.get(url);
+        final HttpResponse response = getHttpResponse(metricTags, url, cached);
+        final HttpEntity entity = response.getEntity();
         try {
-          final JavaType listMeta =
-              objectMapper
-                  .getTypeFactory()
-                  .constructParametrizedType(List.class, List.class, singleMeta);
-          final List<Metadata<T>> metadataResults =
-              registry
-                  .timer(deserializeJsonTimer)
-                  .record(() -> objectMapper.readValue(entity.getContent(), listMeta));
-          for (Metadata<T> meta : metadataResults) {
-            mtime = mtime == null ? meta.mtime : Math.min(mtime, meta.mtime);
-            results.add(meta.data);
+          final String etag = getHeader(response, HttpHeaders.ETAG);
+          final String lastModifiedHeader = getHeader(response, HttpHeaders.LAST_MODIFIED);
+          if (cached != null
+              && (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED
+                  || (etag != null && etag.equals(cached.etag)))) {
+            // the collection has not changed since it was last parsed
+            registry.counter(registry.createId("edda.notModified", metricTags)).increment();
+            mtime = cached.mtime;
+            results.addAll((List<T>) cached.results);
+          } else {
+            mtime =
+                registry
+                    .timer(deserializeJsonTimer)
+                    .record(() -> readCollection(entity, singleMeta, results));
+            if (responseCache != null && (etag != null || lastModifiedHeader != null)) {
+              responseCache.put(
+                  url,
+                  new EddaResponseCache.Entry(
+                      etag, lastModifiedHeader, mtime, new ArrayList<>(results)));
+            }
           }
         } finally {
           EntityUtils.consume(entity);
@@ -476,11 +523,56 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
     }
   }
 
+  /**
+   * Reads a collection element by element, rather than into an intermediate list of {@link
+   * Metadata}, adding the data of each element to the results.
+   *
+   * @return the earliest modification time of the elements
+   */
+  private <T> Long readCollection(HttpEntity entity, JavaType singleMeta, List<T> results)
+      throws IOException {
+    Long mtime = null;
+    try (JsonParser parser = objectMapper.getFactory().createParser(entity.getContent())) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Expected an array of " + singleMeta);
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        final Metadata<T> meta = objectMapper.readValue(parser, singleMeta);
+        mtime = mtime == null ? meta.mtime : Math.min(mtime, meta.mtime);
+        results.add(meta.data);
+      }
+    }
+    return mtime;
+  }
+
+  private static String getHeader(HttpResponse response, String name) {
+    final Header header = response.getFirstHeader(name);
+    return header == null ? null : header.getValue();
+  }
+
+  private String getUrl(String objectName, String key) {
+    return edda + "/REST/v2/aws/" + objectName + (key == null ? ";_expand" : "/" + key) + ";_meta";
+  }
+
   private HttpEntity getHttpEntity(Map<String, String> metricTags, String objectName, String key)
       throws EddaException {
-    final String url =
-        edda + "/REST/v2/aws/" + objectName + (key == null ? ";_expand" : "/" + key) + ";_meta";
+    return getHttpResponse(metricTags, getUrl(objectName, key), null).getEntity();
+  }
+
+  /**
+   * @param cached the last response for the URL, if it is requested conditionally. A 304 response
+   *     is then returned rather than retried.
+   */
+  private HttpResponse getHttpResponse(
+      Map<String, String> metricTags, String url, EddaResponseCache.Entry cached)
+      throws EddaException {
     final HttpGet get = new HttpGet(url);
+    if (cached != null && cached.etag != null) {
+      get.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
+    }
+    if (cached != null && cached.lastModified != null) {
+      get.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+    }
     get.setConfig(
         RequestConfig.custom()
             .setConnectTimeout(eddaTimeoutConfig.getConnectTimeout())
@@ -509,7 +601,8 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
             registry.timer(httpExecuteTime).record(() -> httpClient.execute(get));
         final int statusCode = response.getStatusLine().getStatusCode();
         entity = response.getEntity();
-        if (statusCode != HttpStatus.SC_OK) {
+        if (statusCode != HttpStatus.SC_OK
+            && !(cached != null && statusCode == HttpStatus.SC_NOT_MODIFIED)) {
           lastExceptionMessage =
               response.getProtocolVersion().toString()
                   + " "
@@ -524,7 +617,7 @@ public class AmazonClientInvocationHandler implements InvocationHandler {
           throw new HttpClientErrorException(
               org.springframework.http.HttpStatus.valueOf(statusCode), lastExceptionMessage);
         } else {
-          return entity;
+          return response;
         }
       } catch (Exception e) {
         lastExceptionMessage = e.getClass().getSimpleName() + ": " + e.getMessage();
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last response for each full Edda collection, keyed by request URL (which identifies the
+ * account's Edda, the region and the collection), along with the validators Edda returned for it.
+ * It is shared by the clients of every account and region.
+ */
+class EddaResponseCache {
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  Entry get(String url) {
+    return entries.get(url);
+  }
+
+  void put(String url, Entry entry) {
+    entries.put(url, entry);
+  }
+
+  static class Entry {
+    final String etag;
+    final String lastModified;
+    final Long mtime;
+    final List<?> results;
+
+    Entry(String etag, String lastModified, Long mtime, List<?> results) {
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.mtime = mtime;
+      this.results = Collections.unmodifiableList(results);
+    }
+  }
+}
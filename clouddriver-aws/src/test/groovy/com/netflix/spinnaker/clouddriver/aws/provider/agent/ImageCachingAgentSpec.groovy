@@ -24,6 +24,7 @@ import com.amazonaws.services.ec2.model.Image
 import com.netflix.awsobjectmapper.AmazonObjectMapperConfigurer
 import com.netflix.spectator.api.Spectator
 import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
@@ -60,6 +61,11 @@ class ImageCachingAgentSpec extends Specification {
   @Shared
   ProviderCache providerCache = Mock(ProviderCache)
 
+  @Shared
+  ProviderRegistry providerRegistry = Stub(ProviderRegistry) {
+    getProviderCache(_) >> providerCache
+  }
+
   @Shared
   NetflixAmazonCredentials creds
 
@@ -217,4 +223,74 @@ class ImageCachingAgentSpec extends Specification {
     !result.cacheResults[NAMED_IMAGES.ns].find { it.id == privateNamedImageKey }
   }
 
+  void "should only cache changed images and evict removed ones once full results are stored"() {
+    given:
+    def agent = getAgent(false, false)
+    def execution = agent.getAgentExecution(providerRegistry)
+    def request = new DescribeImagesRequest().withFilters(new Filter('is-public', ['false']))
+    Image unchangedImage = new Image().withImageId('ami-33333333').withName('unchanged').withPublic(false)
+    Image changedImage = new Image().withImageId('ami-44444444').withName('changed').withPublic(false)
+    String unchangedImageKey = Keys.getImageKey(unchangedImage.getImageId(), accountName, region)
+    String changedImageKey = Keys.getImageKey(changedImage.getImageId(), accountName, region)
+    Image updatedImage = changedImage.clone().withDescription('changed')
+    ec2.describeImages(request) >> new DescribeImagesResult(images: [privateImage, unchangedImage, changedImage])
+
+    when: 'results have not been stored yet'
+    def result = agent.loadData(providerCache)
+    result = agent.loadData(providerCache)
+
+    then: 'every image is cached'
+    !result.partialResult
+    result.cacheResults[IMAGES.ns]*.id.sort() == [privateImageKey, unchangedImageKey, changedImageKey].sort()
+
+    when: 'full results are stored until the run cadence is known'
+    execution.storeAgentResult(agent, result)
+    result = agent.loadData(providerCache)
+
+    then:
+    !result.partialResult
+
+    when: 'one image is changed and another one is removed'
+    execution.storeAgentResult(agent, result)
+    result = agent.loadData(providerCache)
+
+    then: 'only the changed image is cached, and the removed one is evicted'
+    1 * ec2.describeImages(request) >> new DescribeImagesResult(images: [unchangedImage, updatedImage])
+    result.partialResult
+    result.cacheResults[IMAGES.ns]*.id == [changedImageKey]
+    result.cacheResults[NAMED_IMAGES.ns].isEmpty()
+    result.evictions[IMAGES.ns] == [privateImageKey]
+    result.evictions[NAMED_IMAGES.ns] == [privateNamedImageKey]
+  }
+
+  void "should cache every image again after a result failed to be stored"() {
+    given:
+    def agent = getAgent(false, false)
+    def failingCache = Mock(ProviderCache) {
+      addCacheResult(*_) >> { throw new IllegalStateException("unavailable") }
+    }
+    def execution = agent.getAgentExecution(Stub(ProviderRegistry) {
+      getProviderCache(_) >> failingCache
+    })
+    def request = new DescribeImagesRequest().withFilters(new Filter('is-public', ['false']))
+    ec2.describeImages(request) >> new DescribeImagesResult(images: [privateImage])
+
+    and: 'full results are stored, but partial ones fail to be'
+    2.times { execution.storeAgentResult(agent, agent.loadData(providerCache)) }
+    def result = agent.loadData(providerCache)
+    assert result.partialResult
+
+    when:
+    execution.storeAgentResult(agent, result)
+
+    then:
+    thrown(IllegalStateException)
+
+    when:
+    result = agent.loadData(providerCache)
+
+    then:
+    !result.partialResult
+    result.cacheResults[IMAGES.ns]*.id == [privateImageKey]
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.agent
+
+import spock.lang.Specification
+
+import java.time.Clock
+
+class ResourceFingerprintsSpec extends Specification {
+  long now = 0
+  Clock clock = Stub(Clock) {
+    millis() >> { now }
+  }
+  ResourceFingerprints<String> fingerprints = new ResourceFingerprints<>(10, { it }, clock)
+
+  void "should only move forward when changes are committed"() {
+    given:
+    cycle([a: "1", b: "1"])
+    cycle([a: "1", b: "1"])
+
+    when:
+    def changes = diffAfter(60_000, [a: "2", b: "1"])
+    fingerprints.diff([a: "3", c: "1"])
+    changes = diffAfter(0, [a: "2", b: "1"])
+
+    then: 'the uncommitted diffs are not the baseline'
+    !changes.full
+    changes.changed.keySet() == ["a"] as Set
+    changes.removed.isEmpty()
+  }
+
+  void "should report every resource after a reset"() {
+    given:
+    cycle([a: "1"])
+    cycle([a: "1"])
+
+    when:
+    fingerprints.reset()
+
+    then:
+    diffAfter(60_000, [a: "1"]).full
+  }
+
+  void "should report every resource when a run appears to have been missed"() {
+    given:
+    cycle([a: "1", b: "1"])
+    cycle([a: "1", b: "1"])
+
+    expect:
+    !diffAfter(60_000, [a: "1", b: "1"]).full
+
+    when: 'the agent has not committed for longer than its usual interval'
+    def changes = diffAfter(120_000, [a: "1", b: "1"])
+
+    then:
+    changes.full
+    changes.changed.keySet() == ["a", "b"] as Set
+  }
+
+  private void cycle(Map<String, String> resources) {
+    diffAfter(60_000, resources)
+    fingerprints.commit()
+  }
+
+  private ResourceFingerprints.Changes<String> diffAfter(long millis, Map<String, String> resources) {
+    now += millis
+    return fingerprints.diff(resources)
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.view
+
+import com.netflix.spinnaker.security.AuthenticatedRequest
+import org.slf4j.MDC
+import spock.lang.Specification
+
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class AmazonClusterCacheReadExecutorSpec extends Specification {
+  static final String USER_HEADER = "X-SPINNAKER-USER"
+
+  def cleanup() {
+    MDC.clear()
+  }
+
+  def "should carry the caller's request context to the read"() {
+    given:
+    def executor = new AmazonClusterCacheReadExecutor(1)
+    MDC.put(USER_HEADER, 'test-user')
+
+    when:
+    def read = executor.readAsync {
+      [thread: Thread.currentThread(), user: AuthenticatedRequest.getSpinnakerUser().orElse(null)]
+    }.join()
+
+    then:
+    read.thread != Thread.currentThread()
+    read.user == 'test-user'
+    MDC.get(USER_HEADER) == 'test-user'
+
+    cleanup:
+    executor.close()
+  }
+
+  def "should read on the calling thread once every thread is busy"() {
+    given:
+    def executor = new AmazonClusterCacheReadExecutor(1)
+    def started = new CountDownLatch(1)
+    def release = new CountDownLatch(1)
+
+    when:
+    def blocked = executor.readAsync {
+      started.countDown()
+      release.await(10, TimeUnit.SECONDS)
+      return Thread.currentThread()
+    }
+    started.await(10, TimeUnit.SECONDS)
+    def saturated = executor.readAsync { Thread.currentThread() }
+
+    then:
+    saturated.isDone()
+    saturated.join() == Thread.currentThread()
+
+    when:
+    release.countDown()
+
+    then:
+    blocked.join() != Thread.currentThread()
+
+    cleanup:
+    release.countDown()
+    executor.close()
+  }
+
+  def "should read on the calling thread without threads"() {
+    given:
+    def executor = new AmazonClusterCacheReadExecutor(0)
+
+    expect:
+    executor.readAsync { Thread.currentThread() }.join() == Thread.currentThread()
+  }
+
+  def "should surface read failures through the future"() {
+    given:
+    def executor = new AmazonClusterCacheReadExecutor(threads)
+
+    when:
+    executor.readAsync { throw new IllegalStateException('read failed') }.join()
+
+    then:
+    def e = thrown(CompletionException)
+    e.cause instanceof IllegalStateException
+
+    cleanup:
+    executor.close()
+
+    where:
+    threads << [0, 1]
+  }
+}
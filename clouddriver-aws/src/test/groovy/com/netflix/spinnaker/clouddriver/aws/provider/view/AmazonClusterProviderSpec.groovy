@@ -25,6 +25,7 @@ import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonServerGroup
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
+import com.netflix.spinnaker.clouddriver.core.provider.agent.HealthProvidingCachingAgent
 import org.junit.jupiter.api.BeforeEach
 import spock.lang.Specification
 import spock.lang.Subject
@@ -32,7 +33,9 @@ import spock.lang.Unroll
 
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.APPLICATIONS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.CLUSTERS
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.IMAGES
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_CONFIGS
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.LAUNCH_TEMPLATES
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.SERVER_GROUPS
@@ -169,6 +172,39 @@ class AmazonClusterProviderSpec extends Specification {
     allServerGroups[0].mixedInstancesPolicy == null
   }
 
+  def "should get cluster details with instance health"() {
+    given:
+    def instanceId = "i-1"
+    def instanceKey = Keys.getInstanceKey(instanceId, account, region)
+    def healthKey = Keys.getInstanceHealthKey(instanceId, account, region, "test-health")
+    serverGroup.asg = [instances: [[instanceId: instanceId]]]
+
+    and:
+    awsProvider.getHealthAgents() >> [Stub(HealthProvidingCachingAgent) { getHealthId() >> "test-health" }]
+    cacheView.supportsGetAllByApplication() >> false
+    cacheView.filterIdentifiers(CLUSTERS.ns, _) >> [clusterId]
+    cacheView.getAll(CLUSTERS.ns, _ as Collection<String>) >> [new DefaultCacheData(clusterId, clusterAttributes, [serverGroups: [serverGroupId]])]
+    cacheView.getAll(SERVER_GROUPS.ns, [ serverGroupId ], _ as CacheFilter) >> [
+      new DefaultCacheData(serverGroupId, serverGroup, [instances: [instanceKey]])
+    ]
+    cacheView.getAll(INSTANCES.ns, [ instanceKey ], _ as CacheFilter) >> [
+      new DefaultCacheData(instanceKey, [instanceId: instanceId], [:])
+    ]
+    cacheView.getAll(HEALTH.ns, { it.contains(healthKey) }, _ as CacheFilter) >> [
+      new DefaultCacheData(healthKey, [type: "test", state: "Up"], [:])
+    ]
+
+    when:
+    def result = provider.getClusterDetails(app)
+
+    then:
+    def instances = result.values()*.serverGroups.flatten()*.instances.flatten()
+    instances.size() == 1
+    instances[0].name == instanceId
+    instances[0].health == [[type: "test", state: "Up"]]
+    instances[0].extraAttributes.isHealthy
+  }
+
   def "should resolve server group launch config"() {
     given:
     serverGroup.asg = [ launchConfigurationName: launchConfigName]
@@ -24,11 +24,13 @@ import com.amazonaws.services.ec2.AmazonEC2
 import com.netflix.spinnaker.clouddriver.aws.TestCredential
 import org.apache.http.Header
 import org.apache.http.HttpEntity
+import org.apache.http.HttpHeaders
 import org.apache.http.HttpResponse
 import org.apache.http.StatusLine
 import org.apache.http.client.HttpClient
 import org.apache.http.client.methods.HttpGet
 import org.apache.http.entity.ContentType
+import org.apache.http.message.BasicHeader
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -86,6 +88,39 @@ class AmazonClientProviderSpec extends Specification {
     }
   }
 
+  void "unchanged full collections are requested conditionally and not parsed again"() {
+    setup:
+    def mockHttp = Mock(HttpClient)
+    def eddaTimeoutConfig = new EddaTimeoutConfig.Builder()
+    eddaTimeoutConfig.responseCacheEnabled = true
+    def provider = new AmazonClientProvider.Builder()
+      .httpClient(mockHttp)
+      .eddaTimeoutConfig(eddaTimeoutConfig.build())
+      .build()
+    def client = provider.getAutoScaling(credentialsWithEdda, "us-east-1")
+
+    when:
+    def first = client.describeAutoScalingGroups()
+
+    then:
+    1 * mockHttp.execute(_) >> { HttpGet get ->
+      assert get.getFirstHeader(HttpHeaders.IF_NONE_MATCH) == null
+      getMockResponse(ARRAY_ASG_CONTENT, '"v1"')
+    }
+    first.autoScalingGroups*.autoScalingGroupName == ["my-app-v000"]
+
+    when:
+    def second = client.describeAutoScalingGroups()
+
+    then:
+    1 * mockHttp.execute(_) >> { HttpGet get ->
+      assert get.getFirstHeader(HttpHeaders.IF_NONE_MATCH).value == '"v1"'
+      getNotModifiedResponse()
+    }
+    second.autoScalingGroups*.autoScalingGroupName == ["my-app-v000"]
+    provider.lastModified == MTIME
+  }
+
   void "client goes directly to amazon when edda is unavailable"() {
     setup:
     def provider = Spy(AmazonClientProvider)
@@ -152,11 +187,14 @@ class AmazonClientProviderSpec extends Specification {
   static def OBJECT_ASG_CONTENT = '{"mtime": ' + MTIME + ', "data": { "autoScalingGroupName": "my-app-v000" }}'
   static def ARRAY_ASG_CONTENT = "[$OBJECT_ASG_CONTENT]"
 
-  def getMockResponse(String content = ARRAY_ASG_CONTENT) {
+  def getMockResponse(String content = ARRAY_ASG_CONTENT, String etag = null) {
     def mock = Mock(HttpResponse)
     def statusLine = Mock(StatusLine)
     statusLine.getStatusCode() >> 200
     mock.getStatusLine() >> statusLine
+    if (etag) {
+      mock.getFirstHeader(HttpHeaders.ETAG) >> new BasicHeader(HttpHeaders.ETAG, etag)
+    }
     def entity = Mock(HttpEntity)
     entity.getContent() >> { new ByteArrayInputStream(content.bytes) }
     def header = Mock(Header)
@@ -165,4 +203,12 @@ class AmazonClientProviderSpec extends Specification {
     mock.getEntity() >> entity
     mock
   }
+
+  def getNotModifiedResponse() {
+    def mock = Mock(HttpResponse)
+    def statusLine = Mock(StatusLine)
+    statusLine.getStatusCode() >> 304
+    mock.getStatusLine() >> statusLine
+    mock
+  }
 }
@@ -133,7 +133,10 @@ public class Applications {
         spaceGuids == null || spaceGuids.isEmpty() ? null : String.join(",", spaceGuids);
 
     List<Application> newCloudFoundryAppList =
-        collectPages("applications", page -> api.all(page, resultsPerPage, null, spaceGuidsQ));
+        collectPages(
+            "applications",
+            page -> api.all(page, resultsPerPage, null, spaceGuidsQ),
+            forkJoinPool);
 
     log.debug(
         "Fetched {} total apps from foundation account {}",
@@ -145,23 +148,25 @@ public class Applications {
             .filter(this::shouldCacheApplication)
             .collect(Collectors.toUnmodifiableList());
 
-    List<String> availableAppIds =
-        cacheableApplications.stream().map(Application::getGuid).collect(toList());
+    Set<String> availableAppIds =
+        cacheableApplications.stream().map(Application::getGuid).collect(toSet());
 
-    long invalidatedServerGroups =
-        serverGroupCache.asMap().keySet().parallelStream()
+    List<String> invalidatedServerGroups =
+        serverGroupCache.asMap().keySet().stream()
             .filter(appGuid -> !availableAppIds.contains(appGuid))
-            .peek(appGuid -> log.trace("Evicting the following SG with id '{}'", appGuid))
-            .peek(serverGroupCache::invalidate)
-            .count();
+            .collect(toList());
+    invalidatedServerGroups.forEach(
+        appGuid -> log.trace("Evicting the following SG with id '{}'", appGuid));
+    serverGroupCache.invalidateAll(invalidatedServerGroups);
 
     log.debug(
         "Evicted {} serverGroups from the cache that aren't on the '{}' foundation anymore",
-        invalidatedServerGroups,
+        invalidatedServerGroups.size(),
         this.account);
 
     // if the update time doesn't match then we need to update the cache
-    // if the app is not found in the cache we need to process with `map` and update the cache
+    // if the app is not found in the cache we need to process with `map` and update the cache,
+    // using the listed app rather than fetching it again through the cache loader
     try {
       forkJoinPool
           .submit(
@@ -169,7 +174,8 @@ public class Applications {
                   cacheableApplications.parallelStream()
                       .filter(
                           app -> {
-                            CloudFoundryServerGroup cachedApp = findById(app.getGuid());
+                            CloudFoundryServerGroup cachedApp =
+                                serverGroupCache.getIfPresent(app.getGuid());
                             if (cachedApp != null) {
                               if (!cachedApp
                                   .getUpdatedTime()
@@ -200,12 +206,16 @@ public class Applications {
           .submit(
               () ->
                   // execute health check on instances, set number of available instances and health
-                  // status
+                  // status; apps that could not be mapped are not cached and have nothing to check
                   cacheableApplications.parallelStream()
                       .forEach(
-                          a ->
-                              serverGroupCache.put(
-                                  a.getGuid(), checkHealthStatus(findById(a.getGuid()), a))))
+                          a -> {
+                            CloudFoundryServerGroup serverGroup =
+                                serverGroupCache.getIfPresent(a.getGuid());
+                            if (serverGroup != null) {
+                              serverGroupCache.put(a.getGuid(), checkHealthStatus(serverGroup, a));
+                            }
+                          }))
           .get();
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -27,8 +27,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -71,21 +77,35 @@ public final class CloudFoundryClientUtils {
   static <R> List<R> collectPages(
       String resourceNamePluralized, Function<Integer, Call<Pagination<R>>> fetchPage)
       throws CloudFoundryApiException {
+    return collectPages(resourceNamePluralized, fetchPage, null);
+  }
+
+  /**
+   * Collects every page of a v3 resource. When a pool is given, the pages after the first one are
+   * fetched concurrently on it, at most as many at a time as the pool's parallelism.
+   */
+  static <R> List<R> collectPages(
+      String resourceNamePluralized,
+      Function<Integer, Call<Pagination<R>>> fetchPage,
+      @Nullable ForkJoinPool pool)
+      throws CloudFoundryApiException {
     Pagination<R> firstPage =
         safelyCall(() -> fetchPage.apply(null))
             .orElseThrow(
                 () -> new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized));
 
     List<R> allResources = new ArrayList<>(firstPage.getResources());
-    for (int page = 2; page <= firstPage.getPagination().getTotalPages(); page++) {
-      final int p = page;
-      allResources.addAll(
-          safelyCall(() -> fetchPage.apply(p))
-              .orElseThrow(
-                  () ->
-                      new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized))
-              .getResources());
-    }
+    fetchRemainingPages(
+            firstPage.getPagination().getTotalPages(),
+            page ->
+                safelyCall(() -> fetchPage.apply(page))
+                    .orElseThrow(
+                        () ->
+                            new CloudFoundryApiException(
+                                "Unable to retrieve " + resourceNamePluralized))
+                    .getResources(),
+            pool)
+        .forEach(allResources::addAll);
 
     return allResources;
   }
@@ -93,25 +113,69 @@ public final class CloudFoundryClientUtils {
   static <R> List<Resource<R>> collectPageResources(
       String resourceNamePluralized, Function<Integer, Call<Page<R>>> fetchPage)
       throws CloudFoundryApiException {
+    return collectPageResources(resourceNamePluralized, fetchPage, null);
+  }
+
+  /**
+   * Collects every page of a v2 resource. When a pool is given, the pages after the first one are
+   * fetched concurrently on it, at most as many at a time as the pool's parallelism.
+   */
+  static <R> List<Resource<R>> collectPageResources(
+      String resourceNamePluralized,
+      Function<Integer, Call<Page<R>>> fetchPage,
+      @Nullable ForkJoinPool pool)
+      throws CloudFoundryApiException {
     Page<R> firstPage =
         safelyCall(() -> fetchPage.apply(null))
             .orElseThrow(
                 () -> new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized));
 
     List<Resource<R>> allResources = new ArrayList<>(firstPage.getResources());
-    for (int page = 2; page <= firstPage.getTotalPages(); page++) {
-      final int p = page;
-      allResources.addAll(
-          safelyCall(() -> fetchPage.apply(p))
-              .orElseThrow(
-                  () ->
-                      new CloudFoundryApiException("Unable to retrieve " + resourceNamePluralized))
-              .getResources());
-    }
+    fetchRemainingPages(
+            firstPage.getTotalPages(),
+            page ->
+                safelyCall(() -> fetchPage.apply(page))
+                    .orElseThrow(
+                        () ->
+                            new CloudFoundryApiException(
+                                "Unable to retrieve " + resourceNamePluralized))
+                    .getResources(),
+            pool)
+        .forEach(allResources::addAll);
 
     return allResources;
   }
 
+  /** @return the resources of pages 2 to totalPages, in page order */
+  private static <T> List<List<T>> fetchRemainingPages(
+      int totalPages, IntFunction<List<T>> fetchPage, @Nullable ForkJoinPool pool) {
+    if (pool == null || totalPages <= 2) {
+      List<List<T>> pages = new ArrayList<>();
+      for (int page = 2; page <= totalPages; page++) {
+        pages.add(fetchPage.apply(page));
+      }
+      return pages;
+    }
+
+    try {
+      return pool.submit(
+              () ->
+                  IntStream.rangeClosed(2, totalPages)
+                      .parallel()
+                      .mapToObj(fetchPage)
+                      .collect(Collectors.toList()))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CloudFoundryApiException(e, "Interrupted while retrieving pages");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof CloudFoundryApiException) {
+        throw (CloudFoundryApiException) e.getCause();
+      }
+      throw new CloudFoundryApiException(e.getCause());
+    }
+  }
+
   public static ObjectMapper getMapper() {
     return mapper;
   }
@@ -320,6 +320,38 @@ class ApplicationsTest {
     verify(applicationService).all(null, resultsPerPage, null, spaceId);
   }
 
+  @Test
+  void allMapsListedAppsWithoutFetchingThemAgain() {
+    Application application =
+        new Application()
+            .setCreatedAt(ZonedDateTime.now())
+            .setUpdatedAt(ZonedDateTime.now())
+            .setGuid("guid")
+            .setName("my-app-v000")
+            .setState("STARTED")
+            .setLinks(
+                HashMap.of("space", new Link().setHref("http://capi.io/space/space-guid"))
+                    .toJavaMap());
+
+    Pagination<Application> applicationPagination =
+        new Pagination<Application>()
+            .setPagination(new Pagination.Details().setTotalPages(1))
+            .setResources(Collections.singletonList(application));
+
+    when(applicationService.all(any(), any(), any(), any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(applicationPagination)));
+    mockMap(cloudFoundrySpace, "droplet-guid");
+    when(applicationService.instances(any()))
+        .thenAnswer(invocation -> Calls.response(Response.success(emptyMap())));
+
+    assertThat(apps.all(List.of(spaceId))).hasSize(1);
+    assertThat(apps.all(List.of(spaceId))).hasSize(1);
+
+    verify(applicationService, never()).findById(anyString());
+    // the app is unchanged on the second listing, so it is only mapped once
+    verify(applicationService, times(1)).findApplicationEnvById("guid");
+  }
+
   @Test
   void allSkipsUnversionedAppWhenOnlySpinnakerManagedTrue() {
     String guid = "guid";
@@ -17,6 +17,7 @@
 package com.netflix.spinnaker.clouddriver.cloudfoundry.client;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -26,8 +27,11 @@ import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Domain;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v2.Page;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Application;
 import com.netflix.spinnaker.clouddriver.cloudfoundry.client.model.v3.Pagination;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 import retrofit2.Response;
 import retrofit2.mock.Calls;
@@ -79,6 +83,58 @@ class CloudFoundryClientUtilsTest {
     assertThat(results).containsExactly(applicationOne, applicationTwo);
   }
 
+  @Test
+  void collectPagesFetchesRemainingPagesConcurrentlyInOrder() {
+    ApplicationService applicationService = mock(ApplicationService.class);
+    List<Application> applications = new ArrayList<>();
+    for (int page = 1; page <= 5; page++) {
+      Application application = new Application().setName("app-name-" + page);
+      applications.add(application);
+      Pagination<Application> pagination = new Pagination<>();
+      pagination.setPagination(new Pagination.Details().setTotalPages(5));
+      pagination.setResources(Collections.singletonList(application));
+      when(applicationService.all(page == 1 ? null : page, null, null, null))
+          .thenReturn(Calls.response(Response.success(pagination)));
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<Application> results =
+          CloudFoundryClientUtils.collectPages(
+              "applications", page -> applicationService.all(page, null, null, null), pool);
+
+      assertThat(results).containsExactlyElementsOf(applications);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void collectPagesFailsWhenAConcurrentlyFetchedPageFails() {
+    ApplicationService applicationService = mock(ApplicationService.class);
+    Pagination<Application> pageOne = new Pagination<>();
+    pageOne.setPagination(new Pagination.Details().setTotalPages(3));
+    pageOne.setResources(Collections.singletonList(new Application().setName("app-name-one")));
+
+    when(applicationService.all(null, null, null, null))
+        .thenReturn(Calls.response(Response.success(pageOne)));
+    when(applicationService.all(2, null, null, null))
+        .thenReturn(Calls.response(Response.success(pageOne)));
+    when(applicationService.all(3, null, null, null))
+        .thenReturn(Calls.failure(new IOException("connection reset")));
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertThatThrownBy(
+              () ->
+                  CloudFoundryClientUtils.collectPages(
+                      "applications", page -> applicationService.all(page, null, null, null), pool))
+          .isInstanceOf(CloudFoundryApiException.class);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Test
   void collectPageResourcesIteratesOverOnePage() {
     DomainService domainService = mock(DomainService.class);
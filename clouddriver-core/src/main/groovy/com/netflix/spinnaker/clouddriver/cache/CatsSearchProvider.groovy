@@ -17,7 +17,13 @@
 package com.netflix.spinnaker.clouddriver.cache
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.CacheResult
 import com.netflix.spinnaker.cats.cache.Cache
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.CacheResultListener
+import com.netflix.spinnaker.cats.cache.CacheResultListeners
+import com.netflix.spinnaker.cats.mem.InMemoryCache
 import com.netflix.spinnaker.cats.provider.ProviderRegistry
 import com.netflix.spinnaker.clouddriver.search.SearchProvider
 import com.netflix.spinnaker.clouddriver.search.SearchResultSet
@@ -30,17 +36,21 @@ import org.springframework.security.core.Authentication
 import org.springframework.security.core.context.SecurityContextHolder
 
 import javax.annotation.PostConstruct
+import javax.annotation.PreDestroy
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.Executors
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
-import java.util.concurrent.atomic.AtomicReference
+import java.util.regex.Pattern
 
 import static com.netflix.spinnaker.clouddriver.cache.SearchableProvider.SearchableResource
 
-class CatsSearchProvider implements SearchProvider, Runnable {
+class CatsSearchProvider implements SearchProvider, Runnable, CacheResultListener {
 
   private static final Logger log = LoggerFactory.getLogger(CatsSearchProvider)
 
+  private static final String INSTANCES = "instances"
+
   private final CatsInMemorySearchProperties catsInMemorySearchProperties
   private final Cache cacheView
   private final List<SearchableProvider> providers
@@ -50,11 +60,14 @@ class CatsSearchProvider implements SearchProvider, Runnable {
   private final Map<String, Template> urlMappings
   private final ProviderRegistry providerRegistry
 
+  /**
+   * In-memory indexes of the keys of each provider's default cache types, populated by full refreshes and kept
+   * current from cache writes made by this instance in between.
+   */
+  private final Map<SearchableProvider, Map<String, KeySearchIndex>> searchIndexes = new ConcurrentHashMap<>()
+  private final Set<String> indexedTypes
 
-
-  private final AtomicReference<Map<String, Collection<String>>> cachedIdentifiersByType = new AtomicReference(
-    [:]
-  )
+  private volatile long lastFullRefreshMs = 0
 
   private final FiatPermissionEvaluator permissionEvaluator
   private final List<KeyParser> keyParsers
@@ -76,6 +89,7 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     this.providerRegistry = providerRegistry
 
     defaultCaches = providers.defaultCaches.flatten()
+    indexedTypes = new LinkedHashSet<>(defaultCaches)
     log.info("Enabled default caches: ${defaultCaches}")
     searchResultHydrators = providers.inject([:]) { Map acc, SearchableProvider prov ->
       acc.putAll(prov.searchResultHydrators)
@@ -108,37 +122,99 @@ class CatsSearchProvider implements SearchProvider, Runnable {
   @PostConstruct
   void scheduleRefresh() {
     if (scheduledExecutorService) {
+      CacheResultListeners.getListeners().register(this)
       scheduledExecutorService.scheduleWithFixedDelay(this, 0, catsInMemorySearchProperties.refreshIntervalSeconds, TimeUnit.SECONDS)
     }
   }
 
+  @PreDestroy
+  void stopRefresh() {
+    if (scheduledExecutorService) {
+      CacheResultListeners.getListeners().unregister(this)
+      scheduledExecutorService.shutdown()
+    }
+  }
+
   /**
-   * Periodically refresh cache identifiers that can then be searched over in-memory vs. in-redis.
+   * Periodically refresh the search indexes of all default caches so they can be searched in-memory vs. in-redis.
    *
-   * This is beneficial for sets (like instances) that may have hundreds of thousands of keys.
+   * This is beneficial for sets (like instances) that may have hundreds of thousands of keys. Cache writes made by
+   * this instance are applied to the indexes as they are stored, writes made by other instances are picked up by the
+   * full refresh that runs every `fullRefreshIntervalSeconds`.
    */
   @Override
   void run() {
+    long now = System.currentTimeMillis()
+    if (now - lastFullRefreshMs < TimeUnit.SECONDS.toMillis(catsInMemorySearchProperties.fullRefreshIntervalSeconds)) {
+      return
+    }
+
+    indexedTypes.each { refreshIndex(it) }
+    lastFullRefreshMs = now
+  }
+
+  private void refreshIndex(String type) {
     try {
-      log.info("Refreshing Cached Identifiers (instances)")
-      def instanceIdentifiers = providers.findAll { provider ->
-        provider.supportsSearch('instances', Collections.emptyMap())
-      }.collect { provider ->
+      log.info("Refreshing search index (${type})")
+      int found = 0
+      providers.findAll { provider ->
+        provider.supportsSearch(type, Collections.emptyMap())
+      }.each { provider ->
         def cache = providerRegistry.getProviderCache(provider.getProviderName())
-        return cache.getIdentifiers("instances").findResults { key ->
+        def identifiers = cache.getIdentifiers(type).findAll { key ->
           // Even though we don't need the parsed Map, we should still allow the provider to reject invalid keys
-          if (provider.parseKey(key))
-            return key?.toLowerCase()
+          return key && provider.parseKey(key)
         }
-      }.flatten()
 
-      if (instanceIdentifiers) {
-        cachedIdentifiersByType.set(["instances": instanceIdentifiers])
+        if (identifiers) {
+          searchIndexes
+            .computeIfAbsent(provider) { new ConcurrentHashMap<>() }
+            .computeIfAbsent(type) { new KeySearchIndex() }
+            .replaceAll(identifiers)
+        }
+        found += identifiers.size()
       }
 
-      log.info("Refreshed Cached Identifiers (found ${instanceIdentifiers.size()} instances)")
+      log.info("Refreshed search index (found ${found} ${type})")
     } catch (Exception e) {
-      log.error("Unable to refresh cached identifiers (instances)", e)
+      log.error("Unable to refresh search index (${type})", e)
+    }
+  }
+
+  /**
+   * Applies the keys written and evicted by a caching agent to the search indexes.
+   */
+  @Override
+  void cacheResultStored(Agent agent, Collection<String> authoritativeTypes, CacheResult result) {
+    providers.findAll { it.providerName == agent.providerName }.each { SearchableProvider provider ->
+      Map<String, KeySearchIndex> providerIndexes = searchIndexes.get(provider)
+      if (providerIndexes == null) {
+        // not yet populated, the next full refresh will pick these keys up
+        return
+      }
+
+      indexedTypes.each { String type ->
+        KeySearchIndex index = providerIndexes.get(type)
+        if (index == null) {
+          return
+        }
+
+        Collection<CacheData> items = result.cacheResults.get(type) ?: []
+        List<String> keys = items.findResults { CacheData item ->
+          (item.id && provider.parseKey(item.id)) ? item.id : null
+        }
+
+        if (authoritativeTypes.contains(type) && !result.partialResult) {
+          index.replaceOwned(agent.agentType, keys)
+        } else if (keys) {
+          index.addAll(keys)
+        }
+
+        Collection<String> evictions = result.evictions.get(type)
+        if (evictions) {
+          index.removeAll(evictions)
+        }
+      }
     }
   }
 
@@ -283,27 +359,21 @@ class CatsSearchProvider implements SearchProvider, Runnable {
         }
       }
 
-      def identifiers
-      def cached = cachedIdentifiersByType.get()
-      if (cached.containsKey(cache)) {
-        /**
-         * Attempt an exact match of the query against any attribute of an instance key (account, region, etc.).
-         *
-         * This is not 100% consistent with doing `*:${cache}:*${normalizedWord}*` in redis _but_ for instances it
-         * should be sufficient.
-         */
-        def identifiersForCache = cached.get(cache)
-        identifiers = identifiersForCache.findAll { it.contains(normalizedWord) }
-      } else {
-        List<SearchableProvider> validProviders = providers.findAll { it.supportsSearch(cache, filters) }
-        identifiers = new HashSet<>()
-        for (SearchableProvider sp : validProviders) {
-          def providerCache = providerRegistry.getProviderCache(sp.getProviderName())
-          def searchGlob = sp.buildSearchTerm(cache, normalizedWord)
-          def filteredIds = providerCache.filterIdentifiers(cache, searchGlob)
-          filteredIds.removeAll(identifiers)
-          def existingIds = providerCache.existingIdentifiers(cache, filteredIds)
-          identifiers.addAll(existingIds)
+      List<SearchableProvider> validProviders = providers.findAll { it.supportsSearch(cache, filters) }
+      def identifiers = new HashSet<>()
+      for (SearchableProvider sp : validProviders) {
+        def providerCache = providerRegistry.getProviderCache(sp.getProviderName())
+        def searchGlob = sp.buildSearchTerm(cache, normalizedWord)
+        def index = searchIndexes.get(sp)?.get(cache)
+        def filteredIds = index != null ?
+          findIndexedIdentifiers(index, cache, normalizedWord, searchGlob) :
+          providerCache.filterIdentifiers(cache, searchGlob)
+        filteredIds.removeAll(identifiers)
+        if (index != null && cache == INSTANCES) {
+          // indexed instances are not checked for existence, as was the case before other types were indexed
+          identifiers.addAll(filteredIds)
+        } else {
+          identifiers.addAll(providerCache.existingIdentifiers(cache, filteredIds))
         }
       }
 
@@ -320,6 +390,21 @@ class CatsSearchProvider implements SearchProvider, Runnable {
     }
   }
 
+  /**
+   * Narrows the keys of an index containing the query down to those matching the provider's search glob, as a cache
+   * scan would. Instance keys match regardless of case, as they did when only instances were held in-memory.
+   */
+  private static Collection<String> findIndexedIdentifiers(KeySearchIndex index,
+                                                           String type,
+                                                           String normalizedWord,
+                                                           String searchGlob) {
+    Pattern pattern = new InMemoryCache.Glob(searchGlob).toPattern()
+    if (type == INSTANCES) {
+      pattern = Pattern.compile(pattern.pattern(), Pattern.CASE_INSENSITIVE)
+    }
+    return index.find(normalizedWord).findAll { pattern.matcher(it).matches() } as Set
+  }
+
   private static List<String> paginateResults(List<String> matches, Integer pageSize, Integer pageNumber) {
     log.info("Paginating ${matches.size()} results; page number: ${pageNumber}, items per page: ${pageSize}")
     Integer startingIndex = pageSize * (pageNumber - 1)
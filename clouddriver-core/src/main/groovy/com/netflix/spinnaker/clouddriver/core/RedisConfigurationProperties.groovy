@@ -38,9 +38,25 @@ class RedisConfigurationProperties {
     Integer agentLockAcquisitionIntervalSeconds
   }
 
+  /**
+   * Compression of cached attribute and relationship values. Compressed values can be read whether
+   * or not compression is enabled, so it can be turned off again without flushing the cache.
+   */
+  @Canonical
+  static class CompressionConfiguration {
+    boolean enabled = false
+    /** Values smaller than this are stored uncompressed */
+    int thresholdBytes = 1024
+    /** The deflate level, from 1 (fastest) to 9 (smallest) */
+    int level = 1
+  }
+
   @NestedConfigurationProperty
   final PollConfiguration poll = new PollConfiguration()
 
+  @NestedConfigurationProperty
+  final CompressionConfiguration compression = new CompressionConfiguration()
+
   @NestedConfigurationProperty
   final AgentConfiguration agent = new AgentConfiguration()
 
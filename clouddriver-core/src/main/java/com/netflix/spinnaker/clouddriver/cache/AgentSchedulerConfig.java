@@ -15,6 +15,7 @@
  */
 package com.netflix.spinnaker.clouddriver.cache;
 
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.AgentScheduler;
 import com.netflix.spinnaker.cats.cluster.AgentIntervalProvider;
 import com.netflix.spinnaker.cats.cluster.DefaultNodeIdentity;
@@ -45,7 +46,8 @@ public class AgentSchedulerConfig {
       AgentIntervalProvider agentIntervalProvider,
       NodeStatusProvider nodeStatusProvider,
       DynamicConfigService dynamicConfigService,
-      ShardingFilter shardingFilter) {
+      ShardingFilter shardingFilter,
+      Registry registry) {
     if (redisConfigurationProperties.getScheduler().equalsIgnoreCase("default")) {
       URI redisUri = URI.create(redisConfigurationProperties.getConnection());
       String redisHost = redisUri.getHost();
@@ -61,7 +63,8 @@ public class AgentSchedulerConfig {
           redisConfigurationProperties.getAgent().getEnabledPattern(),
           redisConfigurationProperties.getAgent().getAgentLockAcquisitionIntervalSeconds(),
           dynamicConfigService,
-          shardingFilter);
+          shardingFilter,
+          registry);
     } else if (redisConfigurationProperties.getScheduler().equalsIgnoreCase("sort")) {
       return new ClusteredSortAgentScheduler(
           jedisPool,
@@ -43,7 +43,10 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan({
   "com.netflix.spinnaker.clouddriver.cache",
 })
-@EnableConfigurationProperties(CatsInMemorySearchProperties.class)
+@EnableConfigurationProperties({
+  CatsInMemorySearchProperties.class,
+  OnDemandCoalescingProperties.class
+})
 public class CacheConfig {
   @Bean
   @ConditionalOnMissingBean(NamedCacheFactory.class)
@@ -105,8 +108,16 @@ public class CacheConfig {
   OnDemandCacheUpdater catsOnDemandCacheUpdater(
       List<Provider> providers,
       CatsModule catsModule,
-      AgentScheduler<? extends AgentLock> agentScheduler) {
-    return new CatsOnDemandCacheUpdater(providers, catsModule, agentScheduler);
+      AgentScheduler<? extends AgentLock> agentScheduler,
+      OnDemandCoalescingProperties onDemandCoalescingProperties,
+      Registry registry) {
+    OnDemandCacheUpdater onDemandCacheUpdater =
+        new CatsOnDemandCacheUpdater(providers, catsModule, agentScheduler);
+    if (!onDemandCoalescingProperties.isEnabled()) {
+      return onDemandCacheUpdater;
+    }
+    return new CoalescingOnDemandCacheUpdater(
+        onDemandCacheUpdater, onDemandCoalescingProperties.getDebounceMillis(), registry);
   }
 
   @Bean
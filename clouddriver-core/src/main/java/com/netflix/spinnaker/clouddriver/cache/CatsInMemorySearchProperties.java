@@ -23,6 +23,13 @@ public class CatsInMemorySearchProperties {
   private boolean enabled = false;
   private int refreshIntervalSeconds = 30;
 
+  /**
+   * How often the search indexes are fully rebuilt from the cache. Between full refreshes they are
+   * only updated from cache writes made by this instance, so writes made by other instances can
+   * take up to this long to become searchable.
+   */
+  private int fullRefreshIntervalSeconds = 600;
+
   public boolean isEnabled() {
     return enabled;
   }
@@ -38,4 +45,12 @@ public class CatsInMemorySearchProperties {
   public void setRefreshIntervalSeconds(int refreshIntervalSeconds) {
     this.refreshIntervalSeconds = refreshIntervalSeconds;
   }
+
+  public int getFullRefreshIntervalSeconds() {
+    return fullRefreshIntervalSeconds;
+  }
+
+  public void setFullRefreshIntervalSeconds(int fullRefreshIntervalSeconds) {
+    this.fullRefreshIntervalSeconds = fullRefreshIntervalSeconds;
+  }
 }
@@ -15,6 +15,7 @@
  */
 package com.netflix.spinnaker.clouddriver.cache;
 
+import com.netflix.spinnaker.cats.agent.AccountAware;
 import com.netflix.spinnaker.cats.agent.Agent;
 import com.netflix.spinnaker.cats.agent.AgentLock;
 import com.netflix.spinnaker.cats.agent.AgentScheduler;
@@ -22,8 +23,11 @@ import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.module.CatsModule;
 import com.netflix.spinnaker.cats.provider.Provider;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
+import com.netflix.spinnaker.clouddriver.security.BaseProvider;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -40,6 +44,7 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
   //  compilation errors. This is a side-effect of migrating away from Groovy.
   //  I'm sure there's a way, but it's the early morning and I'm pretty tired!
   private final AgentScheduler agentScheduler;
+  private final AtomicReference<OnDemandAgentIndex> onDemandAgentIndex = new AtomicReference<>();
 
   @Autowired
   public CatsOnDemandCacheUpdater(
@@ -59,15 +64,46 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
         .collect(Collectors.toList());
   }
 
+  /**
+   * The index is only rebuilt when agents were added to or removed from a provider since it was
+   * built.
+   */
+  private OnDemandAgentIndex getOnDemandAgentIndex() {
+    List<Long> agentsVersions =
+        providers.stream()
+            .map(CatsOnDemandCacheUpdater::getAgentsVersion)
+            .collect(Collectors.toList());
+    OnDemandAgentIndex index = onDemandAgentIndex.get();
+    if (index == null || !index.agentsVersions.equals(agentsVersions)) {
+      index = new OnDemandAgentIndex(agentsVersions, getOnDemandAgents());
+      onDemandAgentIndex.set(index);
+    }
+    return index;
+  }
+
+  private static long getAgentsVersion(Provider provider) {
+    if (provider instanceof BaseProvider) {
+      return ((BaseProvider) provider).getAgentsVersion();
+    }
+    // other providers have their agents added or removed, but not replaced
+    return provider.getAgents().size();
+  }
+
   @Override
   public boolean handles(final OnDemandType type, final String cloudProvider) {
-    return getOnDemandAgents().stream().anyMatch(it -> it.handles(type, cloudProvider));
+    return !getOnDemandAgentIndex().get(type, cloudProvider).all.isEmpty();
   }
 
   @Override
   public OnDemandCacheResult handle(
       final OnDemandType type, final String cloudProvider, Map<String, ?> data) {
-    return handle(type, onDemandAgents(type, cloudProvider), data);
+    Object account = data != null ? data.get("account") : null;
+    return handle(
+        type,
+        getOnDemandAgentIndex()
+            .get(type, cloudProvider)
+            .forAccount(account != null ? account.toString() : null),
+        data);
   }
 
   private OnDemandCacheResult handle(
@@ -226,10 +262,71 @@ public class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
   }
 
   private Stream<OnDemandAgent> onDemandAgentStream(OnDemandType type, String cloudProvider) {
-    return getOnDemandAgents().stream().filter(it -> it.handles(type, cloudProvider));
+    return getOnDemandAgentIndex().get(type, cloudProvider).all.stream();
   }
 
-  private Collection<OnDemandAgent> onDemandAgents(OnDemandType type, String cloudProvider) {
-    return onDemandAgentStream(type, cloudProvider).collect(Collectors.toList());
+  /** The on demand agents of every provider, grouped by the requests they handle. */
+  private static class OnDemandAgentIndex {
+    private final List<Long> agentsVersions;
+    private final Collection<OnDemandAgent> onDemandAgents;
+    private final Map<OnDemandType, Map<String, RoutedAgents>> routes = new ConcurrentHashMap<>();
+
+    OnDemandAgentIndex(List<Long> agentsVersions, Collection<OnDemandAgent> onDemandAgents) {
+      this.agentsVersions = agentsVersions;
+      this.onDemandAgents = onDemandAgents;
+    }
+
+    RoutedAgents get(OnDemandType type, String cloudProvider) {
+      return routes
+          .computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+          .computeIfAbsent(
+              cloudProvider,
+              c ->
+                  new RoutedAgents(
+                      onDemandAgents.stream()
+                          .filter(it -> it.handles(type, cloudProvider))
+                          .collect(Collectors.toList())));
+    }
+  }
+
+  /**
+   * The agents that handle one type of request of a cloud provider.
+   *
+   * <p>Agents that are {@link AccountAware} only handle requests for their own account, so a
+   * request for an account only goes to the agents of that account and to agents that are not
+   * tied to an account. Requests without an account go to every agent.
+   */
+  private static class RoutedAgents {
+    private final List<OnDemandAgent> all;
+    private final List<OnDemandAgent> anyAccount = new ArrayList<>();
+    private final Map<String, List<OnDemandAgent>> byAccount = new HashMap<>();
+
+    RoutedAgents(List<OnDemandAgent> all) {
+      this.all = all;
+      all.stream()
+          .map(RoutedAgents::getAccountName)
+          .filter(Objects::nonNull)
+          .forEach(account -> byAccount.put(account, new ArrayList<>()));
+      for (OnDemandAgent agent : all) {
+        String account = getAccountName(agent);
+        if (account != null) {
+          byAccount.get(account).add(agent);
+        } else {
+          anyAccount.add(agent);
+          byAccount.values().forEach(agents -> agents.add(agent));
+        }
+      }
+    }
+
+    List<OnDemandAgent> forAccount(String account) {
+      if (account == null) {
+        return all;
+      }
+      return byAccount.getOrDefault(account, anyAccount);
+    }
+
+    private static String getAccountName(OnDemandAgent agent) {
+      return agent instanceof AccountAware ? ((AccountAware) agent).getAccountName() : null;
+    }
   }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handles identical on demand requests only once at a time.
+ *
+ * <p>Orca can make many identical requests (the same type, cloud provider and data, which names
+ * the account, region and resource) within seconds of each other. A request made while an
+ * identical one is being handled waits for it and gets its result, rather than being handled
+ * again. Results can also be shared with identical requests made shortly after they completed,
+ * for up to a debounce window. Failed requests are never shared after they completed.
+ */
+public class CoalescingOnDemandCacheUpdater implements OnDemandCacheUpdater {
+
+  private final OnDemandCacheUpdater delegate;
+  private final long debounceMillis;
+  private final Clock clock;
+  private final Registry registry;
+  private final Id coalescedId;
+
+  private final Map<RequestKey, Flight> flights = new ConcurrentHashMap<>();
+
+  public CoalescingOnDemandCacheUpdater(
+      OnDemandCacheUpdater delegate, long debounceMillis, Registry registry) {
+    this(delegate, debounceMillis, registry, Clock.systemUTC());
+  }
+
+  CoalescingOnDemandCacheUpdater(
+      OnDemandCacheUpdater delegate, long debounceMillis, Registry registry, Clock clock) {
+    this.delegate = delegate;
+    this.debounceMillis = debounceMillis;
+    this.clock = clock;
+    this.registry = registry;
+    this.coalescedId = registry.createId("onDemand.coalesced");
+  }
+
+  @Override
+  public boolean handles(OnDemandType type, String cloudProvider) {
+    return delegate.handles(type, cloudProvider);
+  }
+
+  @Override
+  public OnDemandCacheResult handle(OnDemandType type, String cloudProvider, Map<String, ?> data) {
+    RequestKey key = new RequestKey(type, cloudProvider, data);
+    Flight newFlight = new Flight();
+    Flight flight =
+        flights.compute(
+            key,
+            (k, existing) ->
+                existing != null && !existing.isExpired(clock.millis()) ? existing : newFlight);
+
+    if (flight != newFlight) {
+      registry
+          .counter(
+              coalescedId.withTag("type", type.getValue()).withTag("cloudProvider", cloudProvider))
+          .increment();
+      return await(flight);
+    }
+
+    try {
+      OnDemandCacheResult result = delegate.handle(type, cloudProvider, data);
+      flight.complete(result, clock.millis());
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.fail(e);
+      throw e;
+    } finally {
+      if (debounceMillis <= 0 || flight.result.isCompletedExceptionally()) {
+        flights.remove(key, flight);
+      }
+      // results that were shared for long enough are dropped whenever a request completes
+      long now = clock.millis();
+      flights.values().removeIf(it -> it.isExpired(now));
+    }
+  }
+
+  @Override
+  public Collection<Map<String, Object>> pendingOnDemandRequests(
+      OnDemandType type, String cloudProvider) {
+    return delegate.pendingOnDemandRequests(type, cloudProvider);
+  }
+
+  @Override
+  public Map<String, Object> pendingOnDemandRequest(
+      OnDemandType type, String cloudProvider, String id) {
+    return delegate.pendingOnDemandRequest(type, cloudProvider, id);
+  }
+
+  private static OnDemandCacheResult await(Flight flight) {
+    try {
+      return flight.result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private class Flight {
+    private final CompletableFuture<OnDemandCacheResult> result = new CompletableFuture<>();
+    private volatile long completedAt = -1;
+
+    void complete(OnDemandCacheResult onDemandCacheResult, long now) {
+      completedAt = now;
+      result.complete(onDemandCacheResult);
+    }
+
+    void fail(Throwable t) {
+      result.completeExceptionally(t);
+    }
+
+    boolean isExpired(long now) {
+      if (result.isCompletedExceptionally()) {
+        return true;
+      }
+      return completedAt >= 0 && now - completedAt >= debounceMillis;
+    }
+  }
+
+  private static class RequestKey {
+    private final OnDemandType type;
+    private final String cloudProvider;
+    private final Map<String, ?> data;
+
+    RequestKey(OnDemandType type, String cloudProvider, Map<String, ?> data) {
+      this.type = type;
+      this.cloudProvider = cloudProvider;
+      this.data = data;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RequestKey that = (RequestKey) o;
+      return Objects.equals(type, that.type)
+          && Objects.equals(cloudProvider, that.cloudProvider)
+          && Objects.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, cloudProvider, data);
+    }
+  }
+}
@@ -18,12 +18,14 @@ package com.netflix.spinnaker.clouddriver.cache;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.spinnaker.cats.cache.NamedCacheFactory;
+import com.netflix.spinnaker.cats.compression.DeflateCompression;
 import com.netflix.spinnaker.cats.redis.cache.RedisCache.CacheMetrics;
 import com.netflix.spinnaker.cats.redis.cache.RedisCacheOptions;
 import com.netflix.spinnaker.cats.redis.cache.RedisNamedCacheFactory;
 import com.netflix.spinnaker.clouddriver.core.RedisConfigurationProperties;
 import com.netflix.spinnaker.kork.jedis.JedisClientDelegate;
 import com.netflix.spinnaker.kork.jedis.RedisClientDelegate;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -45,8 +47,29 @@ class JedisCacheConfig {
       RedisClientDelegate redisClientDelegate,
       ObjectMapper objectMapper,
       RedisCacheOptions redisCacheOptions,
-      CacheMetrics cacheMetrics) {
+      CacheMetrics cacheMetrics,
+      RedisConfigurationProperties redisConfigurationProperties,
+      GenericObjectPoolConfig redisPoolConfig) {
+    RedisConfigurationProperties.CompressionConfiguration compression =
+        redisConfigurationProperties.getCompression();
     return new RedisNamedCacheFactory(
-        redisClientDelegate, objectMapper, redisCacheOptions, cacheMetrics);
+        redisClientDelegate,
+        objectMapper,
+        redisCacheOptions,
+        cacheMetrics,
+        new DeflateCompression(
+            compression.getThresholdBytes(), compression.isEnabled(), compression.getLevel()),
+        maxGetThreads(redisPoolConfig));
+  }
+
+  /**
+   * Reads that fan out may hold at most a quarter of the pool's connections, leaving the rest to
+   * sequential reads and writes.
+   */
+  private static int maxGetThreads(GenericObjectPoolConfig redisPoolConfig) {
+    if (redisPoolConfig.getMaxTotal() < 0) {
+      return Runtime.getRuntime().availableProcessors();
+    }
+    return Math.max(1, redisPoolConfig.getMaxTotal() / 4);
   }
 }
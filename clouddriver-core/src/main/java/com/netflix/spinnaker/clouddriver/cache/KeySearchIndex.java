@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory trigram index over the cache keys of a single type, answering case-insensitive
+ * substring queries.
+ *
+ * <p>Each key is assigned an id and listed under every trigram of its lower-cased form. A query
+ * only verifies the keys listed under its rarest trigram, so its cost scales with the number of
+ * candidate keys rather than the number of indexed keys. Queries shorter than a trigram fall back
+ * to a scan.
+ *
+ * <p>Keys may optionally be added on behalf of an owner (a caching agent), which allows an owner's
+ * complete set of keys to be replaced in one call without knowing which of its keys went away.
+ */
+class KeySearchIndex {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> keys = new ArrayList<>();
+  private final Map<Long, IdList> postings = new HashMap<>();
+  private final Map<String, Set<String>> keysByOwner = new HashMap<>();
+  private int removedCount = 0;
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return ids.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  boolean contains(String key) {
+    lock.readLock().lock();
+    try {
+      return ids.containsKey(key);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void addAll(Collection<String> keysToAdd) {
+    lock.writeLock().lock();
+    try {
+      keysToAdd.forEach(this::doAdd);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void removeAll(Collection<String> keysToRemove) {
+    lock.writeLock().lock();
+    try {
+      keysToRemove.forEach(this::doRemove);
+      compactIfNecessary();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replaces every key previously added on behalf of {@code owner} with {@code ownedKeys}, removing
+   * those that are no longer owned.
+   */
+  void replaceOwned(String owner, Collection<String> ownedKeys) {
+    Set<String> owned = new HashSet<>(ownedKeys);
+    lock.writeLock().lock();
+    try {
+      Set<String> previous = keysByOwner.put(owner, owned);
+      if (previous != null) {
+        previous.stream().filter(key -> !owned.contains(key)).forEach(this::doRemove);
+      }
+      owned.forEach(this::doAdd);
+      compactIfNecessary();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Replaces the full contents of this index, only touching keys that were added or removed. */
+  void replaceAll(Collection<String> allKeys) {
+    Set<String> current = new HashSet<>(allKeys);
+    lock.writeLock().lock();
+    try {
+      new ArrayList<>(ids.keySet())
+          .stream().filter(key -> !current.contains(key)).forEach(this::doRemove);
+      current.forEach(this::doAdd);
+      keysByOwner.values().forEach(owned -> owned.retainAll(current));
+      compactIfNecessary();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** @return every key containing {@code query}, ignoring case */
+  List<String> find(String query) {
+    String normalizedQuery = query.toLowerCase();
+    lock.readLock().lock();
+    try {
+      IdList candidates = null;
+      for (int i = 0; i + 3 <= normalizedQuery.length(); i++) {
+        IdList posting = postings.get(trigram(normalizedQuery, i));
+        if (posting == null) {
+          return new ArrayList<>();
+        }
+        if (candidates == null || posting.size < candidates.size) {
+          candidates = posting;
+        }
+      }
+
+      List<String> matches = new ArrayList<>();
+      if (candidates == null) {
+        for (String key : keys) {
+          if (key != null && key.toLowerCase().contains(normalizedQuery)) {
+            matches.add(key);
+          }
+        }
+        return matches;
+      }
+
+      for (int i = 0; i < candidates.size; i++) {
+        String key = keys.get(candidates.ids[i]);
+        if (key != null && key.toLowerCase().contains(normalizedQuery)) {
+          matches.add(key);
+        }
+      }
+      return matches;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void doAdd(String key) {
+    if (ids.containsKey(key)) {
+      return;
+    }
+    int id = keys.size();
+    keys.add(key);
+    ids.put(key, id);
+    for (long trigram : trigrams(key.toLowerCase())) {
+      postings.computeIfAbsent(trigram, t -> new IdList()).add(id);
+    }
+  }
+
+  private void doRemove(String key) {
+    Integer id = ids.remove(key);
+    if (id != null) {
+      // postings are cleaned up lazily, see compactIfNecessary()
+      keys.set(id, null);
+      removedCount++;
+    }
+  }
+
+  /** Rebuilds the postings once removed keys make up more than half of all ids. */
+  private void compactIfNecessary() {
+    if (removedCount <= ids.size()) {
+      return;
+    }
+    List<String> liveKeys = new ArrayList<>(ids.keySet());
+    ids.clear();
+    keys.clear();
+    postings.clear();
+    removedCount = 0;
+    liveKeys.forEach(this::doAdd);
+  }
+
+  private static Set<Long> trigrams(String normalizedKey) {
+    Set<Long> trigrams = new HashSet<>();
+    for (int i = 0; i + 3 <= normalizedKey.length(); i++) {
+      trigrams.add(trigram(normalizedKey, i));
+    }
+    return trigrams;
+  }
+
+  private static long trigram(String value, int offset) {
+    return ((long) value.charAt(offset) << 32)
+        | ((long) value.charAt(offset + 1) << 16)
+        | value.charAt(offset + 2);
+  }
+
+  /** A growable list of key ids, kept in ascending order as ids are only ever appended. */
+  private static class IdList {
+    private int[] ids = new int[4];
+    private int size = 0;
+
+    void add(int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+  }
+}
@@ -27,6 +27,9 @@ class MetricInstrumentation implements ExecutionInstrumentation {
 
   private final Registry registry;
   private final Id timingId;
+  private final Id latenessId;
+  private final Id estimatedDurationId;
+  private final Id estimatedResultSizeId;
 
   @Autowired
   MetricInstrumentation(Registry registry) {
@@ -35,6 +38,18 @@ class MetricInstrumentation implements ExecutionInstrumentation {
         registry
             .createId("executionTime")
             .withTag("className", MetricInstrumentation.class.getSimpleName());
+    latenessId =
+        registry
+            .createId("executionLateness")
+            .withTag("className", MetricInstrumentation.class.getSimpleName());
+    estimatedDurationId =
+        registry
+            .createId("executionEstimatedDuration")
+            .withTag("className", MetricInstrumentation.class.getSimpleName());
+    estimatedResultSizeId =
+        registry
+            .createId("executionEstimatedResultSize")
+            .withTag("className", MetricInstrumentation.class.getSimpleName());
   }
 
   private static String stripPackageName(String className) {
@@ -64,4 +79,19 @@ class MetricInstrumentation implements ExecutionInstrumentation {
         .timer(timingId.withTag("agent", agentName(agent)).withTag("success", "false"))
         .record(elapsedMs, TimeUnit.MILLISECONDS);
   }
+
+  @Override
+  public void executionScheduled(
+      Agent agent, long latenessMs, long estimatedDurationMs, long estimatedResultSize) {
+    String agentName = agentName(agent);
+    registry
+        .timer(latenessId.withTag("agent", agentName))
+        .record(latenessMs, TimeUnit.MILLISECONDS);
+    registry
+        .distributionSummary(estimatedDurationId.withTag("agent", agentName))
+        .record(estimatedDurationMs);
+    registry
+        .distributionSummary(estimatedResultSizeId.withTag("agent", agentName))
+        .record(estimatedResultSize);
+  }
 }
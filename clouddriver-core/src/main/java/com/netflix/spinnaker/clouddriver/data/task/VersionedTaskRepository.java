@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.data.task;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+
+/**
+ * A TaskRepository that can tell whether a task changed without retrieving it, so that clients
+ * polling a task can skip (or wait for) reads of a task that did not change.
+ */
+public interface VersionedTaskRepository extends TaskRepository {
+
+  /**
+   * @param id the id of the task
+   * @return an opaque version of the task, which changes whenever its status, outputs, result
+   *     objects, owner or sagas do, or null if the task does not exist
+   */
+  @Nullable
+  String getVersion(String id);
+
+  /**
+   * Retrieves a task whose version the caller just looked up, without looking it up again.
+   *
+   * @param id the id of the task
+   * @param version the version of the task, as returned by {@link #getVersion(String)} or {@link
+   *     #awaitChange(String, String, Duration)}
+   * @return the task, or null if it does not exist
+   */
+  @Nullable
+  default Task get(String id, String version) {
+    return get(id);
+  }
+
+  /**
+   * Waits, without blocking the caller, until the version of a task differs from the given one.
+   *
+   * @param id the id of the task
+   * @param version the version of the task the caller already has
+   * @param timeout how long to wait for the task to change at most
+   * @return a future of the current version of the task, which is the given one if it did not
+   *     change in time, or null if the task does not exist. It may be completed on a thread that
+   *     is allowed to block, such as to read the task.
+   */
+  CompletableFuture<String> awaitChange(String id, String version, Duration timeout);
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.requestqueue.pooled;
+
+import com.netflix.spectator.api.Counter;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.histogram.PercentileTimer;
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches queued requests across partitions using weighted round robin.
+ *
+ * <p>Unlike {@link RequestDistributor}, requests are only handed to the executor when there is
+ * capacity to run them, so they wait in their partition's queue rather than in the executor's
+ * shared FIFO queue. Each pass dispatches up to a partition's weight ({@code
+ * request-queue.partition-weights.<partition>}, default 1) of its requests, subject to the global
+ * concurrency limit and a per-partition limit ({@code request-queue.max-partition-concurrency}). A
+ * burst of requests for one partition can therefore not delay requests for other partitions by
+ * more than one pass.
+ */
+class FairRequestDistributor implements Runnable {
+  private final AtomicBoolean continueRunning = new AtomicBoolean(true);
+  private final List<Partition> partitions = new CopyOnWriteArrayList<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final Registry registry;
+  private final DynamicConfigService dynamicConfigService;
+  private final PollCoordinator pollCoordinator;
+  private final Executor executor;
+  private final IntSupplier maxConcurrency;
+  private final Counter submissionCounter;
+  private final Id waitTimeId;
+
+  private int nextPartition = 0;
+
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  FairRequestDistributor(
+      Registry registry,
+      DynamicConfigService dynamicConfigService,
+      PollCoordinator pollCoordinator,
+      Executor executor,
+      IntSupplier maxConcurrency) {
+    this.registry = registry;
+    this.dynamicConfigService = dynamicConfigService;
+    this.pollCoordinator = pollCoordinator;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.submissionCounter = registry.counter("pooledRequestQueue.submitted");
+    this.waitTimeId = registry.createId("pooledRequestQueue.waitTime");
+    registry.gauge("pooledRequestQueue.inFlight", inFlight, AtomicInteger::get);
+  }
+
+  void addPartition(String name, Queue<PooledRequest<?>> queue) {
+    partitions.add(new Partition(name, queue));
+  }
+
+  void shutdown() {
+    continueRunning.set(false);
+  }
+
+  @Override
+  public void run() {
+    while (continueRunning.get()) {
+      processPartitions();
+    }
+  }
+
+  void processPartitions() {
+    try {
+      boolean dispatched = false;
+      pollCoordinator.reset();
+
+      int available = maxConcurrency.getAsInt() - inFlight.get();
+      int maxPartitionConcurrency =
+          dynamicConfigService.getConfig(
+              Integer.class, "request-queue.max-partition-concurrency", Integer.MAX_VALUE);
+
+      // start each pass at a different partition so that none is consistently served first
+      int partitionCount = partitions.size();
+      int offset = partitionCount == 0 ? 0 : nextPartition++ % partitionCount;
+      for (int i = 0; i < partitionCount && available > 0; i++) {
+        Partition partition = partitions.get((offset + i) % partitionCount);
+        if (partition.queue.isEmpty()) {
+          continue;
+        }
+
+        int quota = getWeight(partition);
+        while (quota > 0
+            && available > 0
+            && partition.inFlight.get() < maxPartitionConcurrency) {
+          PooledRequest<?> request = partition.queue.poll();
+          if (request == null) {
+            break;
+          }
+
+          quota--;
+          available--;
+          dispatch(partition, request);
+          dispatched = true;
+        }
+      }
+
+      pollCoordinator.waitForItems(dispatched);
+    } catch (Throwable t) {
+      log.warn("Throwable during processPartitions", t);
+    }
+  }
+
+  private void dispatch(Partition partition, PooledRequest<?> request) {
+    PercentileTimer.get(registry, waitTimeId.withTag("partition", partition.name))
+        .record(System.nanoTime() - request.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+    submissionCounter.increment();
+
+    inFlight.incrementAndGet();
+    partition.inFlight.incrementAndGet();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              request.run();
+            } finally {
+              completed(partition);
+            }
+          });
+    } catch (Throwable t) {
+      completed(partition);
+      request.cancel();
+      throw t;
+    }
+  }
+
+  private void completed(Partition partition) {
+    partition.inFlight.decrementAndGet();
+    inFlight.decrementAndGet();
+    // capacity has been freed up, wake the dispatcher if it is waiting
+    pollCoordinator.notifyItemsAdded();
+  }
+
+  private int getWeight(Partition partition) {
+    return Math.max(
+        1,
+        dynamicConfigService.getConfig(
+            Integer.class, "request-queue.partition-weights." + partition.name, 1));
+  }
+
+  private static class Partition {
+    private final String name;
+    private final Queue<PooledRequest<?>> queue;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    Partition(String name, Queue<PooledRequest<?>> queue) {
+      this.name = name;
+      this.queue = queue;
+    }
+  }
+}
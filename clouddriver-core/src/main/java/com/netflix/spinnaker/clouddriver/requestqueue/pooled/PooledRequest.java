@@ -41,6 +41,10 @@ class PooledRequest<T> implements Runnable {
     this.work = wrapWithContext(work);
   }
 
+  long getEnqueuedAtNanos() {
+    return startTime;
+  }
+
   Promise<T> getPromise() {
     return result;
   }
@@ -22,12 +22,15 @@ import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue;
 import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +53,8 @@ public class PooledRequestQueue implements RequestQueue {
   private final BlockingQueue<Runnable> submittedRequests;
   private final Collection<Queue<PooledRequest<?>>> requestQueues;
   private final RequestDistributor requestDistributor;
+  private final FairRequestDistributor fairRequestDistributor;
+  private final ExecutorService virtualThreadExecutor;
 
   private final DynamicConfigService dynamicConfigService;
   private final Registry registry;
@@ -100,16 +105,59 @@ public class PooledRequestQueue implements RequestQueue {
         "pooledRequestQueue.corePoolSize", executorService, ThreadPoolExecutor::getCorePoolSize);
 
     this.requestQueues = new CopyOnWriteArrayList<>();
-    this.requestDistributor =
-        new RequestDistributor(registry, pollCoordinator, executorService, requestQueues);
-    executorService.submit(requestDistributor);
+    if (dynamicConfigService.isEnabled("request-queue.fair-dispatch", false)) {
+      this.requestDistributor = null;
+      this.virtualThreadExecutor =
+          dynamicConfigService.isEnabled("request-queue.virtual-threads", false)
+              ? newVirtualThreadExecutor().orElse(null)
+              : null;
+      // one of the pool's threads runs the distributor itself
+      this.fairRequestDistributor =
+          new FairRequestDistributor(
+              registry,
+              dynamicConfigService,
+              pollCoordinator,
+              virtualThreadExecutor != null ? virtualThreadExecutor : executorService,
+              () -> executorService.getCorePoolSize() - 1);
+      executorService.submit(fairRequestDistributor);
+    } else {
+      this.fairRequestDistributor = null;
+      this.virtualThreadExecutor = null;
+      this.requestDistributor =
+          new RequestDistributor(registry, pollCoordinator, executorService, requestQueues);
+      executorService.submit(requestDistributor);
+    }
 
     registry.gauge("pooledRequestQueue.enabled", isEnabled, value -> value.get() ? 1.0 : 0.0);
   }
 
+  /**
+   * Returns an executor that runs each task on a new virtual thread, so that requests blocked on
+   * cloud provider calls do not occupy platform threads, if the running JVM supports them.
+   */
+  private Optional<ExecutorService> newVirtualThreadExecutor() {
+    try {
+      ExecutorService executor =
+          (ExecutorService)
+              Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      log.info("Executing queued requests on virtual threads");
+      return Optional.of(executor);
+    } catch (ReflectiveOperationException e) {
+      log.warn("Virtual threads are not supported by this JVM, using platform threads", e);
+      return Optional.empty();
+    }
+  }
+
   @PreDestroy
   public void shutdown() {
-    requestDistributor.shutdown();
+    if (fairRequestDistributor != null) {
+      fairRequestDistributor.shutdown();
+    } else {
+      requestDistributor.shutdown();
+    }
+    if (virtualThreadExecutor != null) {
+      virtualThreadExecutor.shutdown();
+    }
     executorService.shutdown();
     PooledRequest<?> req;
     while ((req = (PooledRequest<?>) submittedRequests.poll()) != null) {
@@ -142,6 +190,9 @@ public class PooledRequestQueue implements RequestQueue {
       Queue<PooledRequest<?>> existing = partitionedRequests.putIfAbsent(partition, newQueue);
       if (existing == null) {
         requestQueues.add(newQueue);
+        if (fairRequestDistributor != null) {
+          fairRequestDistributor.addPartition(partition, newQueue);
+        }
         queue = newQueue;
         registry.gauge(
             registry.createId("pooledRequestQueue.partition.size", "partition", partition),
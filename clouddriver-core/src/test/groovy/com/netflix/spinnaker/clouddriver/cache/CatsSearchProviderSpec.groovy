@@ -18,6 +18,8 @@ package com.netflix.spinnaker.clouddriver.cache
 
 import com.netflix.spinnaker.cats.agent.AgentDataType
 import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.agent.DefaultCacheResult
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.cats.provider.ProviderRegistry
 import spock.lang.Shared
@@ -33,11 +35,13 @@ class CatsSearchProviderSpec extends Specification {
 
   def providers = [
     Stub(SearchableProvider) {
+      getDefaultCaches() >> (['instances'] as Set)
       supportsSearch('instances', _) >> true
       getAgents() >> [ instanceAgent ]
       parseKey(_) >> { String k -> return null }
     },
     Stub(SearchableProvider) {
+      getDefaultCaches() >> (['instances'] as Set)
       supportsSearch('instances', _) >> true
       getAgents() >> [ instanceAgent ]
       parseKey(_) >> { String k -> return ["originalKey": k] }
@@ -69,10 +73,121 @@ class CatsSearchProviderSpec extends Specification {
     when:
     catsSearchProvider.run()
 
+    then: "only the provider that can parse the keys has an index"
+    catsSearchProvider.searchIndexes.keySet() == [providers[1]] as Set
+    catsSearchProvider.searchIndexes[providers[1]].keySet() == ["instances"] as Set
+    instanceIndex().size() == instanceIdentifiers.size()
+    instanceIdentifiers.every { instanceIndex().contains(it) }
+  }
+
+  def "should find instances by case-insensitive substring"() {
+    given:
+    cache.getIdentifiers("instances") >> { return instanceIdentifiers }
+    catsSearchProvider.run()
+
+    expect:
+    instanceIndex().find(query) as Set == expected as Set
+
+    where:
+    query       || expected
+    "i-1234"    || ["aws:instances:prod:us-west-2:I-1234"]
+    "us-west-2" || instanceIdentifiers
+    "i-"        || instanceIdentifiers
+    "i-0000"    || []
+  }
+
+  def "should apply cache writes to the index without a full refresh"() {
+    given:
+    def agent = Stub(CachingAgent) {
+      getAgentType() >> "prod/us-west-2/InstanceCachingAgent"
+    }
+    cache.getIdentifiers("instances") >> { return instanceIdentifiers }
+    catsSearchProvider.run()
+
+    when:
+    catsSearchProvider.cacheResultStored(agent, ["instances"], new DefaultCacheResult([
+      instances: [new DefaultCacheData("aws:instances:prod:us-west-2:I-1234", [:], [:]),
+                  new DefaultCacheData("aws:instances:prod:us-west-2:I-abcd", [:], [:])]
+    ]))
+
+    then:
+    instanceIndex().find("i-abcd") == ["aws:instances:prod:us-west-2:I-abcd"]
+
+    when: "the agent no longer reports a key it owned"
+    catsSearchProvider.cacheResultStored(agent, ["instances"], new DefaultCacheResult([
+      instances: [new DefaultCacheData("aws:instances:prod:us-west-2:I-1234", [:], [:])]
+    ]))
+
     then:
-    catsSearchProvider.cachedIdentifiersByType.get() == [
-      "instances": instanceIdentifiers.collect { it.toLowerCase() }
+    instanceIndex().find("i-abcd") == []
+    instanceIndex().find("i-1234") == ["aws:instances:prod:us-west-2:I-1234"]
+
+    when: "keys are evicted"
+    catsSearchProvider.cacheResultStored(agent, [], new DefaultCacheResult([:], [instances: ["aws:instances:prod:us-west-2:I-5678"]]))
+
+    then:
+    instanceIndex().find("i-5678") == []
+
+    when:
+    catsSearchProvider.run()
+
+    then: "the full refresh is skipped while the index is being kept current"
+    0 * cache.getIdentifiers(_)
+  }
+
+  def "should fully refresh once the full refresh interval has passed"() {
+    given:
+    catsInMemorySearchProperties.fullRefreshIntervalSeconds = 0
+    def agent = Stub(CachingAgent) {
+      getAgentType() >> "prod/us-west-2/InstanceCachingAgent"
+    }
+    cache.getIdentifiers("instances") >> { return instanceIdentifiers }
+    catsSearchProvider.run()
+    catsSearchProvider.cacheResultStored(agent, ["instances"], new DefaultCacheResult([
+      instances: [new DefaultCacheData("aws:instances:prod:us-west-2:I-1234", [:], [:])]
+    ]))
+
+    when:
+    catsSearchProvider.run()
+
+    then: "writes made by other instances are picked up"
+    2 * cache.getIdentifiers("instances") >> { return instanceIdentifiers }
+  }
+
+  def "should not return indexed keys of a provider that does not support the search"() {
+    given:
+    def awsCache = Stub(ProviderCache) {
+      getIdentifiers("instances") >> ["aws:instances:prod:us-west-2:i-1234"]
+      existingIdentifiers(_, _) >> { t, i -> i }
+    }
+    def titusCache = Stub(ProviderCache) {
+      getIdentifiers("instances") >> ["titus:instances:prod:us-west-2:i-5678"]
+      existingIdentifiers(_, _) >> { t, i -> i }
+    }
+    def searchProviders = [
+      searchableProvider("aws", { Map filters -> !filters.cloudProvider || filters.cloudProvider == "aws" }),
+      searchableProvider("titus", { Map filters -> !filters.cloudProvider || filters.cloudProvider == "titus" })
+    ]
+    def registry = Stub(ProviderRegistry) {
+      getProviderCache("aws") >> awsCache
+      getProviderCache("titus") >> titusCache
+    }
+    def searchProvider = new CatsSearchProvider(catsInMemorySearchProperties, cache, searchProviders, registry)
+    searchProvider.run()
+
+    expect:
+    searchProvider.search("i-", ["instances"], 1, 10).results*.originalKey as Set == [
+      "aws:instances:prod:us-west-2:i-1234", "titus:instances:prod:us-west-2:i-5678"
+    ] as Set
+    searchProvider.search("i-", ["instances"], 1, 10, [cloudProvider: "aws"]).results*.originalKey == [
+      "aws:instances:prod:us-west-2:i-1234"
+    ]
+
+    and: "keys outside of the provider's search glob are not returned"
+    searchProvider.search("prod", ["instances"], 1, 10, [cloudProvider: "titus"]).results*.originalKey == [
+      "titus:instances:prod:us-west-2:i-5678"
     ]
+    searchProvider.search("titus", ["instances"], 1, 10, [cloudProvider: "titus"]).results.isEmpty()
   }
 
   def "should handle unparseable instance identifiers"() {
@@ -83,7 +198,7 @@ class CatsSearchProviderSpec extends Specification {
     catsSearchProvider.run()
 
     then:
-    catsSearchProvider.cachedIdentifiersByType.get() == [:]
+    catsSearchProvider.searchIndexes.isEmpty()
 
     when:
     providers.add(
@@ -93,6 +208,21 @@ class CatsSearchProviderSpec extends Specification {
     )
 
     then:
-    catsSearchProvider.cachedIdentifiersByType.get() == [:]
+    catsSearchProvider.searchIndexes.isEmpty()
+  }
+
+  private KeySearchIndex instanceIndex() {
+    return catsSearchProvider.searchIndexes[providers[1]].instances
+  }
+
+  private SearchableProvider searchableProvider(String name, Closure<Boolean> supportsFilters) {
+    return Stub(SearchableProvider) {
+      getProviderName() >> name
+      getDefaultCaches() >> (["instances"] as Set)
+      supportsSearch("instances", _) >> { String type, Map filters -> supportsFilters(filters) }
+      getAgents() >> [instanceAgent]
+      buildSearchTerm(_, _) >> { String type, String term -> "${name}:${type}:*${term}*".toString() }
+      parseKey(_) >> { String k -> k.startsWith(name) ? ["originalKey": k] : null }
+    }
   }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.requestqueue.pooled
+
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+
+class FairRequestDistributorSpec extends Specification {
+
+  Registry registry = new NoopRegistry()
+  PollCoordinator coord = Mock(PollCoordinator)
+  List<Runnable> dispatched = []
+  Executor exec = { Runnable r -> dispatched.add(r) } as Executor
+
+  def "should dispatch up to each partition's weight per pass"() {
+    given:
+    def dynamicConfigService = Stub(DynamicConfigService) {
+      getConfig(Integer, "request-queue.partition-weights.appA", _) >> 2
+      getConfig(Integer, _ as String, _) >> { type, name, defaultValue -> defaultValue }
+    }
+    def dist = new FairRequestDistributor(registry, dynamicConfigService, coord, exec, { 10 })
+    dist.addPartition("appA", queue("appA", 5))
+    dist.addPartition("appB", queue("appB", 5))
+
+    when:
+    dist.processPartitions()
+
+    then:
+    1 * coord.reset()
+    1 * coord.waitForItems(true)
+    dispatched.size() == 3
+  }
+
+  def "should not dispatch more than the available capacity"() {
+    given:
+    def dynamicConfigService = Stub(DynamicConfigService) {
+      getConfig(Integer, _ as String, _) >> { type, name, defaultValue -> defaultValue }
+    }
+    def dist = new FairRequestDistributor(registry, dynamicConfigService, coord, exec, { 2 })
+    dist.addPartition("appA", queue("appA", 5))
+    dist.addPartition("appB", queue("appB", 5))
+    dist.addPartition("appC", queue("appC", 5))
+
+    when:
+    dist.processPartitions()
+    dist.processPartitions()
+
+    then:
+    dispatched.size() == 2
+
+    when: "a request completes"
+    dispatched[0].run()
+    dist.processPartitions()
+
+    then:
+    1 * coord.notifyItemsAdded()
+    dispatched.size() == 3
+  }
+
+  def "should cap the concurrency of each partition"() {
+    given:
+    def dynamicConfigService = Stub(DynamicConfigService) {
+      getConfig(Integer, "request-queue.partition-weights.appA", _) >> 10
+      getConfig(Integer, "request-queue.max-partition-concurrency", _) >> 3
+      getConfig(Integer, _ as String, _) >> { type, name, defaultValue -> defaultValue }
+    }
+    def dist = new FairRequestDistributor(registry, dynamicConfigService, coord, exec, { 10 })
+    dist.addPartition("appA", queue("appA", 10))
+
+    when:
+    dist.processPartitions()
+    dist.processPartitions()
+
+    then:
+    dispatched.size() == 3
+  }
+
+  private Queue<PooledRequest<?>> queue(String partition, int size) {
+    Queue<PooledRequest<?>> queue = new LinkedBlockingQueue<>()
+    size.times { queue.add(new PooledRequest<Integer>(registry, partition, { return it })) }
+    return queue
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.netflix.spinnaker.cats.agent.AccountAware;
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.AgentScheduler;
+import com.netflix.spinnaker.cats.module.CatsModule;
+import com.netflix.spinnaker.cats.provider.ProviderRegistry;
+import com.netflix.spinnaker.clouddriver.security.BaseProvider;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CatsOnDemandCacheUpdaterTest {
+
+  private static final String CLOUD_PROVIDER = "test";
+
+  private final TestProvider provider = new TestProvider();
+  private final OnDemandAgent accountAgent = onDemandAgent("account");
+  private final OnDemandAgent otherAccountAgent = onDemandAgent("other-account");
+  private final OnDemandAgent anyAccountAgent = onDemandAgent(null);
+
+  private CatsOnDemandCacheUpdater updater;
+
+  @BeforeEach
+  void setup() {
+    CatsModule catsModule = mock(CatsModule.class);
+    when(catsModule.getProviderRegistry()).thenReturn(mock(ProviderRegistry.class));
+    provider.addAgents(
+        List.of((Agent) accountAgent, (Agent) otherAccountAgent, (Agent) anyAccountAgent));
+    updater =
+        new CatsOnDemandCacheUpdater(List.of(provider), catsModule, mock(AgentScheduler.class));
+  }
+
+  @Test
+  void handleOnlyReachesTheAgentsOfTheRequestedAccount() {
+    updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, Map.of("account", "account"));
+
+    verify(accountAgent).handle(any(), anyMap());
+    verify(anyAccountAgent).handle(any(), anyMap());
+    verify(otherAccountAgent, never()).handle(any(), anyMap());
+  }
+
+  @Test
+  void handleReachesEveryAgentWithoutAnAccount() {
+    updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, Map.of("serverGroupName", "app-v000"));
+
+    verify(accountAgent).handle(any(), anyMap());
+    verify(anyAccountAgent).handle(any(), anyMap());
+    verify(otherAccountAgent).handle(any(), anyMap());
+  }
+
+  @Test
+  void handleReachesAgentsAddedAfterTheFirstRequest() {
+    assertThat(updater.handles(OnDemandType.ServerGroup, CLOUD_PROVIDER)).isTrue();
+    assertThat(updater.handles(OnDemandType.ServerGroup, "other")).isFalse();
+
+    OnDemandAgent newAccountAgent = onDemandAgent("new-account");
+    provider.addAgents(List.of((Agent) newAccountAgent));
+    updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, Map.of("account", "new-account"));
+
+    verify(newAccountAgent).handle(any(), anyMap());
+    verify(anyAccountAgent).handle(any(), anyMap());
+    verify(accountAgent, never()).handle(any(), anyMap());
+  }
+
+  private static OnDemandAgent onDemandAgent(String account) {
+    OnDemandAgent agent =
+        mock(OnDemandAgent.class, withSettings().extraInterfaces(Agent.class, AccountAware.class));
+    when(agent.handles(OnDemandType.ServerGroup, CLOUD_PROVIDER)).thenReturn(true);
+    when(((AccountAware) agent).getAccountName()).thenReturn(account);
+    return agent;
+  }
+
+  private static class TestProvider extends BaseProvider {
+    @Override
+    public String getProviderName() {
+      return "testProvider";
+    }
+  }
+}
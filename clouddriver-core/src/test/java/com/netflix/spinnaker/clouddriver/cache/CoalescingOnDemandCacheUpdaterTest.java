@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Registry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class CoalescingOnDemandCacheUpdaterTest {
+
+  private static final String CLOUD_PROVIDER = "aws";
+  private static final Map<String, String> DATA =
+      Map.of("account", "test", "region", "us-east-1", "serverGroupName", "app-v000");
+
+  private final Registry registry = new DefaultRegistry();
+  private final OnDemandCacheUpdater delegate = mock(OnDemandCacheUpdater.class);
+  private final TestClock clock = new TestClock();
+
+  @Test
+  void identicalRequestsInFlightShareOneResult() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    OnDemandCacheResult result = new OnDemandCacheResult(OnDemandCacheStatus.SUCCESSFUL);
+    when(delegate.handle(any(), anyString(), anyMap()))
+        .thenAnswer(
+            invocation -> {
+              started.countDown();
+              release.await();
+              return result;
+            });
+    CoalescingOnDemandCacheUpdater updater = updater(0);
+
+    CompletableFuture<OnDemandCacheResult> first =
+        CompletableFuture.supplyAsync(
+            () -> updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<OnDemandCacheResult> second =
+        CompletableFuture.supplyAsync(
+            () -> updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA));
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (coalesced() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(result);
+    assertThat(second.get(10, TimeUnit.SECONDS)).isSameAs(result);
+    assertThat(coalesced()).isEqualTo(1);
+    verify(delegate, times(1)).handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+  }
+
+  @Test
+  void completedRequestsAreOnlySharedWithinTheDebounceWindow() {
+    when(delegate.handle(any(), anyString(), anyMap()))
+        .thenAnswer(invocation -> new OnDemandCacheResult(OnDemandCacheStatus.SUCCESSFUL));
+    CoalescingOnDemandCacheUpdater updater = updater(1000);
+
+    OnDemandCacheResult first = updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+    clock.advance(500);
+    OnDemandCacheResult second = updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+    clock.advance(500);
+    OnDemandCacheResult third = updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotSameAs(first);
+    verify(delegate, times(2)).handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+  }
+
+  @Test
+  void differentRequestsAreNotShared() {
+    when(delegate.handle(any(), anyString(), anyMap()))
+        .thenAnswer(invocation -> new OnDemandCacheResult(OnDemandCacheStatus.SUCCESSFUL));
+    CoalescingOnDemandCacheUpdater updater = updater(1000);
+    Map<String, String> otherData =
+        Map.of("account", "test", "region", "us-west-2", "serverGroupName", "app-v000");
+
+    updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+    updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, otherData);
+    updater.handle(OnDemandType.LoadBalancer, CLOUD_PROVIDER, DATA);
+
+    verify(delegate).handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+    verify(delegate).handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, otherData);
+    verify(delegate).handle(OnDemandType.LoadBalancer, CLOUD_PROVIDER, DATA);
+    assertThat(coalesced()).isZero();
+  }
+
+  @Test
+  void failuresAreNotShared() {
+    when(delegate.handle(any(), anyString(), anyMap()))
+        .thenThrow(new IllegalStateException("failed"))
+        .thenAnswer(invocation -> new OnDemandCacheResult(OnDemandCacheStatus.SUCCESSFUL));
+    CoalescingOnDemandCacheUpdater updater = updater(1000);
+
+    assertThatThrownBy(() -> updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA))
+        .isInstanceOf(IllegalStateException.class);
+    OnDemandCacheResult result = updater.handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+
+    assertThat(result.getStatus()).isEqualTo(OnDemandCacheStatus.SUCCESSFUL);
+    verify(delegate, times(2)).handle(OnDemandType.ServerGroup, CLOUD_PROVIDER, DATA);
+  }
+
+  private CoalescingOnDemandCacheUpdater updater(long debounceMillis) {
+    return new CoalescingOnDemandCacheUpdater(delegate, debounceMillis, registry, clock);
+  }
+
+  private long coalesced() {
+    return registry
+        .counter(
+            registry
+                .createId("onDemand.coalesced")
+                .withTag("type", OnDemandType.ServerGroup.getValue())
+                .withTag("cloudProvider", CLOUD_PROVIDER))
+        .count();
+  }
+
+  private static class TestClock extends Clock {
+    private final AtomicLong millis = new AtomicLong(0);
+
+    void advance(long delta) {
+      millis.addAndGet(delta);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis.get());
+    }
+  }
+}
@@ -21,7 +21,9 @@ import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.clouddriver.ecs.cache.Keys;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -73,6 +75,26 @@ abstract class AbstractCacheClient<T> {
     return convertAll(allData);
   }
 
+  /**
+   * @param keys Keys within the key namespace that will be used to retrieve the objects.
+   * @return The objects associated to the keys that are cached, by key. Keys that are not cached
+   *     are left out.
+   */
+  public Map<String, T> getAllByKey(Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Collection<CacheData> allData = cacheView.getAll(keyNamespace, keys);
+    if (allData == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, T> objectsByKey = new HashMap<>(allData.size());
+    for (CacheData cacheData : allData) {
+      objectsByKey.put(cacheData.getId(), convert(cacheData));
+    }
+    return objectsByKey;
+  }
+
   /**
    * @param key A key within the key namespace that will be used to retrieve the object.
    * @return An object of the generic type that is associated to the key.
@@ -45,10 +45,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,6 +88,10 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
     return attributes;
   }
 
+  /**
+   * Reads the services, container instances, task definitions and target healths of all tasks with
+   * one bulk read per type, rather than reading them for every task.
+   */
   @Override
   protected List<TaskHealth> getItems(AmazonECS ecs, ProviderCache providerCache) {
     TaskCacheClient taskCacheClient = new TaskCacheClient(providerCache, objectMapper);
@@ -103,70 +109,106 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
     taskEvictions = new LinkedList<>();
 
     Collection<Task> tasks = taskCacheClient.getAll(accountName, region);
-    if (tasks != null) {
-      log.debug("Found {} tasks to retrieve health for.", tasks.size());
-      for (Task task : tasks) {
-        String containerInstanceCacheKey =
-            Keys.getContainerInstanceKey(accountName, region, task.getContainerInstanceArn());
-        ContainerInstance containerInstance =
-            containerInstanceCacheClient.get(containerInstanceCacheKey);
-
-        String serviceName = StringUtils.substringAfter(task.getGroup(), "service:");
-        String serviceKey = Keys.getServiceKey(accountName, region, serviceName);
-        Service service = serviceCacheClient.get(serviceKey);
-
-        if (service == null) {
-          String taskEvictionKey = Keys.getTaskKey(accountName, region, task.getTaskId());
-          taskEvictions.add(taskEvictionKey);
-          log.debug(
-              "Service '{}' for task '{}' is null. Will not retrieve health.",
-              serviceName,
-              task.getTaskArn());
-          continue;
+    if (tasks == null) {
+      log.debug("Task list is null. No healths to describe.");
+      return taskHealthList;
+    }
+    log.debug("Found {} tasks to retrieve health for.", tasks.size());
+
+    Set<String> serviceKeys = new HashSet<>();
+    Set<String> containerInstanceKeys = new HashSet<>();
+    for (Task task : tasks) {
+      serviceKeys.add(Keys.getServiceKey(accountName, region, getServiceName(task)));
+      if (task.getContainerInstanceArn() != null) {
+        containerInstanceKeys.add(
+            Keys.getContainerInstanceKey(accountName, region, task.getContainerInstanceArn()));
+      }
+    }
+    Map<String, Service> services = serviceCacheClient.getAllByKey(serviceKeys);
+    Map<String, ContainerInstance> containerInstances =
+        containerInstanceCacheClient.getAllByKey(containerInstanceKeys);
+
+    Set<String> taskDefinitionKeys = new HashSet<>();
+    Set<String> targetHealthKeys = new HashSet<>();
+    for (Service service : services.values()) {
+      if (service.getTaskDefinition() != null) {
+        taskDefinitionKeys.add(
+            Keys.getTaskDefinitionKey(accountName, region, service.getTaskDefinition()));
+      }
+      for (LoadBalancer loadBalancer : service.getLoadBalancers()) {
+        if (loadBalancer.getTargetGroupArn() != null) {
+          targetHealthKeys.add(
+              Keys.getTargetHealthKey(accountName, region, loadBalancer.getTargetGroupArn()));
         }
+      }
+    }
+    Map<String, TaskDefinition> taskDefinitions =
+        taskDefinitionCacheClient.getAllByKey(taskDefinitionKeys);
+    Map<String, EcsTargetHealth> targetHealths =
+        targetHealthCacheClient.getAllByKey(targetHealthKeys);
+
+    for (Task task : tasks) {
+      String containerInstanceCacheKey =
+          Keys.getContainerInstanceKey(accountName, region, task.getContainerInstanceArn());
+      ContainerInstance containerInstance = containerInstances.get(containerInstanceCacheKey);
+
+      String serviceName = getServiceName(task);
+      String serviceKey = Keys.getServiceKey(accountName, region, serviceName);
+      Service service = services.get(serviceKey);
+
+      if (service == null) {
+        String taskEvictionKey = Keys.getTaskKey(accountName, region, task.getTaskId());
+        taskEvictions.add(taskEvictionKey);
+        log.debug(
+            "Service '{}' for task '{}' is null. Will not retrieve health.",
+            serviceName,
+            task.getTaskArn());
+        continue;
+      }
 
-        String taskDefinitionCacheKey =
-            Keys.getTaskDefinitionKey(accountName, region, service.getTaskDefinition());
-        TaskDefinition taskDefinition = taskDefinitionCacheClient.get(taskDefinitionCacheKey);
-
-        boolean lacksNetworkInterfaces = isTaskMissingNetworkInterfaces(task);
-        if (task.getContainers().isEmpty()
-            || (isTaskMissingNetworkBindings(task) && lacksNetworkInterfaces)) {
-          log.debug(
-              "Task '{}' is missing networking. Will not retrieve load balancer health.",
-              task.getTaskArn());
-          continue;
-        }
+      String taskDefinitionCacheKey =
+          Keys.getTaskDefinitionKey(accountName, region, service.getTaskDefinition());
+      TaskDefinition taskDefinition = taskDefinitions.get(taskDefinitionCacheKey);
 
-        TaskHealth taskHealth;
-        // ideally, could determine health check method by looking at taskDef.networkMode,
-        // however this isn't reliably cached yet, so reusing network binding check.
-        if (!lacksNetworkInterfaces) {
-          // if network interfaces are present, assume awsvpc mode
-          taskHealth =
-              inferHealthNetworkInterfacedContainer(
-                  targetHealthCacheClient, task, serviceName, service, taskDefinition);
-        } else {
-          taskHealth =
-              inferHealthNetworkBindedContainer(
-                  targetHealthCacheClient, task, containerInstance, serviceName, service);
-        }
-        log.debug("Task Health contains the following elements: {}", taskHealth);
+      boolean lacksNetworkInterfaces = isTaskMissingNetworkInterfaces(task);
+      if (task.getContainers().isEmpty()
+          || (isTaskMissingNetworkBindings(task) && lacksNetworkInterfaces)) {
+        log.debug(
+            "Task '{}' is missing networking. Will not retrieve load balancer health.",
+            task.getTaskArn());
+        continue;
+      }
 
-        if (taskHealth != null) {
-          taskHealthList.add(taskHealth);
-        }
-        log.debug("TaskHealthList contains the following elements: {}", taskHealthList);
+      TaskHealth taskHealth;
+      // ideally, could determine health check method by looking at taskDef.networkMode,
+      // however this isn't reliably cached yet, so reusing network binding check.
+      if (!lacksNetworkInterfaces) {
+        // if network interfaces are present, assume awsvpc mode
+        taskHealth =
+            inferHealthNetworkInterfacedContainer(
+                targetHealths, task, serviceName, service, taskDefinition);
+      } else {
+        taskHealth =
+            inferHealthNetworkBindedContainer(
+                targetHealths, task, containerInstance, serviceName, service);
+      }
+      log.debug("Task Health contains the following elements: {}", taskHealth);
+
+      if (taskHealth != null) {
+        taskHealthList.add(taskHealth);
       }
-    } else {
-      log.debug("Task list is null. No healths to describe.");
     }
+    log.debug("TaskHealthList contains {} elements.", taskHealthList.size());
 
     return taskHealthList;
   }
 
+  private static String getServiceName(Task task) {
+    return StringUtils.substringAfter(task.getGroup(), "service:");
+  }
+
   private TaskHealth inferHealthNetworkInterfacedContainer(
-      TargetHealthCacheClient targetHealthCacheClient,
+      Map<String, EcsTargetHealth> targetHealths,
       Task task,
       String serviceName,
       Service loadBalancerService,
@@ -210,7 +252,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
 
       overallTaskHealth =
           describeTargetHealth(
-              targetHealthCacheClient,
+              targetHealths,
               task,
               serviceName,
               loadBalancer.getTargetGroupArn(),
@@ -243,7 +285,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
   }
 
   private TaskHealth inferHealthNetworkBindedContainer(
-      TargetHealthCacheClient targetHealthCacheClient,
+      Map<String, EcsTargetHealth> targetHealths,
       Task task,
       ContainerInstance containerInstance,
       String serviceName,
@@ -275,7 +317,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
 
       overallTaskHealth =
           describeTargetHealth(
-              targetHealthCacheClient,
+              targetHealths,
               task,
               serviceName,
               loadBalancer.getTargetGroupArn(),
@@ -300,7 +342,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
   }
 
   private TaskHealth describeTargetHealth(
-      TargetHealthCacheClient targetHealthCacheClient,
+      Map<String, EcsTargetHealth> targetHealths,
       Task task,
       String serviceName,
       String targetGroupArn,
@@ -309,7 +351,7 @@ public class TaskHealthCachingAgent extends AbstractEcsCachingAgent<TaskHealth>
       TaskHealth overallTaskHealth) {
 
     String targetHealthKey = Keys.getTargetHealthKey(accountName, region, targetGroupArn);
-    EcsTargetHealth targetHealth = targetHealthCacheClient.get(targetHealthKey);
+    EcsTargetHealth targetHealth = targetHealths.get(targetHealthKey);
 
     if (targetHealth == null) {
       log.debug("Cached EcsTargetHealth is empty for targetGroup {}", targetGroupArn);
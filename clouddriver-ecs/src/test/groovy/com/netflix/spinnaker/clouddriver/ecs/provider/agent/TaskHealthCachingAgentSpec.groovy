@@ -83,13 +83,13 @@ class TaskHealthCachingAgentSpec extends Specification {
       createdAt            : new Date().getTime()
     ]
     def serviceCacheData = new DefaultCacheData(serviceKey, serviceAttributes, Collections.emptyMap())
-    providerCache.get(Keys.Namespace.SERVICES.toString(), serviceKey) >> serviceCacheData
+    providerCache.getAll(Keys.Namespace.SERVICES.toString(), { it.contains(serviceKey) }) >> [serviceCacheData]
 
     def containerInstanceAttributes = [
       ec2InstanceId: CommonCachingAgent.EC2_INSTANCE_ID_1
     ]
     def containerInstanceCache = new DefaultCacheData(containerInstanceKey, containerInstanceAttributes, Collections.emptyMap())
-    providerCache.get(Keys.Namespace.CONTAINER_INSTANCES.toString(), containerInstanceKey) >> containerInstanceCache
+    providerCache.getAll(Keys.Namespace.CONTAINER_INSTANCES.toString(), { it.contains(containerInstanceKey) }) >> [containerInstanceCache]
 
     def targetHealthAttributes = [
       targetGroupArn : targetGroupArn,
@@ -97,7 +97,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
 
     def targetHealthCache = new DefaultCacheData(targetHealthKey, targetHealthAttributes, Collections.emptyMap())
-    providerCache.get(TARGET_HEALTHS.toString(), targetHealthKey) >> targetHealthCache
+    providerCache.getAll(TARGET_HEALTHS.toString(), { it.contains(targetHealthKey) }) >> [targetHealthCache]
   }
 
   def 'should get a list of task health'() {
@@ -125,13 +125,14 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
 
     then:
+    0 * providerCache.get(_, _)
     taskHealthList.size() == 1
     TaskHealth taskHealth = taskHealthList.get(0)
     taskHealth.getState() == 'Up'
@@ -171,7 +172,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
 
     when:
@@ -217,7 +218,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
@@ -282,7 +283,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
@@ -343,7 +344,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
@@ -373,7 +374,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
@@ -403,7 +404,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
@@ -443,7 +444,7 @@ class TaskHealthCachingAgentSpec extends Specification {
     ]
     def taskDefKey = Keys.getTaskDefinitionKey(CommonCachingAgent.ACCOUNT, CommonCachingAgent.REGION, CommonCachingAgent.TASK_DEFINITION_ARN_1)
     def taskDefCacheData = new DefaultCacheData(taskDefKey, taskDefAttributes, Collections.emptyMap())
-    providerCache.get(TASK_DEFINITIONS.toString(), taskDefKey) >> taskDefCacheData
+    providerCache.getAll(TASK_DEFINITIONS.toString(), { it.contains(taskDefKey) }) >> [taskDefCacheData]
 
     when:
     def taskHealthList = agent.getItems(ecs, providerCache)
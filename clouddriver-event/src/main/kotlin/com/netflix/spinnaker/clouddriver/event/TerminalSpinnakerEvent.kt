@@ -0,0 +1,25 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.event
+
+/**
+ * Marks a [SpinnakerEvent] that completes its [Aggregate]: once it has been saved, no more work is
+ * expected to be done with the aggregate.
+ *
+ * This allows [com.netflix.spinnaker.clouddriver.event.persistence.EventRepository] implementations
+ * to list the aggregates that are still in progress without reading their events.
+ */
+interface TerminalSpinnakerEvent : SpinnakerEvent
@@ -17,6 +17,7 @@ package com.netflix.spinnaker.clouddriver.event.persistence
 
 import com.netflix.spinnaker.clouddriver.event.Aggregate
 import com.netflix.spinnaker.clouddriver.event.SpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.TerminalSpinnakerEvent
 import javax.validation.constraints.Max
 import javax.validation.constraints.Positive
 
@@ -60,13 +61,17 @@ interface EventRepository {
    * @param aggregateType The type of [Aggregate] to return. If unset, all types will be returned.
    * @param token The page token to paginate from. It will return the first results
    * @param perPage The number of [Aggregate]s to return in each response
+   * @param completed Whether [Aggregate]s that have a [TerminalSpinnakerEvent] should be returned. If unset,
+   *                  completion will not be considered
    */
   class ListAggregatesCriteria(
     val aggregateType: String? = null,
     val token: String? = null,
 
     @Positive @Max(1000)
-    val perPage: Int = 100
+    val perPage: Int = 100,
+
+    val completed: Boolean? = null
   )
 
   /**
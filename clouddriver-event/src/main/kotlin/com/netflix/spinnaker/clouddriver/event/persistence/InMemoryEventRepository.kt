@@ -19,6 +19,7 @@ import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.clouddriver.event.Aggregate
 import com.netflix.spinnaker.clouddriver.event.EventMetadata
 import com.netflix.spinnaker.clouddriver.event.SpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.TerminalSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.event.config.MemoryEventRepositoryConfigProperties
 import com.netflix.spinnaker.clouddriver.event.exceptions.AggregateChangeRejectedException
 import com.netflix.spinnaker.kork.exceptions.SystemException
@@ -114,22 +115,24 @@ class InMemoryEventRepository(
         criteria.aggregateType?.let { requiredType -> list.filter { it.type == requiredType } } ?: list
       }
       .let { list ->
-        criteria.token?.let { nextPageToken ->
-          val start = list.indexOf(list.find { "${it.type}/${it.id}" == nextPageToken })
-          val end = (start + criteria.perPage).let {
-            if (it > list.size - 1) {
-              list.size
-            } else {
-              criteria.perPage
-            }
+        criteria.completed?.let { completed ->
+          list.filter { aggregate ->
+            events[aggregate].orEmpty().any { it is TerminalSpinnakerEvent } == completed
           }
-          list.subList(start, end)
         } ?: list
       }
+      .let { list ->
+        // pages start after the aggregate named by the token
+        criteria.token
+          ?.let { nextPageToken -> list.indexOfFirst { "${it.type}/${it.id}" == nextPageToken } + 1 }
+          ?.let { start -> list.subList(start, list.size) }
+          ?: list
+      }
 
+    val page = result.take(criteria.perPage)
     return EventRepository.ListAggregatesResult(
-      aggregates = result,
-      nextPageToken = result.lastOrNull()?.let { "${it.type}/${it.id}" }
+      aggregates = page,
+      nextPageToken = if (result.size > page.size) page.lastOrNull()?.let { "${it.type}/${it.id}" } else null
     )
   }
 
@@ -28,6 +28,7 @@ import com.netflix.spinnaker.clouddriver.google.GoogleExecutorTraits
 import com.netflix.spinnaker.clouddriver.google.model.GoogleLabeledResource
 import com.netflix.spinnaker.clouddriver.google.names.GoogleLabeledResourceNamer
 import com.netflix.spinnaker.clouddriver.google.provider.GoogleInfrastructureProvider
+import com.netflix.spinnaker.clouddriver.google.batch.GoogleBatchCoalescer
 import com.netflix.spinnaker.clouddriver.google.batch.GoogleBatchRequest
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials
 import com.netflix.spinnaker.clouddriver.names.NamerRegistry
@@ -81,8 +82,12 @@ abstract class AbstractGoogleCachingAgent implements CachingAgent, AccountAware,
     credentials?.name
   }
 
+  /**
+   * Builds a batch request whose requests are sent together with those of the account's other
+   * caching agents.
+   */
   GoogleBatchRequest buildGoogleBatchRequest() {
-    return new GoogleBatchRequest(compute, clouddriverUserAgentApplicationName)
+    return new GoogleBatchRequest(compute, clouddriverUserAgentApplicationName, GoogleBatchCoalescer.forCompute(compute))
   }
 
   def executeIfRequestsAreQueued(GoogleBatchRequest googleBatchRequest, String instrumentationContext) {
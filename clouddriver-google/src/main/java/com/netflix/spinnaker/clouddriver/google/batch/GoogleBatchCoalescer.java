@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.batch;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.compute.Compute;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the batch requests of every caching agent of an account together.
+ *
+ * <p>Caching agents execute many small batches, and paginated requests execute every further page
+ * in a batch of its own. Requests that are executed within a short linger window of each other are
+ * sent in shared batches of up to {@link GoogleBatchRequest#MAX_BATCH_SIZE} requests, and a batch
+ * is sent as soon as it is full. Sending a batch only records the responses: each caller waits for
+ * the responses to its own requests and then runs its callbacks on its own thread, so a slow
+ * callback (or one that executes the next page) never holds up the batch or other callers, and an
+ * exception thrown by one caller's callback does not affect the requests of other callers.
+ */
+@Slf4j
+public class GoogleBatchCoalescer {
+
+  static final Duration DEFAULT_LINGER = Duration.ofMillis(10);
+
+  private static final Map<Compute, GoogleBatchCoalescer> COALESCERS =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private static final ExecutorService BATCH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat(GoogleBatchCoalescer.class.getSimpleName() + "-%d")
+              .setDaemon(true)
+              .build());
+
+  private static final ScheduledExecutorService LINGER_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat(GoogleBatchCoalescer.class.getSimpleName() + "-linger-%d")
+              .setDaemon(true)
+              .build());
+
+  private final Duration linger;
+
+  // guarded by this
+  private List<PendingRequest> pending = new ArrayList<>();
+  private boolean flushScheduled = false;
+
+  GoogleBatchCoalescer(Duration linger) {
+    this.linger = linger;
+  }
+
+  /** @return the coalescer shared by every request made with the given (account's) client */
+  public static GoogleBatchCoalescer forCompute(Compute compute) {
+    return COALESCERS.computeIfAbsent(compute, c -> new GoogleBatchCoalescer(DEFAULT_LINGER));
+  }
+
+  /**
+   * Sends the given requests along with those of other callers, waits for their responses, and
+   * then runs their callbacks on the calling thread, in the order the requests were given.
+   *
+   * @throws IOException if a batch containing one of the requests could not be sent, or one of
+   *     their callbacks threw it
+   */
+  void execute(Compute compute, String userAgent, List<GoogleBatchRequest.QueuedRequest> requests)
+      throws IOException {
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    CountDownLatch responses = new CountDownLatch(requests.size());
+    List<PendingRequest> submitted = new ArrayList<>(requests.size());
+    List<List<PendingRequest>> fullBatches = new ArrayList<>();
+    synchronized (this) {
+      for (GoogleBatchRequest.QueuedRequest request : requests) {
+        PendingRequest pendingRequest = new PendingRequest(compute, userAgent, request, responses);
+        submitted.add(pendingRequest);
+        pending.add(pendingRequest);
+        if (pending.size() == GoogleBatchRequest.MAX_BATCH_SIZE) {
+          fullBatches.add(pending);
+          pending = new ArrayList<>();
+        }
+      }
+      if (!pending.isEmpty() && !flushScheduled) {
+        flushScheduled = true;
+        LINGER_SCHEDULER.schedule(this::flush, linger.toMillis(), TimeUnit.MILLISECONDS);
+      }
+    }
+
+    fullBatches.forEach(this::send);
+    try {
+      responses.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for batch responses");
+    }
+    runCallbacks(submitted);
+  }
+
+  private void flush() {
+    List<PendingRequest> batch;
+    synchronized (this) {
+      flushScheduled = false;
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = pending;
+      pending = new ArrayList<>();
+    }
+    send(batch);
+  }
+
+  private void send(List<PendingRequest> requests) {
+    BATCH_EXECUTOR.execute(() -> executeBatch(requests));
+  }
+
+  private void executeBatch(List<PendingRequest> requests) {
+    PendingRequest first = requests.get(0);
+    Throwable failure = null;
+    try {
+      BatchRequest batch = GoogleBatchRequest.newBatch(first.compute, first.userAgent);
+      for (PendingRequest request : requests) {
+        try {
+          request.request.getRequest().queue(batch, new RecordingCallback(request));
+        } catch (IOException e) {
+          log.error("Queueing request {} in batch failed.", request.request);
+          request.fail(e);
+        }
+      }
+      if (batch.size() > 0) {
+        batch.execute();
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Executing batch of {} requests failed.", requests.size());
+      failure = e;
+    } finally {
+      // requests that never got a response (because the batch failed) fail with the batch
+      for (PendingRequest request : requests) {
+        request.fail(
+            failure != null ? failure : new IOException("No response received for request"));
+      }
+    }
+  }
+
+  /**
+   * Runs the callbacks of requests that got a response. Every callback runs even if an earlier one
+   * threw, after which the first exception (or failure to send a request) is thrown.
+   */
+  @SuppressWarnings("unchecked")
+  private static void runCallbacks(List<PendingRequest> requests) throws IOException {
+    Throwable failure = null;
+    for (PendingRequest request : requests) {
+      if (request.failure != null) {
+        failure = failure != null ? failure : request.failure;
+        continue;
+      }
+
+      try {
+        if (request.error != null) {
+          request.request.getCallback().onFailure(request.error, request.responseHeaders);
+        } else {
+          request.request.getCallback().onSuccess(request.response, request.responseHeaders);
+        }
+      } catch (IOException | RuntimeException e) {
+        failure = failure != null ? failure : e;
+      }
+    }
+
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure != null) {
+      throw new RuntimeException(failure);
+    }
+  }
+
+  /** Records a response, for the caller to pass to its callback. */
+  @SuppressWarnings("rawtypes")
+  private static class RecordingCallback extends JsonBatchCallback {
+    private final PendingRequest request;
+
+    RecordingCallback(PendingRequest request) {
+      this.request = request;
+    }
+
+    @Override
+    public void onSuccess(Object response, HttpHeaders responseHeaders) {
+      request.complete(response, null, responseHeaders);
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
+      request.complete(null, e, responseHeaders);
+    }
+  }
+
+  /**
+   * A request and, once it completed, its outcome. The outcome is written before the caller's
+   * latch is counted down, and only read by the caller after it has been released.
+   */
+  private static class PendingRequest {
+    private final Compute compute;
+    private final String userAgent;
+    private final GoogleBatchRequest.QueuedRequest request;
+    private final CountDownLatch responses;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    private Object response;
+    private GoogleJsonError error;
+    private HttpHeaders responseHeaders;
+    private Throwable failure;
+
+    PendingRequest(
+        Compute compute,
+        String userAgent,
+        GoogleBatchRequest.QueuedRequest request,
+        CountDownLatch responses) {
+      this.compute = compute;
+      this.userAgent = userAgent;
+      this.request = request;
+      this.responses = responses;
+    }
+
+    /** Records the response, unless the request already completed. */
+    void complete(Object response, GoogleJsonError error, HttpHeaders responseHeaders) {
+      if (completed.compareAndSet(false, true)) {
+        this.response = response;
+        this.error = error;
+        this.responseHeaders = responseHeaders;
+        responses.countDown();
+      }
+    }
+
+    /** Fails the request, unless it already completed. */
+    void fail(Throwable failure) {
+      if (completed.compareAndSet(false, true)) {
+        this.failure = failure;
+        responses.countDown();
+      }
+    }
+  }
+}
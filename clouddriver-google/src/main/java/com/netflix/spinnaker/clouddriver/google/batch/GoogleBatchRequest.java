@@ -38,18 +38,28 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GoogleBatchRequest {
 
-  private static final int MAX_BATCH_SIZE =
-      100; // Platform specified max to not overwhelm batch backends.
+  static final int MAX_BATCH_SIZE = 100; // Platform specified max to not overwhelm batch backends.
   private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
   private static final int DEFAULT_READ_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
 
   private List<QueuedRequest> queuedRequests;
   private String clouddriverUserAgentApplicationName;
   private Compute compute;
+  private GoogleBatchCoalescer coalescer;
 
   public GoogleBatchRequest(Compute compute, String clouddriverUserAgentApplicationName) {
+    this(compute, clouddriverUserAgentApplicationName, null);
+  }
+
+  /**
+   * Creates a batch request whose requests are sent together with those of other batch requests
+   * using the same coalescer, rather than in batches of their own.
+   */
+  public GoogleBatchRequest(
+      Compute compute, String clouddriverUserAgentApplicationName, GoogleBatchCoalescer coalescer) {
     this.compute = compute;
     this.clouddriverUserAgentApplicationName = clouddriverUserAgentApplicationName;
+    this.coalescer = coalescer;
     this.queuedRequests = new ArrayList<>();
   }
 
@@ -59,6 +69,16 @@ public class GoogleBatchRequest {
       return;
     }
 
+    if (coalescer != null) {
+      try {
+        coalescer.execute(compute, clouddriverUserAgentApplicationName, queuedRequests);
+      } catch (IOException ioe) {
+        log.error("Executing coalesced batch of {} requests failed.", queuedRequests.size());
+        throw new RuntimeException(ioe);
+      }
+      return;
+    }
+
     List<BatchRequest> queuedBatches = new ArrayList<>();
     List<List<QueuedRequest>> requestPartitions = Lists.partition(queuedRequests, MAX_BATCH_SIZE);
     requestPartitions.forEach(
@@ -97,6 +117,10 @@ public class GoogleBatchRequest {
   }
 
   private BatchRequest newBatch() {
+    return newBatch(compute, clouddriverUserAgentApplicationName);
+  }
+
+  static BatchRequest newBatch(Compute compute, String clouddriverUserAgentApplicationName) {
     return compute.batch(
         new HttpRequestInitializer() {
           @Override
@@ -118,7 +142,7 @@ public class GoogleBatchRequest {
 
   @Data
   @AllArgsConstructor
-  private static class QueuedRequest {
+  static class QueuedRequest {
     private ComputeRequest request;
     private JsonBatchCallback callback;
   }
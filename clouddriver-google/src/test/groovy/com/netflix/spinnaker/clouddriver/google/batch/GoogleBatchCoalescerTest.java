@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.google.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.compute.Compute;
+import com.google.api.services.compute.model.Image;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class GoogleBatchCoalescerTest {
+
+  private static final String USER_AGENT = "spinnaker-test";
+  private static final String MIME_BOUNDARY = "batch_foobarbaz";
+  private static final String MIME_PART_START = "--batch_foobarbaz\n";
+  private static final String MIME_END = "--batch_foobarbaz--\n";
+  private static final String BATCH_CONTENT_TYPE = "multipart/mixed; boundary=" + MIME_BOUNDARY;
+
+  @Test
+  public void concurrentRequestsShareABatch() throws Exception {
+    CountingTransport transport = new CountingTransport(6);
+    Compute compute = compute(transport);
+    GoogleBatchCoalescer coalescer = new GoogleBatchCoalescer(Duration.ofMillis(500));
+    CountResponses first = new CountResponses();
+    CountResponses second = new CountResponses();
+
+    CompletableFuture<Void> firstExecution =
+        CompletableFuture.runAsync(() -> batchRequest(compute, coalescer, 3, first).execute());
+    CompletableFuture<Void> secondExecution =
+        CompletableFuture.runAsync(() -> batchRequest(compute, coalescer, 3, second).execute());
+    firstExecution.get();
+    secondExecution.get();
+
+    assertThat(transport.requests.get()).isEqualTo(1);
+    assertThat(first.successes.get()).isEqualTo(3);
+    assertThat(second.successes.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void fullBatchesAreSentWithoutLingering() {
+    CountingTransport transport = new CountingTransport(GoogleBatchRequest.MAX_BATCH_SIZE);
+    Compute compute = compute(transport);
+    GoogleBatchCoalescer coalescer = new GoogleBatchCoalescer(Duration.ofMinutes(10));
+    CountResponses responses = new CountResponses();
+
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(30),
+        () ->
+            batchRequest(compute, coalescer, GoogleBatchRequest.MAX_BATCH_SIZE, responses)
+                .execute());
+
+    assertThat(transport.requests.get()).isEqualTo(1);
+    assertThat(responses.successes.get()).isEqualTo(GoogleBatchRequest.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void callbackExceptionsOnlyFailTheirCaller() throws Exception {
+    CountingTransport transport = new CountingTransport(2);
+    Compute compute = compute(transport);
+    GoogleBatchCoalescer coalescer = new GoogleBatchCoalescer(Duration.ofMillis(500));
+    CountResponses failing =
+        new CountResponses() {
+          @Override
+          public void onSuccess(Image image, HttpHeaders responseHeaders) {
+            throw new IllegalStateException("callback failed");
+          }
+        };
+    CountResponses succeeding = new CountResponses();
+
+    CompletableFuture<Void> failingExecution =
+        CompletableFuture.runAsync(() -> batchRequest(compute, coalescer, 1, failing).execute());
+    CompletableFuture<Void> succeedingExecution =
+        CompletableFuture.runAsync(
+            () -> batchRequest(compute, coalescer, 1, succeeding).execute());
+
+    assertThatThrownBy(failingExecution::get).hasRootCauseInstanceOf(IllegalStateException.class);
+    succeedingExecution.get();
+    assertThat(transport.requests.get()).isEqualTo(1);
+    assertThat(succeeding.successes.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void callbacksRunOnTheCallingThreadAndCanExecuteFurtherPages() {
+    CountingTransport transport = new CountingTransport(1);
+    Compute compute = compute(transport);
+    GoogleBatchCoalescer coalescer = new GoogleBatchCoalescer(Duration.ofMillis(10));
+    AtomicReference<Thread> caller = new AtomicReference<>();
+    AtomicReference<Thread> callbackThread = new AtomicReference<>();
+    CountResponses nextPage = new CountResponses();
+    CountResponses firstPage =
+        new CountResponses() {
+          @Override
+          public void onSuccess(Image image, HttpHeaders responseHeaders) {
+            callbackThread.set(Thread.currentThread());
+            batchRequest(compute, coalescer, 1, nextPage).execute();
+          }
+        };
+
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(30),
+        () -> {
+          caller.set(Thread.currentThread());
+          batchRequest(compute, coalescer, 1, firstPage).execute();
+        });
+
+    assertThat(callbackThread.get()).isSameAs(caller.get());
+    assertThat(nextPage.successes.get()).isEqualTo(1);
+    assertThat(transport.requests.get()).isEqualTo(2);
+  }
+
+  private static GoogleBatchRequest batchRequest(
+      Compute compute, GoogleBatchCoalescer coalescer, int requests, CountResponses callback) {
+    GoogleBatchRequest batchRequest = new GoogleBatchRequest(compute, USER_AGENT, coalescer);
+    try {
+      for (int i = 0; i < requests; i++) {
+        batchRequest.queue(compute.images().get("project", "image-" + i), callback);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return batchRequest;
+  }
+
+  private static Compute compute(HttpTransport transport) {
+    return new Compute(
+        transport, GsonFactory.getDefaultInstance(), /* httpRequestInitializer= */ null);
+  }
+
+  /** Answers every batch with the given number of successful responses. */
+  private static class CountingTransport extends HttpTransport {
+    private final AtomicInteger requests = new AtomicInteger(0);
+    private final int responsesPerBatch;
+
+    CountingTransport(int responsesPerBatch) {
+      this.responsesPerBatch = responsesPerBatch;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+      requests.incrementAndGet();
+      return new LowLevelHttpRequest() {
+        @Override
+        public void addHeader(String name, String value) {}
+
+        @Override
+        public LowLevelHttpResponse execute() {
+          return new MockLowLevelHttpResponse()
+              .setStatusCode(200)
+              .addHeader("Content-Type", BATCH_CONTENT_TYPE)
+              .setContent(successBatchResponseContent(responsesPerBatch));
+        }
+      };
+    }
+  }
+
+  private static String successBatchResponseContent(int responses) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < responses; ++i) {
+      sb.append(MIME_PART_START)
+          .append("Content-Type: application/http\n")
+          .append('\n')
+          .append("HTTP/1.1 200 OK\n")
+          .append("Content-Type: application/json\n")
+          .append("\n")
+          .append("{\"name\":\"foobar\"}\n\n");
+    }
+    return sb.append(MIME_END).toString();
+  }
+
+  private static class CountResponses extends JsonBatchCallback<Image> {
+    AtomicInteger successes = new AtomicInteger();
+    AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public void onSuccess(Image image, HttpHeaders responseHeaders) {
+      successes.incrementAndGet();
+    }
+
+    @Override
+    public void onFailure(GoogleJsonError e, HttpHeaders responseHeaders) {
+      failures.incrementAndGet();
+    }
+  }
+}
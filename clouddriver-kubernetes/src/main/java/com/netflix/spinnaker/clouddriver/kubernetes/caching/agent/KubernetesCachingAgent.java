@@ -23,13 +23,17 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.AccountAware;
+import com.netflix.spinnaker.cats.agent.Agent;
+import com.netflix.spinnaker.cats.agent.AgentExecution;
 import com.netflix.spinnaker.cats.agent.AgentIntervalAware;
 import com.netflix.spinnaker.cats.agent.CacheResult;
 import com.netflix.spinnaker.cats.agent.CachingAgent;
 import com.netflix.spinnaker.cats.agent.DefaultCacheResult;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
+import com.netflix.spinnaker.cats.provider.ProviderRegistry;
 import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.Keys;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesCachingPolicy;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesCoordinates;
@@ -41,15 +45,19 @@ import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.Kuberne
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKindProperties.ResourceScope;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestAnnotater;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.job.KubectlJobExecutor;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesNamedAccountCredentials;
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -96,6 +104,11 @@ public abstract class KubernetesCachingAgent
   protected final KubernetesSpinnakerKindMap kubernetesSpinnakerKindMap;
   @Nullable private final Front50ApplicationLoader front50ApplicationLoader;
 
+  @Nullable private KubernetesResourceStore resourceStore;
+
+  /** The changes of the resource store that the last result was built from, until it is stored. */
+  @Nullable private volatile KubernetesResourceStore.Changes unstoredChanges;
+
   protected KubernetesCachingAgent(
       KubernetesNamedAccountCredentials namedAccountCredentials,
       ObjectMapper objectMapper,
@@ -178,7 +191,13 @@ public abstract class KubernetesCachingAgent
   private ImmutableList<KubernetesManifest> loadResources(
       @Nonnull Iterable<KubernetesKind> kubernetesKinds, Optional<String> optionalNamespace) {
     String namespace = optionalNamespace.orElse(null);
-    return credentials.list(ImmutableList.copyOf(kubernetesKinds), namespace);
+    return credentials.list(ImmutableList.copyOf(kubernetesKinds), namespace, manifestProjection());
+  }
+
+  private KubernetesManifestProjection manifestProjection() {
+    KubernetesConfigurationProperties.Cache cache = configurationProperties.getCache();
+    return new KubernetesManifestProjection(
+        cache.isOmitManagedFields(), cache.isOmitLastAppliedConfiguration());
   }
 
   @Nonnull
@@ -226,6 +245,11 @@ public abstract class KubernetesCachingAgent
                     .stream())
             .collect(Collectors.groupingBy(KubernetesManifest::getKind));
 
+    return applyCachingPolicies(result);
+  }
+
+  private Map<KubernetesKind, List<KubernetesManifest>> applyCachingPolicies(
+      Map<KubernetesKind, List<KubernetesManifest>> result) {
     for (KubernetesCachingPolicy policy : credentials.getCachingPolicies()) {
       KubernetesKind policyKind = KubernetesKind.fromString(policy.getKubernetesKind());
       if (!result.containsKey(policyKind)) {
@@ -269,6 +293,14 @@ public abstract class KubernetesCachingAgent
   public CacheResult loadData(ProviderCache providerCache) {
     log.info(getAgentType() + ": agent is starting");
     Map<String, Object> details = defaultIntrospectionDetails();
+    unstoredChanges = null;
+
+    if (configurationProperties.getCache().getWatch().isEnabled()) {
+      Optional<CacheResult> result = loadDataFromResourceStore();
+      if (result.isPresent()) {
+        return result.get();
+      }
+    }
 
     long start = System.currentTimeMillis();
     Map<KubernetesKind, List<KubernetesManifest>> primaryResourceList = loadPrimaryResourceList();
@@ -276,6 +308,129 @@ public abstract class KubernetesCachingAgent
     return buildCacheResult(primaryResourceList);
   }
 
+  /**
+   * Builds the cache result from the agent's {@link KubernetesResourceStore} instead of listing
+   * every kind. Until the store has listed every kind and namespace after being (re)started, this
+   * returns nothing and the agent lists its resources as usual.
+   *
+   * <p>The result is partial when the store only saw changes that do not affect relationships
+   * between resources: it then contains just the cache data of the changed resources, or nothing
+   * at all if no resource changed. The store only forgets the changes once the result is stored,
+   * so the changes are built again if the result could not be stored.
+   */
+  private Optional<CacheResult> loadDataFromResourceStore() {
+    KubernetesResourceStore store = getResourceStore();
+    if (!store.watch(resourceStoreScopes())) {
+      log.info("{}: too many watches, listing resources instead", getAgentType());
+      return Optional.empty();
+    }
+    if (!store.isSynced()) {
+      log.info("{}: waiting for watches to sync, listing resources instead", getAgentType());
+      store.requireRebuild();
+      return Optional.empty();
+    }
+
+    KubernetesResourceStore.Changes changes = store.pendingChanges();
+    Map<KubernetesKind, List<KubernetesManifest>> resources =
+        applyCachingPolicies(changes.getResources());
+    CacheResult result;
+    if (changes.isRebuildRequired()) {
+      result = buildCacheResult(resources);
+    } else if (changes.getModified().isEmpty()) {
+      log.info("{}: no resources changed", getAgentType());
+      result = new DefaultCacheResult(Map.of(), true);
+    } else {
+      result = buildModifiedCacheResult(resources, changes.getModified());
+    }
+
+    unstoredChanges = changes;
+    return Optional.of(result);
+  }
+
+  /** Lets the resource store forget the changes that the stored result was built from. */
+  private void resultStored() {
+    KubernetesResourceStore.Changes changes = unstoredChanges;
+    unstoredChanges = null;
+    if (changes != null) {
+      getResourceStore().markStored(changes);
+    }
+  }
+
+  /**
+   * Builds a partial cache result holding only the cache data of the modified resources. The cache
+   * data of every resource is still computed, since a resource's relationships are contributed by
+   * the other resources, but only the modified resources are written to the cache.
+   */
+  private CacheResult buildModifiedCacheResult(
+      Map<KubernetesKind, List<KubernetesManifest>> resources,
+      Collection<KubernetesManifest> modified) {
+    Set<String> modifiedKeys =
+        modified.stream()
+            .map(m -> Keys.InfrastructureCacheKey.createKey(m, accountName))
+            .collect(Collectors.toSet());
+
+    Map<String, Collection<CacheData>> entries = new HashMap<>();
+    buildCacheResult(resources)
+        .getCacheResults()
+        .forEach(
+            (type, items) -> {
+              List<CacheData> modifiedItems =
+                  items.stream()
+                      .filter(item -> modifiedKeys.contains(item.getId()))
+                      .collect(Collectors.toList());
+              if (!modifiedItems.isEmpty()) {
+                entries.put(type, modifiedItems);
+              }
+            });
+
+    log.info(
+        "{}: {} resources changed without affecting relationships, caching {} of them",
+        getAgentType(),
+        modified.size(),
+        entries.values().stream().mapToInt(Collection::size).sum());
+    return new DefaultCacheResult(entries, true);
+  }
+
+  private synchronized KubernetesResourceStore getResourceStore() {
+    if (resourceStore == null) {
+      long intervalMs = agentInterval == null ? TimeUnit.MINUTES.toMillis(1) : agentInterval;
+      KubernetesConfigurationProperties.Watch watch = configurationProperties.getCache().getWatch();
+      resourceStore =
+          new KubernetesResourceStore(
+              getAgentType(),
+              KubernetesResourceSource.of(credentials, manifestProjection()),
+              watch,
+              this::isOwnNamespace,
+              intervalMs * watch.getIdleIntervals(),
+              Clock.systemUTC());
+    }
+    return resourceStore;
+  }
+
+  private List<KubernetesResourceStore.Scope> resourceStoreScopes() {
+    ImmutableSetMultimap<ResourceScope, KubernetesKind> kindsByScope = primaryKindsByScope();
+
+    Stream<KubernetesResourceStore.Scope> clusterScoped =
+        handleClusterScopedResources()
+            ? kindsByScope.get(ResourceScope.CLUSTER).stream()
+                .map(kind -> new KubernetesResourceStore.Scope(kind, ""))
+            : Stream.empty();
+    // an account that can see every namespace watches each kind across all of them, keeping only
+    // the resources of this agent's namespaces, rather than each kind in each namespace
+    List<String> namespaces = isNamespaceRestricted() ? getNamespaces() : List.of("");
+    Stream<KubernetesResourceStore.Scope> namespaceScoped =
+        namespaces.stream()
+            .flatMap(
+                namespace ->
+                    kindsByScope.get(ResourceScope.NAMESPACE).stream()
+                        .map(kind -> new KubernetesResourceStore.Scope(kind, namespace)));
+    return Stream.concat(clusterScoped, namespaceScoped).collect(Collectors.toList());
+  }
+
+  private boolean isNamespaceRestricted() {
+    return !credentials.getNamespaces().isEmpty() || !credentials.getOmitNamespaces().isEmpty();
+  }
+
   protected CacheResult buildCacheResult(KubernetesManifest resource) {
     return buildCacheResult(ImmutableMap.of(resource.getKind(), ImmutableList.of(resource)));
   }
@@ -433,10 +588,14 @@ public abstract class KubernetesCachingAgent
 
   protected ImmutableList<String> getNamespaces() {
     return credentials.getDeclaredNamespaces().stream()
-        .filter(n -> agentCount == 1 || Math.abs(n.hashCode() % agentCount) == agentIndex)
+        .filter(this::isOwnNamespace)
         .collect(ImmutableList.toImmutableList());
   }
 
+  private boolean isOwnNamespace(String namespace) {
+    return agentCount == 1 || Math.abs(namespace.hashCode() % agentCount) == agentIndex;
+  }
+
   /**
    * Should this caching agent be responsible for caching cluster-scoped resources (ie, those that
    * do not live in a particular namespace)?
@@ -445,6 +604,24 @@ public abstract class KubernetesCachingAgent
     return agentIndex == 0;
   }
 
+  @Override
+  public AgentExecution getAgentExecution(ProviderRegistry providerRegistry) {
+    return new KubernetesCacheExecution(providerRegistry);
+  }
+
+  /** Reports stored results to the agent, so its resource store can forget the stored changes. */
+  private static class KubernetesCacheExecution extends CacheExecution {
+    KubernetesCacheExecution(ProviderRegistry providerRegistry) {
+      super(providerRegistry);
+    }
+
+    @Override
+    public void storeAgentResult(Agent agent, CacheResult result) {
+      super.storeAgentResult(agent, result);
+      ((KubernetesCachingAgent) agent).resultStored();
+    }
+  }
+
   @Override
   public String getAgentType() {
     return String.format(
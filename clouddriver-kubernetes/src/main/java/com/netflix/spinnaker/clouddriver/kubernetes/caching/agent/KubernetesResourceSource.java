@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.agent;
+
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesResourceList;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesWatchEvent;
+import com.netflix.spinnaker.clouddriver.kubernetes.op.job.KubectlJobExecutor.KubectlResourceVersionExpiredException;
+import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
+import java.util.function.Consumer;
+
+/** Lists and watches the resources of a kind, which a {@link KubernetesResourceStore} mirrors. */
+public interface KubernetesResourceSource {
+
+  /** Lists the resources of a kind in a namespace, or across namespaces if it is empty. */
+  KubernetesResourceList list(KubernetesKind kind, String namespace);
+
+  /**
+   * Watches the resources of a kind starting at resourceVersion, and returns once the watch times
+   * out.
+   *
+   * @return the resourceVersion to resume watching from
+   * @throws KubectlResourceVersionExpiredException if resourceVersion can no longer be watched from
+   */
+  String watch(
+      KubernetesKind kind,
+      String namespace,
+      String resourceVersion,
+      int timeoutSeconds,
+      Consumer<KubernetesWatchEvent> consumer);
+
+  static KubernetesResourceSource of(
+      KubernetesCredentials credentials, KubernetesManifestProjection projection) {
+    return new KubernetesResourceSource() {
+      @Override
+      public KubernetesResourceList list(KubernetesKind kind, String namespace) {
+        return credentials.listForWatch(kind, namespace, projection);
+      }
+
+      @Override
+      public String watch(
+          KubernetesKind kind,
+          String namespace,
+          String resourceVersion,
+          int timeoutSeconds,
+          Consumer<KubernetesWatchEvent> consumer) {
+        return credentials.watch(
+            kind, namespace, resourceVersion, timeoutSeconds, projection, consumer);
+      }
+    };
+  }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.agent;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesResourceList;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesWatchEvent;
+import com.netflix.spinnaker.clouddriver.kubernetes.op.job.KubectlJobExecutor.KubectlResourceVersionExpiredException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory copy of the resources a caching agent is responsible for, kept up to date by
+ * watching them.
+ *
+ * <p>Every watched scope (a kind, in one namespace or across all of them) is mirrored by its own
+ * informer thread, which lists the resources once and then watches for changes from the
+ * resourceVersion of that list. When the API server no longer has the history to resume a watch
+ * from, the informer lists the resources again and reconciles them with what it had. Each informer
+ * holds a thread and a kubectl process, so the number of informers across all stores is capped at
+ * {@link KubernetesConfigurationProperties.Watch#getMaxInformers()}.
+ *
+ * <p>The store records which resources changed since the agent last stored them. Changes that only
+ * touch a resource's spec or status are tracked per resource, so that only those resources have to
+ * be written to the cache. Adding or deleting a resource, or changing its labels, annotations or
+ * owners, can change the relationships between resources, so it requires the agent to rebuild all
+ * of its cache data. Changes are only forgotten once the agent reports them as stored, so a failed
+ * cache write is retried on the next run.
+ */
+class KubernetesResourceStore {
+  private static final Logger log = LoggerFactory.getLogger(KubernetesResourceStore.class);
+
+  /** The number of informers running across every store. */
+  private static final AtomicInteger runningInformers = new AtomicInteger();
+
+  private final String name;
+  private final KubernetesResourceSource source;
+  private final KubernetesConfigurationProperties.Watch properties;
+  private final Predicate<String> namespaceFilter;
+  private final long idleTimeoutMs;
+  private final Clock clock;
+  private final ExecutorService executor;
+  private final Map<Scope, Informer> informers = new ConcurrentHashMap<>();
+
+  // guarded by this
+  private final Map<Scope, Map<String, Entry>> resources = new HashMap<>();
+  // the sequence number of the latest change to each modified resource
+  private final Map<ResourceKey, Long> modified = new HashMap<>();
+  private long sequence = 0;
+  // the sequence number of the latest change that requires a rebuild, or -1 if there is none
+  private long rebuildSequence = 0;
+
+  private volatile long lastAccessMs;
+
+  /**
+   * @param namespaceFilter the namespaces whose resources are kept; resources that are not
+   *     namespaced are always kept
+   */
+  KubernetesResourceStore(
+      String name,
+      KubernetesResourceSource source,
+      KubernetesConfigurationProperties.Watch properties,
+      Predicate<String> namespaceFilter,
+      long idleTimeoutMs,
+      Clock clock) {
+    this.name = name;
+    this.source = source;
+    this.properties = properties;
+    this.namespaceFilter = namespaceFilter;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.clock = clock;
+    this.executor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat(getClass().getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build());
+    this.lastAccessMs = clock.millis();
+  }
+
+  /**
+   * Starts watching the given scopes, and stops watching (and forgets the resources of) any that
+   * are no longer given.
+   *
+   * <p>If starting the informers of the new scopes would exceed the informer limit, nothing is
+   * watched: every informer of this store is stopped so that its capacity goes to other stores.
+   *
+   * @return whether every given scope is being watched
+   */
+  synchronized boolean watch(Collection<Scope> scopes) {
+    lastAccessMs = clock.millis();
+
+    Set<Scope> wanted = new HashSet<>(scopes);
+    for (Scope scope : new ArrayList<>(informers.keySet())) {
+      if (!wanted.contains(scope)) {
+        stop(scope);
+      }
+    }
+
+    List<Scope> added = new ArrayList<>();
+    for (Scope scope : wanted) {
+      if (!informers.containsKey(scope)) {
+        added.add(scope);
+      }
+    }
+
+    boolean watching = reserveInformers(added.size());
+    if (watching) {
+      for (Scope scope : added) {
+        Informer informer = new Informer(scope);
+        informers.put(scope, informer);
+        executor.execute(informer);
+      }
+    } else {
+      log.warn(
+          "{}: Not watching {} scopes, as that would exceed the limit of {} informers",
+          name,
+          wanted.size(),
+          properties.getMaxInformers());
+      new ArrayList<>(informers.keySet()).forEach(this::stop);
+      wanted.clear();
+    }
+
+    if (resources.keySet().removeIf(scope -> !wanted.contains(scope))) {
+      modified.keySet().removeIf(key -> !wanted.contains(key.scope));
+      rebuildSequence = ++sequence;
+    }
+    return watching;
+  }
+
+  /** @return true once every watched scope has been listed */
+  boolean isSynced() {
+    return informers.values().stream().allMatch(informer -> informer.synced);
+  }
+
+  /**
+   * Returns every resource in the store, along with what changed since the changes were last
+   * {@link #markStored(Changes) stored}.
+   */
+  synchronized Changes pendingChanges() {
+    lastAccessMs = clock.millis();
+
+    Map<KubernetesKind, List<KubernetesManifest>> all = new HashMap<>();
+    resources.forEach(
+        (scope, entries) ->
+            entries
+                .values()
+                .forEach(
+                    entry ->
+                        all.computeIfAbsent(scope.kind, k -> new ArrayList<>())
+                            .add(entry.manifest)));
+
+    ImmutableList<KubernetesManifest> modifiedResources =
+        modified.keySet().stream()
+            .map(key -> resources.getOrDefault(key.scope, Map.of()).get(key.name))
+            .filter(Objects::nonNull)
+            .map(entry -> entry.manifest)
+            .collect(ImmutableList.toImmutableList());
+
+    return new Changes(all, modifiedResources, rebuildSequence >= 0, sequence);
+  }
+
+  /**
+   * Forgets the given changes once they have been written to the cache. Changes made after they
+   * were returned by {@link #pendingChanges()} are kept.
+   */
+  synchronized void markStored(Changes changes) {
+    modified.values().removeIf(s -> s <= changes.sequence);
+    if (rebuildSequence <= changes.sequence) {
+      rebuildSequence = -1;
+    }
+  }
+
+  /** Makes the next {@link #pendingChanges()} require a rebuild. */
+  synchronized void requireRebuild() {
+    rebuildSequence = ++sequence;
+  }
+
+  /** Stops every informer. */
+  synchronized void shutdown() {
+    new ArrayList<>(informers.keySet()).forEach(this::stop);
+    executor.shutdownNow();
+  }
+
+  private void stop(Scope scope) {
+    Informer informer = informers.remove(scope);
+    if (informer != null) {
+      informer.stop();
+    }
+  }
+
+  private boolean reserveInformers(int count) {
+    while (true) {
+      int running = runningInformers.get();
+      if (count > 0 && running + count > properties.getMaxInformers()) {
+        return false;
+      }
+      if (runningInformers.compareAndSet(running, running + count)) {
+        return true;
+      }
+    }
+  }
+
+  private synchronized void replace(Scope scope, Collection<KubernetesManifest> manifests) {
+    Map<String, Entry> entries = resources.computeIfAbsent(scope, s -> new HashMap<>());
+    Set<String> names = new HashSet<>();
+    for (KubernetesManifest manifest : manifests) {
+      if (isKept(manifest)) {
+        names.add(nameOf(manifest));
+        put(scope, entries, manifest);
+      }
+    }
+
+    if (entries.keySet().removeIf(n -> !names.contains(n))) {
+      modified.keySet().removeIf(key -> key.scope.equals(scope) && !names.contains(key.name));
+      rebuildSequence = ++sequence;
+    }
+  }
+
+  private synchronized void apply(Scope scope, KubernetesWatchEvent event) {
+    KubernetesManifest manifest = event.getObject();
+    if (!isKept(manifest)) {
+      return;
+    }
+
+    Map<String, Entry> entries = resources.computeIfAbsent(scope, s -> new HashMap<>());
+    switch (event.getType()) {
+      case DELETED:
+        if (entries.remove(nameOf(manifest)) != null) {
+          modified.remove(new ResourceKey(scope, nameOf(manifest)));
+          rebuildSequence = ++sequence;
+        }
+        break;
+      case ADDED:
+      case MODIFIED:
+        put(scope, entries, manifest);
+        break;
+    }
+  }
+
+  private void put(Scope scope, Map<String, Entry> entries, KubernetesManifest manifest) {
+    Entry entry = new Entry(manifest);
+    Entry previous = entries.put(nameOf(manifest), entry);
+    if (previous == null || !previous.structure.equals(entry.structure)) {
+      rebuildSequence = ++sequence;
+    } else if (!Objects.equals(previous.resourceVersion, entry.resourceVersion)) {
+      modified.put(new ResourceKey(scope, nameOf(manifest)), ++sequence);
+    }
+  }
+
+  private boolean isKept(KubernetesManifest manifest) {
+    String namespace = manifest.getNamespace();
+    return namespace.isEmpty() || namespaceFilter.test(namespace);
+  }
+
+  /** Resources of a scope that spans namespaces are only unique within their namespace. */
+  private static String nameOf(KubernetesManifest manifest) {
+    return manifest.getNamespace() + "/" + manifest.getName();
+  }
+
+  /**
+   * A kind in a namespace, or across all namespaces if the namespace is empty. Kinds that are not
+   * namespaced always have an empty namespace.
+   */
+  @Value
+  static class Scope {
+    KubernetesKind kind;
+    String namespace;
+  }
+
+  @Value
+  static class Changes {
+    /** Every resource in the store, by kind */
+    Map<KubernetesKind, List<KubernetesManifest>> resources;
+
+    /** Resources that changed without affecting any relationships */
+    ImmutableList<KubernetesManifest> modified;
+
+    /** Whether a change requires every resource to be cached again */
+    boolean rebuildRequired;
+
+    /** The sequence number of the latest change these changes include */
+    long sequence;
+  }
+
+  @Value
+  private static class ResourceKey {
+    Scope scope;
+    String name;
+  }
+
+  private static class Entry {
+    private final KubernetesManifest manifest;
+    private final String resourceVersion;
+
+    /**
+     * The parts of the manifest that relationships are derived from, captured before the caching
+     * agent (which may modify manifests) sees it.
+     */
+    private final Structure structure;
+
+    Entry(KubernetesManifest manifest) {
+      this.manifest = manifest;
+      this.resourceVersion = manifest.getResourceVersion();
+      this.structure = Structure.of(manifest);
+    }
+  }
+
+  @Value
+  private static class Structure {
+    Map<String, String> labels;
+    Map<String, String> annotations;
+    Object ownerReferences;
+
+    @SuppressWarnings("unchecked")
+    static Structure of(KubernetesManifest manifest) {
+      Map<String, Object> metadata =
+          (Map<String, Object>) manifest.getOrDefault("metadata", Map.of());
+      return new Structure(
+          copyOf((Map<String, String>) metadata.get("labels")),
+          copyOf((Map<String, String>) metadata.get("annotations")),
+          metadata.get("ownerReferences"));
+    }
+
+    private static Map<String, String> copyOf(Map<String, String> map) {
+      return map == null ? Map.of() : new HashMap<>(map);
+    }
+  }
+
+  private class Informer implements Runnable {
+    private final Scope scope;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean running = true;
+    private volatile boolean synced = false;
+
+    Informer(Scope scope) {
+      this.scope = scope;
+    }
+
+    /** Stops the informer, and gives up its slot right away rather than when its watch returns. */
+    void stop() {
+      running = false;
+      if (released.compareAndSet(false, true)) {
+        runningInformers.decrementAndGet();
+      }
+    }
+
+    @Override
+    public void run() {
+      String resourceVersion = null;
+      long backoffMs = properties.getRetryBackoffMs();
+      while (running) {
+        if (clock.millis() - lastAccessMs > idleTimeoutMs) {
+          log.info("{}: Stopping idle watch of {}", name, scope);
+          break;
+        }
+
+        try {
+          if (resourceVersion == null) {
+            KubernetesResourceList list = source.list(scope.kind, scope.namespace);
+            if (!running) {
+              break;
+            }
+            replace(scope, list.getItems());
+            resourceVersion = list.getResourceVersion();
+            synced = true;
+            backoffMs = properties.getRetryBackoffMs();
+          }
+
+          resourceVersion =
+              source.watch(
+                  scope.kind,
+                  scope.namespace,
+                  resourceVersion,
+                  properties.getTimeoutSeconds(),
+                  event -> {
+                    if (running) {
+                      apply(scope, event);
+                    }
+                  });
+          backoffMs = properties.getRetryBackoffMs();
+        } catch (KubectlResourceVersionExpiredException e) {
+          log.debug("{}: Relisting {}: {}", name, scope, e.getMessage());
+          resourceVersion = null;
+        } catch (RuntimeException e) {
+          log.warn(
+              "{}: Failed to watch {}, retrying in {}ms: {}",
+              name,
+              scope,
+              backoffMs,
+              e.getMessage());
+          try {
+            Thread.sleep(backoffMs);
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+          backoffMs = Math.min(backoffMs * 2, properties.getMaxRetryBackoffMs());
+        }
+      }
+
+      informers.remove(scope, this);
+      stop();
+    }
+  }
+}
@@ -130,6 +130,64 @@ public class KubernetesConfigurationProperties {
      * enabled.
      */
     boolean checkApplicationInFront50 = false;
+
+    /**
+     * Whether to leave metadata.managedFields out of cached manifests. These are skipped while
+     * kubectl's output is read, so they never take up memory or cache space.
+     */
+    private boolean omitManagedFields = true;
+
+    /**
+     * Whether to leave the kubectl.kubernetes.io/last-applied-configuration annotation, a copy of
+     * the whole manifest, out of cached manifests. Operations that need it read the live manifest.
+     */
+    private boolean omitLastAppliedConfiguration = true;
+
+    /**
+     * Keeps the resources of each caching agent in memory, up to date through watches, instead of
+     * listing them on every caching cycle. See {@link Watch}.
+     */
+    private Watch watch = new Watch();
+  }
+
+  /**
+   * Configuration for caching from watches. When enabled, each caching agent lists its kinds once
+   * and then watches them for changes. A caching cycle then reads the agent's resources from memory
+   * and writes only the resources that changed, unless a change requires the agent's relationships
+   * to be rebuilt (a resource was added or deleted, or its labels, annotations or owners changed).
+   */
+  @Data
+  public static class Watch {
+    /** Whether caching agents watch their kinds instead of listing them on every cycle. */
+    private boolean enabled = false;
+
+    /**
+     * How long the API server keeps a watch open before it is re-established. This must be lower
+     * than the timeout of the job executor running kubectl.
+     */
+    private int timeoutSeconds = 300;
+
+    /**
+     * How long to wait before retrying after a list or watch failed. The wait doubles with every
+     * consecutive failure, up to maxRetryBackoffMs.
+     */
+    private long retryBackoffMs = 5000;
+
+    /** The longest wait before retrying after consecutive list or watch failures. */
+    private long maxRetryBackoffMs = 300000;
+
+    /**
+     * The most informers (each a thread and a kubectl watch process, for one kind in one namespace
+     * or across all namespaces) that all caching agents may run together. An agent whose kinds and
+     * namespaces do not fit lists its resources on every cycle instead.
+     */
+    private int maxInformers = 1000;
+
+    /**
+     * Watches are stopped when their agent has not run for this many agent intervals, for example
+     * because the account was removed. They are restarted the next time the agent runs.
+     */
+    private int idleIntervals = 10;
   }
 
   /** kubectl configuration properties */
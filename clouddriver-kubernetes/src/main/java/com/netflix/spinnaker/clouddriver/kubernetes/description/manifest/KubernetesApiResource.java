@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import com.google.common.base.Strings;
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/** A resource type served by the Kubernetes API, as reported by API discovery. */
+@NonnullByDefault
+@Value
+public class KubernetesApiResource {
+  /** The plural resource name used in REST paths, e.g. "deployments" */
+  private final String name;
+
+  private final KubernetesApiVersion apiVersion;
+  private final String kindName;
+  private final boolean namespaced;
+
+  public KubernetesKind getKind() {
+    return KubernetesKind.from(kindName, apiVersion.getApiGroup());
+  }
+
+  /**
+   * Returns the REST path of the collection of this resource, limited to a namespace if the
+   * resource is namespaced and a namespace is given.
+   */
+  public String getPath(@Nullable String namespace) {
+    StringBuilder path = new StringBuilder();
+    if (apiVersion.getApiGroup().equals(KubernetesApiGroup.NONE)) {
+      path.append("/api/").append(apiVersion);
+    } else {
+      path.append("/apis/").append(apiVersion);
+    }
+    if (namespaced && !Strings.isNullOrEmpty(namespace)) {
+      path.append("/namespaces/").append(namespace);
+    }
+    return path.append('/').append(name).toString();
+  }
+}
@@ -135,6 +135,12 @@ public class KubernetesManifest extends HashMap<String, Object> {
     return (String) getMetadata().get("uid");
   }
 
+  @JsonIgnore
+  @Nullable
+  public String getResourceVersion() {
+    return (String) getMetadata().get("resourceVersion");
+  }
+
   @JsonIgnore
   public void setName(String name) {
     getMetadata().put("name", name);
@@ -58,7 +58,7 @@ public class KubernetesManifestAnnotater {
   private static final String KUBECTL_ANNOTATION_PREFIX = "kubectl." + KUBERNETES_ANNOTATION;
   private static final String DEPLOYMENT_ANNOTATION_PREFIX = "deployment." + KUBERNETES_ANNOTATION;
   private static final String DEPLOYMENT_REVISION = DEPLOYMENT_ANNOTATION_PREFIX + "/revision";
-  private static final String KUBECTL_LAST_APPLIED_CONFIGURATION =
+  static final String KUBECTL_LAST_APPLIED_CONFIGURATION =
       KUBECTL_ANNOTATION_PREFIX + "/last-applied-configuration";
 
   private static final ObjectMapper objectMapper = new ObjectMapper();
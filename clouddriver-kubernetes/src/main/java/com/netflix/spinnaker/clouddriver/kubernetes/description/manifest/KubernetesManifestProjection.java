@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import lombok.Value;
+
+/**
+ * The parts of a manifest to leave out while it is read from kubectl's output. Leaving them out
+ * while reading means they are never held in memory, which matters for large lists of resources
+ * where these fields often make up most of each manifest.
+ */
+@NonnullByDefault
+@Value
+public class KubernetesManifestProjection {
+  /** Reads manifests in full. */
+  public static final KubernetesManifestProjection NONE =
+      new KubernetesManifestProjection(false, false);
+
+  /** Whether to leave out metadata.managedFields, which records the field manager of every field */
+  private final boolean omitManagedFields;
+
+  /**
+   * Whether to leave out the annotation kubectl stores the last applied configuration in, which is a
+   * copy of the whole manifest. Operations that compare against that configuration (such as
+   * versioning artifacts) must read manifests without this projection.
+   */
+  private final boolean omitLastAppliedConfiguration;
+
+  public boolean omitsMetadataField(String field) {
+    return omitManagedFields && field.equals("managedFields");
+  }
+
+  public boolean omitsAnnotation(String annotation) {
+    return omitLastAppliedConfiguration
+        && annotation.equals(KubernetesManifestAnnotater.KUBECTL_LAST_APPLIED_CONFIGURATION);
+  }
+}
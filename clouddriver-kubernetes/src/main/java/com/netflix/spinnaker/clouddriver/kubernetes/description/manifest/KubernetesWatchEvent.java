@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.description.manifest;
+
+import com.netflix.spinnaker.kork.annotations.NonnullByDefault;
+import lombok.Value;
+
+/** A change to a resource, as reported by a watch on its collection. */
+@NonnullByDefault
+@Value
+public class KubernetesWatchEvent {
+  private final Type type;
+  private final KubernetesManifest object;
+
+  public enum Type {
+    ADDED,
+    MODIFIED,
+    DELETED
+  }
+}
@@ -17,12 +17,17 @@
 
 package com.netflix.spinnaker.clouddriver.kubernetes.op.job;
 
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import com.netflix.spinnaker.clouddriver.data.task.Task;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutor;
 import com.netflix.spinnaker.clouddriver.jobs.JobRequest;
@@ -32,8 +37,13 @@ import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurati
 import com.netflix.spinnaker.clouddriver.kubernetes.description.JsonPatch;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPatchOptions;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPodMetric;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesApiResource;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesApiVersion;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesResourceList;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesWatchEvent;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesSelectorList;
 import com.netflix.spinnaker.kork.annotations.VisibleForTesting;
@@ -51,6 +61,7 @@ import java.io.EOFException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -66,6 +77,7 @@ import org.springframework.stereotype.Component;
 public class KubectlJobExecutor {
   private static final Logger log = LoggerFactory.getLogger(KubectlJobExecutor.class);
   private static final String NOT_FOUND_STRING = "(NotFound)";
+  private static final String EXPIRED_STRING = "(Expired)";
   private static final String NO_OBJECTS_PASSED_TO_STRING = "error: no objects passed to";
   private static final String NO_OBJECTS_PASSED_TO_APPLY_STRING =
       NO_OBJECTS_PASSED_TO_STRING + " apply";
@@ -472,7 +484,8 @@ public class KubectlJobExecutor {
             name, StringUtils.capitalize(kind.toString())));
 
     JobResult<ImmutableList<KubernetesManifest>> status =
-        executeKubectlCommand(credentials, command, parseManifestList());
+        executeKubectlCommand(
+            credentials, command, parseManifestList(KubernetesManifestProjection.NONE));
 
     if (status.getResult() != JobResult.Result.SUCCESS) {
       throw new KubectlException(
@@ -499,6 +512,20 @@ public class KubectlJobExecutor {
       List<KubernetesKind> kinds,
       String namespace,
       KubernetesSelectorList selectors) {
+    return list(credentials, kinds, namespace, selectors, KubernetesManifestProjection.NONE);
+  }
+
+  /**
+   * Lists the given kinds, leaving the parts of each manifest that the projection omits out while
+   * kubectl's output is read.
+   */
+  @Nonnull
+  public ImmutableList<KubernetesManifest> list(
+      KubernetesCredentials credentials,
+      List<KubernetesKind> kinds,
+      String namespace,
+      KubernetesSelectorList selectors,
+      KubernetesManifestProjection projection) {
     log.debug("Getting list of kinds {} in namespace {}", kinds, namespace);
     List<String> command = kubectlNamespacedGet(credentials, kinds, namespace);
     if (selectors.isNotEmpty()) {
@@ -507,7 +534,7 @@ public class KubectlJobExecutor {
     }
 
     JobResult<ImmutableList<KubernetesManifest>> status =
-        executeKubectlCommand(credentials, command, parseManifestList());
+        executeKubectlCommand(credentials, command, parseManifestList(projection));
 
     if (status.getResult() != JobResult.Result.SUCCESS) {
       boolean permissionError =
@@ -527,6 +554,154 @@ public class KubectlJobExecutor {
     return status.getOutput();
   }
 
+  /**
+   * Lists the resource types served by the cluster that can be both listed and watched.
+   *
+   * @param credentials k8s account credentials
+   * @return the resource types, keyed by kind
+   */
+  @Nonnull
+  public ImmutableMap<KubernetesKind, KubernetesApiResource> apiResources(
+      KubernetesCredentials credentials) {
+    List<String> command = kubectlAuthPrefix(credentials);
+    command.add("api-resources");
+    command.add("--verbs=list,watch");
+    command.add("--no-headers");
+
+    JobResult<String> status = executeKubectlCommand(credentials, command);
+
+    if (status.getResult() != JobResult.Result.SUCCESS) {
+      throw new KubectlException("Failed to discover API resources: " + status.getError());
+    }
+
+    Splitter splitter = Splitter.on(CharMatcher.whitespace()).omitEmptyStrings();
+    Map<KubernetesKind, KubernetesApiResource> resources = new HashMap<>();
+    for (String line : status.getOutput().split("\n")) {
+      // The columns are NAME, SHORTNAMES, APIVERSION, NAMESPACED and KIND, where SHORTNAMES may be
+      // blank, so the other columns are located relative to NAMESPACED
+      List<String> columns = splitter.splitToList(line);
+      int namespaced = columns.indexOf("true");
+      if (namespaced < 0) {
+        namespaced = columns.indexOf("false");
+      }
+      if (namespaced < 2 || namespaced + 1 >= columns.size()) {
+        continue;
+      }
+
+      KubernetesApiResource resource =
+          new KubernetesApiResource(
+              columns.get(0),
+              KubernetesApiVersion.fromString(columns.get(namespaced - 1)),
+              columns.get(namespaced + 1),
+              Boolean.parseBoolean(columns.get(namespaced)));
+      // kinds served by more than one group are listed with their preferred group first
+      resources.putIfAbsent(resource.getKind(), resource);
+    }
+
+    return ImmutableMap.copyOf(resources);
+  }
+
+  /**
+   * Lists a resource collection directly from the API server, so that the collection's
+   * resourceVersion can be used to start a watch.
+   *
+   * @param credentials k8s account credentials
+   * @param resource the resource type to list
+   * @param namespace the namespace to list, or null to list across namespaces
+   * @param projection the parts of each resource to leave out
+   * @return the listed resources and the collection's resourceVersion
+   */
+  @Nonnull
+  public KubernetesResourceList listResources(
+      KubernetesCredentials credentials,
+      KubernetesApiResource resource,
+      String namespace,
+      KubernetesManifestProjection projection) {
+    log.debug("Listing {} in namespace {}", resource.getKind(), namespace);
+    List<String> command = kubectlAuthPrefix(credentials);
+    command.add("get");
+    command.add("--raw");
+    command.add(resource.getPath(namespace));
+
+    JobResult<KubernetesResourceList> status =
+        executeKubectlCommand(credentials, command, parseResourceList(resource, projection));
+
+    if (status.getResult() != JobResult.Result.SUCCESS) {
+      throw new KubectlException(
+          "Failed to list " + resource.getKind() + " from " + namespace + ": " + status.getError());
+    }
+
+    return status.getOutput();
+  }
+
+  /**
+   * Watches a resource collection starting from the given resourceVersion, handing every change to
+   * the consumer as it arrives. Returns once the API server closes the watch, which it does after
+   * {@code timeoutSeconds}.
+   *
+   * <p>Watches are long-running by design, so they are not retried here; the caller is expected to
+   * resume watching from the returned resourceVersion.
+   *
+   * @param credentials k8s account credentials
+   * @param resource the resource type to watch
+   * @param namespace the namespace to watch, or null to watch across namespaces
+   * @param resourceVersion the resourceVersion to watch from
+   * @param timeoutSeconds how long the API server keeps the watch open
+   * @param projection the parts of each resource to leave out
+   * @param consumer receives every change to the collection
+   * @return the resourceVersion to resume watching from
+   * @throws KubectlResourceVersionExpiredException if the resourceVersion is too old to watch
+   *     from, in which case the collection needs to be listed again
+   */
+  @Nonnull
+  public String watchResources(
+      KubernetesCredentials credentials,
+      KubernetesApiResource resource,
+      String namespace,
+      String resourceVersion,
+      int timeoutSeconds,
+      KubernetesManifestProjection projection,
+      Consumer<KubernetesWatchEvent> consumer) {
+    log.debug(
+        "Watching {} in namespace {} from resourceVersion {}",
+        resource.getKind(),
+        namespace,
+        resourceVersion);
+    List<String> command = kubectlAuthPrefix(credentials);
+    command.add("get");
+    command.add("--raw");
+    command.add(
+        resource.getPath(namespace)
+            + "?watch=true&allowWatchBookmarks=true&resourceVersion="
+            + resourceVersion
+            + "&timeoutSeconds="
+            + timeoutSeconds);
+
+    JobResult<WatchResult> status =
+        jobExecutor.runJob(
+            new JobRequest(command), parseWatchEvents(resourceVersion, projection, consumer));
+
+    WatchResult result = status.getOutput();
+    String error = Strings.nullToEmpty(status.getError());
+    if ((result != null && result.expired) || error.contains(EXPIRED_STRING)) {
+      throw new KubectlResourceVersionExpiredException(
+          "ResourceVersion "
+              + resourceVersion
+              + " of "
+              + resource.getKind()
+              + " in "
+              + namespace
+              + " has expired");
+    }
+
+    if (status.getResult() != JobResult.Result.SUCCESS) {
+      throw new KubectlException(
+          "Failed to watch " + resource.getKind() + " in " + namespace + ": " + error);
+    }
+
+    return result == null ? resourceVersion : result.resourceVersion;
+  }
+
   /**
    * Invoke kubectl apply with the given manifest and (if present) label selectors.
    *
@@ -891,7 +1066,8 @@ public class KubectlJobExecutor {
     return null;
   }
 
-  private ReaderConsumer<ImmutableList<KubernetesManifest>> parseManifestList() {
+  private ReaderConsumer<ImmutableList<KubernetesManifest>> parseManifestList(
+      KubernetesManifestProjection projection) {
     return (@WillClose BufferedReader r) -> {
       try (JsonReader reader = new JsonReader(r)) {
         try {
@@ -905,8 +1081,7 @@ public class KubectlJobExecutor {
           if (reader.nextName().equals("items")) {
             reader.beginArray();
             while (reader.hasNext()) {
-              KubernetesManifest manifest = gson.fromJson(reader, KubernetesManifest.class);
-              manifestList.add(manifest);
+              manifestList.add(KubernetesManifestReader.read(reader, projection));
             }
             reader.endArray();
           } else {
@@ -915,10 +1090,10 @@ public class KubectlJobExecutor {
         }
         reader.endObject();
         return manifestList.build();
-      } catch (IllegalStateException | JsonSyntaxException e) {
+      } catch (IllegalStateException | MalformedJsonException | EOFException e) {
         // An IllegalStageException is thrown when we call beginObject, nextName(), etc. and the
-        // next token is not what we are asserting it to be. A JsonSyntaxException is thrown when
-        // gson.fromJson isn't able to map the next token to a KubernetesManifest.
+        // next token is not what we are asserting it to be. A MalformedJsonException is thrown
+        // when the output isn't valid JSON, and an EOFException when it is cut short.
         // In both of these cases, the error is due to the output from kubectl being malformed (or
         // at least malformed relative to our expectations) so we'll wrap the exception in a
         // KubectlException.
@@ -927,6 +1102,117 @@ public class KubectlJobExecutor {
     };
   }
 
+  private ReaderConsumer<KubernetesResourceList> parseResourceList(
+      KubernetesApiResource resource, KubernetesManifestProjection projection) {
+    return (@WillClose BufferedReader r) -> {
+      try (JsonReader reader = new JsonReader(r)) {
+        String resourceVersion = "";
+        ImmutableList.Builder<KubernetesManifest> items = new ImmutableList.Builder<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+          switch (reader.nextName()) {
+            case "metadata":
+              reader.beginObject();
+              while (reader.hasNext()) {
+                if (reader.nextName().equals("resourceVersion")) {
+                  resourceVersion = reader.nextString();
+                } else {
+                  reader.skipValue();
+                }
+              }
+              reader.endObject();
+              break;
+            case "items":
+              if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                break;
+              }
+              reader.beginArray();
+              while (reader.hasNext()) {
+                KubernetesManifest manifest = KubernetesManifestReader.read(reader, projection);
+                // Items of a list returned by the API server do not repeat the list's kind and
+                // apiVersion
+                manifest.putIfAbsent("kind", resource.getKindName());
+                manifest.putIfAbsent("apiVersion", resource.getApiVersion().toString());
+                items.add(manifest);
+              }
+              reader.endArray();
+              break;
+            default:
+              reader.skipValue();
+          }
+        }
+        reader.endObject();
+        return new KubernetesResourceList(items.build(), resourceVersion);
+      } catch (IllegalStateException | MalformedJsonException | EOFException e) {
+        throw new KubectlException("Failed to parse kubectl output: " + e.getMessage(), e);
+      }
+    };
+  }
+
+  private ReaderConsumer<WatchResult> parseWatchEvents(
+      String resourceVersion,
+      KubernetesManifestProjection projection,
+      Consumer<KubernetesWatchEvent> consumer) {
+    return (@WillClose BufferedReader r) -> {
+      WatchResult result = new WatchResult(resourceVersion);
+      try (JsonReader reader = new JsonReader(r)) {
+        // A watch responds with a stream of JSON objects, one per event
+        reader.setLenient(true);
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+          String type = null;
+          KubernetesManifest object = null;
+          reader.beginObject();
+          while (reader.hasNext()) {
+            switch (reader.nextName()) {
+              case "type":
+                type = reader.nextString();
+                break;
+              case "object":
+                object = KubernetesManifestReader.read(reader, projection);
+                break;
+              default:
+                reader.skipValue();
+            }
+          }
+          reader.endObject();
+
+          if (type == null || object == null) {
+            continue;
+          }
+
+          switch (type) {
+            case "ERROR":
+              // The API server reports a resourceVersion that is too old to watch from with a
+              // status of 410 Gone, and then closes the watch
+              Object code = object.get("code");
+              if (code instanceof Number && ((Number) code).intValue() == 410) {
+                result.expired = true;
+                return result;
+              }
+              throw new KubectlException("Watch failed: " + object.get("message"));
+            case "BOOKMARK":
+              break;
+            default:
+              consumer.accept(
+                  new KubernetesWatchEvent(KubernetesWatchEvent.Type.valueOf(type), object));
+          }
+
+          String eventResourceVersion = object.getResourceVersion();
+          if (!Strings.isNullOrEmpty(eventResourceVersion)) {
+            result.resourceVersion = eventResourceVersion;
+          }
+        }
+      } catch (EOFException e) {
+        // The watch was closed without sending any events, or while sending one; resume from the
+        // last event that was received in full
+      } catch (IllegalStateException | MalformedJsonException e) {
+        throw new KubectlException("Failed to parse kubectl output: " + e.getMessage(), e);
+      }
+      return result;
+    };
+  }
+
   /**
    * This method executes the actual kubectl command and determines if retries are required, on
    * failure.
@@ -1149,6 +1435,22 @@ public class KubectlJobExecutor {
     }
   }
 
+  public static class KubectlResourceVersionExpiredException extends KubectlException {
+    public KubectlResourceVersionExpiredException(String message) {
+      super(message);
+    }
+  }
+
+  /** The outcome of a watch: where to resume from, or that the collection must be relisted. */
+  private static class WatchResult {
+    private String resourceVersion;
+    private boolean expired = false;
+
+    WatchResult(String resourceVersion) {
+      this.resourceVersion = resourceVersion;
+    }
+  }
+
   /**
    * this exception is only meant to be used in cases where we want resilience4j to not retry
    * kubectl calls. It should not be used anywhere else.
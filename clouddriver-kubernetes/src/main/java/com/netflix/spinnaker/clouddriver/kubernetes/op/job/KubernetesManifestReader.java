@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.op.job;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads manifests from a stream of JSON in a single pass, skipping the fields a {@link
+ * KubernetesManifestProjection} leaves out without materializing them.
+ *
+ * <p>Values are read into the same types Gson reads an untyped map into (maps, lists, strings,
+ * booleans and doubles), so that manifests read here are interchangeable with manifests read by
+ * Gson.
+ */
+final class KubernetesManifestReader {
+  private KubernetesManifestReader() {}
+
+  /** Reads the JSON object at the reader's position as a manifest. */
+  static KubernetesManifest read(JsonReader reader, KubernetesManifestProjection projection)
+      throws IOException {
+    KubernetesManifest manifest = new KubernetesManifest();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (name.equals("metadata") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        manifest.put(name, readMetadata(reader, projection));
+      } else {
+        manifest.put(name, readValue(reader));
+      }
+    }
+    reader.endObject();
+    return manifest;
+  }
+
+  private static Map<String, Object> readMetadata(
+      JsonReader reader, KubernetesManifestProjection projection) throws IOException {
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (projection.omitsMetadataField(name)) {
+        reader.skipValue();
+      } else if (name.equals("annotations") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        metadata.put(name, readAnnotations(reader, projection));
+      } else {
+        metadata.put(name, readValue(reader));
+      }
+    }
+    reader.endObject();
+    return metadata;
+  }
+
+  private static Map<String, Object> readAnnotations(
+      JsonReader reader, KubernetesManifestProjection projection) throws IOException {
+    Map<String, Object> annotations = new LinkedHashMap<>();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (projection.omitsAnnotation(name)) {
+        reader.skipValue();
+      } else {
+        annotations.put(name, readValue(reader));
+      }
+    }
+    reader.endObject();
+    return annotations;
+  }
+
+  private static Object readValue(JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case BEGIN_OBJECT:
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+          map.put(reader.nextName(), readValue(reader));
+        }
+        reader.endObject();
+        return map;
+      case BEGIN_ARRAY:
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+          list.add(readValue(reader));
+        }
+        reader.endArray();
+        return list;
+      case STRING:
+        return reader.nextString();
+      case NUMBER:
+        return reader.nextDouble();
+      case BOOLEAN:
+        return reader.nextBoolean();
+      case NULL:
+        reader.nextNull();
+        return null;
+      default:
+        throw new IllegalStateException("Unexpected token " + reader.peek() + " in manifest");
+    }
+  }
+}
@@ -49,9 +49,13 @@ import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPodMet
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesResourceProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesSpinnakerKindMap;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.ResourcePropertyRegistry;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesApiResource;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKindProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesResourceList;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesWatchEvent;
 import com.netflix.spinnaker.clouddriver.kubernetes.names.KubernetesNamerRegistry;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.KubernetesCustomResourceHandler;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.KubernetesHandler;
@@ -65,6 +69,7 @@ import io.kubernetes.client.openapi.models.V1beta1CustomResourceDefinition;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -82,6 +87,7 @@ import org.springframework.stereotype.Component;
 public class KubernetesCredentials {
   private static final Logger log = LoggerFactory.getLogger(KubernetesCredentials.class);
   private static final int CRD_EXPIRY_SECONDS = 30;
+  private static final int API_RESOURCE_EXPIRY_SECONDS = 300;
   private static final int NAMESPACE_EXPIRY_SECONDS = 30;
 
   private final Registry registry;
@@ -137,6 +143,9 @@ public class KubernetesCredentials {
   private final PermissionValidator permissionValidator;
   private final Supplier<ImmutableMap<KubernetesKind, KubernetesKindProperties>> crdSupplier =
       Suppliers.memoizeWithExpiration(this::crdSupplier, CRD_EXPIRY_SECONDS, TimeUnit.SECONDS);
+  private final Supplier<ImmutableMap<KubernetesKind, KubernetesApiResource>> apiResourceSupplier =
+      Suppliers.memoizeWithExpiration(
+          this::apiResourceSupplier, API_RESOURCE_EXPIRY_SECONDS, TimeUnit.SECONDS);
   private final Memoizer<ImmutableList<String>> liveNamespaceSupplier =
       Memoizer.memoizeWithExpiration(
           this::namespaceSupplier, NAMESPACE_EXPIRY_SECONDS, TimeUnit.SECONDS);
@@ -350,6 +359,20 @@ public class KubernetesCredentials {
     }
   }
 
+  private ImmutableMap<KubernetesKind, KubernetesApiResource> apiResourceSupplier() {
+    return jobExecutor.apiResources(this);
+  }
+
+  @Nonnull
+  private KubernetesApiResource getApiResource(KubernetesKind kind) {
+    KubernetesApiResource resource = apiResourceSupplier.get().get(kind);
+    if (resource == null) {
+      throw new KubectlException(
+          "Kind " + kind + " cannot be listed and watched in account " + accountName);
+    }
+    return resource;
+  }
+
   @Nonnull
   private ImmutableList<String> namespaceSupplier() {
     try {
@@ -480,6 +503,66 @@ public class KubernetesCredentials {
     }
   }
 
+  /**
+   * Lists the given kinds, leaving out the parts of each manifest that the projection omits. Only
+   * use this where the omitted parts are known not to be needed, such as for caching.
+   */
+  @Nonnull
+  public ImmutableList<KubernetesManifest> list(
+      List<KubernetesKind> kinds, String namespace, KubernetesManifestProjection projection) {
+    if (kinds.isEmpty()) {
+      return ImmutableList.of();
+    } else {
+      return runAndRecordMetrics(
+          "list",
+          kinds,
+          namespace,
+          () -> jobExecutor.list(this, kinds, namespace, new KubernetesSelectorList(), projection));
+    }
+  }
+
+  /**
+   * Lists a kind together with the resourceVersion of the listing, which can be used to {@link
+   * #watch} the kind for changes.
+   */
+  @Nonnull
+  public KubernetesResourceList listForWatch(
+      KubernetesKind kind, String namespace, KubernetesManifestProjection projection) {
+    return runAndRecordMetrics(
+        "list",
+        kind,
+        namespace,
+        () -> jobExecutor.listResources(this, getApiResource(kind), namespace, projection));
+  }
+
+  /**
+   * Watches a kind for changes starting at resourceVersion, until the watch times out.
+   *
+   * @return the resourceVersion to resume watching from
+   */
+  @Nonnull
+  public String watch(
+      KubernetesKind kind,
+      String namespace,
+      String resourceVersion,
+      int timeoutSeconds,
+      KubernetesManifestProjection projection,
+      Consumer<KubernetesWatchEvent> consumer) {
+    return runAndRecordMetrics(
+        "watch",
+        kind,
+        namespace,
+        () ->
+            jobExecutor.watchResources(
+                this,
+                getApiResource(kind),
+                namespace,
+                resourceVersion,
+                timeoutSeconds,
+                projection,
+                consumer));
+  }
+
   /** Deprecated in favor of {@link KubernetesCredentials#eventsFor(KubernetesCoordinates)}. */
   @Deprecated
   @Nonnull
@@ -152,7 +152,7 @@ final class KubernetesCoreCachingAgentTest {
                 .name(STORAGE_CLASS_NAME)
                 .build()))
         .thenReturn(storageClassManifest());
-    when(credentials.list(any(List.class), any()))
+    when(credentials.list(any(List.class), any(), any(KubernetesManifestProjection.class)))
         .thenAnswer(
             (Answer<ImmutableList<KubernetesManifest>>)
                 invocation -> {
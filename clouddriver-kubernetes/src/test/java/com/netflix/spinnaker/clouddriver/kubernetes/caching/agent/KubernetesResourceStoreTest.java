@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.caching.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.agent.KubernetesResourceStore.Changes;
+import com.netflix.spinnaker.clouddriver.kubernetes.caching.agent.KubernetesResourceStore.Scope;
+import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesResourceList;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesWatchEvent;
+import com.netflix.spinnaker.clouddriver.kubernetes.op.job.KubectlJobExecutor.KubectlResourceVersionExpiredException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class KubernetesResourceStoreTest {
+  private static final String NAMESPACE = "test-namespace";
+  private static final Scope POD_SCOPE = new Scope(KubernetesKind.POD, NAMESPACE);
+
+  private FakeApiServer apiServer;
+  private KubernetesConfigurationProperties.Watch properties;
+  private KubernetesResourceStore store;
+
+  @BeforeEach
+  void setup() {
+    apiServer = new FakeApiServer();
+    properties = new KubernetesConfigurationProperties.Watch();
+    properties.setRetryBackoffMs(10);
+    store = newStore(namespace -> true);
+  }
+
+  @AfterEach
+  void shutdown() {
+    store.shutdown();
+  }
+
+  @Test
+  void initialListRequiresRebuild() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    apiServer.put(pod("pod-b", "app-b", "Pending"));
+
+    store.watch(List.of(POD_SCOPE));
+    await(() -> store.isSynced());
+
+    Changes changes = drain();
+    assertThat(changes.isRebuildRequired()).isTrue();
+    assertThat(changes.getResources().get(KubernetesKind.POD))
+        .extracting(KubernetesManifest::getName)
+        .containsExactlyInAnyOrder("pod-a", "pod-b");
+
+    Changes unchanged = drain();
+    assertThat(unchanged.isRebuildRequired()).isFalse();
+    assertThat(unchanged.getModified()).isEmpty();
+    assertThat(unchanged.getResources().get(KubernetesKind.POD)).hasSize(2);
+  }
+
+  @Test
+  void statusChangesAreTrackedPerResource() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    apiServer.put(pod("pod-b", "app-b", "Pending"));
+    syncAndDrain();
+
+    apiServer.put(pod("pod-a", "app-a", "Running"));
+
+    Changes changes = awaitChanges(c -> !c.getModified().isEmpty());
+    assertThat(changes.isRebuildRequired()).isFalse();
+    assertThat(changes.getModified())
+        .extracting(KubernetesManifest::getName)
+        .containsExactly("pod-a");
+    assertThat(changes.getModified().get(0).get("status")).isEqualTo(Map.of("phase", "Running"));
+  }
+
+  @Test
+  void labelChangesRequireRebuild() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    syncAndDrain();
+
+    apiServer.put(pod("pod-a", "app-b", "Pending"));
+
+    Changes changes = awaitChanges(Changes::isRebuildRequired);
+    assertThat(changes.getModified()).isEmpty();
+  }
+
+  @Test
+  void additionsAndDeletionsRequireRebuild() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    syncAndDrain();
+
+    apiServer.put(pod("pod-b", "app-a", "Pending"));
+    Changes added = awaitChanges(Changes::isRebuildRequired);
+    assertThat(added.getResources().get(KubernetesKind.POD))
+        .extracting(KubernetesManifest::getName)
+        .containsExactlyInAnyOrder("pod-a", "pod-b");
+
+    apiServer.delete("pod-a");
+    Changes deleted = awaitChanges(Changes::isRebuildRequired);
+    assertThat(deleted.getResources().get(KubernetesKind.POD))
+        .extracting(KubernetesManifest::getName)
+        .containsExactly("pod-b");
+  }
+
+  @Test
+  void relistsWhenResourceVersionExpires() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    apiServer.put(pod("pod-b", "app-a", "Pending"));
+    syncAndDrain();
+
+    // the deletion is never delivered to the running watch, and its history is compacted away, so
+    // the store can only learn about it by listing the pods again
+    apiServer.pause();
+    apiServer.delete("pod-a");
+    apiServer.compact();
+    apiServer.resume();
+
+    Changes changes = awaitChanges(Changes::isRebuildRequired);
+    assertThat(changes.getResources().get(KubernetesKind.POD))
+        .extracting(KubernetesManifest::getName)
+        .containsExactly("pod-b");
+    assertThat(apiServer.listCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  void forgetsResourcesThatAreNoLongerWatched() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    syncAndDrain();
+
+    store.watch(List.of());
+
+    Changes changes = drain();
+    assertThat(changes.isRebuildRequired()).isTrue();
+    assertThat(changes.getResources()).isEmpty();
+  }
+
+  @Test
+  void changesAreKeptUntilStored() throws InterruptedException {
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    syncAndDrain();
+
+    apiServer.put(pod("pod-a", "app-a", "Running"));
+    await(() -> !store.pendingChanges().getModified().isEmpty());
+
+    // the cache write failed, so the change is built again on the next run
+    Changes unstored = store.pendingChanges();
+    assertThat(store.pendingChanges().getModified())
+        .extracting(KubernetesManifest::getName)
+        .containsExactly("pod-a");
+
+    // a change made after the stored changes were built is not forgotten
+    apiServer.put(pod("pod-b", "app-a", "Pending"));
+    await(() -> store.pendingChanges().isRebuildRequired());
+    store.markStored(unstored);
+
+    Changes changes = store.pendingChanges();
+    assertThat(changes.isRebuildRequired()).isTrue();
+    store.markStored(changes);
+    assertThat(store.pendingChanges().isRebuildRequired()).isFalse();
+    assertThat(store.pendingChanges().getModified()).isEmpty();
+  }
+
+  @Test
+  void watchesAcrossNamespacesKeepingOnlyFilteredNamespaces() throws InterruptedException {
+    store.shutdown();
+    store = newStore(NAMESPACE::equals);
+    apiServer.put(pod("pod-a", "app-a", "Pending"));
+    apiServer.put(pod("pod-b", "other-namespace", "app-a", "Pending"));
+
+    store.watch(List.of(new Scope(KubernetesKind.POD, "")));
+    await(() -> store.isSynced());
+
+    assertThat(drain().getResources().get(KubernetesKind.POD))
+        .extracting(KubernetesManifest::getName)
+        .containsExactly("pod-a");
+
+    apiServer.put(pod("pod-c", "other-namespace", "app-a", "Pending"));
+    apiServer.put(pod("pod-d", "app-a", "Pending"));
+    Changes changes = awaitChanges(Changes::isRebuildRequired);
+    assertThat(changes.getResources().get(KubernetesKind.POD))
+        .extracting(KubernetesManifest::getName)
+        .containsExactlyInAnyOrder("pod-a", "pod-d");
+  }
+
+  @Test
+  void doesNotWatchBeyondTheInformerLimit() {
+    properties.setMaxInformers(1);
+
+    assertThat(store.watch(List.of(POD_SCOPE, new Scope(KubernetesKind.POD, "other-namespace"))))
+        .isFalse();
+    assertThat(store.watch(List.of(POD_SCOPE))).isTrue();
+
+    KubernetesResourceStore other = newStore(namespace -> true);
+    try {
+      assertThat(other.watch(List.of(new Scope(KubernetesKind.POD, "other-namespace"))))
+          .isFalse();
+      store.watch(List.of());
+      assertThat(other.watch(List.of(new Scope(KubernetesKind.POD, "other-namespace"))))
+          .isTrue();
+    } finally {
+      other.shutdown();
+    }
+  }
+
+  private KubernetesResourceStore newStore(Predicate<String> namespaceFilter) {
+    return new KubernetesResourceStore(
+        "test", apiServer, properties, namespaceFilter, Long.MAX_VALUE, Clock.systemUTC());
+  }
+
+  private Changes drain() {
+    Changes changes = store.pendingChanges();
+    store.markStored(changes);
+    return changes;
+  }
+
+  private void syncAndDrain() throws InterruptedException {
+    store.watch(List.of(POD_SCOPE));
+    await(() -> store.isSynced());
+    drain();
+  }
+
+  private Changes awaitChanges(Predicate<Changes> condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (System.currentTimeMillis() < deadline) {
+      Changes changes = drain();
+      if (condition.test(changes)) {
+        return changes;
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("Timed out waiting for changes");
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Timed out waiting for condition");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  private static KubernetesManifest pod(String name, String app, String phase) {
+    return pod(name, NAMESPACE, app, phase);
+  }
+
+  private static KubernetesManifest pod(String name, String namespace, String app, String phase) {
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("name", name);
+    metadata.put("namespace", namespace);
+    metadata.put("labels", new HashMap<>(Map.of("app", app)));
+
+    KubernetesManifest pod = new KubernetesManifest();
+    pod.put("apiVersion", "v1");
+    pod.put("kind", "Pod");
+    pod.put("metadata", metadata);
+    pod.put("status", Map.of("phase", phase));
+    return pod;
+  }
+
+  /**
+   * A minimal in-memory API server for a single collection of pods. It keeps a history of changes
+   * to serve watches from, which can be compacted to make older resourceVersions expire.
+   */
+  private static class FakeApiServer implements KubernetesResourceSource {
+    private final Map<String, KubernetesManifest> pods = new LinkedHashMap<>();
+    private final List<HistoryEntry> history = new ArrayList<>();
+    private final AtomicInteger listCount = new AtomicInteger();
+    private long resourceVersion = 0;
+    private long compactedVersion = 0;
+    private boolean paused = false;
+
+    synchronized void put(KubernetesManifest pod) {
+      KubernetesWatchEvent.Type type =
+          pods.containsKey(pod.getName())
+              ? KubernetesWatchEvent.Type.MODIFIED
+              : KubernetesWatchEvent.Type.ADDED;
+      record(type, pod);
+      pods.put(pod.getName(), pod);
+    }
+
+    synchronized void delete(String name) {
+      KubernetesManifest pod = pods.remove(name);
+      record(KubernetesWatchEvent.Type.DELETED, pod);
+    }
+
+    synchronized void pause() {
+      paused = true;
+    }
+
+    synchronized void resume() {
+      paused = false;
+      notifyAll();
+    }
+
+    synchronized void compact() {
+      history.clear();
+      compactedVersion = resourceVersion;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(KubernetesWatchEvent.Type type, KubernetesManifest pod) {
+      resourceVersion++;
+      ((Map<String, Object>) pod.get("metadata"))
+          .put("resourceVersion", String.valueOf(resourceVersion));
+      history.add(new HistoryEntry(resourceVersion, new KubernetesWatchEvent(type, pod)));
+      notifyAll();
+    }
+
+    @Override
+    public synchronized KubernetesResourceList list(KubernetesKind kind, String namespace) {
+      listCount.incrementAndGet();
+      return new KubernetesResourceList(
+          ImmutableList.copyOf(pods.values()), String.valueOf(resourceVersion));
+    }
+
+    @Override
+    public synchronized String watch(
+        KubernetesKind kind,
+        String namespace,
+        String fromResourceVersion,
+        int timeoutSeconds,
+        Consumer<KubernetesWatchEvent> consumer) {
+      long current = Long.parseLong(fromResourceVersion);
+      if (current < compactedVersion) {
+        throw new KubectlResourceVersionExpiredException("too old resource version");
+      }
+
+      // watches are closed quickly so that the store's watch loop is exercised
+      long deadline = System.currentTimeMillis() + 100;
+      while (true) {
+        if (!paused) {
+          for (HistoryEntry entry : history) {
+            if (entry.resourceVersion > current) {
+              consumer.accept(entry.event);
+              current = entry.resourceVersion;
+            }
+          }
+        }
+
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          return String.valueOf(current);
+        }
+        try {
+          wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return String.valueOf(current);
+        }
+      }
+    }
+  }
+
+  private static class HistoryEntry {
+    private final long resourceVersion;
+    private final KubernetesWatchEvent event;
+
+    HistoryEntry(long resourceVersion, KubernetesWatchEvent event) {
+      this.resourceVersion = resourceVersion;
+      this.event = event;
+    }
+  }
+}
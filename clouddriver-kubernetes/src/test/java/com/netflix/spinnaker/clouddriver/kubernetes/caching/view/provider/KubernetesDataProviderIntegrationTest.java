@@ -54,6 +54,7 @@ import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesCoordi
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesSpinnakerKindMap;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
 import com.netflix.spinnaker.clouddriver.kubernetes.names.KubernetesManifestNamer;
 import com.netflix.spinnaker.clouddriver.kubernetes.names.KubernetesNamerRegistry;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.KubernetesDeploymentHandler;
@@ -90,6 +91,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.internal.stubbing.defaultanswers.ReturnsSmartNulls;
+import org.mockito.stubbing.Answer;
 
 @ExtendWith(SoftAssertionsExtension.class)
 final class KubernetesDataProviderIntegrationTest {
@@ -576,21 +578,29 @@ final class KubernetesDataProviderIntegrationTest {
 
   private static KubectlJobExecutor getJobExecutor() {
     KubectlJobExecutor jobExecutor = mock(KubectlJobExecutor.class, new ReturnsSmartNulls());
+    Answer<ImmutableList<KubernetesManifest>> listAnswer =
+        invocation ->
+            manifestsByNamespace.get(invocation.getArgument(2, String.class)).stream()
+                .map(
+                    file ->
+                        ManifestFetcher.getManifest(
+                                KubernetesDataProviderIntegrationTest.class, file)
+                            .get(0))
+                .filter(m -> invocation.getArgument(1, List.class).contains(m.getKind()))
+                .collect(toImmutableList());
     when(jobExecutor.list(
             any(KubernetesCredentials.class),
             anyList(),
             any(String.class),
             any(KubernetesSelectorList.class)))
-        .thenAnswer(
-            invocation ->
-                manifestsByNamespace.get(invocation.getArgument(2, String.class)).stream()
-                    .map(
-                        file ->
-                            ManifestFetcher.getManifest(
-                                    KubernetesDataProviderIntegrationTest.class, file)
-                                .get(0))
-                    .filter(m -> invocation.getArgument(1, List.class).contains(m.getKind()))
-                    .collect(toImmutableList()));
+        .thenAnswer(listAnswer);
+    when(jobExecutor.list(
+            any(KubernetesCredentials.class),
+            anyList(),
+            any(String.class),
+            any(KubernetesSelectorList.class),
+            any(KubernetesManifestProjection.class)))
+        .thenAnswer(listAnswer);
     return jobExecutor;
   }
 
@@ -37,6 +37,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
+import com.google.gson.JsonParser;
 import com.netflix.spinnaker.clouddriver.data.task.InMemoryTaskRepository;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutionException;
 import com.netflix.spinnaker.clouddriver.jobs.JobExecutor;
@@ -44,10 +45,18 @@ import com.netflix.spinnaker.clouddriver.jobs.JobRequest;
 import com.netflix.spinnaker.clouddriver.jobs.JobResult;
 import com.netflix.spinnaker.clouddriver.jobs.JobResult.Result;
 import com.netflix.spinnaker.clouddriver.jobs.local.JobExecutorLocal;
+import com.netflix.spinnaker.clouddriver.jobs.local.ReaderConsumer;
 import com.netflix.spinnaker.clouddriver.kubernetes.config.KubernetesConfigurationProperties;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPodMetric;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.KubernetesPodMetric.ContainerMetric;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesApiResource;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesApiVersion;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesKind;
 import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifest;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesManifestProjection;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesResourceList;
+import com.netflix.spinnaker.clouddriver.kubernetes.description.manifest.KubernetesWatchEvent;
+import com.netflix.spinnaker.clouddriver.kubernetes.op.job.KubectlJobExecutor.KubectlResourceVersionExpiredException;
 import com.netflix.spinnaker.clouddriver.kubernetes.op.handler.ManifestFetcher;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials;
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesSelector;
@@ -57,9 +66,11 @@ import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -81,6 +92,15 @@ import org.slf4j.LoggerFactory;
 
 final class KubectlJobExecutorTest {
   private static final String NAMESPACE = "test-namespace";
+  private static final String PROJECTED_LIST_OUTPUT =
+      "{\"kind\":\"List\",\"apiVersion\":\"v1\",\"items\":[{\"kind\":\"Deployment\","
+          + "\"apiVersion\":\"apps/v1\",\"metadata\":{\"name\":\"my-deployment\","
+          + "\"namespace\":\"test-namespace\",\"annotations\":{"
+          + "\"deployment.kubernetes.io/revision\":\"2\","
+          + "\"kubectl.kubernetes.io/last-applied-configuration\":"
+          + "\"{\\\"kind\\\":\\\"Deployment\\\"}\"},"
+          + "\"managedFields\":[{\"manager\":\"kubectl\",\"fieldsV1\":{\"f:spec\":{}}}]},"
+          + "\"spec\":{\"replicas\":3,\"paused\":false,\"strategy\":null}}]}";
   JobExecutor jobExecutor;
   KubernetesConfigurationProperties kubernetesConfigurationProperties;
 
@@ -747,6 +767,179 @@ final class KubectlJobExecutorTest {
     assertThat(returnedManifest).isNull();
   }
 
+  @Test
+  void apiResourcesLocatesColumnsWithAndWithoutShortNames() {
+    when(jobExecutor.runJob(any(JobRequest.class)))
+        .thenReturn(
+            JobResult.<String>builder()
+                .result(Result.SUCCESS)
+                .output(
+                    "pods                 po       v1         true    Pod\n"
+                        + "deployments          deploy   apps/v1    true    Deployment\n"
+                        + "storageclasses                storage.k8s.io/v1  false  StorageClass\n")
+                .error("")
+                .build());
+
+    KubectlJobExecutor kubectlJobExecutor =
+        new KubectlJobExecutor(
+            jobExecutor, kubernetesConfigurationProperties, new SimpleMeterRegistry());
+    Map<KubernetesKind, KubernetesApiResource> resources =
+        kubectlJobExecutor.apiResources(mockKubernetesCredentials());
+
+    assertThat(resources).hasSize(3);
+    assertThat(resources.get(KubernetesKind.POD).getPath(NAMESPACE))
+        .isEqualTo("/api/v1/namespaces/" + NAMESPACE + "/pods");
+    assertThat(resources.get(KubernetesKind.DEPLOYMENT).getPath(NAMESPACE))
+        .isEqualTo("/apis/apps/v1/namespaces/" + NAMESPACE + "/deployments");
+    assertThat(resources.get(KubernetesKind.STORAGE_CLASS).getPath(NAMESPACE))
+        .isEqualTo("/apis/storage.k8s.io/v1/storageclasses");
+  }
+
+  @Test
+  void listResourcesReturnsItemsWithTheListResourceVersion() {
+    mockStreamingOutput(
+        "{\"kind\":\"PodList\",\"apiVersion\":\"v1\",\"metadata\":{\"resourceVersion\":\"42\"},"
+            + "\"items\":[{\"metadata\":{\"name\":\"my-pod\",\"namespace\":\"test-namespace\"}}]}");
+
+    KubectlJobExecutor kubectlJobExecutor =
+        new KubectlJobExecutor(
+            jobExecutor, kubernetesConfigurationProperties, new SimpleMeterRegistry());
+    KubernetesResourceList list =
+        kubectlJobExecutor.listResources(
+            mockKubernetesCredentials(),
+            podResource(),
+            NAMESPACE,
+            KubernetesManifestProjection.NONE);
+
+    assertThat(list.getResourceVersion()).isEqualTo("42");
+    assertThat(list.getItems()).hasSize(1);
+    assertThat(list.getItems().get(0).getKind()).isEqualTo(KubernetesKind.POD);
+    assertThat(list.getItems().get(0).getName()).isEqualTo("my-pod");
+  }
+
+  @Test
+  void watchResourcesPassesEventsAndReturnsTheLastResourceVersion() {
+    mockStreamingOutput(
+        "{\"type\":\"ADDED\",\"object\":{\"kind\":\"Pod\",\"apiVersion\":\"v1\","
+            + "\"metadata\":{\"name\":\"a\",\"resourceVersion\":\"43\"}}}\n"
+            + "{\"type\":\"DELETED\",\"object\":{\"kind\":\"Pod\",\"apiVersion\":\"v1\","
+            + "\"metadata\":{\"name\":\"b\",\"resourceVersion\":\"44\"}}}\n"
+            + "{\"type\":\"BOOKMARK\",\"object\":{\"kind\":\"Pod\",\"apiVersion\":\"v1\","
+            + "\"metadata\":{\"resourceVersion\":\"50\"}}}\n");
+
+    KubectlJobExecutor kubectlJobExecutor =
+        new KubectlJobExecutor(
+            jobExecutor, kubernetesConfigurationProperties, new SimpleMeterRegistry());
+    List<KubernetesWatchEvent> events = new ArrayList<>();
+    String resourceVersion =
+        kubectlJobExecutor.watchResources(
+            mockKubernetesCredentials(),
+            podResource(),
+            NAMESPACE,
+            "42",
+            60,
+            KubernetesManifestProjection.NONE,
+            events::add);
+
+    assertThat(resourceVersion).isEqualTo("50");
+    assertThat(events)
+        .extracting(KubernetesWatchEvent::getType)
+        .containsExactly(KubernetesWatchEvent.Type.ADDED, KubernetesWatchEvent.Type.DELETED);
+    assertThat(events)
+        .extracting(event -> event.getObject().getName())
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  void watchResourcesThrowsWhenTheResourceVersionExpired() {
+    mockStreamingOutput(
+        "{\"type\":\"ERROR\",\"object\":{\"kind\":\"Status\",\"apiVersion\":\"v1\","
+            + "\"status\":\"Failure\",\"reason\":\"Expired\",\"code\":410}}\n");
+
+    KubectlJobExecutor kubectlJobExecutor =
+        new KubectlJobExecutor(
+            jobExecutor, kubernetesConfigurationProperties, new SimpleMeterRegistry());
+
+    assertThatThrownBy(
+            () ->
+                kubectlJobExecutor.watchResources(
+                    mockKubernetesCredentials(),
+                    podResource(),
+                    NAMESPACE,
+                    "1",
+                    60,
+                    KubernetesManifestProjection.NONE,
+                    event -> {}))
+        .isInstanceOf(KubectlResourceVersionExpiredException.class);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void listLeavesOutProjectedFields() {
+    mockStreamingOutput(PROJECTED_LIST_OUTPUT);
+
+    KubectlJobExecutor kubectlJobExecutor =
+        new KubectlJobExecutor(
+            jobExecutor, kubernetesConfigurationProperties, new SimpleMeterRegistry());
+    ImmutableList<KubernetesManifest> manifests =
+        kubectlJobExecutor.list(
+            mockKubernetesCredentials(),
+            List.of(KubernetesKind.DEPLOYMENT),
+            NAMESPACE,
+            new KubernetesSelectorList(),
+            new KubernetesManifestProjection(true, true));
+
+    assertThat(manifests).hasSize(1);
+    KubernetesManifest manifest = manifests.get(0);
+    assertThat(manifest.getName()).isEqualTo("my-deployment");
+    assertThat((Map<String, Object>) manifest.get("metadata")).doesNotContainKey("managedFields");
+    assertThat(manifest.getAnnotations()).containsOnlyKeys("deployment.kubernetes.io/revision");
+    assertThat(manifest.getReplicas()).isEqualTo(3);
+  }
+
+  @Test
+  void listReadsManifestsLikeGson() {
+    mockStreamingOutput(PROJECTED_LIST_OUTPUT);
+
+    KubectlJobExecutor kubectlJobExecutor =
+        new KubectlJobExecutor(
+            jobExecutor, kubernetesConfigurationProperties, new SimpleMeterRegistry());
+    ImmutableList<KubernetesManifest> manifests =
+        kubectlJobExecutor.list(
+            mockKubernetesCredentials(),
+            List.of(KubernetesKind.DEPLOYMENT),
+            NAMESPACE,
+            new KubernetesSelectorList());
+
+    KubernetesManifest expected =
+        new Gson()
+            .fromJson(
+                JsonParser.parseString(PROJECTED_LIST_OUTPUT)
+                    .getAsJsonObject()
+                    .getAsJsonArray("items")
+                    .get(0),
+                KubernetesManifest.class);
+    assertThat(manifests).containsExactly(expected);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void mockStreamingOutput(String output) {
+    when(jobExecutor.runJob(any(JobRequest.class), any(ReaderConsumer.class)))
+        .thenAnswer(
+            invocation -> {
+              ReaderConsumer<Object> consumer = invocation.getArgument(1);
+              return JobResult.builder()
+                  .result(Result.SUCCESS)
+                  .output(consumer.consume(new BufferedReader(new StringReader(output))))
+                  .error("")
+                  .build();
+            });
+  }
+
+  private static KubernetesApiResource podResource() {
+    return new KubernetesApiResource("pods", KubernetesApiVersion.V1, "Pod", true);
+  }
+
   /** Returns a mock KubernetesCredentials object */
   private static KubernetesCredentials mockKubernetesCredentials() {
     return mockKubernetesCredentials("");
@@ -18,6 +18,7 @@ package com.netflix.spinnaker.clouddriver.saga
 import com.fasterxml.jackson.annotation.JsonTypeName
 import com.netflix.spinnaker.clouddriver.event.AbstractSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.event.SpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.TerminalSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.saga.models.Saga
 import com.netflix.spinnaker.kork.exceptions.SpinnakerException
 
@@ -112,7 +113,7 @@ class SagaLogAppended(
 @JsonTypeName("sagaCompleted")
 class SagaCompleted(
   val success: Boolean
-) : AbstractSagaEvent()
+) : AbstractSagaEvent(), TerminalSpinnakerEvent
 
 /**
  * Emitted when a [Saga] enters a rollback state.
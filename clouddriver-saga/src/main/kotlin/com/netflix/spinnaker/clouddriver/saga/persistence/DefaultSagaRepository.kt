@@ -33,20 +33,15 @@ class DefaultSagaRepository(
 
   private val log by lazy { LoggerFactory.getLogger(javaClass) }
 
+  /**
+   * Running [Saga]s are listed from the aggregates that are not completed, so that listing them only
+   * reads the Sagas that are still in progress.
+   */
   override fun list(criteria: SagaRepository.ListCriteria): List<Saga> {
-    val sagas = if (criteria.names != null && criteria.names.isNotEmpty()) {
-      var token: String? = null
-      val aggregates: MutableList<Aggregate> = mutableListOf()
-      do {
-        eventRepository.listAggregates(ListAggregatesCriteria(token = token, perPage = 1_000)).let {
-          aggregates.addAll(it.aggregates)
-          token = it.nextPageToken
-        }
-      } while (token != null)
-      aggregates
-    } else {
-      eventRepository.listAggregates(ListAggregatesCriteria()).aggregates
-    }.mapNotNull { get(it.type, it.id) }
+    val types = criteria.names?.takeIf { it.isNotEmpty() } ?: listOf(null)
+    val sagas = types
+      .flatMap { listAggregates(it, completed = criteria.running?.not()) }
+      .mapNotNull { get(it.type, it.id) }
 
     return if (criteria.running == null) {
       sagas
@@ -55,6 +50,20 @@ class DefaultSagaRepository(
     }
   }
 
+  private fun listAggregates(type: String?, completed: Boolean?): List<Aggregate> {
+    var token: String? = null
+    val aggregates: MutableList<Aggregate> = mutableListOf()
+    do {
+      eventRepository.listAggregates(
+        ListAggregatesCriteria(aggregateType = type, token = token, perPage = 1_000, completed = completed)
+      ).let {
+        aggregates.addAll(it.aggregates)
+        token = it.nextPageToken
+      }
+    } while (token != null)
+    return aggregates
+  }
+
   override fun get(type: String, id: String): Saga? {
     val events = eventRepository.list(type, id)
     if (events.isEmpty()) {
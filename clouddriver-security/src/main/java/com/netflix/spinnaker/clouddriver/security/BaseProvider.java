@@ -28,17 +28,28 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public abstract class BaseProvider extends AgentSchedulerAware implements Provider {
   private final Collection<Agent> agents = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final AtomicLong agentsVersion = new AtomicLong();
 
   public final Collection<Agent> getAgents() {
     return ImmutableList.copyOf(agents);
   }
 
+  /**
+   * @return a version that changes whenever agents are added or removed, so that anything derived
+   *     from the agents can tell whether it has to be derived again without going through them
+   */
+  public final long getAgentsVersion() {
+    return agentsVersion.get();
+  }
+
   public final void addAgents(Collection<? extends Agent> agentsToSchedule) {
     agents.addAll(agentsToSchedule);
+    agentsVersion.incrementAndGet();
 
     AgentScheduler<?> agentScheduler = getAgentScheduler();
     if (agentScheduler instanceof CatsModuleAware) {
@@ -64,6 +75,7 @@ public abstract class BaseProvider extends AgentSchedulerAware implements Provid
             agentsToDelete.forEach(scheduler::unschedule);
           }
           agents.removeAll(agentsToDelete);
+          agentsVersion.incrementAndGet();
         });
   }
 }
@@ -149,6 +149,16 @@ class SqlTask(
     this.taskOutputs = taskOutputs
   }
 
+  /**
+   * Returns a copy of the task as it was last read, which shares no mutable state with it.
+   */
+  internal fun copy(): SqlTask =
+    SqlTask(id, ownerId, requestId, startTimeMs, sagaIds.toMutableSet(), repository).also {
+      it.hydrateResultObjects(resultObjects.toMutableList())
+      it.hydrateHistory(history.toMutableList())
+      it.hydrateTaskOutputs(taskOutputs.toMutableList())
+    }
+
   internal fun refresh(force: Boolean = false) {
     if (this.dirty.getAndSet(false) || force) {
       val task = repository.retrieveInternal(this.id)
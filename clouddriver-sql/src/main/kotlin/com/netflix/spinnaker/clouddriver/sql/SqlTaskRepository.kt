@@ -18,35 +18,98 @@ package com.netflix.spinnaker.clouddriver.sql
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.clouddriver.core.ClouddriverHostname
 import com.netflix.spinnaker.clouddriver.data.task.DefaultTaskStatus
+import com.netflix.spinnaker.clouddriver.data.task.SagaId
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskOutput
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
 import com.netflix.spinnaker.clouddriver.data.task.TaskState
 import com.netflix.spinnaker.clouddriver.data.task.TaskState.FAILED
 import com.netflix.spinnaker.clouddriver.data.task.TaskState.STARTED
+import com.netflix.spinnaker.clouddriver.data.task.VersionedTaskRepository
 import com.netflix.spinnaker.kork.sql.routing.withPool
 import de.huxhorn.sulky.ulid.ULID
 import java.time.Clock
+import java.time.Duration
+import java.util.Objects
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
 import org.jooq.Condition
 import org.jooq.DSLContext
+import org.jooq.Field
 import org.jooq.Record
 import org.jooq.Select
+import org.jooq.Table
 import org.jooq.impl.DSL.field
 import org.jooq.impl.DSL.max
 import org.jooq.impl.DSL.sql
 import org.slf4j.LoggerFactory
 
-class SqlTaskRepository(
+/**
+ * @param writeBehindFlushInterval when set, status and output updates are buffered in memory and
+ * written in batches on this interval (or sooner, when the task is read or changes state), rather
+ * than one at a time. Until then, they are only visible to this instance.
+ * @param maxPendingRows how many updates are buffered at most; once the buffer is full (e.g. because
+ * the database has been unavailable for a while), updates are written right away.
+ */
+class SqlTaskRepository @JvmOverloads constructor(
   private val jooq: DSLContext,
   private val mapper: ObjectMapper,
   private val clock: Clock,
-  private val poolName: String
-) : TaskRepository {
+  private val poolName: String,
+  private val writeBehindFlushInterval: Duration? = null,
+  private val maxPendingRows: Int = DEFAULT_MAX_PENDING_ROWS
+) : VersionedTaskRepository {
 
   private val log = LoggerFactory.getLogger(javaClass)
 
+  // copies of the tasks read by get(), with the version they were read at (least recently read first)
+  private val taskCache = object : LinkedHashMap<String, CachedTask>(16, 0.75f, true) {
+    override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CachedTask>) =
+      size > MAX_CACHED_TASKS
+  }
+
+  // callers waiting for a task to change, by task id
+  private val waiters = ConcurrentHashMap<String, MutableSet<Waiter>>()
+  private val changeExecutor = Executors.newScheduledThreadPool(CHANGE_THREADS) { runnable ->
+    Thread(runnable, "${javaClass.simpleName}-changes").apply { isDaemon = true }
+  }.also {
+    it.scheduleWithFixedDelay(
+      { checkWaiters(waiters.keys.toList()) }, CHANGE_POLL_INTERVAL_MS, CHANGE_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS
+    )
+  }
+
+  // buffered updates by task id, and how many rows they hold (both guarded by pendingWrites); the
+  // updates of a task are only taken out of the buffer while holding its lock (see lockIndex), so
+  // that they are written before any update that depends on them
+  private val pendingWrites = mutableMapOf<String, PendingWrites>()
+  private var pendingRows = 0
+  private val taskLocks = Array(TASK_LOCKS) { ReentrantLock() }
+  private val flushExecutor: ScheduledExecutorService? = writeBehindFlushInterval?.let { interval ->
+    Executors.newSingleThreadScheduledExecutor { runnable ->
+      Thread(runnable, "${javaClass.simpleName}-write-behind").apply { isDaemon = true }
+    }.also {
+      it.scheduleWithFixedDelay(
+        { flushPendingWrites() }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS
+      )
+    }
+  }
+
   init {
-    log.info("Using ${javaClass.simpleName} with pool $poolName")
+    log.info("Using ${javaClass.simpleName} with pool $poolName (write-behind: ${writeBehindFlushInterval ?: "disabled"})")
+  }
+
+  /**
+   * Writes any buffered updates and stops buffering them.
+   */
+  fun close() {
+    changeExecutor.shutdown()
+    flushExecutor?.shutdown()
+    flushPendingWrites()
   }
 
   override fun create(phase: String, status: String): Task {
@@ -84,7 +147,7 @@ class SqlTaskRepository(
   }
 
   fun updateSagaIds(task: Task) {
-    return withPool(poolName) {
+    withPool(poolName) {
       jooq.transactional { ctx ->
         ctx.update(tasksTable)
           .set(field("saga_ids"), mapper.writeValueAsString(task.sagaIds))
@@ -92,10 +155,126 @@ class SqlTaskRepository(
           .execute()
       }
     }
+    signalChange(task.id)
   }
 
+  /**
+   * Returns a copy of the task as it was last read, if its version did not change since, so that
+   * polling an unchanged task only costs a version lookup. Tasks that are not cached are read
+   * without looking up their version first, as it is derived from the rows that were read.
+   */
   override fun get(id: String): Task? {
-    return retrieveInternal(id)
+    val cached = synchronized(taskCache) { taskCache[id] }
+    if (cached != null && cached.version == getVersion(id)) {
+      return cached.task.copy()
+    }
+    return retrieveAndCache(id)
+  }
+
+  override fun get(id: String, version: String): Task? {
+    val cached = synchronized(taskCache) { taskCache[id] }
+    if (cached != null && cached.version == version) {
+      return cached.task.copy()
+    }
+    return retrieveAndCache(id)
+  }
+
+  private fun retrieveAndCache(id: String): Task? =
+    (retrieveInternal(id) as SqlTask?)?.also { task ->
+      synchronized(taskCache) { taskCache[id] = CachedTask(versionOf(task), task.copy()) }
+    }
+
+  override fun getVersion(id: String): String? {
+    return getVersions(listOf(id))[id]
+  }
+
+  private fun getVersions(ids: Collection<String>): Map<String, String> {
+    ids.forEach { flushPendingWrites(it) }
+    return withPool(poolName) {
+      jooq.read { ctx ->
+        ctx
+          .select(
+            field("id"),
+            field("owner_id"),
+            field("saga_ids"),
+            rowCount(ctx, taskStatesTable),
+            rowCount(ctx, taskResultsTable),
+            rowCount(ctx, taskOutputsTable)
+          )
+          .from(tasksTable)
+          .where(field("id").`in`(ids))
+          .fetch()
+          .associate { record ->
+            record.get(0, String::class.java) to versionOf(
+              record.get(3, Int::class.javaObjectType),
+              record.get(4, Int::class.javaObjectType),
+              record.get(5, Int::class.javaObjectType),
+              record.get(1, String::class.java),
+              record.get(2, String::class.java)?.let { mapper.readValue(it, TaskMapper.SAGA_IDS_TYPE) } ?: emptySet()
+            )
+          }
+      }
+    }
+  }
+
+  private fun rowCount(ctx: DSLContext, table: Table<Record>): Field<Int> =
+    ctx.selectCount()
+      .from(table)
+      .where(field("task_id").eq(field("${tasksTable.name}.id")))
+      .asField()
+
+  // rows are only ever added to the other tables while a task exists, so counting them is enough
+  private fun versionOf(states: Int, results: Int, outputs: Int, ownerId: String?, sagaIds: Set<SagaId>): String =
+    listOf(states, results, outputs, Integer.toHexString(Objects.hash(ownerId, sagaIds))).joinToString(".")
+
+  private fun versionOf(task: SqlTask): String =
+    versionOf(task.getHistory().size, task.getResultObjects().size, task.getOutputs().size, task.ownerId, task.getSagaIds())
+
+  /**
+   * Completes as soon as this instance changes the task. Changes made by other instances are picked
+   * up by a single poller, which checks the versions of every awaited task together every
+   * [CHANGE_POLL_INTERVAL_MS]. The returned future is completed on a thread of [changeExecutor], or
+   * on timeout without a change.
+   */
+  override fun awaitChange(id: String, version: String, timeout: Duration): CompletableFuture<String?> {
+    val waiter = Waiter(version, CompletableFuture())
+    waiters.compute(id) { _, existing -> (existing ?: ConcurrentHashMap.newKeySet()).apply { add(waiter) } }
+    waiter.future
+      .completeOnTimeout(version, timeout.toMillis(), TimeUnit.MILLISECONDS)
+      .whenComplete { _, _ ->
+        waiters.computeIfPresent(id) { _, existing -> existing.apply { remove(waiter) }.takeIf { it.isNotEmpty() } }
+      }
+
+    // the task may have changed before the waiter was added
+    changeExecutor.execute { checkWaiters(listOf(id)) }
+    return waiter.future
+  }
+
+  private fun checkWaiters(ids: Collection<String>) {
+    if (ids.isEmpty()) {
+      return
+    }
+
+    val versions = try {
+      getVersions(ids)
+    } catch (e: Exception) {
+      log.warn("Failed to check ${ids.size} tasks for changes", e)
+      return
+    }
+
+    ids.forEach { id ->
+      val current = versions[id]
+      waiters[id]?.filter { it.version != current }?.forEach { waiter ->
+        // callers may continue by reading the task, which should not hold up other waiters
+        changeExecutor.execute { waiter.future.complete(current) }
+      }
+    }
+  }
+
+  private fun signalChange(taskId: String) {
+    if (waiters.containsKey(taskId)) {
+      changeExecutor.execute { checkWaiters(listOf(taskId)) }
+    }
   }
 
   override fun getByClientRequestId(clientRequestId: String): Task? {
@@ -113,6 +292,7 @@ class SqlTaskRepository(
   }
 
   override fun list(): MutableList<Task> {
+    flushPendingWrites()
     return withPool(poolName) {
       jooq.read {
         runningTaskIds(it, false).let { taskIds ->
@@ -123,6 +303,7 @@ class SqlTaskRepository(
   }
 
   override fun listByThisInstance(): MutableList<Task> {
+    flushPendingWrites()
     return withPool(poolName) {
       jooq.read {
         runningTaskIds(it, true).let { taskIds ->
@@ -133,105 +314,231 @@ class SqlTaskRepository(
   }
 
   internal fun addResultObjects(results: List<Any>, task: Task) {
-    val resultIdPairs = results.map { ulid.nextULID() to it }.toMap()
-
-    withPool(poolName) {
-      jooq.transactional { ctx ->
-        ctx.select(taskStatesFields)
-          .from(taskStatesTable)
-          .where(field("task_id").eq(task.id))
-          .orderBy(field("created_at").asc())
-          .limit(1)
-          .fetchTaskStatus()
-          ?.run {
-            ensureUpdateable()
-          }
+    val resultRows = results.map { listOf(ulid.nextULID(), task.id, mapper.writeValueAsString(it)) }
 
-        resultIdPairs.forEach { result ->
-          ctx.insertInto(taskResultsTable, listOf(field("id"), field("task_id"), field("body")))
-            .values(
-              listOf(
-                result.key,
-                task.id,
-                mapper.writeValueAsString(result.value)
-              )
-            )
-            .execute()
+    withPendingWrites(task.id) { ctx, _ ->
+      ctx.select(taskStatesFields)
+        .from(taskStatesTable)
+        .where(field("task_id").eq(task.id))
+        .orderBy(field("created_at").asc())
+        .limit(1)
+        .fetchTaskStatus()
+        ?.run {
+          ensureUpdateable()
         }
-      }
+
+      insertRows(ctx, taskResultsTable, taskResultsFields, resultRows)
     }
+    signalChange(task.id)
   }
 
   internal fun updateCurrentStatus(task: Task, phase: String, status: String) {
+    addCurrentStatus(task, phase, status)
+    signalChange(task.id)
+  }
+
+  private fun addCurrentStatus(task: Task, phase: String, status: String) {
     val historyId = ulid.nextULID()
-    withPool(poolName) {
-      jooq.transactional { ctx ->
-        val state = selectLatestState(ctx, task.id)
-        addToHistory(ctx, historyId, task.id, state?.state ?: STARTED, phase, status.take(MAX_STATUS_LENGTH))
+    if (writeBehindFlushInterval != null) {
+      val buffered = synchronized(pendingWrites) {
+        pendingWrites[task.id]?.latestState()?.let { state ->
+          bufferRow(task.id) { it.states.add(historyRow(historyId, task.id, state, phase, status.take(MAX_STATUS_LENGTH))) }
+        } ?: false
+      }
+      if (buffered) {
+        return
+      }
+
+      // the latest state is only read once, for the first update of each batch
+      val state = withPool(poolName) { jooq.read { selectLatestState(it, task.id) } }?.state ?: STARTED
+      val added = synchronized(pendingWrites) {
+        bufferRow(task.id) {
+          it.states.add(historyRow(historyId, task.id, it.latestState() ?: state, phase, status.take(MAX_STATUS_LENGTH)))
+        }
       }
+      if (added) {
+        return
+      }
+    }
+
+    withPendingWrites(task.id) { ctx, pending ->
+      val state = pending?.latestState() ?: selectLatestState(ctx, task.id)?.state ?: STARTED
+      addToHistory(ctx, historyId, task.id, state, phase, status.take(MAX_STATUS_LENGTH))
     }
   }
 
   private fun addToHistory(ctx: DSLContext, id: String, taskId: String, state: TaskState, phase: String, status: String) {
-    ctx
-      .insertInto(
-        taskStatesTable,
-        listOf(field("id"), field("task_id"), field("created_at"), field("state"), field("phase"), field("status"))
-      )
-      .values(listOf(id, taskId, clock.millis(), state.toString(), phase, status))
-      .execute()
+    insertRows(ctx, taskStatesTable, taskStatesFields, listOf(historyRow(id, taskId, state, phase, status)))
   }
 
+  private fun historyRow(id: String, taskId: String, state: TaskState, phase: String, status: String): List<Any?> =
+    listOf(id, taskId, clock.millis(), state.toString(), phase, status)
+
   internal fun updateState(task: Task, state: TaskState) {
     val historyId = ulid.nextULID()
-    withPool(poolName) {
-      jooq.transactional { ctx ->
-        selectLatestState(ctx, task.id)?.let {
-          addToHistory(ctx, historyId, task.id, state, it.phase, it.status)
-        }
+    withPendingWrites(task.id) { ctx, pending ->
+      (pending?.states?.lastOrNull()?.let { taskStatusOf(it) } ?: selectLatestState(ctx, task.id))?.let {
+        addToHistory(ctx, historyId, task.id, state, it.phase, it.status)
       }
     }
+    signalChange(task.id)
   }
 
   internal fun updateOutput(taskOutput: TaskOutput, task: Task) {
     val outputId = ulid.nextULID()
-    withPool(poolName) {
-      jooq.transactional { ctx ->
+    val buffered = writeBehindFlushInterval != null && synchronized(pendingWrites) {
+      bufferRow(task.id) {
+        it.outputs.add(outputRow(outputId, task.id, taskOutput.manifest, taskOutput.phase, taskOutput.stdOut, taskOutput.stdError))
+      }
+    }
+    if (!buffered) {
+      withPendingWrites(task.id) { ctx, _ ->
         addToOutput(ctx, outputId, task.id, taskOutput.manifest, taskOutput.phase, taskOutput.stdOut, taskOutput.stdError)
       }
     }
+    signalChange(task.id)
   }
 
   private fun addToOutput(ctx: DSLContext, id: String, taskId: String, manifestName: String, phase: String, stdOut: String?, stdError: String?) {
-    ctx
-      .insertInto(
-        taskOutputsTable,
-        listOf(
-          field("id"),
-          field("task_id"),
-          field("created_at"),
-          field("manifest"),
-          field("phase"),
-          field("std_out"),
-          field("std_error")
-        )
-      )
-      .values(
-        listOf(
-          id,
-          taskId,
-          clock.millis(),
-          manifestName,
-          phase,
-          stdOut,
-          stdError
-        )
-      )
-      .execute()
+    insertRows(ctx, taskOutputsTable, taskOutputsFields, listOf(outputRow(id, taskId, manifestName, phase, stdOut, stdError)))
+  }
+
+  private fun outputRow(id: String, taskId: String, manifestName: String, phase: String, stdOut: String?, stdError: String?): List<Any?> =
+    listOf(id, taskId, clock.millis(), manifestName, phase, stdOut, stdError)
+
+  private fun insertRows(ctx: DSLContext, table: Table<Record>, fields: List<Field<Any>>, rows: List<List<Any?>>) {
+    if (rows.isEmpty()) {
+      return
+    }
+    var insert = ctx.insertInto(table, fields)
+    rows.forEach { insert = insert.values(it) }
+    insert.execute()
+  }
+
+  /**
+   * Adds a row to the buffered updates of a task, unless the buffer is full, in which case the row
+   * has to be written right away. Must be called while synchronized on [pendingWrites].
+   */
+  private fun bufferRow(taskId: String, add: (PendingWrites) -> Unit): Boolean {
+    if (pendingRows >= maxPendingRows) {
+      return false
+    }
+    add(pendingWrites.getOrPut(taskId) { PendingWrites() })
+    pendingRows++
+    return true
+  }
+
+  /**
+   * Takes the buffered updates of the given tasks out of the buffer. Must be called while
+   * synchronized on [pendingWrites].
+   */
+  private fun takePending(taskIds: Collection<String>): Map<String, PendingWrites> {
+    val taken = mutableMapOf<String, PendingWrites>()
+    taskIds.forEach { taskId ->
+      pendingWrites.remove(taskId)?.let {
+        taken[taskId] = it
+        pendingRows -= it.size()
+      }
+    }
+    return taken
+  }
+
+  private fun lockIndex(taskId: String): Int = Math.floorMod(taskId.hashCode(), TASK_LOCKS)
+
+  /**
+   * Runs [fn] in a transaction that first writes the buffered updates of the task (if any), which
+   * are passed to [fn].
+   */
+  private fun withPendingWrites(taskId: String, fn: (DSLContext, PendingWrites?) -> Unit) {
+    if (writeBehindFlushInterval == null) {
+      withPool(poolName) {
+        jooq.transactional { ctx -> fn(ctx, null) }
+      }
+      return
+    }
+
+    taskLocks[lockIndex(taskId)].withLock {
+      val pending = synchronized(pendingWrites) { takePending(listOf(taskId)) }[taskId]
+      try {
+        withPool(poolName) {
+          jooq.transactional { ctx ->
+            pending?.let { writePending(ctx, listOf(it)) }
+            fn(ctx, pending)
+          }
+        }
+      } catch (e: Exception) {
+        pending?.let { restorePending(mapOf(taskId to it)) }
+        throw e
+      }
+    }
   }
 
+  /**
+   * Writes every buffered update in one transaction, with one insert per table.
+   */
+  private fun flushPendingWrites() {
+    if (writeBehindFlushInterval == null) {
+      return
+    }
+
+    val taskIds = synchronized(pendingWrites) { pendingWrites.keys.toList() }
+    if (taskIds.isEmpty()) {
+      return
+    }
+
+    // the locks of the tasks are taken in order, as other callers only ever hold one of them
+    val locks = taskIds.map { lockIndex(it) }.distinct().sorted().map { taskLocks[it] }
+    locks.forEach { it.lock() }
+    try {
+      val pending = synchronized(pendingWrites) { takePending(taskIds) }
+      if (pending.isEmpty()) {
+        return
+      }
+
+      try {
+        withPool(poolName) {
+          jooq.transactional { ctx -> writePending(ctx, pending.values) }
+        }
+      } catch (e: Exception) {
+        log.error("Failed to write buffered updates of ${pending.size} tasks, will retry", e)
+        restorePending(pending)
+      }
+    } finally {
+      locks.asReversed().forEach { it.unlock() }
+    }
+  }
+
+  private fun writePending(ctx: DSLContext, pending: Collection<PendingWrites>) {
+    insertRows(ctx, taskStatesTable, taskStatesFields, pending.flatMap { it.states })
+    insertRows(ctx, taskOutputsTable, taskOutputsFields, pending.flatMap { it.outputs })
+  }
+
+  /**
+   * Puts updates that failed to be written back in front of any that were buffered meanwhile. They
+   * still count towards [maxPendingRows], so the buffer stops growing while they cannot be written.
+   */
+  private fun restorePending(pending: Map<String, PendingWrites>) {
+    synchronized(pendingWrites) {
+      pending.forEach { (taskId, failed) ->
+        pendingRows += failed.size()
+        pendingWrites.merge(taskId, failed) { newer, older ->
+          older.states.addAll(newer.states)
+          older.outputs.addAll(newer.outputs)
+          older
+        }
+      }
+    }
+  }
+
+  private fun taskStatusOf(historyRow: List<Any?>): DefaultTaskStatus =
+    DefaultTaskStatus.create(
+      historyRow[4] as String,
+      historyRow[5] as String,
+      TaskState.valueOf(historyRow[3] as String)
+    )
+
   fun updateOwnerId(task: Task) {
-    return withPool(poolName) {
+    withPool(poolName) {
       jooq.transactional { ctx ->
         ctx.update(tasksTable)
           .set(field("owner_id"), task.ownerId)
@@ -239,9 +546,20 @@ class SqlTaskRepository(
           .execute()
       }
     }
+    signalChange(task.id)
+  }
+
+  /**
+   * Writes the buffered updates of a task, if any.
+   */
+  private fun flushPendingWrites(taskId: String) {
+    if (writeBehindFlushInterval != null && synchronized(pendingWrites) { pendingWrites.containsKey(taskId) }) {
+      withPendingWrites(taskId) { _, _ -> }
+    }
   }
 
   internal fun retrieveInternal(taskId: String): Task? {
+    flushPendingWrites(taskId)
     return retrieveInternal(field("id").eq(taskId), field("task_id").eq(taskId)).firstOrNull()
   }
 
@@ -414,8 +732,29 @@ class SqlTaskRepository(
   private fun Select<out Record>.fetchTaskStatus() =
     fetchTaskStatuses().firstOrNull()
 
+  /**
+   * The rows of a task that are waiting to be written, in the order they were added.
+   */
+  private class PendingWrites {
+    val states = mutableListOf<List<Any?>>()
+    val outputs = mutableListOf<List<Any?>>()
+
+    fun latestState(): TaskState? = states.lastOrNull()?.let { TaskState.valueOf(it[3] as String) }
+
+    fun size(): Int = states.size + outputs.size
+  }
+
+  private class CachedTask(val version: String, val task: SqlTask)
+
+  private class Waiter(val version: String, val future: CompletableFuture<String?>)
+
   companion object {
     private val ulid = ULID()
     private val MAX_STATUS_LENGTH = 10_000
+    private const val MAX_CACHED_TASKS = 1_000
+    private const val CHANGE_POLL_INTERVAL_MS = 1_000L
+    private const val CHANGE_THREADS = 4
+    private const val TASK_LOCKS = 64
+    const val DEFAULT_MAX_PENDING_ROWS = 10_000
   }
 }
@@ -37,7 +37,7 @@ class TaskMapper(
   companion object {
     private val log = LoggerFactory.getLogger(TaskMapper::class.java)
 
-    private val SAGA_IDS_TYPE = object : TypeReference<MutableSet<SagaId>>() {}
+    internal val SAGA_IDS_TYPE = object : TypeReference<MutableSet<SagaId>>() {}
   }
 
   fun map(rs: ResultSet): Collection<Task> {
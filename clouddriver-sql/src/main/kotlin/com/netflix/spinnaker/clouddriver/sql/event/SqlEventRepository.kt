@@ -21,6 +21,7 @@ import com.netflix.spinnaker.clouddriver.event.Aggregate
 import com.netflix.spinnaker.clouddriver.event.CompositeSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.event.EventMetadata
 import com.netflix.spinnaker.clouddriver.event.SpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.TerminalSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.event.exceptions.AggregateChangeRejectedException
 import com.netflix.spinnaker.clouddriver.event.exceptions.DuplicateEventAggregateException
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository
@@ -145,6 +146,13 @@ class SqlEventRepository(
           ctx.update(AGGREGATES_TABLE)
             .set(field("version"), field("version", Long::class.java).add(1))
             .set(field("last_change_timestamp"), currentTimestamp())
+            .let { step ->
+              if (newEvents.any { it is TerminalSpinnakerEvent }) {
+                step.set(field("completed"), true)
+              } else {
+                step
+              }
+            }
             .where(aggregateCondition)
             .execute()
 
@@ -238,6 +246,7 @@ class SqlEventRepository(
       val conditions = mutableListOf<Condition>()
       criteria.aggregateType?.let { conditions.add(field("aggregate_type").eq(it)) }
       criteria.token?.let { conditions.add(field("token").greaterThan(it)) }
+      criteria.completed?.let { conditions.add(field("completed").eq(it)) }
 
       val perPage = criteria.perPage.coerceAtMost(10_000)
 
@@ -44,11 +44,16 @@ import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.Import
 import java.time.Clock
+import java.time.Duration
 
 @Configuration
 @ConditionalOnProperty("sql.enabled")
 @Import(DefaultSqlConfiguration::class)
-@EnableConfigurationProperties(SqlTaskCleanupAgentProperties::class, SqlEventCleanupAgentConfigProperties::class)
+@EnableConfigurationProperties(
+  SqlTaskCleanupAgentProperties::class,
+  SqlEventCleanupAgentConfigProperties::class,
+  SqlTaskRepositoryWriteBehindProperties::class
+)
 class SqlConfiguration {
 
   @Bean
@@ -56,9 +61,17 @@ class SqlConfiguration {
   fun sqlTaskRepository(
     jooq: DSLContext,
     clock: Clock,
-    objectMapper: ObjectMapper
+    objectMapper: ObjectMapper,
+    writeBehindProperties: SqlTaskRepositoryWriteBehindProperties
   ): TaskRepository =
-    SqlTaskRepository(jooq, objectMapper, clock, ConnectionPools.TASKS.value)
+    SqlTaskRepository(
+      jooq,
+      objectMapper,
+      clock,
+      ConnectionPools.TASKS.value,
+      writeBehindProperties.takeIf { it.enabled }?.let { Duration.ofMillis(it.flushIntervalMs) },
+      writeBehindProperties.maxPendingRows
+    )
 
   @Bean
   @ConditionalOnProperty("sql.task-repository.enabled", "sql.task-repository.secondary.enabled")
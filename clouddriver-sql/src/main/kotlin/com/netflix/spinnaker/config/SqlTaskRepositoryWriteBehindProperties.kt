@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.config
+
+import com.netflix.spinnaker.clouddriver.sql.SqlTaskRepository
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+/**
+ * Buffers task status and output updates in memory, writing them in batches every [flushIntervalMs]
+ * (or when the task completes), instead of one at a time. At most [maxPendingRows] updates are
+ * buffered; beyond that, they are written one at a time again.
+ */
+@ConfigurationProperties("sql.task-repository.write-behind")
+class SqlTaskRepositoryWriteBehindProperties {
+  var enabled: Boolean = false
+  var flushIntervalMs: Long = 250
+  var maxPendingRows: Int = SqlTaskRepository.DEFAULT_MAX_PENDING_ROWS
+}
@@ -15,15 +15,23 @@
  */
 package com.netflix.spinnaker.clouddriver.sql;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.spinnaker.clouddriver.core.test.TaskRepositoryTck;
+import com.netflix.spinnaker.clouddriver.data.task.Task;
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
 import com.netflix.spinnaker.config.ConnectionPools;
 import com.netflix.spinnaker.kork.sql.config.RetryProperties;
 import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties;
 import com.netflix.spinnaker.kork.sql.test.SqlTestUtil;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
 
 public class SqlTaskRepositoryTest extends TaskRepositoryTck {
 
@@ -46,6 +54,90 @@ public class SqlTaskRepositoryTest extends TaskRepositoryTck {
         ConnectionPools.TASKS.getValue());
   }
 
+  @Test
+  public void testTaskVersionChangesWithTheTask() {
+    SqlTaskRepository repository = (SqlTaskRepository) subject;
+    Task task = repository.create("TEST", "Test Status");
+    String version = repository.getVersion(task.getId());
+
+    assertThat(repository.getVersion(task.getId())).isEqualTo(version);
+
+    // cached tasks are handed out as copies, so callers cannot change what others read
+    Task cached = repository.get(task.getId());
+    assertThat(repository.get(task.getId())).isNotSameAs(cached);
+    cached.getResultObjects().add(Map.of("mutated", true));
+    assertThat(repository.get(task.getId()).getResultObjects()).isEmpty();
+
+    task.updateStatus("TEST", "Updated Status");
+
+    assertThat(repository.getVersion(task.getId())).isNotEqualTo(version);
+    assertThat(repository.get(task.getId()).getStatus().getStatus()).isEqualTo("Updated Status");
+    assertThat(repository.getVersion("unknown")).isNull();
+  }
+
+  @Test
+  public void testGetAtKnownVersion() {
+    SqlTaskRepository repository = (SqlTaskRepository) subject;
+    Task task = repository.create("TEST", "Test Status");
+    String version = repository.getVersion(task.getId());
+    repository.get(task.getId());
+
+    task.updateStatus("TEST", "Updated Status");
+
+    // the cached task is trusted to be at the given version
+    assertThat(repository.get(task.getId(), version).getStatus().getStatus())
+        .isEqualTo("Test Status");
+    assertThat(
+            repository
+                .get(task.getId(), repository.getVersion(task.getId()))
+                .getStatus()
+                .getStatus())
+        .isEqualTo("Updated Status");
+    assertThat(repository.get("unknown", version)).isNull();
+  }
+
+  @Test
+  public void testAwaitChange() throws Exception {
+    SqlTaskRepository repository = (SqlTaskRepository) subject;
+    Task task = repository.create("TEST", "Test Status");
+    String version = repository.getVersion(task.getId());
+
+    assertThat(
+            repository
+                .awaitChange(task.getId(), version, Duration.ofMillis(10))
+                .get(10, TimeUnit.SECONDS))
+        .isEqualTo(version);
+
+    CompletableFuture<String> changed =
+        repository.awaitChange(task.getId(), version, Duration.ofSeconds(30));
+    assertThat(changed).isNotDone();
+    task.updateStatus("TEST", "Updated Status");
+
+    assertThat(changed.get(10, TimeUnit.SECONDS))
+        .isNotEqualTo(version)
+        .isEqualTo(repository.getVersion(task.getId()));
+  }
+
+  @Test
+  public void testAwaitChangeMadeByAnotherInstance() throws Exception {
+    SqlTaskRepository repository = (SqlTaskRepository) subject;
+    SqlTaskRepository otherInstance =
+        new SqlTaskRepository(
+            database.context,
+            new ObjectMapper(),
+            Clock.systemDefaultZone(),
+            ConnectionPools.TASKS.getValue());
+    Task task = repository.create("TEST", "Test Status");
+    String version = repository.getVersion(task.getId());
+
+    CompletableFuture<String> changed =
+        repository.awaitChange(task.getId(), version, Duration.ofSeconds(30));
+    otherInstance.get(task.getId()).updateStatus("TEST", "Updated Status");
+
+    assertThat(changed.get(10, TimeUnit.SECONDS)).isNotEqualTo(version);
+    otherInstance.close();
+  }
+
   @AfterEach
   public void cleanup() {
     if (database != null) {
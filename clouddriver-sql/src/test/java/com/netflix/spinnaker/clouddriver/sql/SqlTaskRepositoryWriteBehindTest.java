@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netflix.spinnaker.clouddriver.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spinnaker.clouddriver.core.test.TaskRepositoryTck;
+import com.netflix.spinnaker.clouddriver.data.task.Task;
+import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
+import com.netflix.spinnaker.config.ConnectionPools;
+import com.netflix.spinnaker.kork.sql.config.RetryProperties;
+import com.netflix.spinnaker.kork.sql.config.SqlRetryProperties;
+import com.netflix.spinnaker.kork.sql.test.SqlTestUtil;
+import java.time.Clock;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SqlTaskRepositoryWriteBehindTest extends TaskRepositoryTck {
+
+  private SqlTestUtil.TestDatabase database;
+  private SqlTaskRepository taskRepository;
+
+  @Override
+  protected TaskRepository createTaskRepository() {
+    database = SqlTestUtil.initTcMysqlDatabase();
+
+    RetryProperties retry = new RetryProperties(0, 0);
+    SqlRetryProperties properties =
+        new SqlRetryProperties(new RetryProperties(1, 10), new RetryProperties(1, 10));
+    properties.setReads(retry);
+    properties.setTransactions(retry);
+
+    // long enough that buffered updates are only written when tasks are read or completed
+    taskRepository =
+        new SqlTaskRepository(
+            database.context,
+            new ObjectMapper(),
+            Clock.systemDefaultZone(),
+            ConnectionPools.TASKS.getValue(),
+            Duration.ofMinutes(1));
+    return taskRepository;
+  }
+
+  @Test
+  public void testUpdatesAreWrittenRightAwayOnceTheBufferIsFull() {
+    SqlTaskRepository repository =
+        new SqlTaskRepository(
+            database.context,
+            new ObjectMapper(),
+            Clock.systemDefaultZone(),
+            ConnectionPools.TASKS.getValue(),
+            Duration.ofMinutes(1),
+            1);
+    SqlTaskRepository otherInstance =
+        new SqlTaskRepository(
+            database.context,
+            new ObjectMapper(),
+            Clock.systemDefaultZone(),
+            ConnectionPools.TASKS.getValue());
+    Task task = repository.create("TEST", "Test Status");
+
+    task.updateStatus("TEST", "Buffered Status");
+    assertThat(otherInstance.get(task.getId()).getHistory()).hasSize(1);
+
+    task.updateStatus("TEST", "Written Status");
+    Task written = otherInstance.get(task.getId());
+    assertThat(written.getHistory()).hasSize(3);
+    assertThat(written.getStatus().getStatus()).isEqualTo("Written Status");
+
+    repository.close();
+    otherInstance.close();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    if (taskRepository != null) {
+      taskRepository.close();
+    }
+    if (database != null) {
+      SqlTestUtil.cleanupDb(database.context);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule
 import com.fasterxml.jackson.module.kotlin.KotlinModule
 import com.netflix.spectator.api.NoopRegistry
 import com.netflix.spinnaker.clouddriver.event.AbstractSpinnakerEvent
+import com.netflix.spinnaker.clouddriver.event.TerminalSpinnakerEvent
 import com.netflix.spinnaker.clouddriver.event.exceptions.AggregateChangeRejectedException
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository.ListAggregatesCriteria
 import com.netflix.spinnaker.clouddriver.event.persistence.EventRepository.ListAggregatesResult
@@ -145,6 +146,18 @@ class SqlEventRepositoryTest : JUnit5Minutests {
             }
         }
 
+        test("filtering by completion") {
+          setupAggregates()
+          subject.save("bar", "2", 1, listOf(MyTerminalEvent()))
+
+          expectThat(subject.listAggregates(ListAggregatesCriteria(completed = true)))
+            .get { aggregates.map { "${it.type}/${it.id}" } }
+            .containsExactly("bar/2")
+          expectThat(subject.listAggregates(ListAggregatesCriteria(completed = false)))
+            .get { aggregates.map { "${it.type}/${it.id}" } }
+            .containsExactly("foo/1", "bar/1", "bar/3", "bar/4", "bar/5")
+        }
+
         test("pagination") {
           setupAggregates()
 
@@ -211,7 +224,7 @@ class SqlEventRepositoryTest : JUnit5Minutests {
       serviceVersion = serviceVersion,
       objectMapper = ObjectMapper().apply {
         registerModules(KotlinModule(), JavaTimeModule())
-        registerSubtypes(MyEvent::class.java)
+        registerSubtypes(MyEvent::class.java, MyTerminalEvent::class.java)
       },
       applicationEventPublisher = applicationEventPublisher,
       registry = NoopRegistry()
@@ -226,4 +239,7 @@ class SqlEventRepositoryTest : JUnit5Minutests {
   private class MyEvent(
     val value: String
   ) : AbstractSpinnakerEvent()
+
+  @JsonTypeName("myTerminalEvent")
+  private class MyTerminalEvent : AbstractSpinnakerEvent(), TerminalSpinnakerEvent
 }
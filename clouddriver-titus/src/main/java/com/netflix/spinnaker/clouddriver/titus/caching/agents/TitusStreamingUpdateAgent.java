@@ -95,6 +95,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.inject.Provider;
@@ -245,13 +246,19 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
      * <p>After the initial snapshot persist, the agent continues to consume observeJobs events,
      * updating StreamingCacheState, including a list of jobIds we've received events for. Once
      * either titus.streaming.changeThreshold events have been consumed, or
-     * titus.streaming.timeThresholdMs ms has passed, cacheResults are built for the full resource
-     * graph of applications that have had job/task updates. This is more work than only directly
-     * updating i.e. server groups based on job updates or instance based on task updates, but
-     * avoids pitfalls in properly maintaining relationships to or deleting higher level objects. if
-     * the last server group in a cluster is deleted, the cluster object must also be deleted, and
-     * the application object updated. The later cannot currently be done incrementally in an atomic
-     * operation; safely updating an application object requires rebuilding it with full context.
+     * titus.streaming.timeThresholdMs ms has passed, applications and clusters are rebuilt for
+     * every application that has had job/task updates, which avoids pitfalls in properly
+     * maintaining relationships to or deleting higher level objects. if the last server group in a
+     * cluster is deleted, the cluster object must also be deleted, and the application object
+     * updated. The later cannot currently be done incrementally in an atomic operation; safely
+     * updating an application object requires rebuilding it with full context, which is kept in
+     * StreamingCacheState. Server groups are only written for the jobs that changed, and instances
+     * only for the tasks that changed.
+     *
+     * <p>Scaling policies and load balancers are not part of the observeJobs stream. They are
+     * fetched for the snapshot, and then refreshed every titus.streaming.scalingPolicyRefreshMs and
+     * titus.streaming.loadBalancerRefreshMs ms respectively rather than on every update. Jobs whose
+     * scaling policies or load balancers changed in a refresh are updated like any other job.
      */
     @Override
     public void executeAgent(Agent agent) {
@@ -402,6 +409,9 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
       if (FILTERED_TASK_STATES.contains(task.getStatus().getState())) {
         state.tasks.computeIfAbsent(jobId, t -> new HashSet<>()).remove(task);
         state.tasks.get(jobId).add(task);
+        if (state.snapshotComplete) {
+          state.updatedTaskIds.add(task.getId());
+        }
       } else if (FINISHED_TASK_STATES.contains(task.getStatus().getState())) {
         if (state.snapshotComplete) {
           state.completedInstanceIds.add(
@@ -437,6 +447,12 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
     private void writeToCache(StreamingCacheState state) {
       long startTime = System.currentTimeMillis();
 
+      if (state.savedSnapshot) {
+        // refreshes that find changes count towards the change threshold of this flush
+        refreshScalingPolicies(state, startTime);
+        refreshLoadBalancers(state, startTime);
+      }
+
       if (!state.savedSnapshot
           || state.changes.get()
               >= dynamicConfigService.getConfig(
@@ -458,22 +474,12 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
               getAgentType());
         }
 
-        List<ScalingPolicyResult> scalingPolicyResults =
-            titusAutoscalingClient != null
-                ? titusAutoscalingClient.getAllScalingPolicies()
-                : emptyList();
-        PercentileTimer.get(registry, metricId.withTag("operation", "getScalingPolicies"))
-            .record(System.currentTimeMillis() - startTime, MILLISECONDS);
-
-        long startLoadBalancerTime = System.currentTimeMillis();
-        Map<String, List<String>> allLoadBalancers =
-            titusLoadBalancerClient != null
-                ? titusLoadBalancerClient.getAllLoadBalancers()
-                : emptyMap();
-        PercentileTimer.get(registry, metricId.withTag("operation", "getLoadBalancers"))
-            .record(System.currentTimeMillis() - startLoadBalancerTime, MILLISECONDS);
+        if (!state.savedSnapshot) {
+          refreshScalingPolicies(state, startTime);
+          refreshLoadBalancers(state, startTime);
+        }
 
-        CacheResult result = buildCacheResult(state, scalingPolicyResults, allLoadBalancers);
+        CacheResult result = buildCacheResult(state);
 
         Collection<String> authoritative =
             TYPES.stream()
@@ -494,6 +500,7 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
         completedJobs.forEach(j -> state.jobIdToApp.remove(j));
 
         state.updatedJobs = new HashSet<>();
+        state.updatedTaskIds = new HashSet<>();
         state.lastUpdate.set(System.currentTimeMillis());
         state.changes.set(0);
 
@@ -502,10 +509,82 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
       }
     }
 
-    private CacheResult buildCacheResult(
-        StreamingCacheState state,
-        List<ScalingPolicyResult> scalingPolicyResults,
-        Map<String, List<String>> allLoadBalancers) {
+    /**
+     * Fetches the scaling policies of every job for a snapshot, or when they are due to be
+     * refreshed, and marks the jobs whose cacheable policies changed as updated.
+     */
+    private void refreshScalingPolicies(StreamingCacheState state, long now) {
+      if (state.savedSnapshot
+          && now - state.lastScalingPolicyRefresh
+              < dynamicConfigService.getConfig(
+                  Integer.class, "titus.streaming.scaling-policy-refresh-ms", 30000)) {
+        return;
+      }
+
+      long startTime = System.currentTimeMillis();
+      Map<String, List<ScalingPolicyResult>> scalingPolicies = new HashMap<>();
+      if (titusAutoscalingClient != null) {
+        for (ScalingPolicyResult policy : titusAutoscalingClient.getAllScalingPolicies()) {
+          if (CACHEABLE_POLICY_STATES.contains(policy.getPolicyState().getState())) {
+            scalingPolicies
+                .computeIfAbsent(policy.getJobId().toLowerCase(), j -> new ArrayList<>())
+                .add(policy);
+          }
+        }
+      }
+      PercentileTimer.get(registry, metricId.withTag("operation", "getScalingPolicies"))
+          .record(System.currentTimeMillis() - startTime, MILLISECONDS);
+
+      Map<String, List<ScalingPolicyResult>> previous = state.scalingPolicies;
+      markUpdatedJobs(
+          state,
+          jobId ->
+              !sameElements(
+                  previous.get(jobId.toLowerCase()), scalingPolicies.get(jobId.toLowerCase())));
+      state.scalingPolicies = scalingPolicies;
+      state.lastScalingPolicyRefresh = now;
+    }
+
+    /**
+     * Fetches the load balancers of every job for a snapshot, or when they are due to be refreshed,
+     * and marks the jobs whose load balancers changed as updated.
+     */
+    private void refreshLoadBalancers(StreamingCacheState state, long now) {
+      if (state.savedSnapshot
+          && now - state.lastLoadBalancerRefresh
+              < dynamicConfigService.getConfig(
+                  Integer.class, "titus.streaming.load-balancer-refresh-ms", 30000)) {
+        return;
+      }
+
+      long startTime = System.currentTimeMillis();
+      Map<String, List<String>> loadBalancers =
+          titusLoadBalancerClient != null
+              ? titusLoadBalancerClient.getAllLoadBalancers()
+              : emptyMap();
+      PercentileTimer.get(registry, metricId.withTag("operation", "getLoadBalancers"))
+          .record(System.currentTimeMillis() - startTime, MILLISECONDS);
+
+      Map<String, List<String>> previous = state.loadBalancers;
+      markUpdatedJobs(state, jobId -> !sameElements(previous.get(jobId), loadBalancers.get(jobId)));
+      state.loadBalancers = loadBalancers;
+      state.lastLoadBalancerRefresh = now;
+    }
+
+    private void markUpdatedJobs(StreamingCacheState state, Predicate<String> changed) {
+      if (!state.savedSnapshot) {
+        return;
+      }
+
+      for (String jobId : state.jobs.keySet()) {
+        if (changed.test(jobId)) {
+          state.updatedJobs.add(jobId);
+          state.changes.incrementAndGet();
+        }
+      }
+    }
+
+    private CacheResult buildCacheResult(StreamingCacheState state) {
       // INITIALIZE CACHES
       Map<String, CacheData> applicationCache = createCache();
       Map<String, CacheData> clusterCache = createCache();
@@ -563,12 +642,10 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
               .map(
                   job -> {
                     List<ScalingPolicyData> jobScalingPolicies =
-                        scalingPolicyResults.stream()
-                            .filter(
-                                it ->
-                                    it.getJobId().equalsIgnoreCase(job.getId())
-                                        && CACHEABLE_POLICY_STATES.contains(
-                                            it.getPolicyState().getState()))
+                        state
+                            .scalingPolicies
+                            .getOrDefault(job.getId().toLowerCase(), emptyList())
+                            .stream()
                             .map(
                                 it ->
                                     new ScalingPolicyData(
@@ -578,7 +655,7 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
                             .collect(Collectors.toList());
 
                     List<String> jobLoadBalancers =
-                        allLoadBalancers.getOrDefault(job.getId(), emptyList());
+                        state.loadBalancers.getOrDefault(job.getId(), emptyList());
 
                     return new ServerGroupData(
                         new com.netflix.spinnaker.clouddriver.titus.client.model.Job(
@@ -615,11 +692,20 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
 
             cacheApplication(data, applicationCache);
             cacheCluster(data, clusterCache);
-            cacheServerGroup(data, serverGroupCache);
             cacheImage(data, imageCache);
             addJobIdsByServerGroupKey(data, jobIdsByServerGroupKey);
 
+            // unchanged jobs of a changed application are only needed for its clusters and images
+            if (state.savedSnapshot && !state.updatedJobs.contains(data.job.getId())) {
+              return;
+            }
+
+            cacheServerGroup(data, serverGroupCache);
+
             for (Task task : (Set<Task>) state.tasks.getOrDefault(data.job.getId(), EMPTY_SET)) {
+              if (state.savedSnapshot && !state.updatedTaskIds.contains(task.getId())) {
+                continue;
+              }
               InstanceData instanceData =
                   new InstanceData(
                       new com.netflix.spinnaker.clouddriver.titus.client.model.Task(task),
@@ -796,8 +882,14 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
       Map<String, String> clusterKeyToApp = new HashMap<>();
       Map<String, String> sgKeyToApp = new HashMap<>();
 
+      Map<String, List<ScalingPolicyResult>> scalingPolicies = new HashMap<>();
+      Map<String, List<String>> loadBalancers = new HashMap<>();
+      long lastScalingPolicyRefresh = 0;
+      long lastLoadBalancerRefresh = 0;
+
       Set<String> completedInstanceIds = new HashSet<>();
       Set<String> updatedJobs = new HashSet<>();
+      Set<String> updatedTaskIds = new HashSet<>();
 
       Boolean snapshotComplete = false;
       Boolean savedSnapshot = false;
@@ -849,6 +941,12 @@ public class TitusStreamingUpdateAgent implements CustomScheduledAgent, CachingA
     return new HashMap<>();
   }
 
+  private static boolean sameElements(Collection<?> a, Collection<?> b) {
+    Set<?> left = a == null ? emptySet() : new HashSet<>(a);
+    Set<?> right = b == null ? emptySet() : new HashSet<>(b);
+    return left.equals(right);
+  }
+
   private String getAwsAccountId(String account, String region) {
     return awsLookupUtil.get().awsAccountId(account, region);
   }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.titus.caching.agents
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spinnaker.cats.agent.CacheResult
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import com.netflix.spinnaker.clouddriver.titus.TitusClientProvider
+import com.netflix.spinnaker.clouddriver.titus.caching.Keys
+import com.netflix.spinnaker.clouddriver.titus.caching.TitusCachingProvider
+import com.netflix.spinnaker.clouddriver.titus.caching.utils.AwsLookupUtil
+import com.netflix.spinnaker.clouddriver.titus.client.TitusAutoscalingClient
+import com.netflix.spinnaker.clouddriver.titus.client.TitusClient
+import com.netflix.spinnaker.clouddriver.titus.client.TitusLoadBalancerClient
+import com.netflix.spinnaker.clouddriver.titus.client.TitusRegion
+import com.netflix.spinnaker.clouddriver.titus.credentials.NetflixTitusCredentials
+import com.netflix.spinnaker.kork.dynamicconfig.DynamicConfigService
+import com.netflix.titus.grpc.protogen.Container
+import com.netflix.titus.grpc.protogen.Image
+import com.netflix.titus.grpc.protogen.Job
+import com.netflix.titus.grpc.protogen.JobChangeNotification
+import com.netflix.titus.grpc.protogen.JobDescriptor
+import com.netflix.titus.grpc.protogen.JobStatus
+import com.netflix.titus.grpc.protogen.ServiceJobSpec
+import com.netflix.titus.grpc.protogen.Task
+import com.netflix.titus.grpc.protogen.TaskStatus
+import io.grpc.Status
+import io.grpc.StatusRuntimeException
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.inject.Provider
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import static com.netflix.spinnaker.clouddriver.titus.caching.Keys.Namespace.INSTANCES
+import static com.netflix.spinnaker.clouddriver.titus.caching.Keys.Namespace.SERVER_GROUPS
+
+class TitusStreamingUpdateAgentSpec extends Specification {
+  static final String ACCOUNT = 'test'
+  static final String REGION = 'us-east-1'
+
+  TitusClient titusClient = Mock()
+  TitusAutoscalingClient titusAutoscalingClient = Mock() {
+    getAllScalingPolicies() >> []
+  }
+  TitusLoadBalancerClient titusLoadBalancerClient = Mock() {
+    getAllLoadBalancers() >> [:]
+  }
+  ProviderCache cache = Mock()
+
+  Map<String, Integer> config = ['titus.streaming.change-threshold': 1]
+
+  TitusClientProvider titusClientProvider = Stub() {
+    getTitusClient(_, _) >> titusClient
+    getTitusAutoscalingClient(_, _) >> titusAutoscalingClient
+    getTitusLoadBalancerClient(_, _) >> titusLoadBalancerClient
+  }
+
+  NetflixTitusCredentials credentials = Stub() {
+    getName() >> ACCOUNT
+  }
+
+  TitusRegion region = Stub() {
+    getName() >> REGION
+  }
+
+  AwsLookupUtil awsLookupUtil = Stub() {
+    awsAccountId(_, _) >> '123456789012'
+  }
+
+  DynamicConfigService dynamicConfigService = Stub() {
+    getConfig(_, _, _) >> { Class type, String key, Object defaultValue ->
+      config.getOrDefault(key, defaultValue)
+    }
+  }
+
+  ProviderRegistry providerRegistry = Stub() {
+    getProviderCache(TitusCachingProvider.PROVIDER_NAME) >> cache
+  }
+
+  @Subject
+  TitusStreamingUpdateAgent agent = new TitusStreamingUpdateAgent(
+    titusClientProvider,
+    credentials,
+    region,
+    new ObjectMapper(),
+    new NoopRegistry(),
+    { awsLookupUtil } as Provider<AwsLookupUtil>,
+    dynamicConfigService
+  )
+
+  void 'should only write the server groups and instances updated after the snapshot'() {
+    given:
+    def stream = new StubbedJobStream([
+      jobUpdate(job('job-1', 'app-stack-v000')),
+      jobUpdate(job('job-2', 'app-stack-v001')),
+      taskUpdate(task('task-1', 'job-1')),
+      taskUpdate(task('task-2', 'job-2')),
+      snapshotEnd(),
+      taskUpdate(task('task-1', 'job-1'))
+    ], true)
+    CacheResult snapshot = null
+    CacheResult incremental = null
+
+    when:
+    agent.getAgentExecution(providerRegistry).executeAgent(agent)
+    boolean ended = stream.awaitEnd()
+
+    then:
+    1 * titusClient.observeJobs(_) >> stream
+    1 * cache.putCacheResult(_, _, _) >> { String type, Collection authoritative, CacheResult result ->
+      snapshot = result
+    }
+    1 * cache.addCacheResult(_, _, _) >> { String type, Collection authoritative, CacheResult result ->
+      incremental = result
+    }
+    ended
+    keys(snapshot, SERVER_GROUPS.ns) == [serverGroupKey('app-stack-v000'), serverGroupKey('app-stack-v001')] as Set
+    keys(snapshot, INSTANCES.ns) == [instanceKey('task-1'), instanceKey('task-2')] as Set
+    keys(incremental, SERVER_GROUPS.ns) == [serverGroupKey('app-stack-v000')] as Set
+    keys(incremental, INSTANCES.ns) == [instanceKey('task-1')] as Set
+  }
+
+  void 'should only refresh scaling policies and load balancers when they are due'() {
+    given:
+    config['titus.streaming.scaling-policy-refresh-ms'] = 0
+    config['titus.streaming.load-balancer-refresh-ms'] = 3600000
+    def stream = new StubbedJobStream([
+      jobUpdate(job('job-1', 'app-stack-v000')),
+      taskUpdate(task('task-1', 'job-1')),
+      snapshotEnd(),
+      taskUpdate(task('task-1', 'job-1')),
+      taskUpdate(task('task-1', 'job-1'))
+    ], true)
+
+    when:
+    agent.getAgentExecution(providerRegistry).executeAgent(agent)
+    boolean ended = stream.awaitEnd()
+
+    then:
+    1 * titusClient.observeJobs(_) >> stream
+    1 * cache.putCacheResult(_, _, _)
+    2 * cache.addCacheResult(_, _, _)
+    3 * titusAutoscalingClient.getAllScalingPolicies() >> []
+    1 * titusLoadBalancerClient.getAllLoadBalancers() >> [:]
+    ended
+  }
+
+  void 'should store a full snapshot after reconnecting'() {
+    given:
+    config['titus.streaming.retry-backoff-ms'] = 0
+    def dropped = new StubbedJobStream([
+      jobUpdate(job('job-1', 'app-stack-v000')),
+      taskUpdate(task('task-1', 'job-1')),
+      snapshotEnd(),
+      taskUpdate(task('task-1', 'job-1'))
+    ], false)
+    def reconnected = new StubbedJobStream([
+      jobUpdate(job('job-1', 'app-stack-v000')),
+      jobUpdate(job('job-2', 'app-stack-v001')),
+      taskUpdate(task('task-1', 'job-1')),
+      taskUpdate(task('task-2', 'job-2')),
+      snapshotEnd()
+    ], true)
+    List<CacheResult> snapshots = []
+
+    when:
+    agent.getAgentExecution(providerRegistry).executeAgent(agent)
+    boolean ended = reconnected.awaitEnd()
+
+    then:
+    2 * titusClient.observeJobs(_) >>> [dropped, reconnected]
+    2 * cache.putCacheResult(_, _, _) >> { String type, Collection authoritative, CacheResult result ->
+      snapshots << result
+    }
+    1 * cache.addCacheResult(_, _, _)
+    ended
+    keys(snapshots[1], SERVER_GROUPS.ns) == [serverGroupKey('app-stack-v000'), serverGroupKey('app-stack-v001')] as Set
+    keys(snapshots[1], INSTANCES.ns) == [instanceKey('task-1'), instanceKey('task-2')] as Set
+  }
+
+  private static Set<String> keys(CacheResult result, String namespace) {
+    return result.cacheResults[namespace]*.id as Set
+  }
+
+  private static String serverGroupKey(String name) {
+    return Keys.getServerGroupV2Key(name, ACCOUNT, REGION)
+  }
+
+  private static String instanceKey(String taskId) {
+    return Keys.getInstanceV2Key(taskId, ACCOUNT, REGION)
+  }
+
+  private static Job job(String id, String name) {
+    return Job.newBuilder()
+      .setId(id)
+      .setJobDescriptor(
+        JobDescriptor.newBuilder()
+          .setApplicationName('app')
+          .putAttributes('name', name)
+          .setContainer(Container.newBuilder().setImage(Image.newBuilder().setName('app').setTag('latest')))
+          .setService(ServiceJobSpec.newBuilder()))
+      .setStatus(JobStatus.newBuilder().setState(JobStatus.JobState.Accepted))
+      .build()
+  }
+
+  private static Task task(String id, String jobId) {
+    return Task.newBuilder()
+      .setId(id)
+      .setJobId(jobId)
+      .setStatus(TaskStatus.newBuilder().setState(TaskStatus.TaskState.Started))
+      .build()
+  }
+
+  private static JobChangeNotification jobUpdate(Job job) {
+    return JobChangeNotification.newBuilder()
+      .setJobUpdate(JobChangeNotification.JobUpdate.newBuilder().setJob(job))
+      .build()
+  }
+
+  private static JobChangeNotification taskUpdate(Task task) {
+    return JobChangeNotification.newBuilder()
+      .setTaskUpdate(JobChangeNotification.TaskUpdate.newBuilder().setTask(task))
+      .build()
+  }
+
+  private static JobChangeNotification snapshotEnd() {
+    return JobChangeNotification.newBuilder()
+      .setSnapshotEnd(JobChangeNotification.SnapshotEnd.newBuilder())
+      .build()
+  }
+
+  /**
+   * An observeJobs stream that fails with a gRPC error once its notifications are consumed. The
+   * last stream of a test also interrupts the streaming thread, so the agent gives up on
+   * reconnecting and stops instead of streaming until its timeout.
+   */
+  private static class StubbedJobStream implements Iterator<JobChangeNotification> {
+    private final Iterator<JobChangeNotification> notifications
+    private final boolean last
+    private final CountDownLatch ended = new CountDownLatch(1)
+
+    StubbedJobStream(List<JobChangeNotification> notifications, boolean last) {
+      this.notifications = notifications.iterator()
+      this.last = last
+    }
+
+    @Override
+    boolean hasNext() {
+      if (notifications.hasNext()) {
+        return true
+      }
+      if (last) {
+        Thread.currentThread().interrupt()
+      }
+      ended.countDown()
+      throw new StatusRuntimeException(Status.UNAVAILABLE)
+    }
+
+    @Override
+    JobChangeNotification next() {
+      return notifications.next()
+    }
+
+    boolean awaitEnd() {
+      return ended.await(10, TimeUnit.SECONDS)
+    }
+  }
+}
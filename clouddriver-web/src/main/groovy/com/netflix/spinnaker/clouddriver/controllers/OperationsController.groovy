@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonProperty
 import com.google.common.collect.ImmutableList
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
+import com.netflix.spinnaker.clouddriver.data.task.VersionedTaskRepository
 import com.netflix.spinnaker.clouddriver.orchestration.AtomicOperation
 import com.netflix.spinnaker.clouddriver.orchestration.OperationsService
 import com.netflix.spinnaker.clouddriver.orchestration.OrchestrationProcessor
@@ -27,11 +28,14 @@ import com.netflix.spinnaker.kork.exceptions.ConstraintViolationException
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
 import groovy.util.logging.Slf4j
 import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.GetMapping
 import org.springframework.web.bind.annotation.PatchMapping
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.PostMapping
 import org.springframework.web.bind.annotation.RequestBody
+import org.springframework.web.bind.annotation.RequestHeader
 import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
 
@@ -39,6 +43,8 @@ import javax.annotation.Nonnull
 import javax.annotation.Nullable
 import javax.annotation.PreDestroy
 import javax.naming.OperationNotSupportedException
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.TimeUnit
 
 import static java.lang.String.format
@@ -51,16 +57,19 @@ class OperationsController {
   private final OrchestrationProcessor orchestrationProcessor
   private final TaskRepository taskRepository
   private final long shutdownWaitSeconds
+  private final long maxTaskWaitMillis
 
   OperationsController(
     OperationsService operationsService,
     OrchestrationProcessor orchestrationProcessor,
     TaskRepository taskRepository,
-    @Value('${admin.tasks.shutdown-wait-seconds:600}') long shutdownWaitSeconds) {
+    @Value('${admin.tasks.shutdown-wait-seconds:600}') long shutdownWaitSeconds,
+    @Value('${tasks.max-wait-ms:30000}') long maxTaskWaitMillis) {
     this.operationsService = operationsService
     this.orchestrationProcessor = orchestrationProcessor
     this.taskRepository = taskRepository
     this.shutdownWaitSeconds = shutdownWaitSeconds
+    this.maxTaskWaitMillis = maxTaskWaitMillis
   }
 /**
  * @deprecated Use /{cloudProvider}/ops instead
@@ -167,8 +176,50 @@ class OperationsController {
     return start(atomicOperations, t.requestId)
   }
 
+  /**
+   * When tasks are versioned, the version of the task is returned as its ETag. A client that
+   * already has the task can send that version as If-None-Match, and gets a 304 if the task did not
+   * change. With waitMs, the response is held until the task changes, or for up to waitMs, without
+   * holding a request thread.
+   */
   @GetMapping("/task/{id}")
-  Task get(@PathVariable("id") String id) {
+  CompletableFuture<ResponseEntity<Task>> get(@PathVariable("id") String id,
+                                              @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                              @RequestParam(value = "waitMs", defaultValue = "0") long waitMs) {
+    if (!(taskRepository instanceof VersionedTaskRepository)) {
+      return CompletableFuture.completedFuture(ResponseEntity.ok(getTask(id)))
+    }
+
+    VersionedTaskRepository repository = (VersionedTaskRepository) taskRepository
+    String knownVersion = ifNoneMatch?.replaceFirst('^W/', '')?.replace('"', '')
+    if (!knownVersion || waitMs <= 0) {
+      return CompletableFuture.completedFuture(getTask(repository, id, knownVersion, repository.getVersion(id)))
+    }
+
+    return repository
+      .awaitChange(id, knownVersion, Duration.ofMillis(Math.min(waitMs, maxTaskWaitMillis)))
+      .thenApply({ String version -> getTask(repository, id, knownVersion, version) })
+  }
+
+  private static ResponseEntity<Task> getTask(VersionedTaskRepository repository,
+                                              String id,
+                                              String knownVersion,
+                                              String version) {
+    if (version == null) {
+      throw new NotFoundException("Task not found (id: ${id})")
+    }
+    if (version == knownVersion) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build()
+    }
+    // the version was just looked up, so the task is read without looking it up again
+    Task t = repository.get(id, version)
+    if (!t) {
+      throw new NotFoundException("Task not found (id: ${id})")
+    }
+    return ResponseEntity.ok().eTag(version).body(t)
+  }
+
+  private Task getTask(String id) {
     Task t = taskRepository.get(id)
     if (!t) {
       throw new NotFoundException("Task not found (id: ${id})")
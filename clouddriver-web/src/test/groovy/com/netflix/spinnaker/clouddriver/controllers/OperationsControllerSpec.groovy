@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.data.task.DefaultTask
+import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
+import com.netflix.spinnaker.clouddriver.data.task.VersionedTaskRepository
+import groovy.json.JsonSlurper
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.test.web.servlet.MockMvc
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+import org.springframework.test.web.servlet.setup.MockMvcBuilders
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+
+class OperationsControllerSpec extends Specification {
+
+  VersionedTaskRepository taskRepository = Mock()
+  def task = new DefaultTask("1", "TEST", "Test Status")
+
+  MockMvc mvc = MockMvcBuilders.standaloneSetup(
+    new OperationsController(null, null, taskRepository, 0, 30000)
+  ).build()
+
+  void "a plain GET should return the task with its version as the ETag"() {
+    when:
+    def response = getTask("/task/1")
+
+    then:
+    1 * taskRepository.getVersion("1") >> "v1"
+    1 * taskRepository.get("1", "v1") >> task
+    0 * taskRepository._
+    response.status == 200
+    response.getHeader("ETag") == '"v1"'
+    new JsonSlurper().parseText(response.contentAsString).id == "1"
+  }
+
+  void "should return a 304 without reading the task if it did not change"() {
+    when:
+    def response = getTask("/task/1", '"v1"')
+
+    then:
+    1 * taskRepository.getVersion("1") >> "v1"
+    0 * taskRepository.get(_)
+    0 * taskRepository.get(_, _)
+    response.status == 304
+    response.getHeader("ETag") == '"v1"'
+    response.contentAsString.isEmpty()
+  }
+
+  void "should return the task once it changes while waiting"() {
+    given:
+    def changed = new CompletableFuture<String>()
+
+    when:
+    def response = getTask("/task/1?waitMs=60000", '"v1"') {
+      assert !changed.isDone()
+      changed.complete("v2")
+    }
+
+    then:
+    1 * taskRepository.awaitChange("1", "v1", Duration.ofMillis(30000)) >> changed
+    1 * taskRepository.get("1", "v2") >> task
+    0 * taskRepository.getVersion(_)
+    response.status == 200
+    response.getHeader("ETag") == '"v2"'
+    new JsonSlurper().parseText(response.contentAsString).id == "1"
+  }
+
+  void "should return a 304 once the wait times out without a change"() {
+    when:
+    def response = getTask("/task/1?waitMs=100", '"v1"')
+
+    then:
+    1 * taskRepository.awaitChange("1", "v1", Duration.ofMillis(100)) >> CompletableFuture.completedFuture("v1")
+    0 * taskRepository.get(_, _)
+    response.status == 304
+    response.getHeader("ETag") == '"v1"'
+  }
+
+  void "a plain GET should return the task of a repository without versions"() {
+    given:
+    TaskRepository unversionedRepository = Mock()
+    mvc = MockMvcBuilders.standaloneSetup(
+      new OperationsController(null, null, unversionedRepository, 0, 30000)
+    ).build()
+
+    when:
+    def response = getTask("/task/1")
+
+    then:
+    1 * unversionedRepository.get("1") >> task
+    response.status == 200
+    response.getHeader("ETag") == null
+    new JsonSlurper().parseText(response.contentAsString).id == "1"
+  }
+
+  /**
+   * Performs a GET, running {@code whileWaiting} before dispatching the async result.
+   */
+  private MockHttpServletResponse getTask(String path, String ifNoneMatch = null, Closure whileWaiting = {}) {
+    def request = MockMvcRequestBuilders.get(path)
+    if (ifNoneMatch) {
+      request.header("If-None-Match", ifNoneMatch)
+    }
+
+    def result = mvc.perform(request).andReturn()
+    whileWaiting()
+    if (result.request.asyncStarted) {
+      result = mvc.perform(MockMvcRequestBuilders.asyncDispatch(result)).andReturn()
+    }
+    return result.response
+  }
+}